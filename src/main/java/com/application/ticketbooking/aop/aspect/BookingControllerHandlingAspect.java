@@ -21,6 +21,26 @@ public class BookingControllerHandlingAspect {
         return AspectHandlingUtils.handleRequest(log, joinPoint, "Вызов сервиса для бронирования мест на мероприятие");
     }
 
+    @Around("com.application.ticketbooking.aop.pointcut.BookingControllerPointcuts.getBookingRequest()")
+    public Object getBookingRequest(ProceedingJoinPoint joinPoint) throws Throwable {
+        return AspectHandlingUtils.handleRequest(log, joinPoint, "Вызов сервиса для получения состояния запроса на бронирование");
+    }
+
+    @Around("com.application.ticketbooking.aop.pointcut.BookingControllerPointcuts.checkoutCart()")
+    public Object checkoutCart(ProceedingJoinPoint joinPoint) throws Throwable {
+        return AspectHandlingUtils.handleRequest(log, joinPoint, "Вызов сервиса для оформления корзины");
+    }
+
+    @Around("com.application.ticketbooking.aop.pointcut.BookingControllerPointcuts.holdSeats()")
+    public Object holdSeats(ProceedingJoinPoint joinPoint) throws Throwable {
+        return AspectHandlingUtils.handleRequest(log, joinPoint, "Вызов сервиса для удержания мест на мероприятии");
+    }
+
+    @Around("com.application.ticketbooking.aop.pointcut.BookingControllerPointcuts.confirmHold()")
+    public Object confirmHold(ProceedingJoinPoint joinPoint) throws Throwable {
+        return AspectHandlingUtils.handleRequest(log, joinPoint, "Вызов сервиса для подтверждения удержания мест");
+    }
+
     @Around("com.application.ticketbooking.aop.pointcut.BookingControllerPointcuts.getAllBooking()")
     public Object getAllBooking(ProceedingJoinPoint joinPoint) throws Throwable {
         return AspectHandlingUtils.handleRequest(log, joinPoint, "Вызов сервиса для получения списка всех мероприятий");
@@ -21,6 +21,21 @@ public class EventControllerHandlingAspect {
         return AspectHandlingUtils.handleRequest(log, joinPoint, "Вызов сервиса для получения всех мероприятий");
     }
 
+    @Around("com.application.ticketbooking.aop.pointcut.EventControllerPointcuts.searchEvents()")
+    public Object searchEvents(ProceedingJoinPoint joinPoint) throws Throwable {
+        return AspectHandlingUtils.handleRequest(log, joinPoint, "Вызов сервиса для поиска мероприятий");
+    }
+
+    @Around("com.application.ticketbooking.aop.pointcut.EventControllerPointcuts.suggestEvents()")
+    public Object suggestEvents(ProceedingJoinPoint joinPoint) throws Throwable {
+        return AspectHandlingUtils.handleRequest(log, joinPoint, "Вызов сервиса для подсказки названий мероприятий");
+    }
+
+    @Around("com.application.ticketbooking.aop.pointcut.EventControllerPointcuts.getEventsByIds()")
+    public Object getEventsByIds(ProceedingJoinPoint joinPoint) throws Throwable {
+        return AspectHandlingUtils.handleRequest(log, joinPoint, "Вызов сервиса для получения нескольких мероприятий по id");
+    }
+
     @Around("com.application.ticketbooking.aop.pointcut.EventControllerPointcuts.getEventById()")
     public Object getEventById(ProceedingJoinPoint joinPoint) throws Throwable {
         return AspectHandlingUtils.handleRequest(log, joinPoint, "Вызов сервиса для получения мероприятия по id");
@@ -20,4 +20,9 @@ public class NotificationsLogControllerHandlingAspect {
     public Object getAllNotifications(ProceedingJoinPoint joinPoint) throws Throwable {
         return AspectHandlingUtils.handleRequest(log, joinPoint, "Вызов сервиса для получения всех уведомлений");
     }
+
+    @Around("com.application.ticketbooking.aop.pointcut.NotificationsLogControllerPointcuts.streamNotifications()")
+    public Object streamNotifications(ProceedingJoinPoint joinPoint) throws Throwable {
+        return AspectHandlingUtils.handleRequest(log, joinPoint, "Вызов сервиса для потоковой выдачи уведомлений");
+    }
 }
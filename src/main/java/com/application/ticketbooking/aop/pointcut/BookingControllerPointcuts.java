@@ -13,6 +13,18 @@ public class BookingControllerPointcuts {
     @Pointcut("execution(* com.application.ticketbooking.controller.BookingController.bookTickets(..))")
     public void bookTickets() { }
 
+    @Pointcut("execution(* com.application.ticketbooking.controller.BookingController.getBookingRequest(..))")
+    public void getBookingRequest() { }
+
+    @Pointcut("execution(* com.application.ticketbooking.controller.BookingController.holdSeats(..))")
+    public void holdSeats() { }
+
+    @Pointcut("execution(* com.application.ticketbooking.controller.BookingController.checkoutCart(..))")
+    public void checkoutCart() { }
+
+    @Pointcut("execution(* com.application.ticketbooking.controller.BookingController.confirmHold(..))")
+    public void confirmHold() { }
+
     @Pointcut("execution(* com.application.ticketbooking.controller.BookingController.getAllBooking(..))")
     public void getAllBooking() { }
 }
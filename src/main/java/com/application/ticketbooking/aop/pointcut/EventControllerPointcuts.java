@@ -13,6 +13,15 @@ public class EventControllerPointcuts {
     @Pointcut("execution(* com.application.ticketbooking.controller.EventController.getAllEvents(..))")
     public void getAllEvents() { }
 
+    @Pointcut("execution(* com.application.ticketbooking.controller.EventController.searchEvents(..))")
+    public void searchEvents() { }
+
+    @Pointcut("execution(* com.application.ticketbooking.controller.EventController.suggestEvents(..))")
+    public void suggestEvents() { }
+
+    @Pointcut("execution(* com.application.ticketbooking.controller.EventController.getEventsByIds(..))")
+    public void getEventsByIds() { }
+
     @Pointcut("execution(* com.application.ticketbooking.controller.EventController.getEventById(..))")
     public void getEventById() { }
 
@@ -13,6 +13,9 @@ public class NotificationsLogControllerPointcuts {
     @Pointcut("execution(* com.application.ticketbooking.controller.NotificationsLogController.getAllNotifications(..))")
     public void getAllNotifications() { }
 
+    @Pointcut("execution(* com.application.ticketbooking.controller.NotificationsLogController.streamNotifications(..))")
+    public void streamNotifications() { }
+
 }
 
 
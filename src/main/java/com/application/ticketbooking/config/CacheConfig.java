@@ -0,0 +1,56 @@
+package com.application.ticketbooking.config;
+
+import com.application.ticketbooking.service.Impl.EventCatalogCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Конфигурация кешей приложения.
+ * <p>
+ * Все кеши ограничены по размеру и времени жизни и собирают статистику, которая публикуется
+ * в метриках {@code cache.gets}, {@code cache.puts}, {@code cache.evictions} с тегом {@code cache}.
+ * Кеши, не объявленные здесь, не создаются.
+ * </p>
+ */
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    public CacheManager cacheManager(@Value("${booking.events-cache.max-events}") long maxEvents,
+                                     @Value("${booking.events-cache.ttl}") Duration ttl,
+                                     @Value("${booking.events-cache.seats-ttl}") Duration seatsTtl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCacheNames(List.of());
+        // Вес страницы — количество мероприятий в ней, поэтому граница не зависит от размера страниц.
+        cacheManager.registerCustomCache(EventCatalogCache.PAGES, Caffeine.newBuilder()
+                .maximumWeight(maxEvents)
+                .weigher((Object key, Object value) -> Math.max(1, ((Collection<?>) value).size()))
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(EventCatalogCache.COUNT, Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(EventCatalogCache.EVENTS, Caffeine.newBuilder()
+                .maximumSize(maxEvents)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build());
+        // Свободные места меняются каждым бронированием, поэтому хранятся отдельно и недолго.
+        cacheManager.registerCustomCache(EventCatalogCache.SEATS, Caffeine.newBuilder()
+                .maximumSize(maxEvents)
+                .expireAfterWrite(seatsTtl)
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+}
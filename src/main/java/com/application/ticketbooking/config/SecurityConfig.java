@@ -2,6 +2,7 @@ package com.application.ticketbooking.config;
 
 import com.application.ticketbooking.service.Impl.CustomUserDetailsService;
 import com.application.ticketbooking.token.JwtRequestFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -53,12 +54,16 @@ public class SecurityConfig {
                 .sessionManagement(sessionManagement -> sessionManagement.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .exceptionHandling(exceptionHandling -> exceptionHandling.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
                 .authorizeHttpRequests(authorizeHttpRequests -> authorizeHttpRequests
+                        // Повторная обработка отложенного ответа: исходный запрос уже прошел авторизацию.
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
                         .requestMatchers("/auth/signup", "/auth/login").permitAll()
+                        .requestMatchers("/waiting-room/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/events/**").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/events/batch-get").permitAll()
                         .requestMatchers("/events/**").hasRole("ADMIN")
                         .requestMatchers("/bookings/**").hasRole("USER")
-                        .requestMatchers("/notifications").hasRole("ADMIN")
+                        .requestMatchers("/notifications/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
                 .addFilterBefore(jwtRequestFilter, UsernamePasswordAuthenticationFilter.class)
@@ -3,14 +3,25 @@ package com.application.ticketbooking.controller;
 import com.application.ticketbooking.controller.api.BookingApi;
 import com.application.ticketbooking.dto.BookingPageResponse;
 import com.application.ticketbooking.dto.BookingRequest;
+import com.application.ticketbooking.dto.BookingRequestStatusResponse;
 import com.application.ticketbooking.dto.BookingResponse;
+import com.application.ticketbooking.dto.CartRequest;
+import com.application.ticketbooking.dto.CartResponse;
+import com.application.ticketbooking.dto.CountMode;
+import com.application.ticketbooking.dto.CountedPage;
+import com.application.ticketbooking.dto.CursorPage;
+import com.application.ticketbooking.dto.SeatHoldResponse;
 import com.application.ticketbooking.entity.Booking;
 import com.application.ticketbooking.service.BookingService;
+import com.application.ticketbooking.service.SeatHoldService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import java.net.URI;
+import java.time.Duration;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -26,34 +37,138 @@ import java.util.stream.Collectors;
 public class BookingController implements BookingApi {
 
     private final BookingService bookingService;
+    private final SeatHoldService seatHoldService;
+
+    @Value("${booking.async.poll-timeout}")
+    private Duration pollTimeout;
 
     /**
      * Оформляет бронирование билетов на мероприятие.
+     * В асинхронном режиме ({@code booking.async.enabled}) запрос только принимается в обработку,
+     * а результат доступен по адресу из заголовка {@code Location}.
      *
      * @param bookingRequest запрос на бронирование с информацией о мероприятии и количестве билетов.
-     * @return {@link ResponseEntity} с {@link BookingResponse}, содержащим данные о бронировании.
+     * @return {@link ResponseEntity} с {@link BookingResponse}, содержащим данные о бронировании,
+     * или со статусом 202 и {@link BookingRequestStatusResponse} принятого запроса.
      */
     @PostMapping
-    public ResponseEntity<BookingResponse> bookTickets(@RequestBody BookingRequest bookingRequest) {
+    public ResponseEntity<?> bookTickets(@RequestBody BookingRequest bookingRequest) {
+        if (bookingService.isAsyncBookingEnabled()) {
+            BookingRequestStatusResponse statusResponse = bookingService.submitBooking(bookingRequest);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/bookings/requests/" + statusResponse.getRequestId()))
+                    .body(statusResponse);
+        }
         BookingResponse bookingResponse = bookingService.bookingTickets(bookingRequest);
         return ResponseEntity.status(HttpStatus.CREATED).body(bookingResponse);
     }
 
+    /**
+     * Получает состояние запроса на бронирование, принятого в асинхронную обработку.
+     * С параметром {@code wait=true} ответ откладывается до завершения обработки,
+     * но не дольше {@code booking.async.poll-timeout}, после чего возвращается текущее состояние.
+     *
+     * @param id идентификатор запроса на бронирование.
+     * @param wait ждать ли завершения обработки.
+     * @return {@link DeferredResult} с {@link BookingRequestStatusResponse}.
+     */
+    @GetMapping("/requests/{id}")
+    public DeferredResult<BookingRequestStatusResponse> getBookingRequest(
+            @PathVariable String id,
+            @RequestParam(value = "wait", defaultValue = "false") boolean wait) {
+        BookingRequestStatusResponse current = bookingService.getBookingRequest(id);
+        if (!wait || current.getStatus() != BookingRequestStatusResponse.Status.PENDING) {
+            DeferredResult<BookingRequestStatusResponse> result = new DeferredResult<>();
+            result.setResult(current);
+            return result;
+        }
+        DeferredResult<BookingRequestStatusResponse> result = new DeferredResult<>(pollTimeout.toMillis(), current);
+        bookingService.awaitBookingRequest(id).thenAccept(result::setResult);
+        return result;
+    }
+
+    /**
+     * Оформляет бронирование сразу на несколько мероприятий в одной транзакции.
+     *
+     * @param cartRequest запрос с позициями корзины: мероприятие и количество билетов.
+     * @return {@link ResponseEntity} с {@link CartResponse}, содержащим бронирования по всем мероприятиям корзины.
+     */
+    @PostMapping("/cart")
+    public ResponseEntity<CartResponse> checkoutCart(@RequestBody CartRequest cartRequest) {
+        CartResponse cartResponse = bookingService.checkoutCart(cartRequest);
+        return ResponseEntity.status(HttpStatus.CREATED).body(cartResponse);
+    }
+
+    /**
+     * Временно удерживает места на мероприятии до подтверждения бронирования.
+     *
+     * @param bookingRequest запрос с информацией о мероприятии и количестве билетов.
+     * @return {@link ResponseEntity} с {@link SeatHoldResponse}, содержащим идентификатор и срок действия удержания.
+     */
+    @PostMapping("/holds")
+    public ResponseEntity<SeatHoldResponse> holdSeats(@RequestBody BookingRequest bookingRequest) {
+        SeatHoldResponse seatHoldResponse = seatHoldService.holdSeats(bookingRequest);
+        return ResponseEntity.status(HttpStatus.CREATED).body(seatHoldResponse);
+    }
+
+    /**
+     * Подтверждает удержание мест и оформляет бронирование.
+     *
+     * @param id идентификатор удержания.
+     * @return {@link ResponseEntity} с {@link BookingResponse}, содержащим данные о бронировании.
+     */
+    @PostMapping("/holds/{id}/confirm")
+    public ResponseEntity<BookingResponse> confirmHold(@PathVariable Long id) {
+        BookingResponse bookingResponse = seatHoldService.confirmHold(id);
+        return ResponseEntity.status(HttpStatus.CREATED).body(bookingResponse);
+    }
+
     /**
      * Получает список всех бронирований с пагинацией.
      *
      * @param page номер страницы (по умолчанию 0).
      * @param size количество элементов на странице (по умолчанию 20).
+     * @param after курсор страницы; если передан, страница выбирается по курсору, а вместо номера страницы
+     *              и общего количества в ответе возвращается курсор следующей страницы {@code nextCursor}.
+     * @param count способ подсчета {@code totalElements}: {@code EXACT}, {@code CACHED}, {@code ESTIMATED} или {@code NONE},
+     *              по умолчанию {@code booking.counts.default-mode}; способ, которым количество получено, возвращается
+     *              в {@code totalElementsKind}.
      * @return {@link ResponseEntity} с объектом Map, содержащей список бронирований и мета-информацию о страницах.
      */
     @GetMapping
     public ResponseEntity<Map<String, Object>> getAllBooking(
             @RequestParam(value = "page", defaultValue = "0") int page,
-            @RequestParam(value = "size", defaultValue = "20") int size) {
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "count", required = false) CountMode count) {
+
+        if (after != null) {
+            CursorPage<Booking> bookingsPage = bookingService.getBookingsAfter(after, size);
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("bookings", toBookingPageResponses(bookingsPage.getContent()));
+            response.put("size", bookingsPage.getSize());
+            response.put("nextCursor", bookingsPage.getNextCursor());
+            return ResponseEntity.ok().body(response);
+        }
 
-        Page<Booking> bookingsPage = bookingService.getAllBookings(page, size);
+        CountedPage<Booking> bookingsPage = bookingService.getAllBookings(page, size, count);
+
+        List<BookingPageResponse> bookings = toBookingPageResponses(bookingsPage.getContent());
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("bookings", bookings);
+        response.put("page", bookingsPage.getPage());
+        response.put("size", bookingsPage.getSize());
+        if (bookingsPage.getTotalElements() != null) {
+            response.put("totalElements", bookingsPage.getTotalElements());
+            response.put("totalElementsKind", bookingsPage.getTotalElementsKind());
+        }
 
-        List<BookingPageResponse> bookings = bookingsPage.getContent().stream()
+        return ResponseEntity.ok().body(response);
+    }
+
+    private static List<BookingPageResponse> toBookingPageResponses(List<Booking> bookings) {
+        return bookings.stream()
                 .map(booking -> new BookingPageResponse(
                         booking.getId(),
                         booking.getEvent().getId(),
@@ -61,14 +176,6 @@ public class BookingController implements BookingApi {
                         booking.getTicketsCount()
                 ))
                 .collect(Collectors.toList());
-
-        Map<String, Object> response = new LinkedHashMap<>();
-        response.put("bookings", bookings);
-        response.put("page", bookingsPage.getNumber());
-        response.put("size", bookingsPage.getSize());
-        response.put("totalElements", bookingsPage.getTotalElements());
-
-        return ResponseEntity.ok().body(response);
     }
 
 }
@@ -1,17 +1,24 @@
 package com.application.ticketbooking.controller;
 
 import com.application.ticketbooking.controller.api.EventApi;
+import com.application.ticketbooking.dto.CountMode;
+import com.application.ticketbooking.dto.CountedPage;
+import com.application.ticketbooking.dto.CursorPage;
+import com.application.ticketbooking.dto.EventBatchGetRequest;
+import com.application.ticketbooking.dto.EventBatchGetResponse;
 import com.application.ticketbooking.dto.EventResponse;
+import com.application.ticketbooking.dto.EventSuggestion;
+import com.application.ticketbooking.dto.EventUpdateRequest;
 import com.application.ticketbooking.entity.Event;
 import com.application.ticketbooking.service.EventService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
-import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -31,26 +38,109 @@ public class EventController implements EventApi {
      * @param page номер страницы (по умолчанию 0)
      * @param size количество элементов на странице (по умолчанию 20)
      * @param sortBy поле для сортировки (по умолчанию "id")
+     * @param after курсор страницы; если передан, страница выбирается по курсору, а вместо номера страницы
+     *              и общего количества в ответе возвращается курсор следующей страницы {@code nextCursor}
+     * @param count способ подсчета {@code totalElements}: {@code EXACT}, {@code CACHED}, {@code ESTIMATED} или {@code NONE},
+     *              по умолчанию {@code booking.counts.default-mode}; способ, которым количество получено, возвращается
+     *              в {@code totalElementsKind}
+     * @param from начало интервала дат включительно; по умолчанию текущий момент, прошедшие мероприятия не возвращаются
+     * @param to конец интервала дат не включительно
+     * @param onlyAvailable {@code true}, чтобы вернуть только мероприятия со свободными местами
      * @return {@link ResponseEntity} с объектом Map, содержащей список мероприятий и информацию о пагинации
      */
     @GetMapping
-    @Cacheable("events")
     public ResponseEntity<Map<String, Object>> getAllEvents(
             @RequestParam(value = "page", defaultValue = "0") int page,
             @RequestParam(value = "size", defaultValue = "20") int size,
-            @RequestParam(value = "sort", defaultValue = "id") String sortBy) {
+            @RequestParam(value = "sort", defaultValue = "id") String sortBy,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "count", required = false) CountMode count,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "onlyAvailable", required = false) Boolean onlyAvailable) {
 
-        Page<Event> eventsPage = eventService.getAllEvents(page, size, sortBy);
+        if (from != null || to != null || onlyAvailable != null) {
+            CursorPage<Event> eventsPage = eventService.getEventsBetween(from, to, Boolean.TRUE.equals(onlyAvailable), after, size);
+            Map<String, Object> response = new HashMap<>();
+            response.put("events", eventsPage.getContent());
+            response.put("size", eventsPage.getSize());
+            response.put("nextCursor", eventsPage.getNextCursor());
+            return ResponseEntity.ok().body(response);
+        }
+
+        if (after != null) {
+            CursorPage<Event> eventsPage = eventService.getEventsAfter(after, size, sortBy);
+            Map<String, Object> response = new HashMap<>();
+            response.put("events", eventsPage.getContent());
+            response.put("size", eventsPage.getSize());
+            response.put("nextCursor", eventsPage.getNextCursor());
+            return ResponseEntity.ok().body(response);
+        }
+
+        CountedPage<Event> eventsPage = eventService.getAllEvents(page, size, sortBy, count);
 
         Map<String, Object> response = new HashMap<>();
         response.put("events", eventsPage.getContent());
-        response.put("page", eventsPage.getNumber());
+        response.put("page", eventsPage.getPage());
         response.put("size", eventsPage.getSize());
-        response.put("totalElements", eventsPage.getTotalElements());
+        if (eventsPage.getTotalElements() != null) {
+            response.put("totalElements", eventsPage.getTotalElements());
+            response.put("totalElementsKind", eventsPage.getTotalElementsKind());
+        }
+
+        return ResponseEntity.ok().body(response);
+    }
+
+    /**
+     * Ищет мероприятия по названию и описанию.
+     *
+     * @param query поисковый запрос
+     * @param size количество элементов на странице (по умолчанию 20)
+     * @param after курсор страницы из {@code nextCursor} предыдущего ответа, пустой или отсутствующий для первой страницы
+     * @return {@link ResponseEntity} с объектом Map, содержащей найденные мероприятия в порядке убывания релевантности
+     * и курсор следующей страницы
+     */
+    @GetMapping("/search")
+    public ResponseEntity<Map<String, Object>> searchEvents(
+            @RequestParam("q") String query,
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            @RequestParam(value = "after", required = false) String after) {
+
+        CursorPage<Event> eventsPage = eventService.searchEvents(query, after, size);
 
+        Map<String, Object> response = new HashMap<>();
+        response.put("events", eventsPage.getContent());
+        response.put("size", eventsPage.getSize());
+        response.put("nextCursor", eventsPage.getNextCursor());
         return ResponseEntity.ok().body(response);
     }
 
+    /**
+     * Подсказывает названия предстоящих мероприятий по началу названия.
+     *
+     * @param prefix начало названия мероприятия без учета регистра
+     * @param limit максимальное количество подсказок (по умолчанию 10)
+     * @return {@link ResponseEntity} со списком {@link EventSuggestion}, упорядоченным по дате мероприятия
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<EventSuggestion>> suggestEvents(
+            @RequestParam("prefix") String prefix,
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return ResponseEntity.ok().body(eventService.suggestEvents(prefix, limit));
+    }
+
+    /**
+     * Получает несколько мероприятий по их идентификаторам одним запросом.
+     *
+     * @param batchGetRequest запрос с id мероприятий
+     * @return {@link ResponseEntity} с {@link EventBatchGetResponse}, содержащим найденные мероприятия в порядке запроса
+     * и id мероприятий, которые не найдены
+     */
+    @PostMapping("/batch-get")
+    public ResponseEntity<EventBatchGetResponse> getEventsByIds(@RequestBody EventBatchGetRequest batchGetRequest) {
+        return ResponseEntity.ok().body(eventService.getEventsByIds(batchGetRequest.getIds()));
+    }
+
     /**
      * Получает мероприятие по его идентификатору.
      *
@@ -70,7 +160,6 @@ public class EventController implements EventApi {
      * @return {@link ResponseEntity} с {@link EventResponse}, содержащим информацию о созданном мероприятии
      */
     @PostMapping()
-    @CacheEvict(value = "events", allEntries = true)
     public ResponseEntity<EventResponse> createEvent(@RequestBody Event event) {
         EventResponse eventResponse = eventService.createEvent(event);
         eventResponse.setMessage("Мероприятие успешно создано.");
@@ -82,12 +171,11 @@ public class EventController implements EventApi {
      * Обновляет информацию о мероприятии.
      *
      * @param id идентификатор мероприятия
-     * @param event объект {@link Event} с обновленными данными
+     * @param event {@link EventUpdateRequest} с обновленными данными
      * @return {@link ResponseEntity} с {@link EventResponse}, содержащим информацию об обновленном мероприятии
      */
     @PutMapping("/{id}")
-    @CacheEvict(value = "events", allEntries = true)
-    public ResponseEntity<EventResponse> updateEvent(@PathVariable("id") Long id, @RequestBody Event event) {
+    public ResponseEntity<EventResponse> updateEvent(@PathVariable("id") Long id, @RequestBody EventUpdateRequest event) {
         EventResponse eventResponse = eventService.updateEvent(event, id);
         return ResponseEntity.ok().body(eventResponse);
     }
@@ -99,7 +187,6 @@ public class EventController implements EventApi {
      * @return {@link ResponseEntity} с сообщением об успешном удалении или статусом 204, если мероприятие не найдено
      */
     @DeleteMapping("/{id}")
-    @CacheEvict(value = "events", allEntries = true)
     public ResponseEntity<Map<String,Object>> deleteEvent(@PathVariable("id") Long id) {
         boolean isDeleted = eventService.deleteEvent(id);
         if (isDeleted) {
@@ -1,15 +1,26 @@
 package com.application.ticketbooking.controller;
 
 import com.application.ticketbooking.controller.api.NotificationsLogApi;
+import com.application.ticketbooking.dto.CountMode;
+import com.application.ticketbooking.dto.CountedPage;
+import com.application.ticketbooking.dto.CursorPage;
 import com.application.ticketbooking.entity.NotificationLog;
 import com.application.ticketbooking.service.NotificationLogService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -23,22 +34,102 @@ import java.util.Map;
 public class NotificationsLogController implements NotificationsLogApi {
 
     private final NotificationLogService notificationLogService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Получает все логи уведомлений с пагинацией.
      *
      * @param page номер страницы (по умолчанию 0)
      * @param size количество элементов на странице (по умолчанию 20)
+     * @param after курсор страницы; если передан, страница выбирается по курсору, а вместо номера страницы
+     *              и общего количества в ответе возвращается курсор следующей страницы {@code nextCursor}
+     * @param count способ подсчета {@code totalElements}: {@code EXACT}, {@code CACHED}, {@code ESTIMATED} или {@code NONE},
+     *              по умолчанию {@code booking.counts.default-mode}; способ, которым количество получено, возвращается
+     *              в {@code totalElementsKind}; с интервалом времени количество считается точно, кроме {@code NONE}
+     * @param from начало интервала времени уведомлений включительно
+     * @param to конец интервала времени уведомлений не включительно
+     * @param bookingId идентификатор бронирования, логи которого нужно вернуть
      * @return {@link ResponseEntity} с картой, содержащей список уведомлений и информацию о пагинации
      */
-    @GetMapping
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<Map<String, Object>> getAllNotifications(
             @RequestParam(value = "page", defaultValue = "0") int page,
-            @RequestParam(value = "size", defaultValue = "20") int size) {
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "count", required = false) CountMode count,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "bookingId", required = false) Long bookingId) {
 
-        Page<NotificationLog> notificationPage = notificationLogService.getAllNotificationLogs(page, size);
+        if (after != null) {
+            CursorPage<NotificationLog> notificationPage = notificationLogService.getNotificationLogsAfter(after, size, from, to, bookingId);
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("notifications", toNotificationMaps(notificationPage.getContent()));
+            response.put("size", notificationPage.getSize());
+            response.put("nextCursor", notificationPage.getNextCursor());
+            return ResponseEntity.ok().body(response);
+        }
 
-        List<Map<String, Object>> notifications = notificationPage.getContent().stream()
+        CountedPage<NotificationLog> notificationPage = notificationLogService.getAllNotificationLogs(page, size, count, from, to, bookingId);
+
+        List<Map<String, Object>> notifications = toNotificationMaps(notificationPage.getContent());
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("notifications", notifications);
+        response.put("page", notificationPage.getPage());
+        response.put("size", notificationPage.getSize());
+        if (notificationPage.getTotalElements() != null) {
+            response.put("totalElements", notificationPage.getTotalElements());
+            response.put("totalElementsKind", notificationPage.getTotalElementsKind());
+        }
+
+        return ResponseEntity.ok().body(response);
+    }
+
+    /**
+     * Выдает логи уведомлений интервала времени в формате NDJSON, если клиент запросил его заголовком
+     * {@code Accept: application/x-ndjson}: по одному JSON-объекту на строку в порядке времени.
+     * Логи пишутся в ответ по мере чтения курсором, поэтому занятая память не зависит от размера интервала.
+     *
+     * @param from начало интервала времени уведомлений включительно
+     * @param to конец интервала времени уведомлений не включительно
+     * @param bookingId идентификатор бронирования, логи которого нужно вернуть
+     * @param response ответ, в который пишутся логи
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamNotifications(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "bookingId", required = false) Long bookingId,
+            HttpServletResponse response) throws IOException {
+
+        OutputStream out = response.getOutputStream();
+        notificationLogService.streamNotificationLogs(from, to, bookingId, notification -> {
+            try {
+                setNdjsonContentType(response);
+                out.write(objectMapper.writeValueAsBytes(notification));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        setNdjsonContentType(response);
+        out.flush();
+    }
+
+    /**
+     * Тип ответа задается только после проверки параметров: ошибка до начала выдачи возвращается
+     * обработчиком исключений как обычный JSON.
+     */
+    private static void setNdjsonContentType(HttpServletResponse response) {
+        if (response.getContentType() == null) {
+            response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        }
+    }
+
+    private static List<Map<String, Object>> toNotificationMaps(List<NotificationLog> notificationLogs) {
+        return notificationLogs.stream()
                 .map(notification -> {
                     Map<String, Object> notificationMap = new LinkedHashMap<>();
                     notificationMap.put("id", notification.getId());
@@ -48,14 +139,6 @@ public class NotificationsLogController implements NotificationsLogApi {
                     return notificationMap;
                 })
                 .toList();
-
-        Map<String, Object> response = new LinkedHashMap<>();
-        response.put("notifications", notifications);
-        response.put("page", notificationPage.getNumber());
-        response.put("size", notificationPage.getSize());
-        response.put("totalElements", notificationPage.getTotalElements());
-
-        return ResponseEntity.ok().body(response);
     }
 
 
@@ -0,0 +1,45 @@
+package com.application.ticketbooking.controller;
+
+import com.application.ticketbooking.controller.api.WaitingRoomApi;
+import com.application.ticketbooking.dto.WaitingRoomResponse;
+import com.application.ticketbooking.service.WaitingRoomService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Контроллер очереди ожидания.
+ * Выдает позиции в очереди мероприятий с ажиотажным спросом и пропуски на бронирование.
+ * Запросы обрабатываются в памяти без аутентификации, поэтому выдерживают поток клиентов при старте продаж.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/waiting-room")
+public class WaitingRoomController implements WaitingRoomApi {
+
+    private final WaitingRoomService waitingRoomService;
+
+    /**
+     * Ставит клиента в очередь мероприятия.
+     *
+     * @param eventId идентификатор мероприятия.
+     * @return {@link ResponseEntity} с {@link WaitingRoomResponse}, содержащим билет очереди и позицию.
+     */
+    @PostMapping("/{eventId}")
+    public ResponseEntity<WaitingRoomResponse> join(@PathVariable Long eventId) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(waitingRoomService.join(eventId));
+    }
+
+    /**
+     * Возвращает позицию клиента в очереди или пропуск на бронирование.
+     *
+     * @param eventId идентификатор мероприятия.
+     * @param ticket билет очереди.
+     * @return {@link ResponseEntity} с {@link WaitingRoomResponse}.
+     */
+    @GetMapping("/{eventId}")
+    public ResponseEntity<WaitingRoomResponse> getStatus(@PathVariable Long eventId, @RequestParam("ticket") String ticket) {
+        return ResponseEntity.ok(waitingRoomService.getStatus(eventId, ticket));
+    }
+}
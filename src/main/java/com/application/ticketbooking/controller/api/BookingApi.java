@@ -2,7 +2,12 @@ package com.application.ticketbooking.controller.api;
 
 import com.application.ticketbooking.dto.BookingPageResponse;
 import com.application.ticketbooking.dto.BookingRequest;
+import com.application.ticketbooking.dto.BookingRequestStatusResponse;
 import com.application.ticketbooking.dto.BookingResponse;
+import com.application.ticketbooking.dto.CartRequest;
+import com.application.ticketbooking.dto.CartResponse;
+import com.application.ticketbooking.dto.CountMode;
+import com.application.ticketbooking.dto.SeatHoldResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -11,9 +16,11 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.async.DeferredResult;
 import java.util.Map;
 
 /**
@@ -22,27 +29,101 @@ import java.util.Map;
  */
 public interface BookingApi {
 
-    @Operation(summary = "Оформление бронирования билетов", description = "Оформляет бронирование билетов на мероприятие.")
+    @Operation(summary = "Оформление бронирования билетов", description = "Оформляет бронирование билетов на мероприятие. " +
+            "В асинхронном режиме принимает запрос в обработку и возвращает его идентификатор.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Бронирование успешно выполнено",
                     content = {@Content(mediaType = "application/json",
                             schema = @Schema(implementation = BookingResponse.class))}),
+            @ApiResponse(responseCode = "202", description = "Запрос на бронирование принят в асинхронную обработку",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = BookingRequestStatusResponse.class))}),
             @ApiResponse(responseCode = "401", description = "Ошибка авторизации", content = @Content),
+            @ApiResponse(responseCode = "429", description = "Мероприятие продается через очередь ожидания, нет действительного пропуска", content = @Content),
             @ApiResponse(responseCode = "404", description = "Ошибка бронирования из-за отсутствия мероприятия", content = @Content),
+            @ApiResponse(responseCode = "503", description = "Очередь запросов на бронирование переполнена", content = @Content),
             @ApiResponse(responseCode = "500", description = "Внутренняя ошибка сервера", content = @Content)
     })
     @PostMapping
-    ResponseEntity<BookingResponse> bookTickets(
+    ResponseEntity<?> bookTickets(
             @Parameter(description = "Запрос на бронирование с информацией о мероприятии и количестве билетов.", required = true)
             @RequestBody BookingRequest bookingRequest
     );
 
+    @Operation(summary = "Состояние запроса на бронирование", description = "Возвращает состояние запроса, принятого в асинхронную обработку, " +
+            "и результат бронирования после ее завершения.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Состояние запроса",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = BookingRequestStatusResponse.class))}),
+            @ApiResponse(responseCode = "401", description = "Ошибка авторизации", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Запрос не найден или его результат уже удален", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Внутренняя ошибка сервера", content = @Content)
+    })
+    @GetMapping("/requests/{id}")
+    DeferredResult<BookingRequestStatusResponse> getBookingRequest(
+            @Parameter(description = "Идентификатор запроса на бронирование.", required = true)
+            @PathVariable String id,
+            @Parameter(description = "Ждать завершения обработки, но не дольше booking.async.poll-timeout.")
+            @RequestParam(value = "wait", defaultValue = "false") boolean wait
+    );
+
+    @Operation(summary = "Оформление корзины", description = "Бронирует билеты сразу на несколько мероприятий: либо все, либо ни одного.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Заказ успешно оформлен",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = CartResponse.class))}),
+            @ApiResponse(responseCode = "400", description = "Корзина пуста, слишком велика или на одно из мероприятий недостаточно мест", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Ошибка авторизации", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Одно из мероприятий не найдено", content = @Content),
+            @ApiResponse(responseCode = "429", description = "Мероприятие продается через очередь ожидания, нет действительного пропуска", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Внутренняя ошибка сервера", content = @Content)
+    })
+    @PostMapping("/cart")
+    ResponseEntity<CartResponse> checkoutCart(
+            @Parameter(description = "Запрос с позициями корзины: мероприятие и количество билетов.", required = true)
+            @RequestBody CartRequest cartRequest
+    );
+
+    @Operation(summary = "Удержание мест", description = "Временно снимает места с продажи до подтверждения бронирования.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Места удержаны",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = SeatHoldResponse.class))}),
+            @ApiResponse(responseCode = "400", description = "Недостаточно свободных мест", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Ошибка авторизации", content = @Content),
+            @ApiResponse(responseCode = "429", description = "Мероприятие продается через очередь ожидания, нет действительного пропуска", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Мероприятие не найдено", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Внутренняя ошибка сервера", content = @Content)
+    })
+    @PostMapping("/holds")
+    ResponseEntity<SeatHoldResponse> holdSeats(
+            @Parameter(description = "Запрос с информацией о мероприятии и количестве билетов.", required = true)
+            @RequestBody BookingRequest bookingRequest
+    );
+
+    @Operation(summary = "Подтверждение удержания мест", description = "Оформляет бронирование на удержанные места.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Бронирование успешно выполнено",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = BookingResponse.class))}),
+            @ApiResponse(responseCode = "401", description = "Ошибка авторизации", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Удержание не найдено или истекло", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Внутренняя ошибка сервера", content = @Content)
+    })
+    @PostMapping("/holds/{id}/confirm")
+    ResponseEntity<BookingResponse> confirmHold(
+            @Parameter(description = "Идентификатор удержания.", required = true)
+            @PathVariable Long id
+    );
+
 
-    @Operation(summary = "Получение списка бронирований", description = "Получает список всех бронирований с пагинацией.")
+    @Operation(summary = "Получение списка бронирований", description = "Получает список всех бронирований с пагинацией по номеру страницы или по курсору.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Список бронирований успешно получен",
                     content = {@Content(mediaType = "application/json",
                             schema = @Schema(implementation = BookingPageResponse.class))}),
+            @ApiResponse(responseCode = "400", description = "Некорректный курсор страницы", content = @Content),
             @ApiResponse(responseCode = "401", description = "Ошибка авторизации", content = @Content),
             @ApiResponse(responseCode = "500", description = "Внутренняя ошибка сервера", content = @Content)
     })
@@ -52,6 +133,12 @@ public interface BookingApi {
             @Parameter(description = "Номер страницы (по умолчанию 0).", required = false)
             @RequestParam(value = "page", defaultValue = "0") int page,
             @Parameter(description = "Количество элементов на странице (по умолчанию 20).", required = false)
-            @RequestParam(value = "size", defaultValue = "20") int size
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            @Parameter(description = "Курсор страницы из поля nextCursor предыдущего ответа, пустое значение — первая страница. "
+                    + "С этим параметром page не используется, а totalElements не возвращается.", required = false)
+            @RequestParam(value = "after", required = false) String after,
+            @Parameter(description = "Способ подсчета totalElements: EXACT, CACHED, ESTIMATED или NONE (без подсчета). "
+                    + "Способ, которым количество получено, возвращается в totalElementsKind.", required = false)
+            @RequestParam(value = "count", required = false) CountMode count
     );
 }
\ No newline at end of file
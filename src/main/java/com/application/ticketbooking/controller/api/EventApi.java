@@ -1,6 +1,11 @@
 package com.application.ticketbooking.controller.api;
 
+import com.application.ticketbooking.dto.CountMode;
+import com.application.ticketbooking.dto.EventBatchGetRequest;
+import com.application.ticketbooking.dto.EventBatchGetResponse;
 import com.application.ticketbooking.dto.EventResponse;
+import com.application.ticketbooking.dto.EventSuggestion;
+import com.application.ticketbooking.dto.EventUpdateRequest;
 import com.application.ticketbooking.entity.Event;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -8,8 +13,11 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -18,11 +26,12 @@ import java.util.Map;
  */
 public interface EventApi {
 
-    @Operation(summary = "Получение списка мероприятий", description = "Получает список всех мероприятий с пагинацией.")
+    @Operation(summary = "Получение списка мероприятий", description = "Получает список всех мероприятий с пагинацией по номеру страницы или по курсору.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Список мероприятий успешно получен",
                     content = {@Content(mediaType = "application/json",
                             schema = @Schema(implementation = EventResponse.class))}),
+            @ApiResponse(responseCode = "400", description = "Некорректный курсор страницы, сортировка или интервал дат", content = @Content),
             @ApiResponse(responseCode = "500", description = "Внутренняя ошибка сервера", content = @Content)
     })
     @GetMapping
@@ -34,7 +43,81 @@ public interface EventApi {
             @RequestParam(value = "size", defaultValue = "20") int size,
 
             @Parameter(description = "Поле, по которому сортируется выборка (по умолчанию id).", required = false)
-            @RequestParam(value = "sort", defaultValue = "id") String sortBy
+            @RequestParam(value = "sort", defaultValue = "id") String sortBy,
+
+            @Parameter(description = "Курсор страницы из поля nextCursor предыдущего ответа, пустое значение — первая страница. "
+                    + "С этим параметром page не используется, sort может быть только id, name или eventDate, а totalElements не возвращается.", required = false)
+            @RequestParam(value = "after", required = false) String after,
+
+            @Parameter(description = "Способ подсчета totalElements: EXACT, CACHED, ESTIMATED или NONE (без подсчета). "
+                    + "Способ, которым количество получено, возвращается в totalElementsKind.", required = false)
+            @RequestParam(value = "count", required = false) CountMode count,
+
+            @Parameter(description = "Начало интервала дат мероприятий включительно, ISO-8601 (по умолчанию текущий момент). "
+                    + "С параметрами from, to или onlyAvailable мероприятия упорядочены по дате и выдаются по курсору, "
+                    + "прошедшие мероприятия без from не возвращаются, а page, sort и count не используются.", required = false)
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+
+            @Parameter(description = "Конец интервала дат мероприятий не включительно, ISO-8601.", required = false)
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+
+            @Parameter(description = "true — только мероприятия со свободными местами.", required = false)
+            @RequestParam(value = "onlyAvailable", required = false) Boolean onlyAvailable
+    );
+
+    @Operation(summary = "Поиск мероприятий", description = "Ищет мероприятия по названию и описанию. "
+            + "Результаты упорядочены по убыванию релевантности и выдаются постранично по курсору.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Результаты поиска успешно получены",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = EventResponse.class))}),
+            @ApiResponse(responseCode = "400", description = "Пустой поисковый запрос или некорректный курсор страницы", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Внутренняя ошибка сервера", content = @Content)
+    })
+    @GetMapping("/search")
+    ResponseEntity<Map<String, Object>> searchEvents(
+            @Parameter(description = "Поисковый запрос. Поддерживает фразы в кавычках, or и исключение слов через -.", required = true)
+            @RequestParam("q") String query,
+
+            @Parameter(description = "Количество элементов на странице (по умолчанию 20).", required = false)
+            @RequestParam(value = "size", defaultValue = "20") int size,
+
+            @Parameter(description = "Курсор страницы из поля nextCursor предыдущего ответа, пустое значение — первая страница.", required = false)
+            @RequestParam(value = "after", required = false) String after
+    );
+
+    @Operation(summary = "Подсказки названий мероприятий", description = "Подсказывает названия предстоящих мероприятий "
+            + "по началу названия без учета регистра. Подсказки упорядочены по дате мероприятия.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Подсказки успешно получены",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = EventSuggestion.class))}),
+            @ApiResponse(responseCode = "400", description = "Пустой префикс или некорректное количество подсказок", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Внутренняя ошибка сервера", content = @Content)
+    })
+    @GetMapping("/suggest")
+    ResponseEntity<List<EventSuggestion>> suggestEvents(
+            @Parameter(description = "Начало названия мероприятия.", required = true)
+            @RequestParam("prefix") String prefix,
+
+            @Parameter(description = "Максимальное количество подсказок (по умолчанию 10, не больше booking.suggest.max-results).", required = false)
+            @RequestParam(value = "limit", defaultValue = "10") int limit
+    );
+
+    @Operation(summary = "Получение нескольких мероприятий по id", description = "Получает до booking.events.batch-get.max-ids "
+            + "мероприятий за один запрос. Мероприятия возвращаются в порядке переданных id, повторяющиеся id — один раз, "
+            + "id ненайденных мероприятий возвращаются в missingIds.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Мероприятия успешно получены",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = EventBatchGetResponse.class))}),
+            @ApiResponse(responseCode = "400", description = "Список id пуст, содержит пустое значение или слишком длинный", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Внутренняя ошибка сервера", content = @Content)
+    })
+    @PostMapping("/batch-get")
+    ResponseEntity<EventBatchGetResponse> getEventsByIds(
+            @Parameter(description = "Запрос с id мероприятий в порядке, в котором их нужно вернуть.", required = true)
+            @RequestBody EventBatchGetRequest batchGetRequest
     );
 
     @Operation(summary = "Получение мероприятия по id", description = "Получает мероприятие по переданному id.")
@@ -70,6 +153,7 @@ public interface EventApi {
             @ApiResponse(responseCode = "200", description = "Мероприятий успешно обновлено",
                     content = {@Content(mediaType = "application/json",
                             schema = @Schema(implementation = EventResponse.class))}),
+            @ApiResponse(responseCode = "400", description = "Переключение способа резервирования в режим LEDGER или ESCROW или из него", content = @Content),
             @ApiResponse(responseCode = "401", description = "Ошибка авторизации", content = @Content),
             @ApiResponse(responseCode = "404", description = "Мероприятие не найдено", content = @Content),
             @ApiResponse(responseCode = "500", description = "Внутренняя ошибка сервера", content = @Content)
@@ -78,8 +162,8 @@ public interface EventApi {
     ResponseEntity<EventResponse> updateEvent(
             @Parameter(description = "id мероприятия, которое будет обновлено", required = true)
             @PathVariable("id") Long id,
-            @Parameter(description = "Новые данные для обновления мероприятия", required = true)
-            @RequestBody Event event
+            @Parameter(description = "Новые данные для обновления мероприятия. Не переданные reservationMode, seatStripes и waitingRoom не меняются", required = true)
+            @RequestBody EventUpdateRequest event
     );
 
     @Operation(summary = "Удаление мероприятия", description = "Обновляет мероприятие.")
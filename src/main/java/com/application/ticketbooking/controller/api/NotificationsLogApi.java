@@ -1,5 +1,7 @@
 package com.application.ticketbooking.controller.api;
 
+import com.application.ticketbooking.dto.CountMode;
+import com.application.ticketbooking.dto.NotificationLogResponse;
 import com.application.ticketbooking.entity.NotificationLog;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -7,10 +9,15 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.Map;
 
 /**
@@ -20,18 +27,53 @@ import java.util.Map;
 @RequestMapping("/notifications")
 public interface NotificationsLogApi {
 
-    @Operation(summary = "Получение логов уведомлений", description = "Получает все логи уведомлений с пагинацией.")
+    @Operation(summary = "Получение логов уведомлений", description = "Получает все логи уведомлений с пагинацией по номеру страницы или по курсору.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Логи уведомлений успешно получены",
                     content = {@Content(mediaType = "application/json",
                             schema = @Schema(implementation = NotificationLog.class))}),
+            @ApiResponse(responseCode = "400", description = "Некорректный курсор страницы или пустой интервал времени", content = @Content),
             @ApiResponse(responseCode = "500", description = "Внутренняя ошибка сервера", content = @Content)
     })
-    @GetMapping
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
     ResponseEntity<Map<String, Object>> getAllNotifications(
             @Parameter(description = "Номер страницы (по умолчанию 0).", required = false)
             @RequestParam(value = "page", defaultValue = "0") int page,
             @Parameter(description = "Количество элементов на странице (по умолчанию 20).", required = false)
-            @RequestParam(value = "size", defaultValue = "20") int size
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            @Parameter(description = "Курсор страницы из поля nextCursor предыдущего ответа, пустое значение — первая страница. "
+                    + "С этим параметром page не используется, а totalElements не возвращается.", required = false)
+            @RequestParam(value = "after", required = false) String after,
+            @Parameter(description = "Способ подсчета totalElements: EXACT, CACHED, ESTIMATED или NONE (без подсчета). "
+                    + "Способ, которым количество получено, возвращается в totalElementsKind.", required = false)
+            @RequestParam(value = "count", required = false) CountMode count,
+            @Parameter(description = "Начало интервала времени уведомлений включительно, ISO-8601. С параметрами from или to "
+                    + "логи упорядочены по id, читаются только секции за месяцы интервала, а totalElements считается точно.", required = false)
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Конец интервала времени уведомлений не включительно, ISO-8601.", required = false)
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Идентификатор бронирования: только его логи, упорядоченные по id, totalElements считается точно.", required = false)
+            @RequestParam(value = "bookingId", required = false) Long bookingId
     );
+
+    @Operation(summary = "Потоковая выдача логов уведомлений", description = "По заголовку Accept: application/x-ndjson выдает "
+            + "все логи уведомлений интервала времени в формате NDJSON (по JSON-объекту на строку) в порядке времени без постраничного вывода. Логи читаются "
+            + "курсором и пишутся в ответ по мере чтения, поэтому подходит для больших интервалов.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Логи уведомлений выдаются",
+                    content = {@Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            schema = @Schema(implementation = NotificationLogResponse.class))}),
+            @ApiResponse(responseCode = "400", description = "Пустой интервал времени", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Внутренняя ошибка сервера", content = @Content)
+    })
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    void streamNotifications(
+            @Parameter(description = "Начало интервала времени уведомлений включительно, ISO-8601.", required = false)
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Конец интервала времени уведомлений не включительно, ISO-8601.", required = false)
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Идентификатор бронирования: только его логи.", required = false)
+            @RequestParam(value = "bookingId", required = false) Long bookingId,
+            @Parameter(hidden = true) HttpServletResponse response
+    ) throws IOException;
 }
\ No newline at end of file
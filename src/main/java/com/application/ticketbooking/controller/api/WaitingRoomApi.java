@@ -0,0 +1,51 @@
+package com.application.ticketbooking.controller.api;
+
+import com.application.ticketbooking.dto.WaitingRoomResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+/**
+ * Интерфейс, определяющий API очереди ожидания.
+ * Содержит Swagger-аннотации для автоматической генерации документации.
+ */
+public interface WaitingRoomApi {
+
+    @Operation(summary = "Постановка в очередь", description = "Ставит клиента в очередь ожидания мероприятия и выдает билет очереди.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Клиент поставлен в очередь",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = WaitingRoomResponse.class))}),
+            @ApiResponse(responseCode = "400", description = "Бронирование на мероприятие идет без очереди", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Внутренняя ошибка сервера", content = @Content)
+    })
+    @PostMapping("/{eventId}")
+    ResponseEntity<WaitingRoomResponse> join(
+            @Parameter(description = "Идентификатор мероприятия.", required = true)
+            @PathVariable Long eventId
+    );
+
+    @Operation(summary = "Проверка очереди", description = "Возвращает позицию в очереди или пропуск на бронирование, если очередь подошла.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Позиция в очереди или пропуск",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = WaitingRoomResponse.class))}),
+            @ApiResponse(responseCode = "400", description = "Недействительный билет очереди", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Внутренняя ошибка сервера", content = @Content)
+    })
+    @GetMapping("/{eventId}")
+    ResponseEntity<WaitingRoomResponse> getStatus(
+            @Parameter(description = "Идентификатор мероприятия.", required = true)
+            @PathVariable Long eventId,
+            @Parameter(description = "Билет очереди, полученный при постановке в очередь.", required = true)
+            @RequestParam("ticket") String ticket
+    );
+}
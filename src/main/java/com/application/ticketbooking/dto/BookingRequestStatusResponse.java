@@ -0,0 +1,35 @@
+package com.application.ticketbooking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * DTO для ответа о состоянии запроса на бронирование, принятого в асинхронную обработку.
+ * Содержит идентификатор запроса, его состояние и, после обработки, бронирование или причину отказа.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingRequestStatusResponse {
+    private String requestId;
+    private Status status;
+    private LocalDateTime acceptedAt;
+    private BookingResponse booking;
+    private String message;
+
+    /**
+     * Состояние запроса на бронирование.
+     */
+    public enum Status {
+        /** Запрос ожидает обработки в очереди. */
+        PENDING,
+        /** Бронирование оформлено. */
+        COMPLETED,
+        /** В бронировании отказано: мероприятия нет или не хватает мест. */
+        REJECTED,
+        /** Запрос не удалось обработать, его можно повторить. */
+        FAILED
+    }
+}
@@ -0,0 +1,17 @@
+package com.application.ticketbooking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/**
+ * DTO для запроса на оформление корзины.
+ * Содержит позиции корзины: мероприятие и количество билетов на него.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CartRequest {
+    private List<BookingRequest> items;
+}
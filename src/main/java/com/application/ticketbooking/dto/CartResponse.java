@@ -0,0 +1,18 @@
+package com.application.ticketbooking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/**
+ * DTO для ответа на оформление корзины.
+ * Содержит бронирования по всем мероприятиям корзины и сообщение.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CartResponse {
+    private List<BookingResponse> bookings;
+    private String message;
+}
@@ -0,0 +1,24 @@
+package com.application.ticketbooking.dto;
+
+/**
+ * Способ получения общего количества элементов для постраничного вывода.
+ */
+public enum CountMode {
+    /**
+     * Точное количество, {@code count(*)} при каждом запросе.
+     */
+    EXACT,
+    /**
+     * Точное количество, посчитанное не раньше {@code booking.counts.refresh-interval} назад
+     * и пересчитываемое в фоне.
+     */
+    CACHED,
+    /**
+     * Оценка по статистике планировщика PostgreSQL.
+     */
+    ESTIMATED,
+    /**
+     * Количество не считается.
+     */
+    NONE
+}
@@ -0,0 +1,25 @@
+package com.application.ticketbooking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/**
+ * Страница выборки по номеру вместе с общим количеством элементов и способом, которым оно получено.
+ *
+ * @param <T> тип элементов страницы
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CountedPage<T> {
+    private List<T> content;
+    private int page;
+    private int size;
+    /**
+     * Общее количество элементов или {@code null}, если оно не запрашивалось ({@link CountMode#NONE}).
+     */
+    private Long totalElements;
+    private CountMode totalElementsKind;
+}
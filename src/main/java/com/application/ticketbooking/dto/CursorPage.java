@@ -0,0 +1,24 @@
+package com.application.ticketbooking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/**
+ * Страница выборки, полученная по курсору.
+ * Содержит элементы страницы и курсор следующей страницы, общее количество элементов не считается.
+ *
+ * @param <T> тип элементов страницы
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPage<T> {
+    private List<T> content;
+    private int size;
+    /**
+     * Курсор следующей страницы или {@code null}, если страница последняя.
+     */
+    private String nextCursor;
+}
@@ -0,0 +1,17 @@
+package com.application.ticketbooking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/**
+ * DTO для запроса на получение нескольких мероприятий по id.
+ * Содержит идентификаторы мероприятий в том порядке, в котором их нужно вернуть.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EventBatchGetRequest {
+    private List<Long> ids;
+}
@@ -0,0 +1,19 @@
+package com.application.ticketbooking.dto;
+
+import com.application.ticketbooking.entity.Event;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/**
+ * DTO для ответа на получение нескольких мероприятий по id.
+ * Содержит найденные мероприятия в порядке запроса и id мероприятий, которые не найдены.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EventBatchGetResponse {
+    private List<Event> events;
+    private List<Long> missingIds;
+}
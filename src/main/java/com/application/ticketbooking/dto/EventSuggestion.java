@@ -0,0 +1,15 @@
+package com.application.ticketbooking.dto;
+
+import lombok.Value;
+import java.time.LocalDateTime;
+
+/**
+ * Подсказка названия мероприятия для поисковой строки.
+ * Неизменяема, так как хранится в префиксном дереве подсказок и отдается клиенту без копирования.
+ */
+@Value
+public class EventSuggestion {
+    Long id;
+    String name;
+    LocalDateTime eventDate;
+}
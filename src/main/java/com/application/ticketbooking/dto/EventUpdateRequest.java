@@ -0,0 +1,24 @@
+package com.application.ticketbooking.dto;
+
+import com.application.ticketbooking.entity.ReservationMode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * DTO для запроса на обновление мероприятия.
+ * Способ резервирования, число полос и признак комнаты ожидания, не переданные в запросе, остаются без изменений.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EventUpdateRequest {
+    private String name;
+    private String description;
+    private LocalDateTime eventDate;
+    private int capacity;
+    private ReservationMode reservationMode;
+    private Integer seatStripes;
+    private Boolean waitingRoom;
+}
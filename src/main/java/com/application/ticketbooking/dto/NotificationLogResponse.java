@@ -0,0 +1,15 @@
+package com.application.ticketbooking.dto;
+
+import lombok.Value;
+import java.time.LocalDateTime;
+
+/**
+ * Лог уведомления в потоковой выдаче логов: одна строка NDJSON.
+ */
+@Value
+public class NotificationLogResponse {
+    Long id;
+    Long bookingId;
+    String notificationMessage;
+    LocalDateTime notifiedAt;
+}
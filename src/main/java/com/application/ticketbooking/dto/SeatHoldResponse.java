@@ -0,0 +1,22 @@
+package com.application.ticketbooking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * DTO для ответа на запрос об удержании мест.
+ * Содержит идентификатор удержания, по которому его можно подтвердить, и срок его действия.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SeatHoldResponse {
+    private Long id;
+    private Long userId;
+    private Long eventId;
+    private int ticketsCount;
+    private LocalDateTime expiresAt;
+    private String message;
+}
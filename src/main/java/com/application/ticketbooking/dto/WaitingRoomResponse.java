@@ -0,0 +1,24 @@
+package com.application.ticketbooking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.Instant;
+
+/**
+ * DTO для ответа очереди ожидания.
+ * Содержит билет очереди и позицию клиента, а после допуска — пропуск на бронирование и срок его действия.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class WaitingRoomResponse {
+    private Long eventId;
+    private String queueTicket;
+    private long position;
+    private long ahead;
+    private boolean admitted;
+    private String admissionToken;
+    private Instant expiresAt;
+    private String message;
+}
@@ -7,6 +7,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.Column;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -23,8 +24,14 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Booking {
 
+    /**
+     * Шаг последовательности {@code bookings_id_seq}: одно обращение к ней выделяет столько идентификаторов.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_id_seq")
+    @SequenceGenerator(name = "bookings_id_seq", schema = "ticket_booking", sequenceName = "bookings_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne
@@ -40,4 +47,7 @@ public class Booking {
 
     @Column(name = "tickets_count", nullable = false)
     private int ticketsCount;
+
+    @Column(name = "lease_id")
+    private Long leaseId;
 }
\ No newline at end of file
@@ -1,12 +1,18 @@
 package com.application.ticketbooking.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.Column;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
@@ -19,9 +25,11 @@ import java.time.LocalDateTime;
 @Table(name = "events", schema = "ticket_booking")
 @NoArgsConstructor
 @AllArgsConstructor
+@Builder(toBuilder = true)
 public class Event {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "events_id_seq")
+    @SequenceGenerator(name = "events_id_seq", schema = "ticket_booking", sequenceName = "events_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 255)
@@ -39,4 +47,19 @@ public class Event {
     @Column(name = "available_seats", nullable = false)
     private int availableSeats;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "reservation_mode", length = 32)
+    private ReservationMode reservationMode;
+
+    @Column(name = "seat_stripes")
+    private Integer seatStripes;
+
+    @Column(name = "waiting_room", nullable = false)
+    private boolean waitingRoom;
+
+    @Version
+    @JsonIgnore
+    @Column(nullable = false)
+    private long version;
+
 }
@@ -0,0 +1,62 @@
+package com.application.ticketbooking.entity;
+
+/**
+ * Способ резервирования мест на мероприятие.
+ * <p>
+ * Задается для всего приложения ({@code booking.reservation.default-mode})
+ * или для конкретного мероприятия (колонка {@code events.reservation_mode}).
+ * </p>
+ */
+public enum ReservationMode {
+
+    /**
+     * Чтение и изменение мероприятия в транзакции с уровнем изоляции {@code SERIALIZABLE}.
+     */
+    SERIALIZABLE,
+
+    /**
+     * Блокировка строки мероприятия через {@code SELECT ... FOR UPDATE}.
+     */
+    PESSIMISTIC,
+
+    /**
+     * Оптимистическая блокировка по полю {@code version} с ограниченным числом повторов.
+     */
+    OPTIMISTIC,
+
+    /**
+     * Одиночный условный {@code UPDATE} счетчика свободных мест.
+     */
+    CONDITIONAL_UPDATE,
+
+    /**
+     * Резервирование в памяти через {@code SeatInventory} с отложенной пакетной записью в базу данных.
+     * Доступно при {@code booking.inventory.enabled=true}.
+     */
+    LEDGER,
+
+    /**
+     * Групповая фиксация: запросы на одно мероприятие копятся в очереди и записываются
+     * пакетом в одной транзакции. Доступно при {@code booking.pipeline.enabled=true}.
+     */
+    GROUP_COMMIT,
+
+    /**
+     * Свободные места мероприятия разбиты на несколько строк-полос в {@code event_seat_stripes}.
+     * Бронирование уменьшает случайную полосу, поэтому конкурентные транзакции блокируют разные строки.
+     */
+    STRIPED,
+
+    /**
+     * Пул билетов: по строке {@code tickets} на каждое место. Бронирование забирает свободные строки через
+     * {@code SELECT ... FOR UPDATE SKIP LOCKED}, поэтому конкурентные покупатели не ждут друг друга.
+     */
+    POOL,
+
+    /**
+     * Квоты мест на экземпляр приложения: экземпляр арендует в {@code seat_leases} блок мест одним запросом
+     * и продает из него без обращения к счетчику мероприятия. Неиспользованные места возвращаются
+     * при истечении аренды и остановке экземпляра.
+     */
+    ESCROW
+}
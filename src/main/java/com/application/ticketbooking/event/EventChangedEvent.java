@@ -0,0 +1,39 @@
+package com.application.ticketbooking.event;
+
+import com.application.ticketbooking.entity.Event;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Событие приложения об изменении мероприятия.
+ * <p>
+ * Публикуется сервисом мероприятий после создания, обновления или удаления
+ * и позволяет компонентам, хранящим данные о мероприятиях в памяти, поддерживать их в актуальном состоянии.
+ * </p>
+ */
+@Getter
+@RequiredArgsConstructor
+public class EventChangedEvent {
+
+    private final Long eventId;
+    private final ChangeType changeType;
+
+    /**
+     * Состояние мероприятия до изменения, {@code null} для {@link ChangeType#CREATED}.
+     */
+    private final Event previous;
+
+    /**
+     * Состояние мероприятия после изменения, {@code null} для {@link ChangeType#DELETED}.
+     */
+    private final Event current;
+
+    /**
+     * Тип изменения мероприятия.
+     */
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
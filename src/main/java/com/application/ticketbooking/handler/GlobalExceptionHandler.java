@@ -2,7 +2,10 @@ package com.application.ticketbooking.handler;
 
 import com.application.ticketbooking.exception.BadRequestException;
 import com.application.ticketbooking.exception.EntityNotFoundException;
+import com.application.ticketbooking.exception.ServiceUnavailableException;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -11,6 +14,9 @@ import java.util.Map;
 
 /**
  * Глобальный обработчик исключений.
+ * <p>
+ * Ответ об ошибке всегда выдается в JSON, в том числе на запросы, принимающие только {@code application/x-ndjson}.
+ * </p>
  */
 @ControllerAdvice
 public class GlobalExceptionHandler {
@@ -25,7 +31,7 @@ public class GlobalExceptionHandler {
     public ResponseEntity<Map<String, String>> handleBadRequestException(BadRequestException exception) {
         Map<String, String> errorResponse = new HashMap<>();
         errorResponse.put("exception", exception.getMessage());
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).contentType(MediaType.APPLICATION_JSON).body(errorResponse);
     }
 
     /**
@@ -38,6 +44,33 @@ public class GlobalExceptionHandler {
     public ResponseEntity<Map<String, String>> handleEntityNotFoundException(EntityNotFoundException exception) {
         Map<String, String> errorResponse = new HashMap<>();
         errorResponse.put("exception", exception.getMessage());
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON).body(errorResponse);
+    }
+
+    /**
+     * Обрабатывает ошибки конкурентного доступа: ошибки сериализации, исчерпанные повторы
+     * оптимистической блокировки и таймауты ожидания блокировок.
+     *
+     * @param exception {@link ConcurrencyFailureException}.
+     * @return {@link ResponseEntity} с сообщением об ошибке и HttpStatus.CONFLICT.
+     */
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<Map<String, String>> handleConcurrencyFailureException(ConcurrencyFailureException exception) {
+        Map<String, String> errorResponse = new HashMap<>();
+        errorResponse.put("exception", "Не удалось выполнить операцию из-за конкурентного доступа, повторите попытку.");
+        return ResponseEntity.status(HttpStatus.CONFLICT).contentType(MediaType.APPLICATION_JSON).body(errorResponse);
+    }
+
+    /**
+     * Обрабатывает ошибки перегрузки: запрос не может быть принят в обработку прямо сейчас.
+     *
+     * @param exception {@link ServiceUnavailableException}.
+     * @return {@link ResponseEntity} с сообщением об ошибке и HttpStatus.SERVICE_UNAVAILABLE.
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<Map<String, String>> handleServiceUnavailableException(ServiceUnavailableException exception) {
+        Map<String, String> errorResponse = new HashMap<>();
+        errorResponse.put("exception", exception.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).contentType(MediaType.APPLICATION_JSON).body(errorResponse);
     }
 }
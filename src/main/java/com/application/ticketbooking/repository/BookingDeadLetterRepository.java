@@ -0,0 +1,35 @@
+package com.application.ticketbooking.repository;
+
+import com.application.ticketbooking.entity.Booking;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import java.sql.Timestamp;
+
+/**
+ * JDBC-репозиторий бронирований, которые не удалось записать в {@code bookings} ({@code booking_dead_letters}).
+ * <p>
+ * Строки не ссылаются на пользователей и мероприятия, поэтому запись не зависит от причины, по которой
+ * не удалось сохранить само бронирование.
+ * </p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class BookingDeadLetterRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO ticket_booking.booking_dead_letters (user_id, event_id, booking_date, tickets_count, attempts, reason) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param booking несохраненное бронирование
+     * @param attempts количество попыток записи
+     * @param reason причина, по которой бронирование не сохранено
+     */
+    public void insert(Booking booking, int attempts, String reason) {
+        jdbcTemplate.update(INSERT_SQL, booking.getUser().getId(), booking.getEvent().getId(),
+                Timestamp.valueOf(booking.getBookingDate()), booking.getTicketsCount(), attempts, reason);
+    }
+}
@@ -0,0 +1,69 @@
+package com.application.ticketbooking.repository;
+
+import com.application.ticketbooking.entity.Booking;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * JDBC-репозиторий для пакетной записи {@link Booking}.
+ * <p>
+ * Идентификаторы выделяются заранее одним запросом к последовательности блоками по
+ * {@link Booking#ID_ALLOCATION_SIZE}, как их выделяет Hibernate, а строки вставляются одним JDBC batch.
+ * Остаток блока используется следующими вызовами, поэтому пакет из нескольких строк не расходует
+ * целый блок. Идентификаторы откатившихся пакетов не возвращаются, как и у Hibernate.
+ * </p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class BookingJdbcRepository {
+
+    private static final String NEXT_IDS_SQL =
+            "SELECT nextval('ticket_booking.bookings_id_seq') FROM generate_series(1, ?)";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO ticket_booking.bookings (id, user_id, event_id, booking_date, tickets_count) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private long nextId = 1;
+    private long lastId;
+
+    /**
+     * Вставляет бронирования одним JDBC batch и проставляет им идентификаторы.
+     * Должен вызываться внутри транзакции.
+     *
+     * @param bookings бронирования без идентификаторов
+     */
+    public void batchInsert(List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return;
+        }
+        assignIds(bookings);
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, bookings, bookings.size(), (ps, booking) -> {
+            ps.setLong(1, booking.getId());
+            ps.setLong(2, booking.getUser().getId());
+            ps.setLong(3, booking.getEvent().getId());
+            ps.setTimestamp(4, Timestamp.valueOf(booking.getBookingDate()));
+            ps.setInt(5, booking.getTicketsCount());
+        });
+    }
+
+    private synchronized void assignIds(List<Booking> bookings) {
+        long missing = bookings.size() - (lastId - nextId + 1);
+        Iterator<Long> blockEnds = missing <= 0 ? Collections.emptyIterator() : jdbcTemplate.queryForList(
+                NEXT_IDS_SQL, Long.class, (missing + Booking.ID_ALLOCATION_SIZE - 1) / Booking.ID_ALLOCATION_SIZE).iterator();
+        for (Booking booking : bookings) {
+            if (nextId > lastId) {
+                // Значение последовательности — верхняя граница блока, блок занимает предшествующие ей идентификаторы.
+                lastId = blockEnds.next();
+                nextId = lastId - Booking.ID_ALLOCATION_SIZE + 1;
+            }
+            booking.setId(nextId++);
+        }
+    }
+}
@@ -1,12 +1,34 @@
 package com.application.ticketbooking.repository;
 
 import com.application.ticketbooking.entity.Booking;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import java.util.List;
 
 /**
  * Репозиторий для {@link Booking}
  */
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
+
+    /**
+     * Страница бронирований по номеру без подсчета общего количества: запрашивается на одну строку больше размера
+     * страницы, чтобы узнать, есть ли следующая.
+     *
+     * @param pageable номер, размер и сортировка страницы
+     * @return {@link Slice} бронирований
+     */
+    Slice<Booking> findAllBy(Pageable pageable);
+
+    /**
+     * Страница бронирований по курсору: {@code WHERE id > :id ORDER BY id LIMIT :limit}.
+     *
+     * @param id id последнего бронирования предыдущей страницы, {@code 0} для первой страницы
+     * @param limit максимальное количество бронирований
+     * @return бронирования, упорядоченные по id
+     */
+    List<Booking> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 }
@@ -1,12 +1,211 @@
 package com.application.ticketbooking.repository;
 
+import com.application.ticketbooking.dto.EventSuggestion;
 import com.application.ticketbooking.entity.Event;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Репозиторий для {@link Event}
  */
 @Repository
 public interface EventRepository extends JpaRepository<Event, Long> {
+
+    /**
+     * Загружает мероприятие с блокировкой строки ({@code SELECT ... FOR UPDATE}).
+     *
+     * @param id идентификатор мероприятия
+     * @return {@link Optional<Event>} с найденным мероприятием или пустой, если мероприятие не найдено
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from Event e where e.id = :id")
+    Optional<Event> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Загружает мероприятия с блокировкой строк в порядке возрастания id,
+     * чтобы конкурентные транзакции с пересекающимися наборами мероприятий не взаимоблокировались.
+     *
+     * @param ids идентификаторы мероприятий
+     * @return найденные мероприятия, упорядоченные по id
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from Event e where e.id in :ids order by e.id")
+    List<Event> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Уменьшает количество свободных мест одним условным запросом.
+     * Строка изменяется только если свободных мест достаточно.
+     *
+     * @param id идентификатор мероприятия
+     * @param count количество резервируемых мест
+     * @return количество измененных строк: {@code 1} при успехе, {@code 0} если мест недостаточно или мероприятия нет
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update Event e set e.availableSeats = e.availableSeats - :count, e.version = e.version + 1 " +
+            "where e.id = :id and e.availableSeats >= :count")
+    int decrementAvailableSeats(@Param("id") Long id, @Param("count") int count);
+
+    /**
+     * Возвращает места в продажу, например, при истечении удержания.
+     *
+     * @param id идентификатор мероприятия
+     * @param count количество мест
+     * @return количество измененных строк
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update Event e set e.availableSeats = e.availableSeats + :count, e.version = e.version + 1 where e.id = :id")
+    int addAvailableSeats(@Param("id") Long id, @Param("count") int count);
+
+    /**
+     * Страница мероприятий по номеру без подсчета общего количества: запрашивается на одну строку больше размера
+     * страницы, чтобы узнать, есть ли следующая.
+     *
+     * @param pageable номер, размер и сортировка страницы
+     * @return {@link Slice} мероприятий
+     */
+    Slice<Event> findAllBy(Pageable pageable);
+
+    /**
+     * Страница мероприятий по курсору в порядке id.
+     *
+     * @param id id последнего мероприятия предыдущей страницы, {@code 0} для первой страницы
+     * @param limit максимальное количество мероприятий
+     * @return мероприятия, упорядоченные по id
+     */
+    List<Event> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * @param limit максимальное количество мероприятий
+     * @return первая страница мероприятий в порядке {@code (name, id)}
+     */
+    @Query("select e from Event e order by e.name, e.id")
+    List<Event> findPageOrderedByName(Limit limit);
+
+    /**
+     * Страница мероприятий по курсору: {@code WHERE (name, id) > (:name, :id) ORDER BY name, id}.
+     *
+     * @param name название последнего мероприятия предыдущей страницы
+     * @param id id последнего мероприятия предыдущей страницы
+     * @param limit максимальное количество мероприятий
+     * @return мероприятия, упорядоченные по названию и id
+     */
+    @Query("select e from Event e where (e.name, e.id) > (:name, :id) order by e.name, e.id")
+    List<Event> findPageAfterName(@Param("name") String name, @Param("id") Long id, Limit limit);
+
+    /**
+     * @param limit максимальное количество мероприятий
+     * @return первая страница мероприятий в порядке {@code (eventDate, id)}
+     */
+    @Query("select e from Event e order by e.eventDate, e.id")
+    List<Event> findPageOrderedByEventDate(Limit limit);
+
+    /**
+     * Страница мероприятий по курсору: {@code WHERE (event_date, id) > (:eventDate, :id) ORDER BY event_date, id}.
+     *
+     * @param eventDate дата последнего мероприятия предыдущей страницы
+     * @param id id последнего мероприятия предыдущей страницы
+     * @param limit максимальное количество мероприятий
+     * @return мероприятия, упорядоченные по дате и id
+     */
+    @Query("select e from Event e where (e.eventDate, e.id) > (:eventDate, :id) order by e.eventDate, e.id")
+    List<Event> findPageAfterEventDate(@Param("eventDate") LocalDateTime eventDate, @Param("id") Long id, Limit limit);
+
+    /**
+     * Страница мероприятий в интервале дат по курсору: {@code WHERE event_date >= :from AND event_date < :to
+     * AND (event_date, id) > (:afterDate, :afterId) ORDER BY event_date, id} по индексу {@code (event_date, id)}.
+     *
+     * @param from начало интервала включительно
+     * @param to конец интервала не включительно или {@code null}, если интервал не ограничен
+     * @param afterDate дата последнего мероприятия предыдущей страницы, для первой страницы — {@code from}
+     * @param afterId id последнего мероприятия предыдущей страницы, для первой страницы — {@code 0}
+     * @param limit максимальное количество мероприятий
+     * @return мероприятия, упорядоченные по дате и id
+     */
+    @Query("select e from Event e where e.eventDate >= :from and (cast(:to as LocalDateTime) is null or e.eventDate < :to) " +
+            "and (e.eventDate, e.id) > (:afterDate, :afterId) order by e.eventDate, e.id")
+    List<Event> findPageBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                @Param("afterDate") LocalDateTime afterDate, @Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Страница мероприятий со свободными местами в интервале дат по курсору. Условие {@code available_seats > 0}
+     * совпадает с условием частичного индекса {@code (event_date, id)}, поэтому распроданные мероприятия
+     * не читаются.
+     *
+     * @param from начало интервала включительно
+     * @param to конец интервала не включительно или {@code null}, если интервал не ограничен
+     * @param afterDate дата последнего мероприятия предыдущей страницы, для первой страницы — {@code from}
+     * @param afterId id последнего мероприятия предыдущей страницы, для первой страницы — {@code 0}
+     * @param limit максимальное количество мероприятий
+     * @return мероприятия со свободными местами, упорядоченные по дате и id
+     */
+    @Query("select e from Event e where e.availableSeats > 0 and e.eventDate >= :from and (cast(:to as LocalDateTime) is null or e.eventDate < :to) " +
+            "and (e.eventDate, e.id) > (:afterDate, :afterId) order by e.eventDate, e.id")
+    List<Event> findAvailablePageBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                         @Param("afterDate") LocalDateTime afterDate, @Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * @param from момент времени, начиная с которого мероприятия считаются предстоящими
+     * @return подсказки названий предстоящих мероприятий без загрузки остальных полей
+     */
+    @Query("select new com.application.ticketbooking.dto.EventSuggestion(e.id, e.name, e.eventDate) " +
+            "from Event e where e.eventDate >= :from")
+    List<EventSuggestion> findSuggestionsFrom(@Param("from") LocalDateTime from);
+
+    /**
+     * @return идентификаторы мероприятий, бронирование на которые идет через очередь ожидания
+     */
+    @Query("select e.id from Event e where e.waitingRoom = true")
+    List<Long> findWaitingRoomIds();
+
+    /**
+     * @param id идентификатор мероприятия
+     * @return количество свободных мест по строке мероприятия без загрузки остальных полей
+     */
+    @Query("select e.availableSeats from Event e where e.id = :id")
+    Optional<Integer> findAvailableSeatsById(@Param("id") Long id);
+
+    /**
+     * Получает мероприятия одним запросом с параметром-массивом, поэтому текст запроса не зависит
+     * от количества id и план запроса переиспользуется.
+     *
+     * @param ids идентификаторы мероприятий
+     * @return найденные мероприятия в произвольном порядке
+     */
+    @Query(value = "select * from ticket_booking.events where id = any(:ids)", nativeQuery = true)
+    List<Event> findAllByIdArray(@Param("ids") Long[] ids);
+
+    /**
+     * @param ids идентификаторы мероприятий
+     * @return id и количество свободных мест найденных мероприятий
+     */
+    @Query(value = "select id, available_seats as \"availableSeats\" from ticket_booking.events where id = any(:ids)", nativeQuery = true)
+    List<SeatsView> findSeatsByIdArray(@Param("ids") Long[] ids);
+
+    /**
+     * @return id и количество свободных мест всех мероприятий
+     */
+    @Query("select e.id as id, e.availableSeats as availableSeats from Event e")
+    List<SeatsView> findAllSeats();
+
+    /**
+     * Проекция мероприятия на количество свободных мест.
+     */
+    interface SeatsView {
+
+        Long getId();
+
+        int getAvailableSeats();
+    }
 }
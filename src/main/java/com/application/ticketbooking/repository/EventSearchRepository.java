@@ -0,0 +1,84 @@
+package com.application.ticketbooking.repository;
+
+import com.application.ticketbooking.entity.Event;
+import com.application.ticketbooking.entity.ReservationMode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+
+/**
+ * JDBC-репозиторий полнотекстового поиска мероприятий.
+ * <p>
+ * Ищет по сгенерированному столбцу {@code events.search_vector}: название мероприятия имеет вес {@code A},
+ * описание — {@code B}. Совпадения находятся по GIN-индексу, упорядочиваются по убыванию {@code ts_rank}
+ * и затем по id, следующая страница выбирается условием по рангу и id последнего мероприятия предыдущей
+ * страницы. Запрос пользователя разбирается {@code websearch_to_tsquery}, поэтому поддерживает кавычки,
+ * {@code or} и {@code -} и не может быть синтаксически некорректным.
+ * </p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class EventSearchRepository {
+
+    private static final String HITS_SQL =
+            "SELECT e.id, e.name, e.description, e.event_date, e.capacity, e.available_seats, e.reservation_mode, " +
+            "e.seat_stripes, e.waiting_room, e.version, ts_rank(e.search_vector, q.query) AS rank " +
+            "FROM ticket_booking.events e, websearch_to_tsquery('russian', ?) AS q(query) " +
+            "WHERE e.search_vector @@ q.query";
+
+    private static final String FIRST_PAGE_SQL =
+            "SELECT * FROM (" + HITS_SQL + ") hits ORDER BY rank DESC, id LIMIT ?";
+
+    private static final String NEXT_PAGE_SQL =
+            "SELECT * FROM (" + HITS_SQL + ") hits WHERE rank < ? OR (rank = ? AND id > ?) ORDER BY rank DESC, id LIMIT ?";
+
+    private static final RowMapper<Hit> HIT_MAPPER = (rs, rowNum) -> {
+        String reservationMode = rs.getString("reservation_mode");
+        Event event = Event.builder()
+                .id(rs.getLong("id"))
+                .name(rs.getString("name"))
+                .description(rs.getString("description"))
+                .eventDate(rs.getTimestamp("event_date").toLocalDateTime())
+                .capacity(rs.getInt("capacity"))
+                .availableSeats(rs.getInt("available_seats"))
+                .reservationMode(reservationMode == null ? null : ReservationMode.valueOf(reservationMode))
+                .seatStripes(rs.getObject("seat_stripes", Integer.class))
+                .waitingRoom(rs.getBoolean("waiting_room"))
+                .version(rs.getLong("version"))
+                .build();
+        return new Hit(event, rs.getFloat("rank"));
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param query поисковый запрос пользователя
+     * @param limit максимальное количество мероприятий
+     * @return найденные мероприятия в порядке убывания ранга
+     */
+    public List<Hit> search(String query, int limit) {
+        return jdbcTemplate.query(FIRST_PAGE_SQL, HIT_MAPPER, query, limit);
+    }
+
+    /**
+     * @param query поисковый запрос пользователя
+     * @param rank ранг последнего мероприятия предыдущей страницы
+     * @param id id последнего мероприятия предыдущей страницы
+     * @param limit максимальное количество мероприятий
+     * @return найденные мероприятия, следующие за мероприятием {@code id} в порядке убывания ранга
+     */
+    public List<Hit> searchAfter(String query, float rank, long id, int limit) {
+        return jdbcTemplate.query(NEXT_PAGE_SQL, HIT_MAPPER, query, rank, rank, id, limit);
+    }
+
+    /**
+     * Найденное мероприятие и его ранг.
+     *
+     * @param event мероприятие
+     * @param rank ранг совпадения с запросом, {@code ts_rank}
+     */
+    public record Hit(Event event, float rank) {
+    }
+}
@@ -0,0 +1,134 @@
+package com.application.ticketbooking.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC-репозиторий полос свободных мест мероприятия ({@code event_seat_stripes}).
+ * <p>
+ * Свободные места мероприятия в режиме {@code STRIPED} хранятся не в одной строке {@code events},
+ * а в нескольких строках-полосах, чтобы конкурентные бронирования блокировали разные строки.
+ * Количество свободных мест мероприятия равно сумме его полос.
+ * </p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class EventSeatStripeRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO ticket_booking.event_seat_stripes (event_id, stripe, available_seats) VALUES (:eventId, :stripe, :seats)";
+
+    private static final String TAKE_SQL =
+            "UPDATE ticket_booking.event_seat_stripes SET available_seats = available_seats - :count " +
+            "WHERE event_id = :eventId AND stripe = :stripe AND available_seats >= :count";
+
+    private static final String LOCK_AVAILABLE_SQL =
+            "SELECT stripe, available_seats FROM ticket_booking.event_seat_stripes " +
+            "WHERE event_id = :eventId AND available_seats > 0 ORDER BY stripe FOR UPDATE";
+
+    private static final String SUBTRACT_SQL =
+            "UPDATE ticket_booking.event_seat_stripes SET available_seats = available_seats - :count " +
+            "WHERE event_id = :eventId AND stripe = :stripe";
+
+    private static final String DELETE_SQL =
+            "DELETE FROM ticket_booking.event_seat_stripes WHERE event_id = :eventId RETURNING available_seats";
+
+    private static final String SUM_SQL =
+            "SELECT event_id, SUM(available_seats) AS available_seats FROM ticket_booking.event_seat_stripes " +
+            "WHERE event_id IN (:eventIds) GROUP BY event_id";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Разбивает свободные места мероприятия на полосы поровну, остаток достается первым полосам.
+     *
+     * @param eventId идентификатор мероприятия
+     * @param availableSeats количество свободных мест
+     * @param stripes количество полос
+     */
+    public void createStripes(Long eventId, int availableSeats, int stripes) {
+        MapSqlParameterSource[] batch = new MapSqlParameterSource[stripes];
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            batch[stripe] = new MapSqlParameterSource()
+                    .addValue("eventId", eventId)
+                    .addValue("stripe", stripe)
+                    .addValue("seats", availableSeats / stripes + (stripe < availableSeats % stripes ? 1 : 0));
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+    }
+
+    /**
+     * Уменьшает полосу одним условным запросом, если в ней достаточно мест.
+     *
+     * @param eventId идентификатор мероприятия
+     * @param stripe номер полосы
+     * @param count количество резервируемых мест
+     * @return {@code true}, если места списаны
+     */
+    public boolean take(Long eventId, int stripe, int count) {
+        return jdbcTemplate.update(TAKE_SQL, new MapSqlParameterSource()
+                .addValue("eventId", eventId)
+                .addValue("stripe", stripe)
+                .addValue("count", count)) == 1;
+    }
+
+    /**
+     * Блокирует непустые полосы мероприятия в порядке номеров, чтобы конкурентные вызовы не взаимоблокировались.
+     * Должен вызываться внутри транзакции.
+     *
+     * @param eventId идентификатор мероприятия
+     * @return номер полосы и количество свободных мест в ней
+     */
+    public Map<Integer, Integer> lockAvailable(Long eventId) {
+        Map<Integer, Integer> stripes = new LinkedHashMap<>();
+        jdbcTemplate.query(LOCK_AVAILABLE_SQL, Map.of("eventId", eventId),
+                rs -> { stripes.put(rs.getInt("stripe"), rs.getInt("available_seats")); });
+        return stripes;
+    }
+
+    /**
+     * Безусловно уменьшает полосу, заблокированную {@link #lockAvailable(Long)}.
+     *
+     * @param eventId идентификатор мероприятия
+     * @param stripe номер полосы
+     * @param count количество мест
+     */
+    public void subtract(Long eventId, int stripe, int count) {
+        jdbcTemplate.update(SUBTRACT_SQL, new MapSqlParameterSource()
+                .addValue("eventId", eventId)
+                .addValue("stripe", stripe)
+                .addValue("count", count));
+    }
+
+    /**
+     * Удаляет полосы мероприятия.
+     *
+     * @param eventId идентификатор мероприятия
+     * @return сумма свободных мест удаленных полос
+     */
+    public int deleteStripes(Long eventId) {
+        List<Integer> seats = jdbcTemplate.queryForList(DELETE_SQL, Map.of("eventId", eventId), Integer.class);
+        return seats.stream().mapToInt(Integer::intValue).sum();
+    }
+
+    /**
+     * @param eventIds идентификаторы мероприятий
+     * @return сумма свободных мест по полосам для мероприятий из {@code eventIds}, у которых есть полосы
+     */
+    public Map<Long, Integer> sumAvailableSeats(Collection<Long> eventIds) {
+        Map<Long, Integer> sums = new HashMap<>();
+        if (eventIds.isEmpty()) {
+            return sums;
+        }
+        jdbcTemplate.query(SUM_SQL, Map.of("eventIds", eventIds),
+                rs -> { sums.put(rs.getLong("event_id"), rs.getInt("available_seats")); });
+        return sums;
+    }
+}
@@ -0,0 +1,67 @@
+package com.application.ticketbooking.repository;
+
+import com.application.ticketbooking.dto.NotificationLogResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * JDBC-репозиторий для потокового чтения логов уведомлений.
+ * <p>
+ * Логи читаются курсором на стороне PostgreSQL порциями по {@code booking.notifications.stream-fetch-size} строк
+ * и передаются обработчику по одной, без сущностей и связанных бронирований, поэтому занятая память
+ * не зависит от количества логов в интервале. Порядок {@code (notified_at, id)} совпадает с индексом
+ * {@code idx_notifications_log_notified_at_id}, а секции идут по возрастанию {@code notified_at}, поэтому
+ * первая строка выдается без сортировки всего интервала.
+ * </p>
+ */
+@Repository
+public class NotificationLogJdbcRepository {
+
+    private static final String STREAM_SQL =
+            "SELECT id, booking_id, notification_message, notified_at FROM ticket_booking.notifications_log " +
+            "WHERE notified_at >= ? AND notified_at < ?";
+
+    private static final String BOOKING_FILTER_SQL = " AND booking_id = ?";
+
+    private static final String ORDER_SQL = " ORDER BY notified_at, id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int fetchSize;
+
+    public NotificationLogJdbcRepository(JdbcTemplate jdbcTemplate,
+                                         @Value("${booking.notifications.stream-fetch-size}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Передает обработчику логи уведомлений интервала в порядке времени. Должен вызываться внутри транзакции:
+     * вне транзакции драйвер PostgreSQL не открывает курсор и читает все строки сразу.
+     *
+     * @param from начало интервала включительно
+     * @param to конец интервала не включительно
+     * @param bookingId идентификатор бронирования или {@code null} для логов всех бронирований
+     * @param consumer обработчик логов
+     */
+    public void stream(LocalDateTime from, LocalDateTime to, Long bookingId, Consumer<NotificationLogResponse> consumer) {
+        String sql = STREAM_SQL + (bookingId == null ? "" : BOOKING_FILTER_SQL) + ORDER_SQL;
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setFetchSize(fetchSize);
+            ps.setTimestamp(1, Timestamp.valueOf(from));
+            ps.setTimestamp(2, Timestamp.valueOf(to));
+            if (bookingId != null) {
+                ps.setLong(3, bookingId);
+            }
+            return ps;
+        }, rs -> {
+            consumer.accept(new NotificationLogResponse(rs.getLong("id"), rs.getLong("booking_id"),
+                    rs.getString("notification_message"), rs.getTimestamp("notified_at").toLocalDateTime()));
+        });
+    }
+}
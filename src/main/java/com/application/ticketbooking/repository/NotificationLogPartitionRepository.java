@@ -0,0 +1,133 @@
+package com.application.ticketbooking.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC-репозиторий секций {@code notifications_log}.
+ * <p>
+ * Логи уведомлений секционированы по месяцам {@code notified_at}: секция {@code notifications_log_pГГГГММ}
+ * содержит логи с первого числа месяца до первого числа следующего. Удаление секции не читает и не удаляет
+ * ее строки по одной, поэтому выполняется мгновенно независимо от их количества. Логи месяцев без секции
+ * попадают в секцию по умолчанию {@code notifications_log_default}.
+ * </p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class NotificationLogPartitionRepository {
+
+    private static final String PARTITION_PREFIX = "notifications_log_p";
+    private static final String DEFAULT_PARTITION = "ticket_booking.notifications_log_default";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final String FIND_PARTITIONS_SQL =
+            "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+            "WHERE i.inhparent = 'ticket_booking.notifications_log'::regclass";
+
+    private static final String CREATE_PARTITION_SQL =
+            "CREATE TABLE IF NOT EXISTS ticket_booking.%s PARTITION OF ticket_booking.notifications_log " +
+            "FOR VALUES FROM ('%s') TO ('%s')";
+
+    private static final String DROP_PARTITION_SQL = "DROP TABLE IF EXISTS ticket_booking.%s";
+
+    private static final String FIND_DEFAULT_MONTHS_SQL =
+            "SELECT DISTINCT to_char(notified_at, 'YYYYMM') FROM " + DEFAULT_PARTITION;
+
+    private static final String DETACH_DEFAULT_SQL =
+            "ALTER TABLE ticket_booking.notifications_log DETACH PARTITION " + DEFAULT_PARTITION;
+
+    private static final String ATTACH_DEFAULT_SQL =
+            "ALTER TABLE ticket_booking.notifications_log ATTACH PARTITION " + DEFAULT_PARTITION + " DEFAULT";
+
+    private static final String MOVE_FROM_DEFAULT_SQL =
+            "WITH moved AS (DELETE FROM " + DEFAULT_PARTITION + " WHERE notified_at >= ? AND notified_at < ? " +
+            "RETURNING id, booking_id, notification_message, notified_at) " +
+            "INSERT INTO ticket_booking.notifications_log (id, booking_id, notification_message, notified_at) " +
+            "SELECT id, booking_id, notification_message, notified_at FROM moved";
+
+    /**
+     * Транзакционная блокировка, под которой экземпляры приложения по очереди меняют секции.
+     */
+    private static final String LOCK_SQL = "SELECT pg_advisory_xact_lock(hashtext('ticket_booking.notifications_log'))";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @return месяцы существующих секций
+     */
+    public List<YearMonth> findPartitions() {
+        List<YearMonth> months = new ArrayList<>();
+        jdbcTemplate.query(FIND_PARTITIONS_SQL, rs -> {
+            String name = rs.getString(1);
+            if (name.startsWith(PARTITION_PREFIX)) {
+                try {
+                    months.add(YearMonth.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX));
+                } catch (DateTimeParseException e) {
+                    // Секции, созданные вручную под другими именами, не меняются.
+                }
+            }
+        });
+        return months;
+    }
+
+    /**
+     * @return месяцы логов, записанных в секцию по умолчанию
+     */
+    public List<YearMonth> findDefaultPartitionMonths() {
+        return jdbcTemplate.query(FIND_DEFAULT_MONTHS_SQL, (rs, rowNum) -> YearMonth.parse(rs.getString(1), PARTITION_SUFFIX));
+    }
+
+    /**
+     * Создает секцию месяца, если ее еще нет.
+     *
+     * @param month месяц секции
+     */
+    public void createPartition(YearMonth month) {
+        jdbcTemplate.execute(CREATE_PARTITION_SQL.formatted(partitionName(month), month.atDay(1), month.plusMonths(1).atDay(1)));
+    }
+
+    /**
+     * Удаляет секцию месяца вместе со всеми ее логами.
+     *
+     * @param month месяц секции
+     */
+    public void dropPartition(YearMonth month) {
+        jdbcTemplate.execute(DROP_PARTITION_SQL.formatted(partitionName(month)));
+    }
+
+    /**
+     * Создает секцию месяца и переносит в нее логи этого месяца из секции по умолчанию. Пока секция по умолчанию
+     * содержит логи месяца, секцию месяца нельзя добавить, поэтому секция по умолчанию на время переноса
+     * отсоединяется. Должен вызываться внутри транзакции: вставка логов ждет ее завершения.
+     *
+     * @param month месяц секции
+     * @return количество перенесенных логов
+     */
+    public int createPartitionFromDefault(YearMonth month) {
+        jdbcTemplate.execute(DETACH_DEFAULT_SQL);
+        createPartition(month);
+        int moved = jdbcTemplate.update(MOVE_FROM_DEFAULT_SQL,
+                Timestamp.valueOf(month.atDay(1).atStartOfDay()), Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay()));
+        jdbcTemplate.execute(ATTACH_DEFAULT_SQL);
+        return moved;
+    }
+
+    /**
+     * Ждет, пока другие экземпляры приложения закончат менять секции. Должен вызываться внутри транзакции,
+     * блокировка снимается при ее завершении.
+     */
+    public void lock() {
+        jdbcTemplate.query(LOCK_SQL, rs -> { });
+    }
+
+    private static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+}
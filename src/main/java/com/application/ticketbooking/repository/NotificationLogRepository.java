@@ -1,12 +1,79 @@
 package com.application.ticketbooking.repository;
 
 import com.application.ticketbooking.entity.NotificationLog;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Репозиторий для {@link NotificationLog}
  */
 @Repository
 public interface NotificationLogRepository extends JpaRepository<NotificationLog, Long> {
+
+    /**
+     * Страница логов уведомлений по номеру без подсчета общего количества: запрашивается на одну строку больше размера
+     * страницы, чтобы узнать, есть ли следующая.
+     *
+     * @param pageable номер, размер и сортировка страницы
+     * @return {@link Slice} логов уведомлений
+     */
+    Slice<NotificationLog> findAllBy(Pageable pageable);
+
+    /**
+     * Страница логов уведомлений по курсору: {@code WHERE id > :id ORDER BY id LIMIT :limit}.
+     *
+     * @param id id последнего лога предыдущей страницы, {@code 0} для первой страницы
+     * @param limit максимальное количество логов
+     * @return логи уведомлений, упорядоченные по id
+     */
+    List<NotificationLog> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Страница логов уведомлений за интервал времени по номеру без подсчета общего количества:
+     * {@code WHERE notified_at >= :from AND notified_at < :to [AND booking_id = :bookingId] ORDER BY id}.
+     * Условие на ключ секционирования исключает из плана секции вне интервала.
+     *
+     * @param from начало интервала включительно
+     * @param to конец интервала не включительно
+     * @param bookingId идентификатор бронирования или {@code null} для логов всех бронирований
+     * @param pageable номер и размер страницы
+     * @return {@link Slice} логов уведомлений, упорядоченных по id
+     */
+    @Query("select n from NotificationLog n where n.notifiedAt >= :from and n.notifiedAt < :to " +
+            "and (cast(:bookingId as Long) is null or n.booking.id = :bookingId) order by n.id")
+    Slice<NotificationLog> findPageBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                           @Param("bookingId") Long bookingId, Pageable pageable);
+
+    /**
+     * @param from начало интервала включительно
+     * @param to конец интервала не включительно
+     * @param bookingId идентификатор бронирования или {@code null} для логов всех бронирований
+     * @return количество логов уведомлений за интервал, подсчитанное по секциям интервала
+     */
+    @Query("select count(n) from NotificationLog n where n.notifiedAt >= :from and n.notifiedAt < :to " +
+            "and (cast(:bookingId as Long) is null or n.booking.id = :bookingId)")
+    long countBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to, @Param("bookingId") Long bookingId);
+
+    /**
+     * Страница логов уведомлений за интервал времени по курсору:
+     * {@code WHERE notified_at >= :from AND notified_at < :to [AND booking_id = :bookingId] AND id > :id ORDER BY id LIMIT :limit}.
+     *
+     * @param from начало интервала включительно
+     * @param to конец интервала не включительно
+     * @param bookingId идентификатор бронирования или {@code null} для логов всех бронирований
+     * @param id id последнего лога предыдущей страницы, {@code 0} для первой страницы
+     * @param limit максимальное количество логов
+     * @return логи уведомлений, упорядоченные по id
+     */
+    @Query("select n from NotificationLog n where n.notifiedAt >= :from and n.notifiedAt < :to " +
+            "and (cast(:bookingId as Long) is null or n.booking.id = :bookingId) and n.id > :id order by n.id")
+    List<NotificationLog> findPageBetweenAfter(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                               @Param("bookingId") Long bookingId, @Param("id") Long id, Limit limit);
 }
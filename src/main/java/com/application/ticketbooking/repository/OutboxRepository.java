@@ -0,0 +1,131 @@
+package com.application.ticketbooking.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * JDBC-репозиторий исходящих сообщений о бронированиях ({@code outbox}).
+ * <p>
+ * Сообщение вставляется в той же транзакции, что и бронирование, поэтому существует тогда и только тогда,
+ * когда бронирование зафиксировано. Необработанные сообщения ({@code processed_at IS NULL}) выбираются
+ * пакетами через {@code FOR UPDATE SKIP LOCKED}: строки, уже захваченные другим обработчиком на этом
+ * или другом экземпляре приложения, пропускаются, и обработчики не ждут друг друга и не обрабатывают
+ * одно сообщение дважды.
+ * </p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class OutboxRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO ticket_booking.outbox (booking_id, message) VALUES (?, ?)";
+
+    /**
+     * Захват пакета, вставка логов уведомлений и отметка об обработке выполняются одним запросом:
+     * {@code INSERT ... SELECT} вставляет все логи пакета за один проход, а {@code UPDATE ... FROM}
+     * отмечает пакет без отдельного запроса на каждую строку.
+     */
+    private static final String RELAY_SQL =
+            "WITH batch AS (" +
+            "SELECT id, booking_id, message, created_at FROM ticket_booking.outbox " +
+            "WHERE processed_at IS NULL ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED), " +
+            "logged AS (" +
+            "INSERT INTO ticket_booking.notifications_log (booking_id, notification_message, notified_at) " +
+            "SELECT booking_id, message, now() FROM batch), " +
+            "done AS (" +
+            "UPDATE ticket_booking.outbox o SET processed_at = now() FROM batch WHERE o.id = batch.id " +
+            "RETURNING batch.created_at) " +
+            "SELECT count(*) AS relayed, " +
+            "extract(epoch FROM clock_timestamp()::timestamp - min(created_at)) * 1000 AS lag_millis FROM done";
+
+    private static final String PURGE_SQL =
+            "DELETE FROM ticket_booking.outbox WHERE id IN (" +
+            "SELECT id FROM ticket_booking.outbox WHERE processed_at < localtimestamp - make_interval(secs => ?) LIMIT ?)";
+
+    /**
+     * Необработанные сообщения находятся по частичному индексу {@code idx_outbox_pending_id}.
+     */
+    private static final String PENDING_SQL =
+            "SELECT count(*) AS pending, " +
+            "extract(epoch FROM clock_timestamp()::timestamp - min(created_at)) * 1000 AS age_millis " +
+            "FROM ticket_booking.outbox WHERE processed_at IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Вставляет сообщения одним JDBC batch. Должен вызываться внутри транзакции бронирования.
+     *
+     * @param messages сообщения о сохраненных бронированиях
+     */
+    public void append(List<Message> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, messages, messages.size(), (ps, message) -> {
+            ps.setLong(1, message.bookingId());
+            ps.setString(2, message.text());
+        });
+    }
+
+    /**
+     * Записывает логи уведомлений для пакета необработанных сообщений и отмечает их обработанными.
+     *
+     * @param limit максимальное количество сообщений в пакете
+     * @return количество обработанных сообщений и задержка самого старого из них
+     */
+    public Relayed relay(int limit) {
+        return jdbcTemplate.queryForObject(RELAY_SQL, (rs, rowNum) -> {
+            long lagMillis = rs.getLong("lag_millis");
+            return new Relayed(rs.getInt("relayed"), rs.wasNull() ? Duration.ZERO : Duration.ofMillis(lagMillis));
+        }, limit);
+    }
+
+    /**
+     * @return количество необработанных сообщений и возраст самого старого из них
+     */
+    public Pending findPending() {
+        return jdbcTemplate.queryForObject(PENDING_SQL, (rs, rowNum) -> {
+            long ageMillis = rs.getLong("age_millis");
+            return new Pending(rs.getLong("pending"), rs.wasNull() ? Duration.ZERO : Duration.ofMillis(ageMillis));
+        });
+    }
+
+    /**
+     * @param retention сколько хранить обработанные сообщения по часам базы данных
+     * @param limit максимальное количество удаляемых сообщений
+     * @return количество удаленных обработанных сообщений
+     */
+    public int purgeProcessed(Duration retention, int limit) {
+        return jdbcTemplate.update(PURGE_SQL, retention.toMillis() / 1000.0, limit);
+    }
+
+    /**
+     * Сообщение о бронировании.
+     *
+     * @param bookingId идентификатор бронирования
+     * @param text текст уведомления
+     */
+    public record Message(long bookingId, String text) {
+    }
+
+    /**
+     * Результат обработки пакета.
+     *
+     * @param count количество обработанных сообщений
+     * @param lag время от создания самого старого сообщения пакета до его обработки по часам базы данных
+     */
+    public record Relayed(int count, Duration lag) {
+    }
+
+    /**
+     * Необработанные сообщения.
+     *
+     * @param count количество необработанных сообщений
+     * @param oldestAge возраст самого старого необработанного сообщения по часам базы данных
+     */
+    public record Pending(long count, Duration oldestAge) {
+    }
+}
@@ -0,0 +1,63 @@
+package com.application.ticketbooking.repository;
+
+import com.application.ticketbooking.entity.SeatHold;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Репозиторий для {@link SeatHold}
+ */
+@Repository
+public interface SeatHoldRepository extends JpaRepository<SeatHold, Long> {
+
+    /**
+     * Удаляет действующее удержание пользователя.
+     * Подтверждение и истечение удержания удаляют одну и ту же строку, поэтому ровно одно из них получит {@code 1}.
+     *
+     * @param id идентификатор удержания
+     * @param userId идентификатор владельца удержания
+     * @param now текущее время: истекшие удержания не удаляются
+     * @return количество удаленных строк
+     */
+    @Modifying
+    @Query("delete from SeatHold h where h.id = :id and h.user.id = :userId and h.expiresAt > :now")
+    int deleteActiveHold(@Param("id") Long id, @Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    /**
+     * @param id идентификатор удержания
+     * @return количество удаленных строк
+     */
+    @Modifying
+    @Query("delete from SeatHold h where h.id = :id")
+    int deleteHoldById(@Param("id") Long id);
+
+    /**
+     * @return id и срок действия всех удержаний
+     */
+    @Query("select h.id as id, h.expiresAt as expiresAt from SeatHold h")
+    List<ExpiryView> findAllExpiries();
+
+    /**
+     * @param now текущее время
+     * @param limit максимальное количество удержаний
+     * @return идентификаторы истекших удержаний, начиная с самых старых
+     */
+    @Query("select h.id from SeatHold h where h.expiresAt <= :now order by h.expiresAt")
+    List<Long> findExpiredIds(@Param("now") LocalDateTime now, Limit limit);
+
+    /**
+     * Проекция удержания на срок действия.
+     */
+    interface ExpiryView {
+
+        Long getId();
+
+        LocalDateTime getExpiresAt();
+    }
+}
@@ -0,0 +1,124 @@
+package com.application.ticketbooking.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * JDBC-репозиторий аренды мест экземплярами приложения ({@code seat_leases}).
+ * <p>
+ * Арендованные места списываются из {@code events.available_seats} и учитываются в строке аренды
+ * экземпляра. Бронирования, проданные из аренды, ссылаются на нее через {@code bookings.lease_id},
+ * поэтому неиспользованный остаток аренды упавшего экземпляра восстанавливается по базе данных.
+ * Сроки аренды отсчитываются по часам базы данных, чтобы не зависеть от расхождения часов экземпляров.
+ * </p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class SeatLeaseRepository {
+
+    private static final String LEASE_SQL =
+            "WITH granted AS (" +
+            "    SELECT id, LEAST(:block, available_seats) AS seats FROM ticket_booking.events " +
+            "    WHERE id = :eventId AND available_seats > 0 FOR UPDATE" +
+            "), taken AS (" +
+            "    UPDATE ticket_booking.events e SET available_seats = e.available_seats - granted.seats, version = e.version + 1 " +
+            "    FROM granted WHERE e.id = granted.id RETURNING granted.seats" +
+            ") " +
+            "INSERT INTO ticket_booking.seat_leases (event_id, node_id, seats, expires_at) " +
+            "SELECT :eventId, :nodeId, seats, now() + :ttlMillis * INTERVAL '1 millisecond' FROM taken " +
+            "ON CONFLICT (event_id, node_id) DO UPDATE " +
+            "SET seats = seat_leases.seats + EXCLUDED.seats, expires_at = EXCLUDED.expires_at " +
+            "RETURNING id, (SELECT seats FROM taken) AS granted";
+
+    private static final String RENEW_SQL =
+            "UPDATE ticket_booking.seat_leases SET expires_at = now() + :ttlMillis * INTERVAL '1 millisecond' " +
+            "WHERE id = :leaseId AND expires_at > now()";
+
+    private static final String RELEASE_SQL =
+            "WITH released AS (DELETE FROM ticket_booking.seat_leases WHERE id = :leaseId RETURNING event_id) " +
+            "UPDATE ticket_booking.events e SET available_seats = e.available_seats + :unused, version = e.version + 1 " +
+            "FROM released WHERE e.id = released.event_id";
+
+    private static final String RECLAIM_EXPIRED_SQL =
+            "WITH expired AS (" +
+            "    DELETE FROM ticket_booking.seat_leases WHERE expires_at < now() RETURNING id, event_id, seats" +
+            "), sold AS (" +
+            "    SELECT lease_id, SUM(tickets_count) AS seats FROM ticket_booking.bookings " +
+            "    WHERE lease_id IN (SELECT id FROM expired) GROUP BY lease_id" +
+            "), unused AS (" +
+            "    SELECT expired.event_id, SUM(expired.seats - COALESCE(sold.seats, 0)) AS seats " +
+            "    FROM expired LEFT JOIN sold ON sold.lease_id = expired.id GROUP BY expired.event_id" +
+            ") " +
+            "UPDATE ticket_booking.events e SET available_seats = e.available_seats + unused.seats, version = e.version + 1 " +
+            "FROM unused WHERE e.id = unused.event_id";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Одним запросом списывает до {@code block} свободных мест мероприятия и добавляет их в аренду экземпляра,
+     * продлевая ее срок.
+     *
+     * @param eventId идентификатор мероприятия
+     * @param nodeId идентификатор экземпляра приложения
+     * @param block сколько мест арендовать
+     * @param ttl срок аренды
+     * @return идентификатор аренды и количество выданных мест или {@code null}, если свободных мест нет
+     */
+    public Lease lease(Long eventId, String nodeId, int block, Duration ttl) {
+        List<Lease> leases = jdbcTemplate.query(LEASE_SQL, new MapSqlParameterSource()
+                        .addValue("eventId", eventId)
+                        .addValue("nodeId", nodeId)
+                        .addValue("block", block)
+                        .addValue("ttlMillis", ttl.toMillis()),
+                (rs, rowNum) -> new Lease(rs.getLong("id"), rs.getInt("granted")));
+        return leases.isEmpty() ? null : leases.get(0);
+    }
+
+    /**
+     * Продлевает аренду, если она еще не истекла.
+     *
+     * @param leaseId идентификатор аренды
+     * @param ttl новый срок аренды от текущего момента
+     * @return {@code false}, если аренда истекла или уже возвращена
+     */
+    public boolean renew(Long leaseId, Duration ttl) {
+        return jdbcTemplate.update(RENEW_SQL, new MapSqlParameterSource()
+                .addValue("leaseId", leaseId)
+                .addValue("ttlMillis", ttl.toMillis())) == 1;
+    }
+
+    /**
+     * Удаляет аренду и возвращает ее неиспользованные места мероприятию.
+     *
+     * @param leaseId идентификатор аренды
+     * @param unused количество непроданных мест
+     * @return {@code false}, если аренда уже удалена и ее места восстановлены другим экземпляром
+     */
+    public boolean release(Long leaseId, int unused) {
+        return jdbcTemplate.update(RELEASE_SQL, new MapSqlParameterSource()
+                .addValue("leaseId", leaseId)
+                .addValue("unused", unused)) == 1;
+    }
+
+    /**
+     * Удаляет истекшие аренды и возвращает мероприятиям их места за вычетом проданных из аренды.
+     *
+     * @return количество мероприятий, которым возвращены места
+     */
+    public int reclaimExpired() {
+        return jdbcTemplate.update(RECLAIM_EXPIRED_SQL, new MapSqlParameterSource());
+    }
+
+    /**
+     * Аренда мест экземпляром приложения.
+     *
+     * @param id идентификатор аренды
+     * @param granted количество мест, выданных последним вызовом {@link #lease(Long, String, int, Duration)}
+     */
+    public record Lease(Long id, int granted) {
+    }
+}
@@ -0,0 +1,41 @@
+package com.application.ticketbooking.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * JDBC-репозиторий статистики планировщика PostgreSQL по таблицам.
+ * <p>
+ * Оценка количества строк берется из {@code pg_class.reltuples}, которое обновляют {@code VACUUM},
+ * {@code ANALYZE} и автоочистка. Чтение оценки не зависит от размера таблицы.
+ * Для секционированной таблицы оценки складываются по секциям: у самой таблицы строк нет, и автоочистка
+ * ее не анализирует.
+ * </p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class TableStatisticsRepository {
+
+    /**
+     * До первого {@code ANALYZE} {@code reltuples} равно -1: такие секции не учитываются, а если статистики
+     * нет ни по одной, оценки нет.
+     */
+    private static final String ESTIMATE_SQL =
+            "SELECT CASE WHEN bool_or(c.reltuples >= 0) THEN sum(GREATEST(c.reltuples, 0))::bigint END " +
+            "FROM pg_class c WHERE c.relkind = 'r' AND c.oid IN (" +
+            "SELECT to_regclass(:table) UNION ALL SELECT relid FROM pg_partition_tree(to_regclass(:table)))";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * @param table имя таблицы вместе со схемой
+     * @return оценка количества строк или пустое значение, если таблицы нет или статистика по ней еще не собрана
+     */
+    public OptionalLong estimateRowCount(String table) {
+        Long estimate = jdbcTemplate.queryForObject(ESTIMATE_SQL, Map.of("table", table), Long.class);
+        return estimate == null ? OptionalLong.empty() : OptionalLong.of(estimate);
+    }
+}
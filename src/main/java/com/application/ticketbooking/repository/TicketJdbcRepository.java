@@ -0,0 +1,139 @@
+package com.application.ticketbooking.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC-репозиторий пула билетов ({@code tickets}).
+ * <p>
+ * Для мероприятия в режиме {@code POOL} каждое место — отдельная строка. Свободные строки
+ * ({@code booking_id IS NULL}) забираются через {@code FOR UPDATE SKIP LOCKED}: строки, уже
+ * заблокированные другими транзакциями, пропускаются, и покупатели не ждут друг друга.
+ * </p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class TicketJdbcRepository {
+
+    private static final String ADD_SQL =
+            "INSERT INTO ticket_booking.tickets (event_id, seat_no) " +
+            "SELECT :eventId, COALESCE((SELECT MAX(seat_no) FROM ticket_booking.tickets WHERE event_id = :eventId), 0) + s " +
+            "FROM generate_series(1, :count) s";
+
+    private static final String LOCK_FREE_SQL =
+            "SELECT id FROM ticket_booking.tickets WHERE event_id = :eventId AND booking_id IS NULL " +
+            "LIMIT :count FOR UPDATE SKIP LOCKED";
+
+    private static final String ASSIGN_SQL =
+            "UPDATE ticket_booking.tickets SET booking_id = :bookingId WHERE id IN (:ids)";
+
+    private static final String LOCK_ALL_FREE_SQL =
+            "SELECT id FROM ticket_booking.tickets WHERE event_id = :eventId AND booking_id IS NULL ORDER BY seat_no FOR UPDATE";
+
+    private static final String RETIRE_SQL =
+            "DELETE FROM ticket_booking.tickets WHERE id IN (" +
+            "SELECT id FROM ticket_booking.tickets WHERE event_id = :eventId AND booking_id IS NULL " +
+            "ORDER BY seat_no DESC LIMIT :count)";
+
+    private static final String DELETE_SQL =
+            "DELETE FROM ticket_booking.tickets WHERE event_id = :eventId";
+
+    private static final String COUNT_FREE_SQL =
+            "SELECT event_id, COUNT(*) AS free FROM ticket_booking.tickets " +
+            "WHERE event_id IN (:eventIds) AND booking_id IS NULL GROUP BY event_id";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Добавляет в пул свободные билеты с номерами мест после последнего существующего.
+     *
+     * @param eventId идентификатор мероприятия
+     * @param count количество билетов
+     */
+    public void addTickets(Long eventId, int count) {
+        if (count <= 0) {
+            return;
+        }
+        jdbcTemplate.update(ADD_SQL, new MapSqlParameterSource()
+                .addValue("eventId", eventId)
+                .addValue("count", count));
+    }
+
+    /**
+     * Блокирует до {@code count} свободных билетов, пропуская заблокированные другими транзакциями.
+     * Должен вызываться внутри транзакции.
+     *
+     * @param eventId идентификатор мероприятия
+     * @param count количество билетов
+     * @return идентификаторы заблокированных билетов
+     */
+    public List<Long> lockFreeTickets(Long eventId, int count) {
+        return jdbcTemplate.queryForList(LOCK_FREE_SQL, new MapSqlParameterSource()
+                .addValue("eventId", eventId)
+                .addValue("count", count), Long.class);
+    }
+
+    /**
+     * Привязывает заблокированные билеты к бронированию.
+     *
+     * @param ticketIds идентификаторы билетов
+     * @param bookingId идентификатор бронирования
+     */
+    public void assignTickets(List<Long> ticketIds, Long bookingId) {
+        jdbcTemplate.update(ASSIGN_SQL, new MapSqlParameterSource()
+                .addValue("ids", ticketIds)
+                .addValue("bookingId", bookingId));
+    }
+
+    /**
+     * Блокирует все свободные билеты мероприятия, чтобы их количество не менялось до конца транзакции.
+     *
+     * @param eventId идентификатор мероприятия
+     * @return количество свободных билетов
+     */
+    public int lockAllFreeTickets(Long eventId) {
+        return jdbcTemplate.queryForList(LOCK_ALL_FREE_SQL, Map.of("eventId", eventId), Long.class).size();
+    }
+
+    /**
+     * Выводит из продажи свободные билеты с наибольшими номерами мест.
+     *
+     * @param eventId идентификатор мероприятия
+     * @param count количество билетов
+     */
+    public void retireTickets(Long eventId, int count) {
+        if (count <= 0) {
+            return;
+        }
+        jdbcTemplate.update(RETIRE_SQL, new MapSqlParameterSource()
+                .addValue("eventId", eventId)
+                .addValue("count", count));
+    }
+
+    /**
+     * @param eventId идентификатор мероприятия
+     */
+    public void deleteTickets(Long eventId) {
+        jdbcTemplate.update(DELETE_SQL, Map.of("eventId", eventId));
+    }
+
+    /**
+     * @param eventIds идентификаторы мероприятий
+     * @return количество свободных билетов для мероприятий из {@code eventIds}; мероприятия без свободных билетов отсутствуют
+     */
+    public Map<Long, Integer> countFreeTickets(Collection<Long> eventIds) {
+        Map<Long, Integer> counts = new HashMap<>();
+        if (eventIds.isEmpty()) {
+            return counts;
+        }
+        jdbcTemplate.query(COUNT_FREE_SQL, Map.of("eventIds", eventIds),
+                rs -> { counts.put(rs.getLong("event_id"), rs.getInt("free")); });
+        return counts;
+    }
+}
@@ -1,9 +1,15 @@
 package com.application.ticketbooking.service;
 
 import com.application.ticketbooking.dto.BookingRequest;
+import com.application.ticketbooking.dto.BookingRequestStatusResponse;
 import com.application.ticketbooking.dto.BookingResponse;
+import com.application.ticketbooking.dto.CartRequest;
+import com.application.ticketbooking.dto.CartResponse;
+import com.application.ticketbooking.dto.CountMode;
+import com.application.ticketbooking.dto.CountedPage;
+import com.application.ticketbooking.dto.CursorPage;
 import com.application.ticketbooking.entity.Booking;
-import org.springframework.data.domain.Page;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Сервис для управления бронированием билетов.
@@ -16,10 +22,47 @@ public interface BookingService {
      */
     BookingResponse bookingTickets(BookingRequest bookingRequest);
 
+    /**
+     * @param bookingRequest объект {@link BookingRequest}, содержащий данные о количестве билетов и id мероприятия
+     * @return {@link BookingRequestStatusResponse} запроса, принятого в асинхронную обработку
+     */
+    BookingRequestStatusResponse submitBooking(BookingRequest bookingRequest);
+
+    /**
+     * @param requestId идентификатор запроса на бронирование
+     * @return {@link BookingRequestStatusResponse} с текущим состоянием запроса
+     */
+    BookingRequestStatusResponse getBookingRequest(String requestId);
+
+    /**
+     * @param requestId идентификатор запроса на бронирование
+     * @return {@link CompletableFuture}, завершающийся состоянием обработанного запроса
+     */
+    CompletableFuture<BookingRequestStatusResponse> awaitBookingRequest(String requestId);
+
+    /**
+     * @return {@code true}, если запросы на бронирование принимаются в асинхронную обработку
+     */
+    boolean isAsyncBookingEnabled();
+
+    /**
+     * @param cartRequest объект {@link CartRequest} с позициями корзины
+     * @return {@link CartResponse} с бронированиями по всем мероприятиям корзины
+     */
+    CartResponse checkoutCart(CartRequest cartRequest);
+
     /**
      * @param page номер страницы (начиная с 0)
      * @param size количество элементов на странице
-     * @return {@link Page}<{@link Booking}> страница бронирований с указанными параметрами
+     * @param count способ подсчета общего количества или {@code null} для способа по умолчанию
+     * @return {@link CountedPage}<{@link Booking}> страница бронирований с указанными параметрами
+     */
+    CountedPage<Booking> getAllBookings(int page, int size, CountMode count);
+
+    /**
+     * @param after курсор предыдущей страницы, {@code null} или пустая строка для первой страницы
+     * @param size количество элементов на странице
+     * @return {@link CursorPage}<{@link Booking}> страница бронирований с курсором следующей страницы
      */
-    Page<Booking> getAllBookings(int page, int size);
+    CursorPage<Booking> getBookingsAfter(String after, int size);
 }
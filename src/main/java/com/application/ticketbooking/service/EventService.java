@@ -1,8 +1,15 @@
 package com.application.ticketbooking.service;
 
+import com.application.ticketbooking.dto.CountMode;
+import com.application.ticketbooking.dto.CountedPage;
+import com.application.ticketbooking.dto.CursorPage;
+import com.application.ticketbooking.dto.EventBatchGetResponse;
 import com.application.ticketbooking.dto.EventResponse;
+import com.application.ticketbooking.dto.EventSuggestion;
+import com.application.ticketbooking.dto.EventUpdateRequest;
 import com.application.ticketbooking.entity.Event;
-import org.springframework.data.domain.Page;
+import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Сервис для управления мероприятиями.
@@ -18,13 +25,53 @@ public interface EventService {
      */
     Event getEventById(Long id);
 
+    /**
+     * @param ids идентификаторы мероприятий
+     * @return {@link EventBatchGetResponse} с найденными мероприятиями в порядке запроса и id ненайденных
+     */
+    EventBatchGetResponse getEventsByIds(List<Long> ids);
+
     /**
      * @param page номер страницы (начиная с 0)
      * @param size количество элементов на странице
      * @param sort поле, по которому выполняется сортировка
-     * @return {@link Page}<{@link Event}> страница мероприятий
+     * @param count способ подсчета общего количества или {@code null} для способа по умолчанию
+     * @return {@link CountedPage}<{@link Event}> страница мероприятий
+     */
+    CountedPage<Event> getAllEvents(int page, int size, String sort, CountMode count);
+
+    /**
+     * @param after курсор предыдущей страницы, {@code null} или пустая строка для первой страницы
+     * @param size количество элементов на странице
+     * @param sort поле сортировки: {@code id}, {@code name} или {@code eventDate}
+     * @return {@link CursorPage}<{@link Event}> страница мероприятий с курсором следующей страницы
+     */
+    CursorPage<Event> getEventsAfter(String after, int size, String sort);
+
+    /**
+     * @param from начало интервала дат включительно или {@code null} для текущего момента
+     * @param to конец интервала дат не включительно или {@code null}, если интервал не ограничен
+     * @param onlyAvailable {@code true}, чтобы вернуть только мероприятия со свободными местами
+     * @param after курсор предыдущей страницы, {@code null} или пустая строка для первой страницы
+     * @param size количество элементов на странице
+     * @return {@link CursorPage}<{@link Event}> мероприятия интервала в порядке даты с курсором следующей страницы
+     */
+    CursorPage<Event> getEventsBetween(LocalDateTime from, LocalDateTime to, boolean onlyAvailable, String after, int size);
+
+    /**
+     * @param query поисковый запрос по названию и описанию мероприятия
+     * @param after курсор предыдущей страницы, {@code null} или пустая строка для первой страницы
+     * @param size количество элементов на странице
+     * @return {@link CursorPage}<{@link Event}> найденные мероприятия в порядке убывания релевантности
+     */
+    CursorPage<Event> searchEvents(String query, String after, int size);
+
+    /**
+     * @param prefix начало названия мероприятия
+     * @param limit максимальное количество подсказок
+     * @return {@link List}<{@link EventSuggestion}> ближайшие предстоящие мероприятия с названием, начинающимся с префикса
      */
-    Page<Event> getAllEvents(int page, int size, String sort);
+    List<EventSuggestion> suggestEvents(String prefix, int limit);
 
     /**
      * @param event объект {@link Event}, содержащий данные нового мероприятия
@@ -33,11 +80,11 @@ public interface EventService {
     EventResponse createEvent(Event event);
 
     /**
-     * @param event объект {@link Event} с обновленными данными
+     * @param event {@link EventUpdateRequest} с обновленными данными
      * @param id идентификатор мероприятия, которое требуется обновить
      * @return {@link EventResponse} ответ с обновленными данными мероприятия
      */
-    EventResponse updateEvent(Event event, Long id);
+    EventResponse updateEvent(EventUpdateRequest event, Long id);
 
     /**
      * @param id идентификатор мероприятия
@@ -0,0 +1,45 @@
+package com.application.ticketbooking.service.Impl;
+
+import com.application.ticketbooking.entity.Booking;
+import com.application.ticketbooking.entity.Event;
+import com.application.ticketbooking.entity.User;
+import com.application.ticketbooking.exception.BadRequestException;
+import com.application.ticketbooking.exception.EntityNotFoundException;
+import com.application.ticketbooking.service.SeatReservationStrategy;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDateTime;
+
+/**
+ * Базовый класс стратегий резервирования мест.
+ * <p>
+ * Содержит общие для всех стратегий операции: создание транзакции с нужным уровнем изоляции,
+ * формирование {@link Booking} и исключения для типовых отказов.
+ * </p>
+ */
+public abstract class AbstractSeatReservationStrategy implements SeatReservationStrategy {
+
+    protected final TransactionTemplate transactionTemplate;
+
+    protected AbstractSeatReservationStrategy(PlatformTransactionManager transactionManager, int isolationLevel) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(isolationLevel);
+    }
+
+    protected static Booking newBooking(User user, Event event, int ticketsCount) {
+        Booking booking = new Booking();
+        booking.setUser(user);
+        booking.setEvent(event);
+        booking.setBookingDate(LocalDateTime.now());
+        booking.setTicketsCount(ticketsCount);
+        return booking;
+    }
+
+    protected static EntityNotFoundException eventNotFound() {
+        return new EntityNotFoundException("Мероприятие не найдено.");
+    }
+
+    protected static BadRequestException notEnoughSeats() {
+        return new BadRequestException("Недостаточно мест на мероприятии");
+    }
+}
@@ -0,0 +1,56 @@
+package com.application.ticketbooking.service.Impl;
+
+import com.application.ticketbooking.entity.Booking;
+import com.application.ticketbooking.repository.OutboxRepository;
+import com.application.ticketbooking.repository.OutboxRepository.Message;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Запись уведомлений о бронированиях в {@code outbox}.
+ * <p>
+ * Методы вызываются внутри транзакции, сохраняющей бронирования, после того как им выделены идентификаторы:
+ * уведомление фиксируется или откатывается вместе с бронированием и не теряется при остановке приложения.
+ * Логи уведомлений из {@code outbox} записывает {@link OutboxRelay}.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingOutbox {
+
+    static final String BOOKING_MESSAGE = "Уведомление отправлено";
+
+    private final OutboxRepository outboxRepository;
+
+    /**
+     * @param booking сохраненное бронирование
+     */
+    public void append(Booking booking) {
+        outboxRepository.append(List.of(new Message(booking.getId(), BOOKING_MESSAGE)));
+    }
+
+    /**
+     * Записывает по уведомлению на каждое бронирование одним JDBC batch.
+     *
+     * @param bookings сохраненные бронирования
+     */
+    public void appendAll(List<Booking> bookings) {
+        outboxRepository.append(bookings.stream()
+                .map(booking -> new Message(booking.getId(), BOOKING_MESSAGE))
+                .toList());
+    }
+
+    /**
+     * Записывает одно уведомление на всю корзину.
+     * Уведомление привязывается к первому бронированию корзины и перечисляет все бронирования в сообщении.
+     *
+     * @param bookings сохраненные бронирования одной корзины
+     */
+    public void appendCart(List<Booking> bookings) {
+        String text = "Уведомление отправлено по заказу из " + bookings.size() + " бронирований: "
+                + bookings.stream().map(booking -> String.valueOf(booking.getId())).collect(Collectors.joining(", "));
+        outboxRepository.append(List.of(new Message(bookings.get(0).getId(), text)));
+    }
+}
@@ -0,0 +1,286 @@
+package com.application.ticketbooking.service.Impl;
+
+import com.application.ticketbooking.dto.BookingRequest;
+import com.application.ticketbooking.entity.Booking;
+import com.application.ticketbooking.entity.Event;
+import com.application.ticketbooking.entity.User;
+import com.application.ticketbooking.event.EventChangedEvent;
+import com.application.ticketbooking.exception.ServiceUnavailableException;
+import com.application.ticketbooking.repository.BookingJdbcRepository;
+import com.application.ticketbooking.repository.EventRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Конвейер групповой фиксации бронирований.
+ * <p>
+ * Запросы складываются в очередь своего мероприятия и выбираются пакетами: по истечении окна
+ * {@code booking.pipeline.window} или при накоплении {@code booking.pipeline.max-batch-size} запросов.
+ * Пакет обрабатывается одной транзакцией: строка мероприятия блокируется один раз, места
+ * распределяются между запросами в порядке поступления, количество мест уменьшается на сумму
+ * принятых запросов, а все {@link Booking} и уведомления о них в {@code outbox} вставляются
+ * двумя JDBC batch. Каждый запрос получает свой результат: бронирование или отказ из-за нехватки мест.
+ * </p>
+ * <p>
+ * Запрос ждет результата не дольше {@code booking.pipeline.timeout}: запрос, не попавший в пакет за это время,
+ * завершается ошибкой и уже не записывается, а пакет, который фиксировался дольше, все равно записывается.
+ * При остановке приложения очереди обрабатываются
+ * в течение {@code booking.pipeline.shutdown-timeout}, а запросы, оставшиеся необработанными,
+ * завершаются {@link ServiceUnavailableException}.
+ * </p>
+ * <p>
+ * Размеры пакетов, время ожидания в очереди и число ожидающих запросов доступны в метриках
+ * {@code booking.pipeline.batch.size}, {@code booking.pipeline.queue.wait} и {@code booking.pipeline.queue.size}.
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(value = "booking.pipeline.enabled", havingValue = "true")
+public class BookingPipeline {
+
+    private final Map<Long, EventQueue> queues = new ConcurrentHashMap<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final EventRepository eventRepository;
+    private final BookingJdbcRepository bookingJdbcRepository;
+    private final BookingOutbox bookingOutbox;
+    private final TransactionTemplate transactionTemplate;
+    private final ScheduledThreadPoolExecutor executor;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final long timeoutNanos;
+    private final Duration shutdownTimeout;
+    private volatile boolean stopped;
+    private final DistributionSummary batchSizeSummary;
+    private final Timer queueWaitTimer;
+
+    public BookingPipeline(EventRepository eventRepository,
+                           BookingJdbcRepository bookingJdbcRepository,
+                           BookingOutbox bookingOutbox,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${booking.pipeline.window}") Duration window,
+                           @Value("${booking.pipeline.max-batch-size}") int maxBatchSize,
+                           @Value("${booking.pipeline.workers}") int workers,
+                           @Value("${booking.pipeline.timeout}") Duration timeout,
+                           @Value("${booking.pipeline.shutdown-timeout}") Duration shutdownTimeout) {
+        this.eventRepository = eventRepository;
+        this.bookingJdbcRepository = bookingJdbcRepository;
+        this.bookingOutbox = bookingOutbox;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.executor = new ScheduledThreadPoolExecutor(workers, new CustomizableThreadFactory("booking-pipeline-"));
+        this.executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.timeoutNanos = timeout.toNanos();
+        this.shutdownTimeout = shutdownTimeout;
+        meterRegistry.gauge("booking.pipeline.queue.size", queued);
+        this.batchSizeSummary = DistributionSummary.builder("booking.pipeline.batch.size")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("booking.pipeline.queue.wait")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ставит запрос в очередь мероприятия.
+     *
+     * @param user пользователь, от имени которого выполняется бронирование
+     * @param bookingRequest запрос на бронирование
+     * @return {@link CompletableFuture}, завершающийся сохраненным {@link Booking}, исключением отказа
+     * или {@link java.util.concurrent.TimeoutException} по истечении {@code booking.pipeline.timeout}
+     * @throws ServiceUnavailableException если приложение останавливается
+     */
+    public CompletableFuture<Booking> submit(User user, BookingRequest bookingRequest) {
+        if (stopped) {
+            throw stopping();
+        }
+        PendingBooking pending = new PendingBooking(user, bookingRequest.getTicketsCount(), System.nanoTime());
+        pending.result.orTimeout(timeoutNanos, TimeUnit.NANOSECONDS);
+        EventQueue queue = queues.computeIfAbsent(bookingRequest.getEventId(), this::newQueue);
+        queue.pending.add(pending);
+
+        queued.incrementAndGet();
+        if (queue.size.incrementAndGet() >= maxBatchSize) {
+            executor.execute(() -> drain(queue));
+        } else if (queue.scheduled.compareAndSet(false, true)) {
+            executor.schedule(() -> drain(queue), windowNanos, TimeUnit.NANOSECONDS);
+        }
+        return pending.result;
+    }
+
+    private EventQueue newQueue(Long eventId) {
+        return new EventQueue(eventId);
+    }
+
+    private void drain(EventQueue queue) {
+        queue.scheduled.set(false);
+        if (!queue.drainLock.tryLock()) {
+            return;
+        }
+        try {
+            List<PendingBooking> batch = new ArrayList<>(maxBatchSize);
+            while (true) {
+                PendingBooking pending;
+                int polled = 0;
+                while (batch.size() < maxBatchSize && (pending = queue.pending.poll()) != null) {
+                    polled++;
+                    // Запрос, который уже завершился по таймауту, не записывается.
+                    if (!pending.result.isDone()) {
+                        batch.add(pending);
+                    }
+                }
+                if (polled == 0) {
+                    break;
+                }
+                queue.size.addAndGet(-polled);
+                queued.addAndGet(-polled);
+                if (batch.isEmpty()) {
+                    continue;
+                }
+                process(queue.eventId, batch);
+                batch.clear();
+            }
+        } finally {
+            queue.drainLock.unlock();
+        }
+        if (!queue.pending.isEmpty() && queue.scheduled.compareAndSet(false, true)) {
+            executor.schedule(() -> drain(queue), windowNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void process(Long eventId, List<PendingBooking> batch) {
+        long startedAt = System.nanoTime();
+        batch.forEach(pending -> queueWaitTimer.record(startedAt - pending.enqueuedAt, TimeUnit.NANOSECONDS));
+        batchSizeSummary.record(batch.size());
+
+        Boolean eventFound;
+        try {
+            eventFound = transactionTemplate.execute(status -> {
+                Optional<Event> found = eventRepository.findByIdForUpdate(eventId);
+                if (found.isEmpty()) {
+                    return false;
+                }
+                Event event = found.get();
+                int availableSeats = event.getAvailableSeats();
+                List<Booking> bookings = new ArrayList<>(batch.size());
+                for (PendingBooking pending : batch) {
+                    if (pending.ticketsCount <= availableSeats) {
+                        availableSeats -= pending.ticketsCount;
+                        pending.booking = AbstractSeatReservationStrategy.newBooking(pending.user, event, pending.ticketsCount);
+                        bookings.add(pending.booking);
+                    }
+                }
+                event.setAvailableSeats(availableSeats);
+                bookingJdbcRepository.batchInsert(bookings);
+                bookingOutbox.appendAll(bookings);
+                return true;
+            });
+        } catch (RuntimeException e) {
+            log.error("Не удалось записать пакет из {} бронирований на мероприятие {}.", batch.size(), eventId, e);
+            batch.forEach(pending -> pending.result.completeExceptionally(e));
+            return;
+        }
+
+        for (PendingBooking pending : batch) {
+            if (!Boolean.TRUE.equals(eventFound)) {
+                pending.result.completeExceptionally(AbstractSeatReservationStrategy.eventNotFound());
+            } else if (pending.booking != null) {
+                pending.result.complete(pending.booking);
+            } else {
+                pending.result.completeExceptionally(AbstractSeatReservationStrategy.notEnoughSeats());
+            }
+        }
+    }
+
+    /**
+     * Удаляет очередь удаленного мероприятия.
+     *
+     * @param event {@link EventChangedEvent} с id измененного мероприятия
+     */
+    @EventListener
+    public void onEventChanged(EventChangedEvent event) {
+        if (event.getChangeType() == EventChangedEvent.ChangeType.DELETED) {
+            queues.remove(event.getEventId());
+        }
+    }
+
+    /**
+     * Дожидается обработки поставленных в очередь запросов при остановке приложения.
+     * Запросы, которые не успели попасть в пакет, завершаются {@link ServiceUnavailableException}.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        stopped = true;
+        queues.values().forEach(queue -> executor.execute(() -> drain(queue)));
+        executor.shutdown();
+        if (!executor.awaitTermination(shutdownTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+            log.warn("Конвейер бронирований остановлен до обработки всех запросов.");
+            executor.shutdownNow();
+        }
+        ServiceUnavailableException stopping = stopping();
+        for (EventQueue queue : queues.values()) {
+            PendingBooking pending;
+            while ((pending = queue.pending.poll()) != null) {
+                pending.result.completeExceptionally(stopping);
+            }
+        }
+    }
+
+    private static ServiceUnavailableException stopping() {
+        return new ServiceUnavailableException("Сервис бронирования останавливается, повторите попытку позже.");
+    }
+
+    private static final class EventQueue {
+
+        private final Long eventId;
+        private final ConcurrentLinkedQueue<PendingBooking> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final ReentrantLock drainLock = new ReentrantLock();
+
+        private EventQueue(Long eventId) {
+            this.eventId = eventId;
+        }
+    }
+
+    private static final class PendingBooking {
+
+        private final User user;
+        private final int ticketsCount;
+        private final long enqueuedAt;
+        private final CompletableFuture<Booking> result = new CompletableFuture<>();
+        private Booking booking;
+
+        private PendingBooking(User user, int ticketsCount, long enqueuedAt) {
+            this.user = user;
+            this.ticketsCount = ticketsCount;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+}
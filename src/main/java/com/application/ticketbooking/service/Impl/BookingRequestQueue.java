@@ -0,0 +1,177 @@
+package com.application.ticketbooking.service.Impl;
+
+import com.application.ticketbooking.dto.BookingRequestStatusResponse;
+import com.application.ticketbooking.dto.BookingRequestStatusResponse.Status;
+import com.application.ticketbooking.dto.BookingResponse;
+import com.application.ticketbooking.exception.BadRequestException;
+import com.application.ticketbooking.exception.EntityNotFoundException;
+import com.application.ticketbooking.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Очередь запросов на бронирование, принятых в асинхронную обработку.
+ * <p>
+ * Запрос ставится в ограниченную очередь {@code booking.async.queue-capacity} и обрабатывается одним из
+ * {@code booking.async.workers} потоков, поэтому потоки обработки HTTP-запросов не ждут блокировок в базе данных.
+ * Если очередь заполнена, запрос сразу отклоняется с {@link ServiceUnavailableException}.
+ * Результат обработки хранится в памяти экземпляра {@code booking.async.result-ttl} после ее завершения.
+ * </p>
+ * <p>
+ * Длина очереди, время ожидания в ней и число отклоненных запросов доступны в метриках
+ * {@code booking.async.queue.size}, {@code booking.async.queue.wait} и {@code booking.async.rejected}.
+ * </p>
+ */
+@Slf4j
+@Component
+public class BookingRequestQueue {
+
+    private final Map<String, PendingRequest> requests = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor executor;
+    private final Counter rejectedCounter;
+    private final Timer queueWaitTimer;
+    private final long resultTtlNanos;
+
+    public BookingRequestQueue(MeterRegistry meterRegistry,
+                               @Value("${booking.async.workers}") int workers,
+                               @Value("${booking.async.queue-capacity}") int queueCapacity,
+                               @Value("${booking.async.result-ttl}") Duration resultTtl) {
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("booking-async-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.resultTtlNanos = resultTtl.toNanos();
+        this.rejectedCounter = meterRegistry.counter("booking.async.rejected");
+        this.queueWaitTimer = Timer.builder("booking.async.queue.wait")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        meterRegistry.gauge("booking.async.queue.size", executor, e -> e.getQueue().size());
+    }
+
+    /**
+     * Ставит бронирование в очередь.
+     *
+     * @param userId идентификатор пользователя, которому будет доступен результат
+     * @param booking бронирование, выполняемое потоком очереди
+     * @return {@link BookingRequestStatusResponse} принятого запроса в состоянии {@link Status#PENDING}
+     * @throws ServiceUnavailableException если очередь заполнена
+     */
+    public BookingRequestStatusResponse submit(Long userId, Supplier<BookingResponse> booking) {
+        PendingRequest request = new PendingRequest(UUID.randomUUID().toString(), userId);
+        requests.put(request.id, request);
+        try {
+            executor.execute(() -> process(request, booking));
+        } catch (RejectedExecutionException e) {
+            requests.remove(request.id);
+            rejectedCounter.increment();
+            throw new ServiceUnavailableException("Очередь бронирований переполнена, повторите попытку позже.");
+        }
+        return request.status();
+    }
+
+    private void process(PendingRequest request, Supplier<BookingResponse> booking) {
+        queueWaitTimer.record(System.nanoTime() - request.enqueuedAt, TimeUnit.NANOSECONDS);
+        BookingRequestStatusResponse result;
+        try {
+            BookingResponse bookingResponse = booking.get();
+            result = request.response(Status.COMPLETED, bookingResponse, bookingResponse.getMessage());
+        } catch (BadRequestException | EntityNotFoundException e) {
+            result = request.response(Status.REJECTED, null, e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Не удалось обработать запрос на бронирование {}.", request.id, e);
+            result = request.response(Status.FAILED, null, "Не удалось обработать запрос на бронирование, повторите попытку.");
+        }
+        request.completedAt = System.nanoTime();
+        request.result.complete(result);
+    }
+
+    /**
+     * @param requestId идентификатор запроса
+     * @param userId идентификатор пользователя, запрашивающего результат
+     * @return текущее состояние запроса
+     * @throws EntityNotFoundException если запроса нет, его результат уже удален или запрос принадлежит другому пользователю
+     */
+    public BookingRequestStatusResponse getStatus(String requestId, Long userId) {
+        return find(requestId, userId).status();
+    }
+
+    /**
+     * @param requestId идентификатор запроса
+     * @param userId идентификатор пользователя, запрашивающего результат
+     * @return {@link CompletableFuture}, завершающийся состоянием обработанного запроса
+     * @throws EntityNotFoundException если запроса нет, его результат уже удален или запрос принадлежит другому пользователю
+     */
+    public CompletableFuture<BookingRequestStatusResponse> awaitResult(String requestId, Long userId) {
+        return find(requestId, userId).result;
+    }
+
+    private PendingRequest find(String requestId, Long userId) {
+        PendingRequest request = requests.get(requestId);
+        if (request == null || !Objects.equals(request.userId, userId)) {
+            throw new EntityNotFoundException("Запрос на бронирование не найден.");
+        }
+        return request;
+    }
+
+    /**
+     * Удаляет результаты запросов, обработанных раньше {@code booking.async.result-ttl}.
+     */
+    @Scheduled(fixedDelayString = "${booking.async.result-ttl}")
+    public void evictCompleted() {
+        long now = System.nanoTime();
+        requests.values().removeIf(request -> request.result.isDone() && now - request.completedAt > resultTtlNanos);
+    }
+
+    /**
+     * Дожидается обработки принятых запросов при остановке приложения.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Очередь бронирований остановлена до обработки всех запросов.");
+            executor.shutdownNow();
+        }
+    }
+
+    private static final class PendingRequest {
+
+        private final String id;
+        private final Long userId;
+        private final LocalDateTime acceptedAt = LocalDateTime.now();
+        private final long enqueuedAt = System.nanoTime();
+        private final CompletableFuture<BookingRequestStatusResponse> result = new CompletableFuture<>();
+        private volatile long completedAt;
+
+        private PendingRequest(String id, Long userId) {
+            this.id = id;
+            this.userId = userId;
+        }
+
+        private BookingRequestStatusResponse status() {
+            return result.getNow(response(Status.PENDING, null, "Запрос на бронирование принят и ожидает обработки."));
+        }
+
+        private BookingRequestStatusResponse response(Status status, BookingResponse booking, String message) {
+            return new BookingRequestStatusResponse(id, status, acceptedAt, booking, message);
+        }
+    }
+}
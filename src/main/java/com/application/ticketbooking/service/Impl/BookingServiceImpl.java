@@ -1,25 +1,34 @@
 package com.application.ticketbooking.service.Impl;
 
 import com.application.ticketbooking.dto.BookingRequest;
+import com.application.ticketbooking.dto.BookingRequestStatusResponse;
 import com.application.ticketbooking.dto.BookingResponse;
+import com.application.ticketbooking.dto.CartRequest;
+import com.application.ticketbooking.dto.CartResponse;
+import com.application.ticketbooking.dto.CountMode;
+import com.application.ticketbooking.dto.CountedPage;
+import com.application.ticketbooking.dto.CursorPage;
 import com.application.ticketbooking.entity.Booking;
-import com.application.ticketbooking.entity.Event;
 import com.application.ticketbooking.entity.User;
 import com.application.ticketbooking.exception.BadRequestException;
 import com.application.ticketbooking.repository.BookingRepository;
-import com.application.ticketbooking.repository.EventRepository;
 import com.application.ticketbooking.service.BookingService;
+import com.application.ticketbooking.service.SeatReservationStrategy;
+import com.application.ticketbooking.util.KeysetCursor;
 import com.application.ticketbooking.exception.EntityNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
-import org.springframework.data.domain.Page;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Isolation;
-import java.time.LocalDateTime;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Реализация сервиса бронирования билетов.
@@ -31,17 +40,31 @@ import java.time.LocalDateTime;
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
 
+    private static final String TABLE = "ticket_booking.bookings";
+
     private final BookingRepository bookingRepository;
-    private final EventRepository eventRepository;
     private final ModelMapper modelMapper;
-    private final NotificationLogServiceImpl notificationLogService;
+    private final SeatReservationStrategyResolver strategyResolver;
+    private final MeterRegistry meterRegistry;
+    private final CartReservation cartReservation;
+    private final BookingRequestQueue bookingRequestQueue;
+    private final CountProvider countProvider;
+
+    @Value("${booking.cart.max-items}")
+    private int maxCartItems;
+
+    @Value("${booking.async.enabled}")
+    private boolean asyncBookingEnabled;
 
     /**
      * Осуществляет бронирование билетов на мероприятие.
      * <p>
-     * Транзакция используется для обеспечения целостности данных при бронировании мест.
-     * Уровень изоляции {@code Isolation.SERIALIZABLE} предотвращает конкурентные изменения данных,
-     * обеспечивая корректное распределение мест между пользователями.
+     * Места резервируются стратегией, выбранной для мероприятия {@link SeatReservationStrategyResolver}.
+     * Стратегия сама открывает транзакцию с нужным уровнем изоляции и способом блокировки
+     * и в той же транзакции записывает уведомление о бронировании в {@code outbox}.
+     * Бронирование, принятое с отложенной записью ({@code LEDGER}), возвращается без идентификатора.
+     * Время и результат каждого резервирования записываются в метрику {@code booking.reservation}
+     * с тегами {@code mode} и {@code outcome} ({@code success}, {@code rejected}, {@code aborted}).
      * <p>
      * @param bookingRequest объект запроса на бронирование с информацией о мероприятии и количестве билетов
      * @return {@link BookingResponse} с данными о бронировании и подтверждающим сообщением
@@ -49,47 +72,184 @@ public class BookingServiceImpl implements BookingService {
      * @throws BadRequestException если недостаточно свободных мест
      */
     @Override
-    @Transactional(isolation = Isolation.SERIALIZABLE)
     public BookingResponse bookingTickets(BookingRequest bookingRequest) {
-        User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        Event event = eventRepository.findById(bookingRequest.getEventId())
-                .orElseThrow(() -> new EntityNotFoundException("Мероприятие не найдено."));
+        validate(bookingRequest);
+        return book(currentUser(), bookingRequest);
+    }
 
-        if (event.getAvailableSeats() < bookingRequest.getTicketsCount()) {
-            throw new BadRequestException("Недостаточно мест на мероприятии");
-        }
+    /**
+     * Принимает запрос на бронирование в асинхронную обработку.
+     * <p>
+     * Запрос проверяется сразу, а бронирование выполняется потоком {@link BookingRequestQueue}
+     * так же, как в {@link #bookingTickets(BookingRequest)}. Результат доступен по идентификатору запроса.
+     * </p>
+     *
+     * @param bookingRequest объект запроса на бронирование с информацией о мероприятии и количестве билетов
+     * @return {@link BookingRequestStatusResponse} принятого запроса
+     * @throws BadRequestException если запрос некорректен
+     * @throws com.application.ticketbooking.exception.ServiceUnavailableException если очередь запросов заполнена
+     */
+    @Override
+    public BookingRequestStatusResponse submitBooking(BookingRequest bookingRequest) {
+        validate(bookingRequest);
+        User user = currentUser();
+        return bookingRequestQueue.submit(user.getId(), () -> book(user, bookingRequest));
+    }
 
-        Booking booking = new Booking();
-        booking.setUser(user);
-        booking.setEvent(event);
-        booking.setBookingDate(LocalDateTime.now());
-        booking.setTicketsCount(bookingRequest.getTicketsCount());
+    /**
+     * @param requestId идентификатор запроса на бронирование
+     * @return текущее состояние запроса текущего пользователя
+     * @throws EntityNotFoundException если запрос не найден
+     */
+    @Override
+    public BookingRequestStatusResponse getBookingRequest(String requestId) {
+        return bookingRequestQueue.getStatus(requestId, currentUser().getId());
+    }
 
+    /**
+     * @param requestId идентификатор запроса на бронирование
+     * @return {@link CompletableFuture}, завершающийся состоянием обработанного запроса текущего пользователя
+     * @throws EntityNotFoundException если запрос не найден
+     */
+    @Override
+    public CompletableFuture<BookingRequestStatusResponse> awaitBookingRequest(String requestId) {
+        return bookingRequestQueue.awaitResult(requestId, currentUser().getId());
+    }
 
-        event.setAvailableSeats(event.getAvailableSeats() - bookingRequest.getTicketsCount());
+    @Override
+    public boolean isAsyncBookingEnabled() {
+        return asyncBookingEnabled;
+    }
+
+    private void validate(BookingRequest bookingRequest) {
+        if (bookingRequest.getTicketsCount() <= 0) {
+            throw new BadRequestException("Количество билетов должно быть больше нуля.");
+        }
+    }
+
+    private User currentUser() {
+        return (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+    }
 
-        Booking savedBooking = bookingRepository.saveAndFlush(booking);
-        eventRepository.save(event);
+    private BookingResponse book(User user, BookingRequest bookingRequest) {
+        SeatReservationStrategy strategy = strategyResolver.resolve(bookingRequest.getEventId());
+
+        Booking savedBooking = reserve(strategy, user, bookingRequest);
 
         BookingResponse bookingResponse = modelMapper.map(savedBooking, BookingResponse.class);
+        if (strategy.isWriteBehind()) {
+            // Уведомление запишет в outbox очередь отложенной записи вместе с бронированием.
+            bookingResponse.setMessage("Бронирование принято и будет сохранено.");
+            return bookingResponse;
+        }
         bookingResponse.setMessage("Бронирование успешно выполнено.");
+        return bookingResponse;
+    }
 
-        notificationLogService.setNotificationLog(bookingResponse);
+    private Booking reserve(SeatReservationStrategy strategy, User user, BookingRequest bookingRequest) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "aborted";
+        try {
+            Booking booking = strategy.reserve(user, bookingRequest);
+            outcome = "success";
+            return booking;
+        } catch (BadRequestException | EntityNotFoundException e) {
+            outcome = "rejected";
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer("booking.reservation",
+                    "mode", strategy.getMode().name(), "outcome", outcome));
+        }
+    }
 
-        return bookingResponse;
+    /**
+     * Оформляет бронирование сразу на несколько мероприятий.
+     * <p>
+     * Позиции одного мероприятия суммируются. Места на все мероприятия резервируются в одной транзакции
+     * {@link CartReservation}: либо все бронирования сохраняются, либо ни одно. В той же транзакции
+     * записывается одно уведомление на всю корзину. Мероприятия, места которых хранятся не в счетчике {@code events}
+     * ({@code LEDGER}, {@code STRIPED}, {@code POOL}), в корзину не принимаются.
+     * </p>
+     *
+     * @param cartRequest позиции корзины
+     * @return {@link CartResponse} с бронированиями в порядке возрастания id мероприятий
+     * @throws EntityNotFoundException если какого-либо мероприятия нет
+     * @throws BadRequestException если корзина пуста, слишком велика или на какое-либо мероприятие не хватает мест
+     */
+    @Override
+    public CartResponse checkoutCart(CartRequest cartRequest) {
+        List<BookingRequest> items = cartRequest.getItems();
+        if (items == null || items.isEmpty()) {
+            throw new BadRequestException("Корзина пуста.");
+        }
+        if (items.size() > maxCartItems) {
+            throw new BadRequestException("В корзине может быть не больше " + maxCartItems + " позиций.");
+        }
+        SortedMap<Long, Integer> ticketsByEvent = new TreeMap<>();
+        for (BookingRequest item : items) {
+            if (item.getEventId() == null || item.getTicketsCount() <= 0) {
+                throw new BadRequestException("Количество билетов должно быть больше нуля.");
+            }
+            ticketsByEvent.merge(item.getEventId(), item.getTicketsCount(), Integer::sum);
+        }
+        for (Long eventId : ticketsByEvent.keySet()) {
+            SeatReservationStrategy strategy = strategyResolver.resolve(eventId);
+            if (!strategy.usesEventSeatCounter() || strategy.isWriteBehind()) {
+                throw new BadRequestException("Мероприятие с id = " + eventId + " нельзя бронировать в корзине.");
+            }
+        }
+
+        User user = currentUser();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "aborted";
+        List<Booking> bookings;
+        try {
+            bookings = cartReservation.reserve(user, ticketsByEvent);
+            outcome = "success";
+        } catch (BadRequestException | EntityNotFoundException e) {
+            outcome = "rejected";
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer("booking.cart", "outcome", outcome));
+        }
+
+        List<BookingResponse> bookingResponses = bookings.stream()
+                .map(booking -> modelMapper.map(booking, BookingResponse.class))
+                .toList();
+        return new CartResponse(bookingResponses, "Заказ успешно оформлен.");
     }
 
     /**
      * Получает список всех бронирований с пагинацией.
+     * Общее количество бронирований считается {@link CountProvider} выбранным способом.
      *
      * @param page номер страницы (начиная с 0)
      * @param size количество записей на странице
-     * @return страничный список бронирований {@link Page}, содержащий объекты {@link Booking}
+     * @param count способ подсчета общего количества или {@code null} для способа по умолчанию
+     * @return страничный список бронирований {@link CountedPage}, содержащий объекты {@link Booking}
      */
     @Override
-    public Page<Booking> getAllBookings(int page, int size) {
+    public CountedPage<Booking> getAllBookings(int page, int size, CountMode count) {
         Pageable pageable = PageRequest.of(page, size);
-        return bookingRepository.findAll(pageable);
+        List<Booking> bookings = bookingRepository.findAllBy(pageable).getContent();
+        return countProvider.page(bookings, pageable, count, TABLE, bookingRepository::count);
+    }
+
+    /**
+     * Получает страницу бронирований по курсору в порядке id.
+     * В отличие от {@link #getAllBookings(int, int, CountMode)} не пропускает предыдущие страницы через {@code OFFSET}
+     * и не считает общее количество бронирований, поэтому любая страница стоит столько же, сколько первая.
+     *
+     * @param after курсор предыдущей страницы, {@code null} или пустая строка для первой страницы
+     * @param size количество записей на странице
+     * @return {@link CursorPage} с бронированиями и курсором следующей страницы
+     * @throws BadRequestException если курсор некорректен
+     */
+    @Override
+    public CursorPage<Booking> getBookingsAfter(String after, int size) {
+        long afterId = after == null || after.isEmpty() ? 0 : KeysetCursor.decode(after, "id").id();
+        List<Booking> bookings = bookingRepository.findByIdGreaterThanOrderByIdAsc(afterId, KeysetCursor.limit(size));
+        return KeysetCursor.page(bookings, size, "id", Booking::getId, Booking::getId);
     }
 
 }
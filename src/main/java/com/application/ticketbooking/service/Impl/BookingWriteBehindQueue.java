@@ -0,0 +1,223 @@
+package com.application.ticketbooking.service.Impl;
+
+import com.application.ticketbooking.entity.Booking;
+import com.application.ticketbooking.repository.BookingDeadLetterRepository;
+import com.application.ticketbooking.repository.BookingJdbcRepository;
+import com.application.ticketbooking.repository.EventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Очередь отложенной записи бронирований, зарезервированных в {@link SeatInventory}.
+ * <p>
+ * Бронирования периодически выбираются пакетами до {@code booking.inventory.batch-size} штук
+ * и записываются в одной транзакции: строки {@code bookings} вставляются одним JDBC batch,
+ * а количество мест каждого мероприятия уменьшается одним запросом на пакет.
+ * Уведомления о бронированиях записываются в {@code outbox} одним JDBC batch в той же транзакции.
+ * </p>
+ * <p>
+ * Места в базе данных уменьшаются условным запросом, поэтому {@code events.available_seats} не становится
+ * отрицательным, даже если учеты нескольких экземпляров приложения разошлись. Если пакет не записан,
+ * его бронирования записываются по одному, и ошибка одной строки не задерживает остальные.
+ * Бронирование, на которое в базе данных не хватает мест, и бронирование, не записанное за
+ * {@code booking.inventory.max-attempts} попыток, переносятся в {@code booking_dead_letters}, а их места
+ * возвращаются в учет. Пока есть бронирования для повторной записи, новые пакеты не выбираются:
+ * очередь заполняется, и новые бронирования отклоняются, а не теряются.
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(value = "booking.inventory.enabled", havingValue = "true")
+public class BookingWriteBehindQueue {
+
+    private static final String NOT_ENOUGH_SEATS = "Недостаточно свободных мест или мероприятие удалено.";
+
+    private final BlockingQueue<Booking> queue;
+    private final Deque<Retry> retries = new ArrayDeque<>();
+    private final BookingJdbcRepository bookingJdbcRepository;
+    private final BookingDeadLetterRepository deadLetterRepository;
+    private final EventRepository eventRepository;
+    private final BookingOutbox bookingOutbox;
+    private final SeatInventory seatInventory;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter deadLetterCounter;
+    private final int batchSize;
+    private final int maxAttempts;
+
+    public BookingWriteBehindQueue(BookingJdbcRepository bookingJdbcRepository,
+                                   BookingDeadLetterRepository deadLetterRepository,
+                                   EventRepository eventRepository,
+                                   BookingOutbox bookingOutbox,
+                                   SeatInventory seatInventory,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${booking.inventory.queue-capacity}") int queueCapacity,
+                                   @Value("${booking.inventory.batch-size}") int batchSize,
+                                   @Value("${booking.inventory.max-attempts}") int maxAttempts) {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.bookingJdbcRepository = bookingJdbcRepository;
+        this.deadLetterRepository = deadLetterRepository;
+        this.eventRepository = eventRepository;
+        this.bookingOutbox = bookingOutbox;
+        this.seatInventory = seatInventory;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.deadLetterCounter = meterRegistry.counter("booking.inventory.write-behind.dead-letters");
+        meterRegistry.gauge("booking.inventory.write-behind.queue", queue, BlockingQueue::size);
+    }
+
+    /**
+     * @param booking бронирование без идентификатора, места для которого уже зарезервированы
+     * @return {@code false}, если очередь заполнена
+     */
+    public boolean offer(Booking booking) {
+        return queue.offer(booking);
+    }
+
+    /**
+     * Записывает накопившиеся бронирования в базу данных.
+     */
+    @Scheduled(fixedDelayString = "${booking.inventory.flush-interval}")
+    public synchronized void flush() {
+        retryFailed();
+        if (!retries.isEmpty()) {
+            return;
+        }
+        while (!queue.isEmpty()) {
+            List<Booking> batch = new ArrayList<>(batchSize);
+            queue.drainTo(batch, batchSize);
+            if (!persistBatch(batch)) {
+                batch.forEach(booking -> retries.add(new Retry(booking)));
+                retryFailed();
+                if (!retries.isEmpty()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private boolean persistBatch(List<Booking> batch) {
+        try {
+            if (Boolean.TRUE.equals(transactionTemplate.execute(status -> persistOrRollback(batch, status)))) {
+                return true;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Не удалось записать пакет из {} бронирований, бронирования будут записаны по одному.", batch.size(), e);
+        }
+        batch.forEach(booking -> booking.setId(null));
+        return false;
+    }
+
+    private boolean persistOrRollback(List<Booking> bookings, TransactionStatus status) {
+        if (!persist(bookings)) {
+            status.setRollbackOnly();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Места уменьшаются в порядке id мероприятий, чтобы конкурентные транзакции не взаимоблокировались.
+     *
+     * @return {@code false}, если хотя бы для одного мероприятия в базе данных не хватает мест
+     */
+    private boolean persist(List<Booking> bookings) {
+        Map<Long, Integer> seatsByEvent = new TreeMap<>();
+        bookings.forEach(booking -> seatsByEvent.merge(booking.getEvent().getId(), booking.getTicketsCount(), Integer::sum));
+        for (Map.Entry<Long, Integer> seats : seatsByEvent.entrySet()) {
+            if (eventRepository.decrementAvailableSeats(seats.getKey(), seats.getValue()) == 0) {
+                return false;
+            }
+        }
+        bookingJdbcRepository.batchInsert(bookings);
+        bookingOutbox.appendAll(bookings);
+        return true;
+    }
+
+    private void retryFailed() {
+        for (int i = retries.size(); i > 0; i--) {
+            Retry retry = retries.poll();
+            if (!retryOne(retry)) {
+                retries.add(retry);
+            }
+        }
+    }
+
+    /**
+     * @return {@code true}, если бронирование сохранено или перенесено в {@code booking_dead_letters}
+     */
+    private boolean retryOne(Retry retry) {
+        Booking booking = retry.booking;
+        retry.attempts++;
+        try {
+            Boolean persisted = transactionTemplate.execute(status -> persistOrRollback(List.of(booking), status));
+            return Boolean.TRUE.equals(persisted) || deadLetter(retry, NOT_ENOUGH_SEATS);
+        } catch (RuntimeException e) {
+            booking.setId(null);
+            log.warn("Не удалось записать бронирование на мероприятие {}, попытка {} из {}.",
+                    booking.getEvent().getId(), retry.attempts, maxAttempts, e);
+            return retry.attempts >= maxAttempts && deadLetter(retry, NestedExceptionUtils.getMostSpecificCause(e).toString());
+        }
+    }
+
+    private boolean deadLetter(Retry retry, String reason) {
+        Booking booking = retry.booking;
+        try {
+            transactionTemplate.executeWithoutResult(status -> deadLetterRepository.insert(booking, retry.attempts, reason));
+        } catch (RuntimeException e) {
+            log.error("Не удалось перенести бронирование на мероприятие {} в booking_dead_letters, запись будет повторена.",
+                    booking.getEvent().getId(), e);
+            return false;
+        }
+        seatInventory.release(booking.getEvent().getId(), booking.getTicketsCount());
+        deadLetterCounter.increment();
+        log.error("Бронирование пользователя {} на мероприятие {} ({} мест) не сохранено и перенесено в booking_dead_letters: {}",
+                booking.getUser().getId(), booking.getEvent().getId(), booking.getTicketsCount(), reason);
+        return true;
+    }
+
+    /**
+     * Записывает оставшиеся бронирования при остановке приложения.
+     */
+    @PreDestroy
+    public synchronized void shutdown() {
+        flush();
+        List<Booking> unsaved = new ArrayList<>(retries.size() + queue.size());
+        retries.forEach(retry -> unsaved.add(retry.booking));
+        queue.drainTo(unsaved);
+        unsaved.forEach(booking -> log.error("Бронирование пользователя {} на мероприятие {} ({} мест, {}) не сохранено при остановке.",
+                booking.getUser().getId(), booking.getEvent().getId(), booking.getTicketsCount(), booking.getBookingDate()));
+    }
+
+    /**
+     * Бронирование, ожидающее повторной записи.
+     */
+    private static final class Retry {
+
+        private final Booking booking;
+        private int attempts;
+
+        private Retry(Booking booking) {
+            this.booking = booking;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.application.ticketbooking.service.Impl;
+
+import com.application.ticketbooking.entity.Booking;
+import com.application.ticketbooking.entity.Event;
+import com.application.ticketbooking.entity.User;
+import com.application.ticketbooking.exception.BadRequestException;
+import com.application.ticketbooking.exception.EntityNotFoundException;
+import com.application.ticketbooking.repository.BookingJdbcRepository;
+import com.application.ticketbooking.repository.EventRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+
+/**
+ * Резервирование мест сразу на несколько мероприятий в одной транзакции.
+ * <p>
+ * Строки мероприятий блокируются одним запросом в порядке возрастания id, поэтому две корзины
+ * с пересекающимися мероприятиями ждут друг друга, но не взаимоблокируются. Если хотя бы на одно
+ * мероприятие мест не хватает, транзакция откатывается целиком. Бронирования вставляются одним JDBC batch,
+ * одно уведомление на всю корзину записывается в {@code outbox} в той же транзакции.
+ * </p>
+ */
+@Component
+public class CartReservation {
+
+    private final EventRepository eventRepository;
+    private final BookingJdbcRepository bookingJdbcRepository;
+    private final BookingOutbox bookingOutbox;
+    private final TransactionTemplate transactionTemplate;
+
+    public CartReservation(EventRepository eventRepository,
+                           BookingJdbcRepository bookingJdbcRepository,
+                           BookingOutbox bookingOutbox,
+                           PlatformTransactionManager transactionManager) {
+        this.eventRepository = eventRepository;
+        this.bookingJdbcRepository = bookingJdbcRepository;
+        this.bookingOutbox = bookingOutbox;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+    }
+
+    /**
+     * @param user пользователь, оформляющий корзину
+     * @param ticketsByEvent количество билетов по id мероприятий
+     * @return сохраненные бронирования в порядке возрастания id мероприятий
+     * @throws EntityNotFoundException если какого-либо мероприятия нет
+     * @throws BadRequestException если на какое-либо мероприятие не хватает мест
+     */
+    public List<Booking> reserve(User user, SortedMap<Long, Integer> ticketsByEvent) {
+        return transactionTemplate.execute(status -> {
+            List<Event> events = eventRepository.findAllByIdForUpdate(ticketsByEvent.keySet());
+            if (events.size() != ticketsByEvent.size()) {
+                List<Long> found = events.stream().map(Event::getId).toList();
+                Long missing = ticketsByEvent.keySet().stream().filter(id -> !found.contains(id)).findFirst().orElseThrow();
+                throw new EntityNotFoundException("Мероприятие с id = " + missing + " не найдено.");
+            }
+
+            LocalDateTime bookingDate = LocalDateTime.now();
+            List<Booking> bookings = new ArrayList<>(events.size());
+            for (Event event : events) {
+                int ticketsCount = ticketsByEvent.get(event.getId());
+                if (event.getAvailableSeats() < ticketsCount) {
+                    throw new BadRequestException("Недостаточно мест на мероприятии с id = " + event.getId());
+                }
+                event.setAvailableSeats(event.getAvailableSeats() - ticketsCount);
+
+                Booking booking = new Booking();
+                booking.setUser(user);
+                booking.setEvent(event);
+                booking.setBookingDate(bookingDate);
+                booking.setTicketsCount(ticketsCount);
+                bookings.add(booking);
+            }
+            bookingJdbcRepository.batchInsert(bookings);
+            bookingOutbox.appendCart(bookings);
+            return bookings;
+        });
+    }
+}
@@ -0,0 +1,61 @@
+package com.application.ticketbooking.service.Impl;
+
+import com.application.ticketbooking.dto.BookingRequest;
+import com.application.ticketbooking.entity.Booking;
+import com.application.ticketbooking.entity.ReservationMode;
+import com.application.ticketbooking.entity.User;
+import com.application.ticketbooking.repository.BookingRepository;
+import com.application.ticketbooking.repository.EventRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+/**
+ * Резервирование мест одним условным запросом
+ * {@code UPDATE events SET available_seats = available_seats - ? WHERE id = ? AND available_seats >= ?}.
+ * <p>
+ * Проверка и уменьшение количества мест выполняются атомарно в базе данных,
+ * мероприятие в приложение не загружается.
+ * </p>
+ */
+@Component
+public class ConditionalUpdateSeatReservationStrategy extends AbstractSeatReservationStrategy {
+
+    private final EventRepository eventRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingOutbox bookingOutbox;
+
+    public ConditionalUpdateSeatReservationStrategy(EventRepository eventRepository,
+                                                    BookingRepository bookingRepository,
+                                                    BookingOutbox bookingOutbox,
+                                                    PlatformTransactionManager transactionManager) {
+        super(transactionManager, TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.eventRepository = eventRepository;
+        this.bookingRepository = bookingRepository;
+        this.bookingOutbox = bookingOutbox;
+    }
+
+    @Override
+    public ReservationMode getMode() {
+        return ReservationMode.CONDITIONAL_UPDATE;
+    }
+
+    @Override
+    public Booking reserve(User user, BookingRequest bookingRequest) {
+        return transactionTemplate.execute(status -> {
+            int updated = eventRepository.decrementAvailableSeats(bookingRequest.getEventId(), bookingRequest.getTicketsCount());
+            if (updated == 0) {
+                if (!eventRepository.existsById(bookingRequest.getEventId())) {
+                    throw eventNotFound();
+                }
+                throw notEnoughSeats();
+            }
+
+            Booking booking = bookingRepository.saveAndFlush(newBooking(user,
+                    eventRepository.getReferenceById(bookingRequest.getEventId()),
+                    bookingRequest.getTicketsCount()));
+            bookingOutbox.append(booking);
+            return booking;
+        });
+    }
+}
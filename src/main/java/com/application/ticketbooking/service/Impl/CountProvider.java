@@ -0,0 +1,164 @@
+package com.application.ticketbooking.service.Impl;
+
+import com.application.ticketbooking.dto.CountMode;
+import com.application.ticketbooking.dto.CountedPage;
+import com.application.ticketbooking.repository.TableStatisticsRepository;
+import com.application.ticketbooking.util.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * Общее количество элементов для постраничного вывода.
+ * <p>
+ * Способ подсчета выбирает клиент, по умолчанию используется {@code booking.counts.default-mode}:
+ * </p>
+ * <ul>
+ *     <li>{@link CountMode#EXACT} — {@code count(*)} при каждом запросе;</li>
+ *     <li>{@link CountMode#CACHED} — точное количество из памяти экземпляра. Первый запрос считает его сам,
+ *     а значение старше {@code booking.counts.refresh-interval} отдается как есть и пересчитывается в фоне
+ *     одним потоком, поэтому запросы не ждут {@code count(*)} больших таблиц;</li>
+ *     <li>{@link CountMode#ESTIMATED} — оценка по статистике планировщика, а пока статистики нет —
+ *     количество из памяти;</li>
+ *     <li>{@link CountMode#NONE} — количество не считается.</li>
+ * </ul>
+ * <p>
+ * Если страница неполная, общее количество известно без подсчета и возвращается как точное.
+ * В ответе указывается, каким способом получено количество. Время фонового пересчета доступно
+ * в метрике {@code booking.counts.refresh} с тегом {@code table}.
+ * </p>
+ */
+@Slf4j
+@Component
+public class CountProvider {
+
+    private final Map<String, CachedCount> cachedCounts = new ConcurrentHashMap<>();
+    private final SingleFlight<String, Long> initialCounts = new SingleFlight<>(() -> { });
+    private final ExecutorService refreshExecutor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("count-refresh-"));
+    private final TableStatisticsRepository tableStatisticsRepository;
+    private final MeterRegistry meterRegistry;
+    private final CountMode defaultMode;
+    private final long refreshIntervalNanos;
+
+    public CountProvider(TableStatisticsRepository tableStatisticsRepository,
+                         MeterRegistry meterRegistry,
+                         @Value("${booking.counts.default-mode}") CountMode defaultMode,
+                         @Value("${booking.counts.refresh-interval}") Duration refreshInterval) {
+        this.tableStatisticsRepository = tableStatisticsRepository;
+        this.meterRegistry = meterRegistry;
+        this.defaultMode = defaultMode;
+        this.refreshIntervalNanos = refreshInterval.toNanos();
+    }
+
+    /**
+     * Собирает страницу с общим количеством элементов таблицы.
+     *
+     * @param content элементы страницы
+     * @param pageable номер и размер страницы
+     * @param mode способ подсчета или {@code null} для способа по умолчанию
+     * @param table имя таблицы вместе со схемой
+     * @param exactCount точный подсчет количества элементов
+     * @return {@link CountedPage}
+     */
+    public <T> CountedPage<T> page(List<T> content, Pageable pageable, CountMode mode, String table, LongSupplier exactCount) {
+        return page(content, pageable, mode, table, exactCount, () -> cached(table, exactCount));
+    }
+
+    /**
+     * Собирает страницу с общим количеством элементов таблицы, точное количество которой уже кешируется
+     * вызывающим кодом.
+     *
+     * @param content элементы страницы
+     * @param pageable номер и размер страницы
+     * @param mode способ подсчета или {@code null} для способа по умолчанию
+     * @param table имя таблицы вместе со схемой
+     * @param exactCount точный подсчет количества элементов
+     * @param cachedCount количество из кеша вызывающего кода для {@link CountMode#CACHED}
+     * @return {@link CountedPage}
+     */
+    public <T> CountedPage<T> page(List<T> content, Pageable pageable, CountMode mode, String table,
+                                   LongSupplier exactCount, LongSupplier cachedCount) {
+        CountMode requested = mode == null ? defaultMode : mode;
+        int number = pageable.getPageNumber();
+        int size = pageable.getPageSize();
+        if (requested == CountMode.NONE) {
+            return new CountedPage<>(content, number, size, null, CountMode.NONE);
+        }
+        // Неполная непустая страница или пустая первая — последние, количество известно без подсчета.
+        long seen = pageable.getOffset() + content.size();
+        if (content.size() < size && (!content.isEmpty() || pageable.getOffset() == 0)) {
+            return new CountedPage<>(content, number, size, seen, CountMode.EXACT);
+        }
+        return switch (requested) {
+            case EXACT -> new CountedPage<>(content, number, size, exactCount.getAsLong(), CountMode.EXACT);
+            case ESTIMATED -> {
+                OptionalLong estimate = tableStatisticsRepository.estimateRowCount(table);
+                yield estimate.isPresent()
+                        ? new CountedPage<>(content, number, size, Math.max(seen, estimate.getAsLong()), CountMode.ESTIMATED)
+                        : new CountedPage<>(content, number, size, Math.max(seen, cachedCount.getAsLong()), CountMode.CACHED);
+            }
+            default -> new CountedPage<>(content, number, size, Math.max(seen, cachedCount.getAsLong()), CountMode.CACHED);
+        };
+    }
+
+    private long cached(String table, LongSupplier exactCount) {
+        CachedCount cachedCount = cachedCounts.get(table);
+        if (cachedCount == null) {
+            return initialCounts.execute(table, () -> {
+                CachedCount loaded = cachedCounts.get(table);
+                if (loaded == null) {
+                    loaded = new CachedCount(exactCount.getAsLong());
+                    cachedCounts.put(table, loaded);
+                }
+                return loaded.value;
+            });
+        }
+        if (System.nanoTime() - cachedCount.refreshedAt > refreshIntervalNanos && cachedCount.refreshing.compareAndSet(false, true)) {
+            refreshExecutor.execute(() -> refresh(table, cachedCount, exactCount));
+        }
+        return cachedCount.value;
+    }
+
+    private void refresh(String table, CachedCount cachedCount, LongSupplier exactCount) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            cachedCount.value = exactCount.getAsLong();
+            cachedCount.refreshedAt = System.nanoTime();
+        } catch (RuntimeException e) {
+            log.warn("Не удалось пересчитать количество строк таблицы {}.", table, e);
+        } finally {
+            cachedCount.refreshing.set(false);
+            sample.stop(meterRegistry.timer("booking.counts.refresh", "table", table));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private static final class CachedCount {
+
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        private volatile long value;
+        private volatile long refreshedAt = System.nanoTime();
+
+        private CachedCount(long value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.application.ticketbooking.service.Impl;
+
+import com.application.ticketbooking.dto.BookingRequest;
+import com.application.ticketbooking.entity.Booking;
+import com.application.ticketbooking.entity.ReservationMode;
+import com.application.ticketbooking.entity.User;
+import com.application.ticketbooking.repository.BookingRepository;
+import com.application.ticketbooking.repository.EventRepository;
+import com.application.ticketbooking.repository.SeatLeaseRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Резервирование мест из квоты, арендованной экземпляром приложения.
+ * <p>
+ * Экземпляр арендует у мероприятия блок из {@code booking.reservation.escrow.block-size} мест одним
+ * запросом к базе данных и дальше проверяет наличие мест только по своей квоте в памяти, поэтому
+ * экземпляры не конкурируют за строку {@code events}. Когда квоты не хватает, арендуется следующий блок.
+ * Бронирование по-прежнему сохраняется в базе данных и ссылается на аренду.
+ * </p>
+ * <p>
+ * Аренда действует {@code booking.reservation.escrow.lease-ttl} и продлевается, пока квотой пользуются.
+ * Простаивающая квота и квоты при остановке экземпляра возвращаются мероприятию. Аренды упавших экземпляров
+ * истекают, и любой экземпляр возвращает их непроданные места по количеству бронирований из аренды.
+ * Экземпляр перестает продавать из аренды раньше срока ее истечения, чтобы не продать места, которые уже
+ * возвращены. Перед распродажей часть мест может оставаться в квотах других экземпляров,
+ * поэтому запрос получает отказ, пока эти квоты не вернутся.
+ * </p>
+ */
+@Slf4j
+@Component
+public class EscrowSeatReservationStrategy extends AbstractSeatReservationStrategy {
+
+    private final Map<Long, Quota> quotas = new ConcurrentHashMap<>();
+    private final String nodeId = UUID.randomUUID().toString();
+    private final EventRepository eventRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingOutbox bookingOutbox;
+    private final SeatLeaseRepository leaseRepository;
+    private final Counter leaseCounter;
+    private final int blockSize;
+    private final Duration leaseTtl;
+
+    public EscrowSeatReservationStrategy(EventRepository eventRepository,
+                                         BookingRepository bookingRepository,
+                                         BookingOutbox bookingOutbox,
+                                         SeatLeaseRepository leaseRepository,
+                                         PlatformTransactionManager transactionManager,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${booking.reservation.escrow.block-size}") int blockSize,
+                                         @Value("${booking.reservation.escrow.lease-ttl}") Duration leaseTtl) {
+        super(transactionManager, TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.eventRepository = eventRepository;
+        this.bookingRepository = bookingRepository;
+        this.bookingOutbox = bookingOutbox;
+        this.leaseRepository = leaseRepository;
+        this.leaseCounter = meterRegistry.counter("booking.reservation.escrow.leases");
+        this.blockSize = blockSize;
+        this.leaseTtl = leaseTtl;
+        meterRegistry.gauge("booking.reservation.escrow.quota", quotas,
+                q -> q.values().stream().mapToInt(quota -> quota.remaining.get()).sum());
+    }
+
+    @Override
+    public ReservationMode getMode() {
+        return ReservationMode.ESCROW;
+    }
+
+    @Override
+    public Booking reserve(User user, BookingRequest bookingRequest) {
+        Long eventId = bookingRequest.getEventId();
+        int ticketsCount = bookingRequest.getTicketsCount();
+
+        Quota quota = take(eventId, ticketsCount);
+        try {
+            return transactionTemplate.execute(status -> {
+                Booking booking = newBooking(user, eventRepository.getReferenceById(eventId), ticketsCount);
+                booking.setLeaseId(quota.leaseId);
+                Booking savedBooking = bookingRepository.saveAndFlush(booking);
+                bookingOutbox.append(savedBooking);
+                return savedBooking;
+            });
+        } catch (RuntimeException e) {
+            giveBack(eventId, quota, ticketsCount);
+            throw e;
+        }
+    }
+
+    private Quota take(Long eventId, int ticketsCount) {
+        Quota quota = quotas.get(eventId);
+        if (quota != null && quota.tryTake(ticketsCount)) {
+            return quota;
+        }
+        synchronized (this) {
+            quota = quotas.get(eventId);
+            if (quota != null && quota.tryTake(ticketsCount)) {
+                return quota;
+            }
+            int missing = ticketsCount - (quota != null && quota.isUsable() ? quota.remaining.get() : 0);
+            SeatLeaseRepository.Lease lease = leaseRepository.lease(eventId, nodeId, Math.max(blockSize, missing), leaseTtl);
+            if (lease == null) {
+                if (quota == null && !eventRepository.existsById(eventId)) {
+                    throw eventNotFound();
+                }
+                throw notEnoughSeats();
+            }
+            leaseCounter.increment();
+            if (quota == null || quota.leaseId != lease.id()) {
+                // Прежняя аренда истекла и удалена, ее непроданные места вернул сборщик истекших аренд.
+                if (quota != null) {
+                    quota.closed = true;
+                }
+                quota = new Quota(lease.id());
+                quotas.put(eventId, quota);
+            }
+            // Аренда продлена тем же запросом, поэтому остаток квоты снова можно продавать.
+            quota.deadline = deadline();
+            quota.remaining.addAndGet(lease.granted());
+            if (!quota.tryTake(ticketsCount)) {
+                throw notEnoughSeats();
+            }
+            return quota;
+        }
+    }
+
+    private void giveBack(Long eventId, Quota quota, int ticketsCount) {
+        synchronized (this) {
+            if (!quota.released) {
+                // Места истекшей аренды вернет сборщик: несохраненное бронирование не считается проданным.
+                quota.remaining.addAndGet(ticketsCount);
+                return;
+            }
+        }
+        // Остаток квоты уже возвращен мероприятию без этих мест, поэтому они возвращаются напрямую.
+        transactionTemplate.executeWithoutResult(status -> eventRepository.addAvailableSeats(eventId, ticketsCount));
+    }
+
+    private long deadline() {
+        // Экземпляр перестает продавать из аренды за десятую часть срока до ее истечения в базе данных.
+        return System.nanoTime() + leaseTtl.toNanos() - leaseTtl.toNanos() / 10;
+    }
+
+    /**
+     * Продлевает аренды используемых квот, возвращает простаивающие квоты
+     * и места из истекших аренд других экземпляров.
+     */
+    @Scheduled(fixedDelayString = "${booking.reservation.escrow.renew-interval}")
+    public void maintainLeases() {
+        quotas.forEach((eventId, quota) -> {
+            try {
+                if (quota.idle) {
+                    release(eventId, quota);
+                } else if (leaseRepository.renew(quota.leaseId, leaseTtl)) {
+                    quota.deadline = deadline();
+                    quota.idle = true;
+                } else {
+                    quota.closed = true;
+                    quotas.remove(eventId, quota);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Не удалось продлить аренду {} мест мероприятия {}.", quota.leaseId, eventId, e);
+            }
+        });
+        try {
+            leaseRepository.reclaimExpired();
+        } catch (RuntimeException e) {
+            log.warn("Не удалось вернуть места истекших аренд.", e);
+        }
+    }
+
+    private void release(Long eventId, Quota quota) {
+        int unused;
+        synchronized (this) {
+            quota.closed = true;
+            quota.released = true;
+            quotas.remove(eventId, quota);
+            unused = quota.remaining.getAndSet(0);
+        }
+        if (!leaseRepository.release(quota.leaseId, unused)) {
+            log.warn("Аренда {} мероприятия {} уже истекла, ее места возвращены другим экземпляром.", quota.leaseId, eventId);
+        }
+    }
+
+    /**
+     * Возвращает неиспользованные квоты при остановке приложения.
+     */
+    @PreDestroy
+    public void shutdown() {
+        quotas.forEach((eventId, quota) -> {
+            try {
+                release(eventId, quota);
+            } catch (RuntimeException e) {
+                log.error("Не удалось вернуть аренду {} мероприятия {}, места вернутся после ее истечения.",
+                        quota.leaseId, eventId, e);
+            }
+        });
+    }
+
+    /**
+     * Квота мест экземпляра по одной аренде.
+     */
+    private static final class Quota {
+
+        private final long leaseId;
+        private final AtomicInteger remaining = new AtomicInteger();
+        private volatile long deadline;
+        private volatile boolean idle;
+        private volatile boolean closed;
+        private volatile boolean released;
+
+        private Quota(long leaseId) {
+            this.leaseId = leaseId;
+        }
+
+        private boolean isUsable() {
+            return !closed && System.nanoTime() - deadline < 0;
+        }
+
+        private boolean tryTake(int count) {
+            idle = false;
+            while (isUsable()) {
+                int current = remaining.get();
+                if (current < count) {
+                    return false;
+                }
+                if (remaining.compareAndSet(current, current - count)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
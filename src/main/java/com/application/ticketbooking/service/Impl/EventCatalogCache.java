@@ -0,0 +1,356 @@
+package com.application.ticketbooking.service.Impl;
+
+import com.application.ticketbooking.entity.Event;
+import com.application.ticketbooking.event.EventChangedEvent;
+import com.application.ticketbooking.util.SingleFlight;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.BeansException;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.time.chrono.ChronoLocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Кеш страниц каталога мероприятий.
+ * <p>
+ * Содержимое страницы хранится в кеше {@value #PAGES} по номеру, размеру и полю сортировки, общее количество
+ * мероприятий — отдельно в кеше {@value #COUNT}, поэтому создание или удаление мероприятия не требует перечитывать
+ * все страницы ради {@code totalElements}. При изменении мероприятия сбрасываются только страницы, которые
+ * могут его содержать:
+ * </p>
+ * <ul>
+ *     <li>страницы, в которых мероприятие уже есть;</li>
+ *     <li>при обновлении поля сортировки — страницы этой сортировки между старым и новым значением поля;</li>
+ *     <li>при создании и удалении — страницы, последнее мероприятие которых не раньше измененного,
+ *     так как их содержимое сдвигается.</li>
+ * </ul>
+ * <p>
+ * Порядок строк и перечислений в базе данных зависит от ее правил сравнения, поэтому при изменении такого
+ * поля сбрасываются все страницы с сортировкой по нему. Количество свободных мест меняется бронированиями
+ * без сброса кеша и устаревает не дольше чем на {@code booking.events-cache.ttl}.
+ * </p>
+ * <p>
+ * Отдельное мероприятие хранится в кеше {@value #EVENTS} без количества свободных мест: оно записывается
+ * при создании и обновлении мероприятия и удаляется при его удалении. Свободные места накладываются при
+ * каждом чтении из кеша {@value #SEATS}, записи которого живут {@code booking.events-cache.seats-ttl},
+ * поэтому бронирование не сбрасывает закешированное мероприятие, а ответ показывает места с отставанием
+ * не больше этого срока. Изменения, сделанные другими экземплярами приложения, видны через {@code booking.events-cache.ttl}.
+ * </p>
+ * <p>
+ * Одновременные промахи по одному ключу объединяются {@link SingleFlight}: запрос в базу данных выполняет
+ * первый поток, остальные получают его результат. Ключ загрузки включает поколение кеша, поэтому вызов,
+ * начавшийся после изменения мероприятия, не получит результат загрузки, начавшейся до него. Число
+ * объединенных вызовов доступно в метрике {@code booking.events-cache.coalesced} с тегом {@code cache}.
+ * </p>
+ */
+@Component
+public class EventCatalogCache {
+
+    public static final String PAGES = "events.pages";
+    public static final String COUNT = "events.count";
+    public static final String EVENTS = "events.byId";
+    public static final String SEATS = "events.seats";
+
+    private static final String COUNT_KEY = "all";
+    private static final Comparator<Object> NULLS_LAST = Comparator.nullsLast(EventCatalogCache::compare);
+
+    private final Cache<Object, Object> pages;
+    private final Cache<Object, Object> count;
+    private final Cache<Object, Object> events;
+    private final Cache<Object, Object> seats;
+    private final Counter invalidatedCounter;
+    private final SingleFlight<Flight, List<Event>> pageFlights;
+    private final SingleFlight<Flight, Long> countFlights;
+    private final SingleFlight<Flight, Event> eventFlights;
+    private final SingleFlight<Flight, Integer> seatsFlights;
+
+    /**
+     * Номер поколения кеша, увеличивается при каждом изменении мероприятий. Страница, загрузка которой
+     * пересеклась с изменением, не остается в кеше, так как могла быть прочитана до его фиксации.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    public EventCatalogCache(CacheManager cacheManager, MeterRegistry meterRegistry) {
+        this.pages = nativeCache(cacheManager, PAGES);
+        this.count = nativeCache(cacheManager, COUNT);
+        this.events = nativeCache(cacheManager, EVENTS);
+        this.seats = nativeCache(cacheManager, SEATS);
+        this.invalidatedCounter = meterRegistry.counter("booking.events-cache.invalidated");
+        this.pageFlights = new SingleFlight<>(meterRegistry.counter("booking.events-cache.coalesced", "cache", PAGES)::increment);
+        this.countFlights = new SingleFlight<>(meterRegistry.counter("booking.events-cache.coalesced", "cache", COUNT)::increment);
+        this.eventFlights = new SingleFlight<>(meterRegistry.counter("booking.events-cache.coalesced", "cache", EVENTS)::increment);
+        this.seatsFlights = new SingleFlight<>(meterRegistry.counter("booking.events-cache.coalesced", "cache", SEATS)::increment);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Cache<Object, Object> nativeCache(CacheManager cacheManager, String name) {
+        CaffeineCache cache = (CaffeineCache) Objects.requireNonNull(cacheManager.getCache(name), name);
+        return cache.getNativeCache();
+    }
+
+    /**
+     * Возвращает содержимое страницы каталога из кеша или загружает его.
+     *
+     * @param pageable номер, размер и сортировка страницы по одному полю
+     * @param pageLoader загрузка содержимого страницы
+     * @return мероприятия страницы
+     */
+    @SuppressWarnings("unchecked")
+    public List<Event> getPage(Pageable pageable, Supplier<List<Event>> pageLoader) {
+        PageKey key = PageKey.of(pageable);
+        List<Event> content = (List<Event>) pages.getIfPresent(key);
+        if (content != null) {
+            return content;
+        }
+
+        long loadGeneration = generation.get();
+        return pageFlights.execute(new Flight(key, loadGeneration), () -> {
+            List<Event> loaded = List.copyOf(pageLoader.get());
+            put(pages, key, loaded, loadGeneration);
+            return loaded;
+        });
+    }
+
+    /**
+     * Возвращает общее количество мероприятий из кеша или загружает его.
+     * Количество сбрасывается при создании и удалении мероприятия.
+     *
+     * @param countLoader загрузка общего количества мероприятий
+     * @return общее количество мероприятий
+     */
+    public long getCount(LongSupplier countLoader) {
+        Long total = (Long) count.getIfPresent(COUNT_KEY);
+        if (total != null) {
+            return total;
+        }
+        long loadGeneration = generation.get();
+        return countFlights.execute(new Flight(COUNT_KEY, loadGeneration), () -> {
+            long loaded = countLoader.getAsLong();
+            put(count, COUNT_KEY, loaded, loadGeneration);
+            return loaded;
+        });
+    }
+
+    /**
+     * Возвращает мероприятие из кеша или загружает его, накладывая актуальное количество свободных мест.
+     *
+     * @param id идентификатор мероприятия
+     * @param eventLoader загрузка мероприятия вместе со свободными местами
+     * @param seatsLoader загрузка свободных мест закешированного мероприятия
+     * @return копия мероприятия, которую можно изменять
+     */
+    public Event getEvent(Long id, Function<Long, Event> eventLoader, ToIntFunction<Event> seatsLoader) {
+        Event event = (Event) events.getIfPresent(id);
+        if (event == null) {
+            long loadGeneration = generation.get();
+            Event loaded = eventFlights.execute(new Flight(id, loadGeneration), () -> {
+                Event fresh = eventLoader.apply(id);
+                putEvent(fresh.toBuilder().build(), loadGeneration);
+                put(seats, id, fresh.getAvailableSeats(), loadGeneration);
+                return fresh;
+            });
+            // Результат общей загрузки получают несколько потоков, поэтому каждому отдается своя копия.
+            return loaded.toBuilder().build();
+        }
+
+        Integer availableSeats = (Integer) seats.getIfPresent(id);
+        if (availableSeats == null) {
+            long loadGeneration = generation.get();
+            availableSeats = seatsFlights.execute(new Flight(id, loadGeneration), () -> {
+                int loaded = seatsLoader.applyAsInt(event);
+                put(seats, id, loaded, loadGeneration);
+                return loaded;
+            });
+        }
+        return event.toBuilder().availableSeats(availableSeats).build();
+    }
+
+    /**
+     * Возвращает мероприятия из кеша, загружая промахи одним запросом, и накладывает актуальное количество
+     * свободных мест. Места закешированных мероприятий, записи которых устарели, тоже загружаются одним запросом.
+     * Пакетные загрузки не объединяются с одновременными загрузками тех же мероприятий по одному.
+     *
+     * @param ids идентификаторы мероприятий без повторов
+     * @param eventsLoader загрузка мероприятий вместе со свободными местами; ненайденные мероприятия не возвращаются
+     * @param seatsLoader загрузка свободных мест закешированных мероприятий по id; ненайденные мероприятия не возвращаются
+     * @return копии найденных мероприятий по id, которые можно изменять
+     */
+    public Map<Long, Event> getEvents(Collection<Long> ids,
+                                      Function<List<Long>, List<Event>> eventsLoader,
+                                      Function<List<Event>, Map<Long, Integer>> seatsLoader) {
+        long loadGeneration = generation.get();
+        Map<Long, Event> found = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        List<Event> withoutSeats = new ArrayList<>();
+        for (Long id : ids) {
+            Event event = (Event) events.getIfPresent(id);
+            if (event == null) {
+                misses.add(id);
+                continue;
+            }
+            Integer availableSeats = (Integer) seats.getIfPresent(id);
+            if (availableSeats == null) {
+                withoutSeats.add(event);
+            } else {
+                found.put(id, event.toBuilder().availableSeats(availableSeats).build());
+            }
+        }
+
+        if (!withoutSeats.isEmpty()) {
+            Map<Long, Integer> loaded = seatsLoader.apply(withoutSeats);
+            for (Event event : withoutSeats) {
+                Integer availableSeats = loaded.get(event.getId());
+                if (availableSeats != null) {
+                    put(seats, event.getId(), availableSeats, loadGeneration);
+                    found.put(event.getId(), event.toBuilder().availableSeats(availableSeats).build());
+                }
+            }
+        }
+        if (!misses.isEmpty()) {
+            for (Event fresh : eventsLoader.apply(misses)) {
+                putEvent(fresh.toBuilder().build(), loadGeneration);
+                put(seats, fresh.getId(), fresh.getAvailableSeats(), loadGeneration);
+                found.put(fresh.getId(), fresh);
+            }
+        }
+        return found;
+    }
+
+    private void putEvent(Event event, long loadGeneration) {
+        // Из двух записей одного мероприятия остается более новая по версии.
+        Object stored = events.asMap().merge(event.getId(), event,
+                (previous, current) -> ((Event) current).getVersion() >= ((Event) previous).getVersion() ? current : previous);
+        if (generation.get() != loadGeneration) {
+            events.asMap().remove(event.getId(), stored);
+        }
+    }
+
+    private void put(Cache<Object, Object> cache, Object key, Object value, long loadGeneration) {
+        cache.put(key, value);
+        // Изменение, начавшееся до сохранения значения, сбрасывает его само, а после — сбрасывается здесь.
+        if (generation.get() != loadGeneration) {
+            cache.asMap().remove(key, value);
+        }
+    }
+
+    /**
+     * Сбрасывает страницы, которые могут содержать измененное мероприятие, после фиксации изменения,
+     * и записывает новое состояние мероприятия в кеш мероприятий по id.
+     *
+     * @param event {@link EventChangedEvent} с состоянием мероприятия до и после изменения
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @SuppressWarnings("unchecked")
+    public void onEventChanged(EventChangedEvent event) {
+        long changeGeneration = generation.incrementAndGet();
+        if (event.getChangeType() != EventChangedEvent.ChangeType.UPDATED) {
+            count.invalidate(COUNT_KEY);
+        }
+        seats.invalidate(event.getEventId());
+        if (event.getChangeType() == EventChangedEvent.ChangeType.DELETED) {
+            events.invalidate(event.getEventId());
+        } else {
+            putEvent(event.getCurrent().toBuilder().build(), changeGeneration);
+        }
+        pages.asMap().entrySet().removeIf(entry -> {
+            boolean affected = isAffected((PageKey) entry.getKey(), (List<Event>) entry.getValue(), event);
+            if (affected) {
+                invalidatedCounter.increment();
+            }
+            return affected;
+        });
+    }
+
+    private static boolean isAffected(PageKey key, List<Event> content, EventChangedEvent event) {
+        try {
+            return isAffectedBySort(key, content, event);
+        } catch (BeansException e) {
+            return true;
+        }
+    }
+
+    private static boolean isAffectedBySort(PageKey key, List<Event> content, EventChangedEvent event) {
+        Long eventId = event.getEventId();
+        if (content.stream().anyMatch(e -> eventId.equals(e.getId()))) {
+            return true;
+        }
+        if (event.getChangeType() == EventChangedEvent.ChangeType.UPDATED) {
+            Object before = sortValue(event.getPrevious(), key.sort());
+            Object after = sortValue(event.getCurrent(), key.sort());
+            if (Objects.equals(before, after)) {
+                return false;
+            }
+            if (!isOrdered(before) || !isOrdered(after)) {
+                return true;
+            }
+            boolean ascending = NULLS_LAST.compare(before, after) <= 0;
+            return overlaps(key, content, ascending ? before : after, ascending ? after : before, false);
+        }
+        Event changed = event.getChangeType() == EventChangedEvent.ChangeType.CREATED ? event.getCurrent() : event.getPrevious();
+        Object value = sortValue(changed, key.sort());
+        return !isOrdered(value) || overlaps(key, content, value, null, true);
+    }
+
+    /**
+     * Проверяет, пересекается ли диапазон значений поля сортировки на странице с отрезком {@code [from, to]}.
+     * Неполная страница последняя, поэтому ее диапазон продолжается до конца каталога.
+     */
+    private static boolean overlaps(PageKey key, List<Event> content, Object from, Object to, boolean toEnd) {
+        if (content.isEmpty()) {
+            return toEnd;
+        }
+        boolean tail = content.size() < key.size();
+        if (!tail && NULLS_LAST.compare(sortValue(content.get(content.size() - 1), key.sort()), from) < 0) {
+            return false;
+        }
+        return toEnd || NULLS_LAST.compare(sortValue(content.get(0), key.sort()), to) <= 0;
+    }
+
+    private static Object sortValue(Event event, String property) {
+        return new BeanWrapperImpl(event).getPropertyValue(property);
+    }
+
+    /**
+     * Числа, даты и логические значения упорядочиваются в базе данных так же, как в Java.
+     */
+    private static boolean isOrdered(Object value) {
+        return value == null || value instanceof Number || value instanceof ChronoLocalDateTime || value instanceof Boolean;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compare(Object left, Object right) {
+        return ((Comparable) left).compareTo(right);
+    }
+
+    /**
+     * Ключ одновременной загрузки: ключ кеша и поколение, в котором загрузка началась.
+     */
+    private record Flight(Object key, long generation) {
+    }
+
+    private record PageKey(int page, int size, String sort) {
+
+        private static PageKey of(Pageable pageable) {
+            Sort.Order order = pageable.getSort().iterator().next();
+            return new PageKey(pageable.getPageNumber(), pageable.getPageSize(), order.getProperty());
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.application.ticketbooking.service.Impl;
+
+import com.application.ticketbooking.dto.CountMode;
+import com.application.ticketbooking.dto.CountedPage;
+import com.application.ticketbooking.entity.Event;
+import com.application.ticketbooking.event.EventChangedEvent;
+import com.application.ticketbooking.repository.EventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+/**
+ * Неизменяемый снимок каталога мероприятий в памяти.
+ * <p>
+ * Включается {@code booking.events-snapshot.enabled}. Снимок хранит все мероприятия, упорядоченные по id,
+ * и заранее вычисленные массивы индексов для сортировки по {@code name}, {@code eventDate}
+ * и {@code availableSeats}, поэтому страница каталога выбирается срезом массива без обращения к базе данных
+ * и ее стоимость не зависит от нагрузки на базу. При равенстве поля сортировки мероприятия упорядочиваются по id,
+ * названия сравниваются посимвольно, а не по правилам сравнения базы данных.
+ * </p>
+ * <p>
+ * Изменение мероприятия не изменяет снимок, а заменяет его новым (copy-on-write). Количество свободных мест
+ * меняется бронированиями без события об изменении мероприятия, поэтому хранится отдельно от мероприятий
+ * и раз в {@code booking.events-snapshot.seats-refresh} перечитывается одним запросом и записывается в снимок
+ * на месте, после чего пересчитывается только порядок по {@code availableSeats}. Изменения, сделанные другими
+ * экземплярами приложения, подхватываются полной перезагрузкой раз в {@code booking.events-snapshot.reload-interval}.
+ * </p>
+ */
+@Component
+public class EventCatalogSnapshot {
+
+    /**
+     * Поля, по которым снимок отдает страницы.
+     */
+    public static final Set<String> SORTS = Set.of("id", "name", "eventDate", "availableSeats");
+
+    private final EventRepository eventRepository;
+    private final SeatStripes seatStripes;
+    private final TicketPool ticketPool;
+    private final boolean enabled;
+
+    /**
+     * Замена снимка выполняется под этой блокировкой, чтение снимка блокировок не требует.
+     */
+    private final Object lock = new Object();
+    private volatile Snapshot snapshot;
+
+    public EventCatalogSnapshot(EventRepository eventRepository,
+                                SeatStripes seatStripes,
+                                TicketPool ticketPool,
+                                MeterRegistry meterRegistry,
+                                @Value("${booking.events-snapshot.enabled}") boolean enabled) {
+        this.eventRepository = eventRepository;
+        this.seatStripes = seatStripes;
+        this.ticketPool = ticketPool;
+        this.enabled = enabled;
+        meterRegistry.gauge("booking.events-snapshot.size", this, s -> s.snapshot == null ? 0 : s.snapshot.events.length);
+    }
+
+    /**
+     * @param sort поле сортировки
+     * @return {@code true}, если снимок включен и отдает страницы с сортировкой по этому полю
+     */
+    public boolean supports(String sort) {
+        return enabled && SORTS.contains(sort);
+    }
+
+    /**
+     * Возвращает страницу каталога из снимка, при первом обращении загружая его.
+     * Общее количество мероприятий известно точно и не считается только для {@link CountMode#NONE}.
+     *
+     * @param pageable номер, размер и сортировка страницы по одному из полей {@link #SORTS}
+     * @param count способ подсчета общего количества
+     * @return страница мероприятий, которые можно изменять
+     */
+    public CountedPage<Event> getPage(Pageable pageable, CountMode count) {
+        Snapshot current = snapshot();
+        String sort = pageable.getSort().iterator().next().getProperty();
+        int[] order = current.order(sort);
+        int from = (int) Math.min(pageable.getOffset(), order.length);
+        int to = Math.min(from + pageable.getPageSize(), order.length);
+        List<Event> content = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            content.add(current.event(order[i]));
+        }
+        Long total = count == CountMode.NONE ? null : (long) order.length;
+        return new CountedPage<>(content, pageable.getPageNumber(), pageable.getPageSize(), total,
+                count == CountMode.NONE ? CountMode.NONE : CountMode.EXACT);
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (lock) {
+            if (snapshot == null) {
+                snapshot = load();
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * Заменяет снимок копией с измененным мероприятием после фиксации изменения.
+     * Повторное применение того же изменения не меняет снимок, поэтому изменение, уже прочитанное
+     * параллельной перезагрузкой, применяется безопасно.
+     *
+     * @param event {@link EventChangedEvent} с состоянием мероприятия после изменения
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent event) {
+        synchronized (lock) {
+            if (snapshot != null) {
+                snapshot = snapshot.with(event.getEventId(), event.getCurrent());
+            }
+        }
+    }
+
+    /**
+     * Перечитывает количество свободных мест всех мероприятий и записывает его в текущий снимок.
+     */
+    @Scheduled(fixedDelayString = "${booking.events-snapshot.seats-refresh}")
+    public void refreshSeats() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        Map<Long, Integer> seats = new HashMap<>();
+        eventRepository.findAllSeats().forEach(view -> seats.put(view.getId(), view.getAvailableSeats()));
+        List<Event> overlaid = new ArrayList<>();
+        for (Event event : current.events) {
+            if (seatStripes.isStriped(event) || ticketPool.isPooled(event)) {
+                overlaid.add(event.toBuilder().build());
+            }
+        }
+        seatStripes.applyAvailableSeats(overlaid);
+        ticketPool.applyAvailableSeats(overlaid);
+        overlaid.forEach(event -> seats.put(event.getId(), event.getAvailableSeats()));
+        current.patchSeats(seats);
+    }
+
+    /**
+     * Перезагружает снимок из базы данных, чтобы подхватить изменения других экземпляров приложения.
+     * Загрузка выполняется под блокировкой, поэтому изменение, зафиксированное во время нее,
+     * применяется уже к новому снимку.
+     */
+    @Scheduled(fixedDelayString = "${booking.events-snapshot.reload-interval}", initialDelayString = "${booking.events-snapshot.reload-interval}")
+    public void reload() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (lock) {
+            snapshot = load();
+        }
+    }
+
+    private Snapshot load() {
+        List<Event> events = eventRepository.findAll();
+        seatStripes.applyAvailableSeats(events);
+        ticketPool.applyAvailableSeats(events);
+        return Snapshot.of(events);
+    }
+
+    private static final class Snapshot {
+
+        private static final Comparator<Event> BY_NAME = Comparator.comparing(Event::getName).thenComparing(Event::getId);
+        private static final Comparator<Event> BY_EVENT_DATE = Comparator.comparing(Event::getEventDate).thenComparing(Event::getId);
+
+        /**
+         * Мероприятия в порядке id, поле {@code availableSeats} в них не используется.
+         */
+        private final Event[] events;
+        private final AtomicIntegerArray seats;
+        private final int[] byId;
+        private final int[] byName;
+        private final int[] byEventDate;
+        private volatile int[] bySeats;
+
+        private Snapshot(Event[] events, AtomicIntegerArray seats) {
+            this.events = events;
+            this.seats = seats;
+            this.byId = IntStream.range(0, events.length).toArray();
+            this.byName = sort(Comparator.comparing(i -> events[i], BY_NAME));
+            this.byEventDate = sort(Comparator.comparing(i -> events[i], BY_EVENT_DATE));
+            this.bySeats = sortBySeats();
+        }
+
+        private static Snapshot of(Collection<Event> loaded) {
+            Event[] events = loaded.stream()
+                    .map(event -> event.toBuilder().build())
+                    .sorted(Comparator.comparing(Event::getId))
+                    .toArray(Event[]::new);
+            return new Snapshot(events, new AtomicIntegerArray(Arrays.stream(events).mapToInt(Event::getAvailableSeats).toArray()));
+        }
+
+        /**
+         * @param eventId идентификатор измененного мероприятия
+         * @param current состояние мероприятия после изменения, {@code null} после удаления
+         * @return новый снимок с измененным мероприятием
+         */
+        private Snapshot with(Long eventId, Event current) {
+            List<Event> events = new ArrayList<>(this.events.length + 1);
+            for (int i = 0; i < this.events.length; i++) {
+                if (!this.events[i].getId().equals(eventId)) {
+                    events.add(event(i));
+                }
+            }
+            if (current != null) {
+                events.add(current);
+            }
+            return of(events);
+        }
+
+        private Event event(int index) {
+            return events[index].toBuilder().availableSeats(seats.get(index)).build();
+        }
+
+        private int[] order(String sort) {
+            return switch (sort) {
+                case "name" -> byName;
+                case "eventDate" -> byEventDate;
+                case "availableSeats" -> bySeats;
+                default -> byId;
+            };
+        }
+
+        private void patchSeats(Map<Long, Integer> availableSeats) {
+            for (int i = 0; i < events.length; i++) {
+                Integer value = availableSeats.get(events[i].getId());
+                if (value != null) {
+                    seats.set(i, value);
+                }
+            }
+            bySeats = sortBySeats();
+        }
+
+        private int[] sortBySeats() {
+            return sort(Comparator.<Integer>comparingInt(seats::get).thenComparing(i -> events[i].getId()));
+        }
+
+        private int[] sort(Comparator<Integer> comparator) {
+            return IntStream.range(0, events.length).boxed().sorted(comparator).mapToInt(Integer::intValue).toArray();
+        }
+    }
+}
@@ -1,18 +1,42 @@
 package com.application.ticketbooking.service.Impl;
 
+import com.application.ticketbooking.dto.CountMode;
+import com.application.ticketbooking.dto.CountedPage;
+import com.application.ticketbooking.dto.CursorPage;
+import com.application.ticketbooking.dto.EventBatchGetResponse;
 import com.application.ticketbooking.dto.EventResponse;
+import com.application.ticketbooking.dto.EventSuggestion;
+import com.application.ticketbooking.dto.EventUpdateRequest;
 import com.application.ticketbooking.entity.Event;
+import com.application.ticketbooking.entity.ReservationMode;
+import com.application.ticketbooking.event.EventChangedEvent;
+import com.application.ticketbooking.exception.BadRequestException;
 import com.application.ticketbooking.exception.EntityNotFoundException;
 import com.application.ticketbooking.repository.EventRepository;
+import com.application.ticketbooking.repository.EventRepository.SeatsView;
+import com.application.ticketbooking.repository.EventSearchRepository;
 import com.application.ticketbooking.service.EventService;
+import com.application.ticketbooking.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Реализация сервиса для управления мероприятиями.
@@ -24,61 +48,353 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class EventServiceImpl implements EventService {
 
+    private static final String TABLE = "ticket_booking.events";
+
+    private static final String SEARCH_SORT = "rank";
+
     private final EventRepository eventRepository;
+    private final EventSearchRepository eventSearchRepository;
     private final ModelMapper modelMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SeatStripes seatStripes;
+    private final TicketPool ticketPool;
+    private final EventCatalogCache eventCatalogCache;
+    private final CountProvider countProvider;
+    private final EventCatalogSnapshot eventCatalogSnapshot;
+    private final EventSuggestIndex eventSuggestIndex;
+
+    @Value("${booking.events.batch-get.max-ids}")
+    private int maxBatchGetIds;
 
     /**
      * Получает мероприятие по его идентификатору.
+     * Мероприятие берется из {@link EventCatalogCache}, а количество свободных мест перечитывается,
+     * когда закешированное значение старше {@code booking.events-cache.seats-ttl}. Одновременные промахи
+     * по одному мероприятию выполняют один запрос в базу данных.
      *
      * @param id идентификатор мероприятия
-     * @return объект {@link Event}, найденный в базе данных
+     * @return объект {@link Event}
      * @throws EntityNotFoundException если мероприятие не найдено
      */
     @Override
     public Event getEventById(Long id) {
-        return eventRepository.findById(id).orElseThrow(
+        return eventCatalogCache.getEvent(id, this::loadEvent, this::loadAvailableSeats);
+    }
+
+    private Event loadEvent(Long id) {
+        Event event = eventRepository.findById(id).orElseThrow(
                 () -> new EntityNotFoundException("Мероприятие не найдено."));
+        seatStripes.applyAvailableSeats(List.of(event));
+        ticketPool.applyAvailableSeats(List.of(event));
+        return event;
+    }
+
+    /**
+     * Получает несколько мероприятий по их идентификаторам за один вызов.
+     * Мероприятия берутся из {@link EventCatalogCache}, промахи загружаются одним запросом
+     * {@code id = any(?)}, устаревшие свободные места закешированных мероприятий — еще одним.
+     * Повторяющиеся id возвращаются один раз.
+     *
+     * @param ids идентификаторы мероприятий, не больше {@code booking.events.batch-get.max-ids}
+     * @return {@link EventBatchGetResponse} с найденными мероприятиями в порядке запроса и id ненайденных
+     * @throws BadRequestException если список id пуст, содержит {@code null} или слишком длинный
+     */
+    @Override
+    public EventBatchGetResponse getEventsByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new BadRequestException("Список id мероприятий пуст.");
+        }
+        if (ids.size() > maxBatchGetIds) {
+            throw new BadRequestException("За один запрос можно получить не больше " + maxBatchGetIds + " мероприятий.");
+        }
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new BadRequestException("Список id мероприятий содержит пустое значение.");
+        }
+
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        Map<Long, Event> found = eventCatalogCache.getEvents(distinctIds, this::loadEvents, this::loadAvailableSeats);
+        List<Event> events = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : distinctIds) {
+            Event event = found.get(id);
+            if (event == null) {
+                missingIds.add(id);
+            } else {
+                events.add(event);
+            }
+        }
+        return new EventBatchGetResponse(events, missingIds);
+    }
+
+    private List<Event> loadEvents(List<Long> ids) {
+        List<Event> events = eventRepository.findAllByIdArray(ids.toArray(Long[]::new));
+        seatStripes.applyAvailableSeats(events);
+        ticketPool.applyAvailableSeats(events);
+        return events;
+    }
+
+    private Map<Long, Integer> loadAvailableSeats(List<Event> cachedEvents) {
+        Long[] ids = cachedEvents.stream().map(Event::getId).toArray(Long[]::new);
+        Map<Long, Integer> availableSeats = eventRepository.findSeatsByIdArray(ids).stream()
+                .collect(Collectors.toMap(SeatsView::getId, SeatsView::getAvailableSeats));
+        List<Event> events = cachedEvents.stream()
+                .filter(event -> availableSeats.containsKey(event.getId()))
+                .map(event -> event.toBuilder().availableSeats(availableSeats.get(event.getId())).build())
+                .toList();
+        seatStripes.applyAvailableSeats(events);
+        ticketPool.applyAvailableSeats(events);
+        return events.stream().collect(Collectors.toMap(Event::getId, Event::getAvailableSeats));
+    }
+
+    private int loadAvailableSeats(Event cachedEvent) {
+        int availableSeats = eventRepository.findAvailableSeatsById(cachedEvent.getId()).orElseThrow(
+                () -> new EntityNotFoundException("Мероприятие не найдено."));
+        Event event = cachedEvent.toBuilder().availableSeats(availableSeats).build();
+        seatStripes.applyAvailableSeats(List.of(event));
+        ticketPool.applyAvailableSeats(List.of(event));
+        return event.getAvailableSeats();
     }
 
     /**
      * Получает список всех мероприятий с пагинацией и сортировкой.
+     * Страницы кешируются {@link EventCatalogCache} и сбрасываются только при изменении мероприятий, которые
+     * могут на них оказаться. Одновременные промахи по одной странице выполняют один запрос в базу данных.
+     * Общее количество считается {@link CountProvider}, в режиме {@link CountMode#CACHED} берется
+     * из {@link EventCatalogCache}, где сбрасывается при создании и удалении мероприятий.
+     * Если включен {@link EventCatalogSnapshot}, страницы с сортировкой по {@link EventCatalogSnapshot#SORTS}
+     * отдаются из снимка каталога без обращения к базе данных.
      *
      * @param page номер страницы (начиная с 0)
      * @param size количество записей на странице
      * @param sort название поля, по которому производится сортировка (по возрастанию)
-     * @return {@link Page<Event>} - страница мероприятий
+     * @param count способ подсчета общего количества или {@code null} для способа по умолчанию
+     * @return {@link CountedPage<Event>} - страница мероприятий
      */
     @Override
-    public Page<Event> getAllEvents(int page, int size, String sort) {
+    public CountedPage<Event> getAllEvents(int page, int size, String sort, CountMode count) {
         Pageable pageable = PageRequest.of(page, size, Sort.by(sort).ascending());
-        return eventRepository.findAll(pageable);
+        if (eventCatalogSnapshot.supports(sort)) {
+            return eventCatalogSnapshot.getPage(pageable, count);
+        }
+        List<Event> content = eventCatalogCache.getPage(pageable, () -> {
+            List<Event> events = eventRepository.findAllBy(pageable).getContent();
+            seatStripes.applyAvailableSeats(events);
+            ticketPool.applyAvailableSeats(events);
+            return events;
+        });
+        return countProvider.page(content, pageable, count, TABLE, eventRepository::count,
+                () -> eventCatalogCache.getCount(eventRepository::count));
+    }
+
+    /**
+     * Получает страницу мероприятий по курсору.
+     * Следующая страница выбирается условием {@code (поле, id) > (значение, id)} по индексу {@code (поле, id)}
+     * без {@code OFFSET} и подсчета общего количества, поэтому не кешируется в {@link EventCatalogCache}.
+     *
+     * @param after курсор предыдущей страницы, {@code null} или пустая строка для первой страницы
+     * @param size количество записей на странице
+     * @param sort поле сортировки: {@code id}, {@code name} или {@code eventDate}
+     * @return {@link CursorPage} с мероприятиями и курсором следующей страницы
+     * @throws BadRequestException если поле сортировки не поддерживается или курсор некорректен
+     */
+    @Override
+    public CursorPage<Event> getEventsAfter(String after, int size, String sort) {
+        KeysetCursor cursor = after == null || after.isEmpty() ? null : KeysetCursor.decode(after, sort);
+        Limit limit = KeysetCursor.limit(size);
+        List<Event> events = switch (sort) {
+            case "id" -> eventRepository.findByIdGreaterThanOrderByIdAsc(cursor == null ? 0 : cursor.id(), limit);
+            case "name" -> cursor == null
+                    ? eventRepository.findPageOrderedByName(limit)
+                    : eventRepository.findPageAfterName(cursor.value(), cursor.id(), limit);
+            case "eventDate" -> cursor == null
+                    ? eventRepository.findPageOrderedByEventDate(limit)
+                    : eventRepository.findPageAfterEventDate(parseEventDate(cursor.value()), cursor.id(), limit);
+            default -> throw new BadRequestException("Постраничный обход по курсору поддерживает сортировку по id, name и eventDate.");
+        };
+        seatStripes.applyAvailableSeats(events);
+        ticketPool.applyAvailableSeats(events);
+        return KeysetCursor.page(events, size, sort, event -> switch (sort) {
+            case "name" -> event.getName();
+            case "eventDate" -> event.getEventDate();
+            default -> event.getId();
+        }, Event::getId);
+    }
+
+    /**
+     * Ищет мероприятия по названию и описанию.
+     * Совпадения находятся по GIN-индексу {@code events.search_vector} и упорядочиваются по убыванию
+     * {@code ts_rank}, совпадение в названии весит больше совпадения в описании. Следующая страница
+     * выбирается по рангу и id последнего мероприятия в курсоре, без {@code OFFSET}.
+     *
+     * @param query поисковый запрос, поддерживает кавычки, {@code or} и {@code -}
+     * @param after курсор предыдущей страницы, {@code null} или пустая строка для первой страницы
+     * @param size количество записей на странице
+     * @return {@link CursorPage} с найденными мероприятиями и курсором следующей страницы
+     * @throws BadRequestException если запрос пустой или курсор некорректен
+     */
+    @Override
+    public CursorPage<Event> searchEvents(String query, String after, int size) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Поисковый запрос не должен быть пустым.");
+        }
+        KeysetCursor cursor = after == null || after.isEmpty() ? null : KeysetCursor.decode(after, SEARCH_SORT);
+        int limit = KeysetCursor.limit(size).max();
+        List<EventSearchRepository.Hit> hits = cursor == null
+                ? eventSearchRepository.search(query, limit)
+                : eventSearchRepository.searchAfter(query, parseRank(cursor.value()), cursor.id(), limit);
+        List<Event> events = hits.stream().map(EventSearchRepository.Hit::event).toList();
+        seatStripes.applyAvailableSeats(events);
+        ticketPool.applyAvailableSeats(events);
+        CursorPage<EventSearchRepository.Hit> page = KeysetCursor.page(hits, size, SEARCH_SORT,
+                EventSearchRepository.Hit::rank, hit -> hit.event().getId());
+        return new CursorPage<>(page.getContent().stream().map(EventSearchRepository.Hit::event).toList(),
+                size, page.getNextCursor());
+    }
+
+    /**
+     * Подсказывает названия предстоящих мероприятий по началу названия без учета регистра.
+     * Подсказки берутся из {@link EventSuggestIndex} в памяти без обращения к базе данных
+     * и упорядочиваются по дате мероприятия.
+     *
+     * @param prefix начало названия мероприятия
+     * @param limit максимальное количество подсказок, не больше {@code booking.suggest.max-results}
+     * @return ближайшие предстоящие мероприятия с названием, начинающимся с префикса
+     * @throws BadRequestException если префикс пустой или количество подсказок вне допустимого диапазона
+     */
+    @Override
+    public List<EventSuggestion> suggestEvents(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            throw new BadRequestException("Префикс названия не должен быть пустым.");
+        }
+        if (limit < 1 || limit > eventSuggestIndex.getMaxResults()) {
+            throw new BadRequestException("Количество подсказок должно быть от 1 до " + eventSuggestIndex.getMaxResults() + ".");
+        }
+        return eventSuggestIndex.suggest(prefix, limit);
+    }
+
+    private static float parseRank(String value) {
+        try {
+            return Float.parseFloat(value);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Некорректный курсор страницы.");
+        }
+    }
+
+    /**
+     * Получает страницу мероприятий в интервале дат по курсору.
+     * Выборка идет по индексу {@code (event_date, id)} от начала интервала или от мероприятия из курсора,
+     * а для мероприятий со свободными местами — по частичному индексу с условием {@code available_seats > 0},
+     * поэтому время ответа не зависит от количества прошедших мероприятий. Без начала интервала прошедшие
+     * мероприятия не возвращаются.
+     * <p>
+     * Места мероприятий в режимах {@code STRIPED} и {@code POOL} хранятся не в строке мероприятия, поэтому
+     * такие мероприятия попадают в выборку со свободными местами по строке и отбрасываются после подмены мест,
+     * если места закончились. Страница в этом случае может быть короче {@code size}, курсор следующей страницы
+     * при этом остается верным.
+     * </p>
+     *
+     * @param from начало интервала включительно или {@code null} для текущего момента
+     * @param to конец интервала не включительно или {@code null}, если интервал не ограничен
+     * @param onlyAvailable {@code true}, чтобы вернуть только мероприятия со свободными местами
+     * @param after курсор предыдущей страницы, {@code null} или пустая строка для первой страницы
+     * @param size количество записей на странице
+     * @return {@link CursorPage} с мероприятиями и курсором следующей страницы
+     * @throws BadRequestException если интервал пустой или курсор некорректен
+     */
+    @Override
+    public CursorPage<Event> getEventsBetween(LocalDateTime from, LocalDateTime to, boolean onlyAvailable, String after, int size) {
+        LocalDateTime start = from == null ? LocalDateTime.now() : from;
+        if (to != null && !to.isAfter(start)) {
+            throw new BadRequestException("Конец интервала дат должен быть позже его начала.");
+        }
+        KeysetCursor cursor = after == null || after.isEmpty() ? null : KeysetCursor.decode(after, "eventDate");
+        LocalDateTime afterDate = cursor == null ? start : parseEventDate(cursor.value());
+        long afterId = cursor == null ? 0 : cursor.id();
+        Limit limit = KeysetCursor.limit(size);
+        List<Event> events = onlyAvailable
+                ? eventRepository.findAvailablePageBetween(start, to, afterDate, afterId, limit)
+                : eventRepository.findPageBetween(start, to, afterDate, afterId, limit);
+        seatStripes.applyAvailableSeats(events);
+        ticketPool.applyAvailableSeats(events);
+        CursorPage<Event> page = KeysetCursor.page(events, size, "eventDate", Event::getEventDate, Event::getId);
+        if (onlyAvailable) {
+            page.setContent(page.getContent().stream().filter(event -> event.getAvailableSeats() > 0).toList());
+        }
+        return page;
+    }
+
+    private static LocalDateTime parseEventDate(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Некорректный курсор страницы.");
+        }
     }
 
     /**
      * Создает новое мероприятие.
+     * Места мероприятия в режиме {@code STRIPED} сразу раскладываются по полосам,
+     * для мероприятия в режиме {@code POOL} создается по билету на каждое место.
      *
      * @param event объект {@link Event}, содержащий информацию о мероприятии
      * @return {@link EventResponse} с данными созданного мероприятия
      */
     @Override
+    @Transactional
     public EventResponse createEvent(Event event) {
         event.setAvailableSeats(event.getCapacity());
-        return modelMapper.map(eventRepository.save(event), EventResponse.class);
+        // Строки полос и билетов ссылаются на мероприятие, поэтому оно вставляется сразу, а не при фиксации.
+        Event savedEvent = eventRepository.saveAndFlush(event);
+        if (seatStripes.isStriped(savedEvent)) {
+            seatStripes.split(savedEvent);
+        }
+        if (ticketPool.isPooled(savedEvent)) {
+            ticketPool.resize(savedEvent.getId(), savedEvent.getAvailableSeats());
+        }
+        eventPublisher.publishEvent(new EventChangedEvent(savedEvent.getId(), EventChangedEvent.ChangeType.CREATED, null, savedEvent));
+        return modelMapper.map(savedEvent, EventResponse.class);
     }
 
     /**
      * Обновляет данные существующего мероприятия.
+     * Полосы мероприятия в режиме {@code STRIPED} собираются в {@code availableSeats} до пересчета мест
+     * и раскладываются заново после него. Пул билетов мероприятия в режиме {@code POOL} пополняется
+     * или сокращается до нового количества свободных мест.
+     * <p>
+     * Способ резервирования, число полос и признак комнаты ожидания меняются, только если они переданы в запросе.
+     * Режимы {@code LEDGER} и {@code ESCROW} держат места вне строки мероприятия (очередь отложенной
+     * записи и арендованные квоты), поэтому переключить мероприятие в них или из них нельзя.
+     * </p>
      *
-     * @param event объект {@link Event} с обновленными данными
+     * @param event {@link EventUpdateRequest} с обновленными данными
      * @param id идентификатор мероприятия, которое нужно обновить
      * @return {@link EventResponse} с обновленными данными
      * @throws EntityNotFoundException если мероприятие не найдено
+     * @throws BadRequestException если запрошено переключение в режим {@code LEDGER} или {@code ESCROW} или из него
      */
     @Override
-    public EventResponse updateEvent(Event event, Long id) {
+    @Transactional
+    public EventResponse updateEvent(EventUpdateRequest event, Long id) {
         Event updatedEvent = eventRepository.findById(id).orElseThrow(
                 () -> new EntityNotFoundException("Мероприятие с id = " + id + " не найдено.")
         );
+        ReservationMode reservationMode = event.getReservationMode() != null
+                ? event.getReservationMode() : updatedEvent.getReservationMode();
+        if (reservationMode != updatedEvent.getReservationMode()
+                && (holdsSeatsOutside(reservationMode) || holdsSeatsOutside(updatedEvent.getReservationMode()))) {
+            throw new BadRequestException("Способ резервирования мероприятия нельзя переключить в режим "
+                    + ReservationMode.LEDGER + " или " + ReservationMode.ESCROW + " или из него.");
+        }
+        if (seatStripes.isStriped(updatedEvent)) {
+            updatedEvent.setAvailableSeats(seatStripes.merge(id));
+        }
+        boolean wasPooled = ticketPool.isPooled(updatedEvent);
+        int freeTickets = 0;
+        if (wasPooled) {
+            freeTickets = ticketPool.lockFreeTickets(id);
+            updatedEvent.setAvailableSeats(freeTickets);
+        }
+        Event previousEvent = updatedEvent.toBuilder().build();
         updatedEvent.setName(event.getName());
         updatedEvent.setDescription(event.getDescription());
         updatedEvent.setEventDate(event.getEventDate());
@@ -89,12 +405,34 @@ public class EventServiceImpl implements EventService {
             updatedEvent.setAvailableSeats(event.getCapacity() - (updatedEvent.getCapacity() - updatedEvent.getAvailableSeats()));
         }
         updatedEvent.setCapacity(event.getCapacity());
+        updatedEvent.setReservationMode(reservationMode);
+        if (event.getSeatStripes() != null) {
+            updatedEvent.setSeatStripes(event.getSeatStripes());
+        }
+        if (event.getWaitingRoom() != null) {
+            updatedEvent.setWaitingRoom(event.getWaitingRoom());
+        }
 
-        EventResponse eventResponse = modelMapper.map(eventRepository.save(updatedEvent), EventResponse.class);
+        Event savedEvent = eventRepository.save(updatedEvent);
+        if (seatStripes.isStriped(savedEvent)) {
+            seatStripes.split(savedEvent);
+        }
+        if (ticketPool.isPooled(savedEvent)) {
+            ticketPool.resize(id, savedEvent.getAvailableSeats() - freeTickets);
+        } else if (wasPooled) {
+            ticketPool.delete(id);
+        }
+        eventPublisher.publishEvent(new EventChangedEvent(id, EventChangedEvent.ChangeType.UPDATED, previousEvent, savedEvent));
+
+        EventResponse eventResponse = modelMapper.map(savedEvent, EventResponse.class);
         eventResponse.setMessage("Мероприятие успешно обновлено.");
         return eventResponse;
     }
 
+    private static boolean holdsSeatsOutside(ReservationMode mode) {
+        return mode == ReservationMode.LEDGER || mode == ReservationMode.ESCROW;
+    }
+
     /**
      * Удаляет мероприятие по его идентификатору.
      *
@@ -106,6 +444,7 @@ public class EventServiceImpl implements EventService {
         Optional<Event> event = eventRepository.findById(id);
         if (event.isPresent()) {
             eventRepository.delete(event.get());
+            eventPublisher.publishEvent(new EventChangedEvent(id, EventChangedEvent.ChangeType.DELETED, event.get(), null));
             return true;
         }
         return false;
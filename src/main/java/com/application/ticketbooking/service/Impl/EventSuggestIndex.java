@@ -0,0 +1,124 @@
+package com.application.ticketbooking.service.Impl;
+
+import com.application.ticketbooking.dto.EventSuggestion;
+import com.application.ticketbooking.entity.Event;
+import com.application.ticketbooking.event.EventChangedEvent;
+import com.application.ticketbooking.repository.EventRepository;
+import com.application.ticketbooking.util.RadixTrie;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Подсказки названий предстоящих мероприятий по префиксу.
+ * <p>
+ * Названия хранятся в памяти в {@link RadixTrie} по ключу в нижнем регистре, каждый узел дерева хранит
+ * до {@code booking.suggest.max-results} ближайших по дате мероприятий своего поддерева, поэтому подсказка
+ * стоит O(длина префикса) и не обращается к базе данных. На мероприятие в дереве приходится одна
+ * {@link EventSuggestion} (id, название и дата), общие префиксы названий хранятся один раз.
+ * </p>
+ * <p>
+ * Дерево загружается при запуске, после создания, обновления и удаления мероприятия заменяется новой версией
+ * с измененным мероприятием, а раз в {@code booking.suggest.refresh-interval} перезагружается, чтобы убрать
+ * прошедшие мероприятия и подхватить изменения других экземпляров приложения. Прошедшие мероприятия
+ * до перезагрузки отфильтровываются при чтении.
+ * </p>
+ */
+@Component
+public class EventSuggestIndex {
+
+    private static final Comparator<EventSuggestion> UPCOMING_FIRST =
+            Comparator.comparing(EventSuggestion::getEventDate).thenComparing(EventSuggestion::getId);
+
+    private final EventRepository eventRepository;
+    private final int maxResults;
+
+    /**
+     * Замена дерева выполняется под этой блокировкой, чтение дерева блокировок не требует.
+     */
+    private final Object lock = new Object();
+    private volatile RadixTrie<EventSuggestion> trie;
+
+    public EventSuggestIndex(EventRepository eventRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${booking.suggest.max-results}") int maxResults) {
+        this.eventRepository = eventRepository;
+        this.maxResults = maxResults;
+        this.trie = RadixTrie.empty(UPCOMING_FIRST, maxResults);
+        meterRegistry.gauge("booking.suggest.size", this, index -> index.trie.size());
+    }
+
+    /**
+     * @return максимальное количество подсказок в ответе
+     */
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    /**
+     * @param prefix начало названия мероприятия без учета регистра
+     * @param limit максимальное количество подсказок, не больше {@link #getMaxResults()}
+     * @return ближайшие предстоящие мероприятия, название которых начинается с префикса
+     */
+    public List<EventSuggestion> suggest(String prefix, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        return trie.top(key(prefix)).stream()
+                .filter(suggestion -> !suggestion.getEventDate().isBefore(now))
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Загружает предстоящие мероприятия при запуске и периодически.
+     * Загрузка выполняется под блокировкой, поэтому изменение, зафиксированное во время нее,
+     * применяется уже к загруженному дереву.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${booking.suggest.refresh-interval}", initialDelayString = "${booking.suggest.refresh-interval}")
+    public void reload() {
+        synchronized (lock) {
+            RadixTrie<EventSuggestion> loaded = RadixTrie.empty(UPCOMING_FIRST, maxResults);
+            for (EventSuggestion suggestion : eventRepository.findSuggestionsFrom(LocalDateTime.now())) {
+                loaded = loaded.plus(key(suggestion.getName()), suggestion);
+            }
+            trie = loaded;
+        }
+    }
+
+    /**
+     * Убирает из дерева прежнее состояние мероприятия и добавляет новое после фиксации изменения.
+     * Повторное применение того же изменения дерево не меняет.
+     *
+     * @param event {@link EventChangedEvent} с состоянием мероприятия до и после изменения
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent event) {
+        synchronized (lock) {
+            RadixTrie<EventSuggestion> updated = trie;
+            if (event.getPrevious() != null) {
+                updated = updated.minus(key(event.getPrevious().getName()), suggestion(event.getPrevious()));
+            }
+            Event current = event.getCurrent();
+            if (current != null && !current.getEventDate().isBefore(LocalDateTime.now())) {
+                updated = updated.plus(key(current.getName()), suggestion(current));
+            }
+            trie = updated;
+        }
+    }
+
+    private static EventSuggestion suggestion(Event event) {
+        return new EventSuggestion(event.getId(), event.getName(), event.getEventDate());
+    }
+
+    private static String key(String name) {
+        return name.strip().toLowerCase(Locale.ROOT);
+    }
+}
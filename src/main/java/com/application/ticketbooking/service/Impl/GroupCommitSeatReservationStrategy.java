@@ -0,0 +1,46 @@
+package com.application.ticketbooking.service.Impl;
+
+import com.application.ticketbooking.dto.BookingRequest;
+import com.application.ticketbooking.entity.Booking;
+import com.application.ticketbooking.entity.ReservationMode;
+import com.application.ticketbooking.entity.User;
+import com.application.ticketbooking.exception.ServiceUnavailableException;
+import com.application.ticketbooking.service.SeatReservationStrategy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Резервирование мест через {@link BookingPipeline}: запрос ждет фиксации пакета,
+ * в который он попал, и получает свой результат. Если результата нет за {@code booking.pipeline.timeout},
+ * запрос отклоняется как при перегрузке.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "booking.pipeline.enabled", havingValue = "true")
+public class GroupCommitSeatReservationStrategy implements SeatReservationStrategy {
+
+    private final BookingPipeline bookingPipeline;
+
+    @Override
+    public ReservationMode getMode() {
+        return ReservationMode.GROUP_COMMIT;
+    }
+
+    @Override
+    public Booking reserve(User user, BookingRequest bookingRequest) {
+        try {
+            return bookingPipeline.submit(user, bookingRequest).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof TimeoutException) {
+                throw new ServiceUnavailableException("Сервис бронирования перегружен, повторите попытку позже.");
+            }
+            throw e;
+        }
+    }
+}
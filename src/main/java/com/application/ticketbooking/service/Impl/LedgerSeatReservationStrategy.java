@@ -0,0 +1,69 @@
+package com.application.ticketbooking.service.Impl;
+
+import com.application.ticketbooking.dto.BookingRequest;
+import com.application.ticketbooking.entity.Booking;
+import com.application.ticketbooking.entity.Event;
+import com.application.ticketbooking.entity.ReservationMode;
+import com.application.ticketbooking.entity.User;
+import com.application.ticketbooking.exception.ServiceUnavailableException;
+import com.application.ticketbooking.service.SeatReservationStrategy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Резервирование мест в памяти через {@link SeatInventory} с отложенной записью в базу данных.
+ * <p>
+ * Проверка и уменьшение количества мест не открывают транзакцию: отказ из-за нехватки мест
+ * возвращается сразу. Принятое бронирование помещается в {@link BookingWriteBehindQueue}
+ * и сохраняется в базе данных асинхронно, поэтому в ответе у него еще нет идентификатора.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "booking.inventory.enabled", havingValue = "true")
+public class LedgerSeatReservationStrategy implements SeatReservationStrategy {
+
+    private final SeatInventory seatInventory;
+    private final BookingWriteBehindQueue writeBehindQueue;
+
+    @Override
+    public ReservationMode getMode() {
+        return ReservationMode.LEDGER;
+    }
+
+    @Override
+    public Booking reserve(User user, BookingRequest bookingRequest) {
+        long eventId = bookingRequest.getEventId();
+        int ticketsCount = bookingRequest.getTicketsCount();
+
+        SeatInventory.Reservation reservation = seatInventory.tryReserve(eventId, ticketsCount);
+        if (reservation == SeatInventory.Reservation.UNKNOWN_EVENT && seatInventory.load(eventId)) {
+            reservation = seatInventory.tryReserve(eventId, ticketsCount);
+        }
+        switch (reservation) {
+            case UNKNOWN_EVENT -> throw AbstractSeatReservationStrategy.eventNotFound();
+            case NOT_ENOUGH_SEATS -> throw AbstractSeatReservationStrategy.notEnoughSeats();
+            default -> { }
+        }
+
+        Event event = new Event();
+        event.setId(eventId);
+        Booking booking = AbstractSeatReservationStrategy.newBooking(user, event, ticketsCount);
+        if (!writeBehindQueue.offer(booking)) {
+            seatInventory.release(eventId, ticketsCount);
+            throw new ServiceUnavailableException("Сервис бронирования перегружен, повторите попытку позже.");
+        }
+        return booking;
+    }
+
+    @Override
+    public boolean isWriteBehind() {
+        return true;
+    }
+
+    @Override
+    public boolean usesEventSeatCounter() {
+        return false;
+    }
+}
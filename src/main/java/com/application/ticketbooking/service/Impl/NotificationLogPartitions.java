@@ -0,0 +1,115 @@
+package com.application.ticketbooking.service.Impl;
+
+import com.application.ticketbooking.repository.NotificationLogPartitionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Обслуживание помесячных секций {@code notifications_log}.
+ * <p>
+ * При старте приложения и раз в {@code booking.notifications.maintenance-interval} создает секции текущего
+ * и {@code booking.notifications.partitions-ahead} следующих месяцев, чтобы записи логов не остались без секции,
+ * и удаляет секции, все логи которых старше {@code booking.notifications.retention}. Логи хранятся не меньше
+ * срока хранения и не больше чем на месяц дольше. Экземпляры приложения меняют секции по очереди
+ * под транзакционной блокировкой.
+ * </p>
+ * <p>
+ * Если обслуживание не выполнилось вовремя, логи месяца без секции записываются в секцию по умолчанию;
+ * следующее обслуживание создает секции их месяцев и переносит логи туда. Метрики
+ * {@code booking.notifications.partitions.failures} (неудачные запуски) и
+ * {@code booking.notifications.partitions.last-success} (время последнего успешного запуска) позволяют
+ * настроить оповещение об отказе обслуживания.
+ * </p>
+ */
+@Slf4j
+@Component
+public class NotificationLogPartitions {
+
+    private final NotificationLogPartitionRepository partitionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retention;
+    private final int partitionsAhead;
+    private final Counter failureCounter;
+    private final AtomicLong lastSuccessEpochSecond = new AtomicLong();
+
+    public NotificationLogPartitions(NotificationLogPartitionRepository partitionRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${booking.notifications.retention}") Duration retention,
+                                     @Value("${booking.notifications.partitions-ahead}") int partitionsAhead) {
+        this.partitionRepository = partitionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retention = retention;
+        this.partitionsAhead = partitionsAhead;
+        this.failureCounter = meterRegistry.counter("booking.notifications.partitions.failures");
+        TimeGauge.builder("booking.notifications.partitions.last-success", lastSuccessEpochSecond, TimeUnit.SECONDS, AtomicLong::get)
+                .strongReference(true)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Обновляет секции при старте приложения и по расписанию.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${booking.notifications.maintenance-interval}", initialDelayString = "${booking.notifications.maintenance-interval}")
+    public void maintain() {
+        try {
+            maintain(LocalDateTime.now());
+            lastSuccessEpochSecond.set(Instant.now().getEpochSecond());
+        } catch (RuntimeException e) {
+            failureCounter.increment();
+            log.error("Не удалось обновить секции логов уведомлений.", e);
+        }
+    }
+
+    /**
+     * Создает недостающие секции и удаляет истекшие.
+     *
+     * @param now текущий момент
+     */
+    public void maintain(LocalDateTime now) {
+        YearMonth current = YearMonth.from(now);
+        LocalDateTime expiredBefore = now.minus(retention);
+        transactionTemplate.executeWithoutResult(status -> {
+            partitionRepository.lock();
+            List<YearMonth> partitions = new ArrayList<>(partitionRepository.findPartitions());
+            for (YearMonth month : partitionRepository.findDefaultPartitionMonths()) {
+                if (!partitions.contains(month)) {
+                    int moved = partitionRepository.createPartitionFromDefault(month);
+                    partitions.add(month);
+                    log.warn("Создана секция логов уведомлений за {}, из секции по умолчанию перенесено логов: {}.", month, moved);
+                }
+            }
+            for (int i = 0; i <= partitionsAhead; i++) {
+                YearMonth month = current.plusMonths(i);
+                if (!partitions.contains(month)) {
+                    partitionRepository.createPartition(month);
+                    log.info("Создана секция логов уведомлений за {}.", month);
+                }
+            }
+            for (YearMonth month : partitions) {
+                if (month.isBefore(current) && !month.plusMonths(1).atDay(1).atStartOfDay().isAfter(expiredBefore)) {
+                    partitionRepository.dropPartition(month);
+                    log.info("Удалена секция логов уведомлений за {}.", month);
+                }
+            }
+        });
+    }
+}
@@ -1,78 +1,124 @@
 package com.application.ticketbooking.service.Impl;
 
-import com.application.ticketbooking.dto.BookingResponse;
-import com.application.ticketbooking.entity.Booking;
+import com.application.ticketbooking.dto.CountMode;
+import com.application.ticketbooking.dto.CountedPage;
+import com.application.ticketbooking.dto.CursorPage;
+import com.application.ticketbooking.dto.NotificationLogResponse;
 import com.application.ticketbooking.entity.NotificationLog;
+import com.application.ticketbooking.exception.BadRequestException;
+import com.application.ticketbooking.repository.NotificationLogJdbcRepository;
 import com.application.ticketbooking.repository.NotificationLogRepository;
 import com.application.ticketbooking.service.NotificationLogService;
+import com.application.ticketbooking.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.event.TransactionPhase;
-import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Реализация сервиса для работы с логами уведомлений.
  * <p>
- * Обеспечивает создание логов уведомлений, асинхронную обработку и сохранение
- * их в базу данных после завершения транзакции.
+ * Обеспечивает чтение логов уведомлений. Логи записывает {@link OutboxRelay} по сообщениям {@code outbox},
+ * сохраненным вместе с бронированиями.
  * </p>
  */
 @Service
 @RequiredArgsConstructor
 public class NotificationLogServiceImpl implements NotificationLogService {
 
+    private static final String TABLE = "ticket_booking.notifications_log";
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 1, 1, 0, 0);
+
     private final NotificationLogRepository notificationLogRepository;
-    private static final Logger log = LoggerFactory.getLogger(NotificationLogServiceImpl.class);
-    private final ModelMapper modelMapper;
+    private final NotificationLogJdbcRepository notificationLogJdbcRepository;
+    private final CountProvider countProvider;
 
     /**
-     * Создает и сохраняет лог уведомления после успешного выполнения транзакции.
-     * Этот метод вызывается асинхронно после коммита транзакции в {@link BookingServiceImpl}.
-     * <p>
-     * Метод обрабатывает создание {@link NotificationLog} на основе ответа о бронировании
-     * и сохраняет его в базу данных.
-     * </p>
+     * Получает список всех логов уведомлений с пагинацией.
+     * Без фильтров общее количество логов считается {@link CountProvider} выбранным способом.
+     * С интервалом времени или бронированием логи упорядочены по id, читаются только секции {@code notifications_log}
+     * за месяцы интервала, а количество считается точно по ним, если не выбран способ {@link CountMode#NONE}.
      *
-     * @param bookingResponse объект {@link BookingResponse}, содержащий информацию о бронировании
+     * @param page номер страницы (начиная с 0)
+     * @param size количество записей на странице
+     * @param count способ подсчета общего количества или {@code null} для способа по умолчанию
+     * @param from начало интервала времени уведомлений включительно или {@code null}, если не ограничено
+     * @param to конец интервала времени уведомлений не включительно или {@code null}, если не ограничен
+     * @param bookingId идентификатор бронирования или {@code null} для логов всех бронирований
+     * @return {@link CountedPage<NotificationLog>} содержащий объекты логов уведомлений
+     * @throws BadRequestException если интервал пустой
      */
-    @Async
     @Override
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
-    public void setNotificationLog(BookingResponse bookingResponse) {
-        try {
-            Thread.sleep(2000);
-
-            NotificationLog notificationLog = new NotificationLog();
-            notificationLog.setBooking(modelMapper.map(bookingResponse, Booking.class));
-            notificationLog.setNotificationMessage("Уведомление отправлено");
-            notificationLog.setNotifiedAt(LocalDateTime.now());
-
-            log.info("Логирование прошло успешно.");
-            notificationLogRepository.save(notificationLog);
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
+    public CountedPage<NotificationLog> getAllNotificationLogs(int page, int size, CountMode count,
+                                                          LocalDateTime from, LocalDateTime to, Long bookingId) {
+        Pageable pageable = PageRequest.of(page, size);
+        if (from == null && to == null && bookingId == null) {
+            List<NotificationLog> notificationLogs = notificationLogRepository.findAllBy(pageable).getContent();
+            return countProvider.page(notificationLogs, pageable, count, TABLE, notificationLogRepository::count);
         }
+        LocalDateTime start = start(from, to);
+        LocalDateTime end = end(to);
+        List<NotificationLog> notificationLogs = notificationLogRepository.findPageBetween(start, end, bookingId, pageable).getContent();
+        CountMode rangeCount = count == CountMode.NONE ? CountMode.NONE : CountMode.EXACT;
+        return countProvider.page(notificationLogs, pageable, rangeCount, TABLE, () -> notificationLogRepository.countBetween(start, end, bookingId));
     }
 
     /**
-     * Получает список всех логов уведомлений с пагинацией.
+     * Получает страницу логов уведомлений по курсору в порядке id без {@code OFFSET} и подсчета общего количества.
+     * С интервалом времени читаются только секции {@code notifications_log} за месяцы интервала.
      *
-     * @param page номер страницы (начиная с 0)
+     * @param after курсор предыдущей страницы, {@code null} или пустая строка для первой страницы
      * @param size количество записей на странице
-     * @return {@link Page<NotificationLog>} содержащий объекты логов уведомлений
+     * @param from начало интервала времени уведомлений включительно или {@code null}, если не ограничено
+     * @param to конец интервала времени уведомлений не включительно или {@code null}, если не ограничен
+     * @param bookingId идентификатор бронирования или {@code null} для логов всех бронирований
+     * @return {@link CursorPage} с логами уведомлений и курсором следующей страницы
+     * @throws BadRequestException если интервал пустой или курсор некорректен
      */
     @Override
-    public Page<NotificationLog> getAllNotificationLogs(int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        return notificationLogRepository.findAll(pageable);
+    public CursorPage<NotificationLog> getNotificationLogsAfter(String after, int size, LocalDateTime from, LocalDateTime to, Long bookingId) {
+        long afterId = after == null || after.isEmpty() ? 0 : KeysetCursor.decode(after, "id").id();
+        List<NotificationLog> notificationLogs = from == null && to == null && bookingId == null
+                ? notificationLogRepository.findByIdGreaterThanOrderByIdAsc(afterId, KeysetCursor.limit(size))
+                : notificationLogRepository.findPageBetweenAfter(start(from, to), end(to), bookingId, afterId, KeysetCursor.limit(size));
+        return KeysetCursor.page(notificationLogs, size, "id", NotificationLog::getId, NotificationLog::getId);
+    }
+
+    /**
+     * Передает обработчику логи уведомлений интервала в порядке времени, читая их курсором
+     * {@link NotificationLogJdbcRepository} в транзакции только для чтения. Интервал проверяется до начала чтения.
+     *
+     * @param from начало интервала времени уведомлений включительно или {@code null}, если не ограничено
+     * @param to конец интервала времени уведомлений не включительно или {@code null}, если не ограничен
+     * @param bookingId идентификатор бронирования или {@code null} для логов всех бронирований
+     * @param consumer обработчик логов
+     * @throws BadRequestException если интервал пустой
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamNotificationLogs(LocalDateTime from, LocalDateTime to, Long bookingId, Consumer<NotificationLogResponse> consumer) {
+        notificationLogJdbcRepository.stream(start(from, to), end(to), bookingId, consumer);
+    }
+
+    /**
+     * Незаданные границы интервала заменяются датами, за которые логи не выходят, чтобы запрос сравнивал
+     * {@code notified_at} с обеими границами и секции отсекались одинаково при любом наборе параметров.
+     */
+    private static LocalDateTime start(LocalDateTime from, LocalDateTime to) {
+        LocalDateTime start = from == null ? EARLIEST : from;
+        if (to != null && !to.isAfter(start)) {
+            throw new BadRequestException("Конец интервала времени должен быть позже его начала.");
+        }
+        return start;
+    }
+
+    private static LocalDateTime end(LocalDateTime to) {
+        return to == null ? LATEST : to;
     }
 
 }
@@ -0,0 +1,100 @@
+package com.application.ticketbooking.service.Impl;
+
+import com.application.ticketbooking.dto.BookingRequest;
+import com.application.ticketbooking.entity.Booking;
+import com.application.ticketbooking.entity.Event;
+import com.application.ticketbooking.entity.ReservationMode;
+import com.application.ticketbooking.entity.User;
+import com.application.ticketbooking.repository.BookingRepository;
+import com.application.ticketbooking.repository.EventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Резервирование мест с оптимистической блокировкой по полю {@code version} мероприятия.
+ * <p>
+ * Каждая попытка выполняется в отдельной транзакции. При конфликте версий попытка
+ * повторяется после случайной паузы, но не более {@code booking.reservation.optimistic.max-attempts} раз.
+ * </p>
+ */
+@Component
+public class OptimisticSeatReservationStrategy extends AbstractSeatReservationStrategy {
+
+    private final EventRepository eventRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingOutbox bookingOutbox;
+    private final Counter retryCounter;
+    private final int maxAttempts;
+    private final Duration backoff;
+
+    public OptimisticSeatReservationStrategy(EventRepository eventRepository,
+                                             BookingRepository bookingRepository,
+                                             BookingOutbox bookingOutbox,
+                                             PlatformTransactionManager transactionManager,
+                                             MeterRegistry meterRegistry,
+                                             @Value("${booking.reservation.optimistic.max-attempts}") int maxAttempts,
+                                             @Value("${booking.reservation.optimistic.backoff}") Duration backoff) {
+        super(transactionManager, TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.eventRepository = eventRepository;
+        this.bookingRepository = bookingRepository;
+        this.bookingOutbox = bookingOutbox;
+        this.retryCounter = meterRegistry.counter("booking.reservation.retries", "mode", getMode().name());
+        this.maxAttempts = maxAttempts;
+        this.backoff = backoff;
+    }
+
+    @Override
+    public ReservationMode getMode() {
+        return ReservationMode.OPTIMISTIC;
+    }
+
+    @Override
+    public Booking reserve(User user, BookingRequest bookingRequest) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> reserveOnce(user, bookingRequest));
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                retryCounter.increment();
+                pause();
+            }
+        }
+    }
+
+    private Booking reserveOnce(User user, BookingRequest bookingRequest) {
+        Event event = eventRepository.findById(bookingRequest.getEventId())
+                .orElseThrow(AbstractSeatReservationStrategy::eventNotFound);
+
+        if (event.getAvailableSeats() < bookingRequest.getTicketsCount()) {
+            throw notEnoughSeats();
+        }
+
+        event.setAvailableSeats(event.getAvailableSeats() - bookingRequest.getTicketsCount());
+        eventRepository.saveAndFlush(event);
+        Booking booking = bookingRepository.saveAndFlush(newBooking(user, event, bookingRequest.getTicketsCount()));
+        bookingOutbox.append(booking);
+        return booking;
+    }
+
+    private void pause() {
+        long maxPauseMillis = backoff.toMillis();
+        if (maxPauseMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(maxPauseMillis + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.application.ticketbooking.service.Impl;
+
+import com.application.ticketbooking.repository.OutboxRepository;
+import com.application.ticketbooking.repository.OutboxRepository.Pending;
+import com.application.ticketbooking.repository.OutboxRepository.Relayed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Обработчик {@code outbox}, записывающий логи уведомлений о бронированиях.
+ * <p>
+ * Каждый из {@code booking.outbox.workers} потоков {@code outbox-relay-} раз в {@code booking.outbox.poll-interval}
+ * забирает пакеты до {@code booking.outbox.batch-size} сообщений, пока очередной пакет не окажется неполным.
+ * Пакет обрабатывается одним запросом {@link OutboxRepository#relay(int)} в собственной транзакции, поэтому
+ * время разбора накопившихся сообщений линейно по их количеству, а потоки этого и других экземпляров
+ * приложения захватывают разные пакеты и работают параллельно.
+ * </p>
+ * <p>
+ * Обработанные сообщения старше {@code booking.outbox.retention} удаляются пакетами по расписанию.
+ * Метрики: {@code booking.outbox.relayed} (обработанные сообщения), {@code booking.outbox.batch}
+ * (время обработки пакета), {@code booking.notifications.delivery} (время от фиксации бронирования
+ * до записи лога самого старого сообщения пакета), {@code booking.outbox.failures} (неудачные опросы),
+ * {@code booking.outbox.pending} и {@code booking.outbox.pending.age} (количество необработанных сообщений
+ * и возраст самого старого из них). Необработанные сообщения считаются раз в {@code booking.outbox.pending-interval},
+ * а не при каждом чтении метрики.
+ * </p>
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final OutboxRepository outboxRepository;
+    private final ScheduledThreadPoolExecutor executor;
+    private final int workers;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Duration retention;
+    private final Counter relayedCounter;
+    private final Timer batchTimer;
+    private final Timer deliveryTimer;
+    private final Counter failureCounter;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong oldestPendingAgeMillis = new AtomicLong();
+
+    public OutboxRelay(OutboxRepository outboxRepository,
+                       MeterRegistry meterRegistry,
+                       @Value("${booking.outbox.workers}") int workers,
+                       @Value("${booking.outbox.batch-size}") int batchSize,
+                       @Value("${booking.outbox.poll-interval}") Duration pollInterval,
+                       @Value("${booking.outbox.retention}") Duration retention) {
+        this.outboxRepository = outboxRepository;
+        this.executor = new ScheduledThreadPoolExecutor(workers, new CustomizableThreadFactory("outbox-relay-"));
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.retention = retention;
+        this.relayedCounter = meterRegistry.counter("booking.outbox.relayed");
+        this.batchTimer = meterRegistry.timer("booking.outbox.batch");
+        this.deliveryTimer = meterRegistry.timer("booking.notifications.delivery");
+        this.failureCounter = meterRegistry.counter("booking.outbox.failures");
+        Gauge.builder("booking.outbox.pending", pending, AtomicLong::get)
+                .strongReference(true)
+                .register(meterRegistry);
+        TimeGauge.builder("booking.outbox.pending.age", oldestPendingAgeMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .strongReference(true)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Запускает потоки обработки после старта приложения.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        for (int i = 0; i < workers; i++) {
+            executor.scheduleWithFixedDelay(this::poll, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Обрабатывает пакеты, пока очередной пакет не окажется неполным.
+     *
+     * @return количество обработанных сообщений
+     */
+    public long drain() {
+        long total = 0;
+        Relayed relayed;
+        do {
+            long startedAt = System.nanoTime();
+            relayed = outboxRepository.relay(batchSize);
+            if (relayed.count() == 0) {
+                break;
+            }
+            batchTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            deliveryTimer.record(relayed.lag());
+            relayedCounter.increment(relayed.count());
+            total += relayed.count();
+        } while (relayed.count() == batchSize && !executor.isShutdown());
+        return total;
+    }
+
+    /**
+     * Удаляет обработанные сообщения старше {@code booking.outbox.retention} пакетами по {@code batch-size}.
+     */
+    @Scheduled(fixedDelayString = "${booking.outbox.purge-interval}", initialDelayString = "${booking.outbox.purge-interval}")
+    public void purge() {
+        int deleted;
+        do {
+            deleted = outboxRepository.purgeProcessed(retention, batchSize);
+        } while (deleted == batchSize);
+    }
+
+    /**
+     * Обновляет метрики необработанных сообщений.
+     */
+    @Scheduled(fixedDelayString = "${booking.outbox.pending-interval}")
+    public void measurePending() {
+        try {
+            Pending current = outboxRepository.findPending();
+            pending.set(current.count());
+            oldestPendingAgeMillis.set(current.oldestAge().toMillis());
+        } catch (RuntimeException e) {
+            log.warn("Не удалось подсчитать необработанные сообщения outbox.", e);
+        }
+    }
+
+    private void poll() {
+        try {
+            drain();
+        } catch (RuntimeException e) {
+            failureCounter.increment();
+            // Захваченный пакет откатывается и будет обработан при следующем опросе.
+            log.error("Не удалось обработать пакет outbox.", e);
+        }
+    }
+
+    /**
+     * Останавливает опрос, дожидаясь обработки текущего пакета не дольше пяти секунд.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+}
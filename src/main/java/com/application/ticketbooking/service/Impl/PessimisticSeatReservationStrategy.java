@@ -0,0 +1,59 @@
+package com.application.ticketbooking.service.Impl;
+
+import com.application.ticketbooking.dto.BookingRequest;
+import com.application.ticketbooking.entity.Booking;
+import com.application.ticketbooking.entity.Event;
+import com.application.ticketbooking.entity.ReservationMode;
+import com.application.ticketbooking.entity.User;
+import com.application.ticketbooking.repository.BookingRepository;
+import com.application.ticketbooking.repository.EventRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+/**
+ * Резервирование мест с блокировкой строки мероприятия ({@code SELECT ... FOR UPDATE}).
+ * <p>
+ * Конкурентные бронирования одного мероприятия выстраиваются в очередь на блокировке
+ * и не прерываются ошибками сериализации.
+ * </p>
+ */
+@Component
+public class PessimisticSeatReservationStrategy extends AbstractSeatReservationStrategy {
+
+    private final EventRepository eventRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingOutbox bookingOutbox;
+
+    public PessimisticSeatReservationStrategy(EventRepository eventRepository,
+                                              BookingRepository bookingRepository,
+                                              BookingOutbox bookingOutbox,
+                                              PlatformTransactionManager transactionManager) {
+        super(transactionManager, TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.eventRepository = eventRepository;
+        this.bookingRepository = bookingRepository;
+        this.bookingOutbox = bookingOutbox;
+    }
+
+    @Override
+    public ReservationMode getMode() {
+        return ReservationMode.PESSIMISTIC;
+    }
+
+    @Override
+    public Booking reserve(User user, BookingRequest bookingRequest) {
+        return transactionTemplate.execute(status -> {
+            Event event = eventRepository.findByIdForUpdate(bookingRequest.getEventId())
+                    .orElseThrow(AbstractSeatReservationStrategy::eventNotFound);
+
+            if (event.getAvailableSeats() < bookingRequest.getTicketsCount()) {
+                throw notEnoughSeats();
+            }
+
+            event.setAvailableSeats(event.getAvailableSeats() - bookingRequest.getTicketsCount());
+            Booking booking = bookingRepository.saveAndFlush(newBooking(user, event, bookingRequest.getTicketsCount()));
+            bookingOutbox.append(booking);
+            return booking;
+        });
+    }
+}
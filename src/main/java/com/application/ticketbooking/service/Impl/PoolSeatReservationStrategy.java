@@ -0,0 +1,76 @@
+package com.application.ticketbooking.service.Impl;
+
+import com.application.ticketbooking.dto.BookingRequest;
+import com.application.ticketbooking.entity.Booking;
+import com.application.ticketbooking.entity.ReservationMode;
+import com.application.ticketbooking.entity.User;
+import com.application.ticketbooking.repository.BookingRepository;
+import com.application.ticketbooking.repository.EventRepository;
+import com.application.ticketbooking.repository.TicketJdbcRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import java.util.List;
+
+/**
+ * Резервирование билетов из пула {@code tickets}.
+ * <p>
+ * Бронирование блокирует нужное количество свободных билетов через {@code FOR UPDATE SKIP LOCKED},
+ * сохраняет {@link Booking} и привязывает к нему билеты. Билеты, заблокированные конкурентными
+ * транзакциями, пропускаются, поэтому покупатели не ждут друг друга и не получают ошибок сериализации.
+ * Обратная сторона: перед распродажей запрос может получить отказ, пока последние билеты заблокированы
+ * транзакциями, которые еще могут откатиться.
+ * </p>
+ */
+@Component
+public class PoolSeatReservationStrategy extends AbstractSeatReservationStrategy {
+
+    private final EventRepository eventRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingOutbox bookingOutbox;
+    private final TicketJdbcRepository ticketRepository;
+
+    public PoolSeatReservationStrategy(EventRepository eventRepository,
+                                       BookingRepository bookingRepository,
+                                       BookingOutbox bookingOutbox,
+                                       TicketJdbcRepository ticketRepository,
+                                       PlatformTransactionManager transactionManager) {
+        super(transactionManager, TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.eventRepository = eventRepository;
+        this.bookingRepository = bookingRepository;
+        this.bookingOutbox = bookingOutbox;
+        this.ticketRepository = ticketRepository;
+    }
+
+    @Override
+    public ReservationMode getMode() {
+        return ReservationMode.POOL;
+    }
+
+    @Override
+    public boolean usesEventSeatCounter() {
+        return false;
+    }
+
+    @Override
+    public Booking reserve(User user, BookingRequest bookingRequest) {
+        Long eventId = bookingRequest.getEventId();
+        int ticketsCount = bookingRequest.getTicketsCount();
+
+        return transactionTemplate.execute(status -> {
+            List<Long> ticketIds = ticketRepository.lockFreeTickets(eventId, ticketsCount);
+            if (ticketIds.size() < ticketsCount) {
+                if (ticketIds.isEmpty() && !eventRepository.existsById(eventId)) {
+                    throw eventNotFound();
+                }
+                throw notEnoughSeats();
+            }
+
+            Booking booking = bookingRepository.saveAndFlush(newBooking(user,
+                    eventRepository.getReferenceById(eventId), ticketsCount));
+            ticketRepository.assignTickets(ticketIds, booking.getId());
+            bookingOutbox.append(booking);
+            return booking;
+        });
+    }
+}
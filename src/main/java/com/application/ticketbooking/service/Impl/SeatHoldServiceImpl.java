@@ -0,0 +1,249 @@
+package com.application.ticketbooking.service.Impl;
+
+import com.application.ticketbooking.dto.BookingRequest;
+import com.application.ticketbooking.dto.BookingResponse;
+import com.application.ticketbooking.dto.SeatHoldResponse;
+import com.application.ticketbooking.entity.Booking;
+import com.application.ticketbooking.entity.SeatHold;
+import com.application.ticketbooking.entity.User;
+import com.application.ticketbooking.exception.BadRequestException;
+import com.application.ticketbooking.exception.EntityNotFoundException;
+import com.application.ticketbooking.repository.BookingRepository;
+import com.application.ticketbooking.repository.EventRepository;
+import com.application.ticketbooking.repository.SeatHoldRepository;
+import com.application.ticketbooking.service.SeatHoldService;
+import com.application.ticketbooking.util.HierarchicalTimingWheel;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Реализация сервиса удержания мест.
+ * <p>
+ * Удержание сразу снимает места с продажи условным {@code UPDATE} счетчика свободных мест и живет
+ * {@code booking.holds.ttl}. Подтверждение превращает удержание в {@link Booking}, не трогая счетчик.
+ * Мероприятия, места которых учитываются вне {@code events.available_seats}, удержание не поддерживают.
+ * Истечение удержаний отслеживает {@link HierarchicalTimingWheel}: таймер стоит O(1) на удержание,
+ * база данных не опрашивается. При старте приложения таймеры восстанавливаются по таблице {@code seat_holds}.
+ * Раз в {@code booking.holds.sweep-interval} истекшие строки {@code seat_holds} дополнительно выбираются
+ * из базы данных: так освобождаются удержания, таймеры которых остались на остановленном экземпляре приложения.
+ * </p>
+ * <p>
+ * Гонку подтверждения и истечения решает удаление строки удержания: места возвращаются в продажу или
+ * превращаются в бронирование только той операцией, которая удалила строку.
+ * </p>
+ */
+@Slf4j
+@Service
+public class SeatHoldServiceImpl implements SeatHoldService {
+
+    private static final Duration EXPIRY_RETRY_DELAY = Duration.ofSeconds(5);
+    private static final int SWEEP_BATCH_SIZE = 500;
+
+    private final SeatHoldRepository seatHoldRepository;
+    private final EventRepository eventRepository;
+    private final BookingRepository bookingRepository;
+    private final ModelMapper modelMapper;
+    private final BookingOutbox bookingOutbox;
+    private final SeatReservationStrategyResolver strategyResolver;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final ExecutorService expiryExecutor;
+    private final HierarchicalTimingWheel timingWheel;
+    private final Map<Long, HierarchicalTimingWheel.Timeout> timeouts = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final Gauge activeHoldsGauge;
+
+    public SeatHoldServiceImpl(SeatHoldRepository seatHoldRepository,
+                               EventRepository eventRepository,
+                               BookingRepository bookingRepository,
+                               ModelMapper modelMapper,
+                               BookingOutbox bookingOutbox,
+                               SeatReservationStrategyResolver strategyResolver,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${booking.holds.ttl}") Duration ttl,
+                               @Value("${booking.holds.tick}") Duration tick,
+                               @Value("${booking.holds.expiry-workers}") int expiryWorkers) {
+        this.seatHoldRepository = seatHoldRepository;
+        this.eventRepository = eventRepository;
+        this.bookingRepository = bookingRepository;
+        this.modelMapper = modelMapper;
+        this.bookingOutbox = bookingOutbox;
+        this.strategyResolver = strategyResolver;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.ttl = ttl;
+        this.expiryExecutor = Executors.newFixedThreadPool(expiryWorkers, new CustomizableThreadFactory("seat-hold-expiry-"));
+        this.timingWheel = new HierarchicalTimingWheel("seat-hold-timing-wheel", tick, expiryExecutor);
+        this.meterRegistry = meterRegistry;
+        // Сильная ссылка и удаление при остановке: иначе реестр оставит датчик колеса первого созданного сервиса.
+        this.activeHoldsGauge = Gauge.builder("booking.holds.active", timingWheel, HierarchicalTimingWheel::size)
+                .strongReference(true)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Удерживает места на мероприятии до подтверждения или истечения срока удержания.
+     *
+     * @param bookingRequest объект запроса с информацией о мероприятии и количестве билетов
+     * @return {@link SeatHoldResponse} с идентификатором и сроком действия удержания
+     * @throws EntityNotFoundException если мероприятие не найдено
+     * @throws BadRequestException если недостаточно свободных мест
+     */
+    @Override
+    public SeatHoldResponse holdSeats(BookingRequest bookingRequest) {
+        if (bookingRequest.getTicketsCount() <= 0) {
+            throw new BadRequestException("Количество билетов должно быть больше нуля.");
+        }
+        if (!strategyResolver.resolve(bookingRequest.getEventId()).usesEventSeatCounter()) {
+            // Места таких мероприятий учитываются не в events.available_seats, условный UPDATE их не увидит.
+            throw new BadRequestException("Удержание мест недоступно для этого мероприятия.");
+        }
+
+        User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        SeatHold seatHold = transactionTemplate.execute(status -> {
+            int updated = eventRepository.decrementAvailableSeats(bookingRequest.getEventId(), bookingRequest.getTicketsCount());
+            if (updated == 0) {
+                if (!eventRepository.existsById(bookingRequest.getEventId())) {
+                    throw AbstractSeatReservationStrategy.eventNotFound();
+                }
+                throw AbstractSeatReservationStrategy.notEnoughSeats();
+            }
+
+            SeatHold hold = new SeatHold();
+            hold.setUser(user);
+            hold.setEvent(eventRepository.getReferenceById(bookingRequest.getEventId()));
+            hold.setTicketsCount(bookingRequest.getTicketsCount());
+            hold.setCreatedAt(LocalDateTime.now());
+            hold.setExpiresAt(hold.getCreatedAt().plus(ttl));
+            return seatHoldRepository.save(hold);
+        });
+        scheduleExpiry(seatHold.getId(), ttl);
+
+        return new SeatHoldResponse(seatHold.getId(), user.getId(), bookingRequest.getEventId(),
+                seatHold.getTicketsCount(), seatHold.getExpiresAt(), "Места удержаны до подтверждения бронирования.");
+    }
+
+    /**
+     * Подтверждает удержание и создает бронирование на удержанные места.
+     *
+     * @param holdId идентификатор удержания
+     * @return {@link BookingResponse} с данными о бронировании и подтверждающим сообщением
+     * @throws EntityNotFoundException если удержание не найдено, истекло или принадлежит другому пользователю
+     */
+    @Override
+    public BookingResponse confirmHold(Long holdId) {
+        User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        Booking savedBooking = transactionTemplate.execute(status -> {
+            SeatHold hold = seatHoldRepository.findById(holdId)
+                    .filter(found -> found.getUser().getId().equals(user.getId()))
+                    .orElseThrow(SeatHoldServiceImpl::holdNotFound);
+            if (seatHoldRepository.deleteActiveHold(holdId, user.getId(), LocalDateTime.now()) == 0) {
+                throw holdNotFound();
+            }
+            Booking booking = bookingRepository.saveAndFlush(AbstractSeatReservationStrategy.newBooking(user, hold.getEvent(), hold.getTicketsCount()));
+            bookingOutbox.append(booking);
+            return booking;
+        });
+        cancelExpiry(holdId);
+
+        BookingResponse bookingResponse = modelMapper.map(savedBooking, BookingResponse.class);
+        bookingResponse.setMessage("Бронирование успешно выполнено.");
+        return bookingResponse;
+    }
+
+    /**
+     * Восстанавливает таймеры удержаний, созданных до перезапуска приложения.
+     * Удержания, истекшие за время простоя, освобождаются на ближайшем тике.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void restoreHolds() {
+        LocalDateTime now = LocalDateTime.now();
+        List<SeatHoldRepository.ExpiryView> holds = seatHoldRepository.findAllExpiries();
+        holds.forEach(hold -> scheduleExpiry(hold.getId(), Duration.between(now, hold.getExpiresAt())));
+        log.info("Восстановлено удержаний мест: {}.", holds.size());
+    }
+
+    /**
+     * Освобождает истекшие удержания, найденные в базе данных. Удержание, которое одновременно освобождают
+     * несколько экземпляров приложения, возвращает места только у того, кто удалил его строку.
+     */
+    @Scheduled(fixedDelayString = "${booking.holds.sweep-interval}", initialDelayString = "${booking.holds.sweep-interval}")
+    public void sweepExpiredHolds() {
+        List<Long> expired = seatHoldRepository.findExpiredIds(LocalDateTime.now(), Limit.of(SWEEP_BATCH_SIZE));
+        expired.forEach(holdId -> {
+            cancelExpiry(holdId);
+            expireHold(holdId);
+        });
+        if (!expired.isEmpty()) {
+            log.info("Освобождено истекших удержаний мест: {}.", expired.size());
+        }
+    }
+
+    /**
+     * Освобождает места истекшего удержания, если его еще не подтвердили.
+     *
+     * @param holdId идентификатор удержания
+     */
+    void expireHold(Long holdId) {
+        timeouts.remove(holdId);
+        try {
+            transactionTemplate.executeWithoutResult(status -> seatHoldRepository.findById(holdId).ifPresent(hold -> {
+                if (seatHoldRepository.deleteHoldById(holdId) == 1) {
+                    eventRepository.addAvailableSeats(hold.getEvent().getId(), hold.getTicketsCount());
+                }
+            }));
+        } catch (RuntimeException e) {
+            log.warn("Не удалось освободить удержание {}, повтор через {}.", holdId, EXPIRY_RETRY_DELAY, e);
+            scheduleExpiry(holdId, EXPIRY_RETRY_DELAY);
+        }
+    }
+
+    private void scheduleExpiry(Long holdId, Duration delay) {
+        timeouts.put(holdId, timingWheel.schedule(() -> expireHold(holdId), delay));
+    }
+
+    private void cancelExpiry(Long holdId) {
+        HierarchicalTimingWheel.Timeout timeout = timeouts.remove(holdId);
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    private static EntityNotFoundException holdNotFound() {
+        return new EntityNotFoundException("Удержание мест не найдено или истекло.");
+    }
+
+    /**
+     * Останавливает колесо таймеров. Несработавшие удержания будут восстановлены при следующем запуске.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        meterRegistry.remove(activeHoldsGauge);
+        timingWheel.close();
+        expiryExecutor.shutdown();
+        expiryExecutor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,246 @@
+package com.application.ticketbooking.service.Impl;
+
+import com.application.ticketbooking.entity.Event;
+import com.application.ticketbooking.event.EventChangedEvent;
+import com.application.ticketbooking.repository.EventRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Учет свободных мест мероприятий в памяти.
+ * <p>
+ * Количество мест хранится в {@link AtomicInteger} на каждое мероприятие, найти который можно
+ * в хеш-таблице с открытой адресацией по примитивному ключу {@code long}. Резервирование выполняется
+ * CAS-циклом без блокировок и без выделения памяти на запрос. Таблица пересоздается (copy-on-write)
+ * только при добавлении или удалении мероприятия, счетчики при этом переносятся по ссылке.
+ * </p>
+ * <p>
+ * При запуске учет восстанавливается из {@code events.available_seats}. Учет ведется в пределах
+ * одного экземпляра приложения.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "booking.inventory.enabled", havingValue = "true")
+public class SeatInventory {
+
+    /**
+     * Результат попытки резервирования.
+     */
+    public enum Reservation {
+        RESERVED,
+        NOT_ENOUGH_SEATS,
+        UNKNOWN_EVENT
+    }
+
+    private static final long EMPTY = 0L;
+    private static final int REMOVED = Integer.MIN_VALUE;
+
+    private final EventRepository eventRepository;
+    private final Object writeLock = new Object();
+    private volatile Table table = new Table(16);
+
+    /**
+     * Загружает количество свободных мест всех мероприятий из базы данных.
+     */
+    @PostConstruct
+    public void rebuild() {
+        List<EventRepository.SeatsView> seats = eventRepository.findAllSeats();
+        Table rebuilt = new Table(Table.capacityFor(seats.size()));
+        seats.forEach(view -> rebuilt.insert(view.getId(), new AtomicInteger(view.getAvailableSeats())));
+        synchronized (writeLock) {
+            table = rebuilt;
+        }
+        log.info("Учет мест в памяти восстановлен: {} мероприятий.", seats.size());
+    }
+
+    /**
+     * Резервирует места, если их достаточно.
+     *
+     * @param eventId идентификатор мероприятия
+     * @param count количество мест
+     * @return {@link Reservation} результат резервирования
+     */
+    public Reservation tryReserve(long eventId, int count) {
+        AtomicInteger seats = table.get(eventId);
+        if (seats == null) {
+            return Reservation.UNKNOWN_EVENT;
+        }
+        while (true) {
+            int current = seats.get();
+            if (current == REMOVED) {
+                return Reservation.UNKNOWN_EVENT;
+            }
+            if (current < count) {
+                return Reservation.NOT_ENOUGH_SEATS;
+            }
+            if (seats.compareAndSet(current, current - count)) {
+                return Reservation.RESERVED;
+            }
+        }
+    }
+
+    /**
+     * Возвращает ранее зарезервированные места.
+     *
+     * @param eventId идентификатор мероприятия
+     * @param count количество мест
+     */
+    public void release(long eventId, int count) {
+        adjust(eventId, count);
+    }
+
+    /**
+     * Загружает мероприятие из базы данных, если его еще нет в учете.
+     *
+     * @param eventId идентификатор мероприятия
+     * @return {@code true}, если мероприятие есть в учете после загрузки
+     */
+    public boolean load(long eventId) {
+        if (table.get(eventId) != null) {
+            return true;
+        }
+        return eventRepository.findById(eventId)
+                .map(event -> {
+                    putIfAbsent(event.getId(), event.getAvailableSeats());
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    /**
+     * @param eventId идентификатор мероприятия
+     * @return количество свободных мест в учете или {@code -1}, если мероприятия нет в учете
+     */
+    public int availableSeats(long eventId) {
+        AtomicInteger seats = table.get(eventId);
+        int current = seats == null ? REMOVED : seats.get();
+        return current == REMOVED ? -1 : current;
+    }
+
+    /**
+     * Поддерживает учет в соответствии с изменениями мероприятий.
+     *
+     * @param event {@link EventChangedEvent} с состоянием мероприятия до и после изменения
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent event) {
+        switch (event.getChangeType()) {
+            case CREATED -> putIfAbsent(event.getEventId(), event.getCurrent().getAvailableSeats());
+            case UPDATED -> {
+                Event previous = event.getPrevious();
+                Event current = event.getCurrent();
+                adjust(event.getEventId(), current.getCapacity() - previous.getCapacity());
+            }
+            case DELETED -> remove(event.getEventId());
+        }
+    }
+
+    private void adjust(long eventId, int delta) {
+        AtomicInteger seats = table.get(eventId);
+        if (seats == null || delta == 0) {
+            return;
+        }
+        while (true) {
+            int current = seats.get();
+            if (current == REMOVED || seats.compareAndSet(current, current + delta)) {
+                return;
+            }
+        }
+    }
+
+    private void putIfAbsent(long eventId, int availableSeats) {
+        synchronized (writeLock) {
+            Table current = table;
+            if (current.get(eventId) != null) {
+                return;
+            }
+            Table next = current.copy(Table.capacityFor(current.size + 1), EMPTY);
+            next.insert(eventId, new AtomicInteger(availableSeats));
+            table = next;
+        }
+    }
+
+    private void remove(long eventId) {
+        synchronized (writeLock) {
+            Table current = table;
+            AtomicInteger seats = current.get(eventId);
+            if (seats == null) {
+                return;
+            }
+            seats.set(REMOVED);
+            table = current.copy(Table.capacityFor(current.size), eventId);
+        }
+    }
+
+    /**
+     * Неизменяемая по структуре хеш-таблица {@code long -> AtomicInteger} с линейным пробированием.
+     */
+    private static final class Table {
+
+        private final long[] keys;
+        private final AtomicInteger[] values;
+        private final int mask;
+        private int size;
+
+        private Table(int capacity) {
+            this.keys = new long[capacity];
+            this.values = new AtomicInteger[capacity];
+            this.mask = capacity - 1;
+        }
+
+        private static int capacityFor(int size) {
+            int capacity = 16;
+            while (capacity < size * 2) {
+                capacity <<= 1;
+            }
+            return capacity;
+        }
+
+        private static int hash(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+
+        private AtomicInteger get(long key) {
+            int i = hash(key) & mask;
+            while (true) {
+                long k = keys[i];
+                if (k == key) {
+                    return values[i];
+                }
+                if (k == EMPTY) {
+                    return null;
+                }
+                i = (i + 1) & mask;
+            }
+        }
+
+        private void insert(long key, AtomicInteger value) {
+            int i = hash(key) & mask;
+            while (keys[i] != EMPTY) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            values[i] = value;
+            size++;
+        }
+
+        private Table copy(int capacity, long excludedKey) {
+            Table copy = new Table(capacity);
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != EMPTY && keys[i] != excludedKey) {
+                    copy.insert(keys[i], values[i]);
+                }
+            }
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.application.ticketbooking.service.Impl;
+
+import com.application.ticketbooking.entity.Event;
+import com.application.ticketbooking.entity.ReservationMode;
+import com.application.ticketbooking.event.EventChangedEvent;
+import com.application.ticketbooking.repository.EventRepository;
+import com.application.ticketbooking.service.SeatReservationStrategy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Выбирает стратегию резервирования мест для мероприятия.
+ * <p>
+ * Если у мероприятия задан {@link Event#getReservationMode()}, используется он,
+ * иначе — способ по умолчанию из {@code booking.reservation.default-mode}.
+ * Выбранный способ кешируется по id мероприятия и сбрасывается при его изменении.
+ * </p>
+ */
+@Component
+public class SeatReservationStrategyResolver {
+
+    private final Map<ReservationMode, SeatReservationStrategy> strategies = new EnumMap<>(ReservationMode.class);
+    private final Map<Long, ReservationMode> eventModes = new ConcurrentHashMap<>();
+    private final EventRepository eventRepository;
+    private final ReservationMode defaultMode;
+
+    public SeatReservationStrategyResolver(List<SeatReservationStrategy> strategies,
+                                           EventRepository eventRepository,
+                                           @Value("${booking.reservation.default-mode}") ReservationMode defaultMode) {
+        strategies.forEach(strategy -> this.strategies.put(strategy.getMode(), strategy));
+        this.eventRepository = eventRepository;
+        this.defaultMode = defaultMode;
+        if (defaultMode == ReservationMode.STRIPED || defaultMode == ReservationMode.POOL) {
+            throw new IllegalStateException("Способ резервирования " + defaultMode + " задается только для отдельного мероприятия.");
+        }
+        if (!this.strategies.containsKey(defaultMode)) {
+            throw new IllegalStateException("Не найдена стратегия резервирования мест " + defaultMode);
+        }
+    }
+
+    /**
+     * Возвращает стратегию резервирования мест для мероприятия.
+     * Для несуществующего мероприятия возвращается стратегия по умолчанию, которая сообщит об ошибке сама.
+     *
+     * @param eventId идентификатор мероприятия
+     * @return {@link SeatReservationStrategy} для мероприятия
+     */
+    public SeatReservationStrategy resolve(Long eventId) {
+        ReservationMode mode = eventModes.get(eventId);
+        if (mode == null) {
+            mode = eventRepository.findById(eventId)
+                    .map(this::modeOf)
+                    .orElse(defaultMode);
+        }
+        return strategy(mode);
+    }
+
+    /**
+     * @param mode способ резервирования
+     * @return {@link SeatReservationStrategy}, реализующая указанный способ
+     */
+    public SeatReservationStrategy strategy(ReservationMode mode) {
+        SeatReservationStrategy strategy = strategies.get(mode);
+        if (strategy == null) {
+            throw new IllegalStateException("Не найдена стратегия резервирования мест " + mode);
+        }
+        return strategy;
+    }
+
+    private ReservationMode modeOf(Event event) {
+        ReservationMode mode = event.getReservationMode() != null ? event.getReservationMode() : defaultMode;
+        eventModes.put(event.getId(), mode);
+        return mode;
+    }
+
+    /**
+     * Сбрасывает закешированный способ резервирования при изменении мероприятия.
+     *
+     * @param event {@link EventChangedEvent} с id измененного мероприятия
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent event) {
+        eventModes.remove(event.getEventId());
+    }
+}
@@ -0,0 +1,82 @@
+package com.application.ticketbooking.service.Impl;
+
+import com.application.ticketbooking.entity.Event;
+import com.application.ticketbooking.entity.ReservationMode;
+import com.application.ticketbooking.repository.EventSeatStripeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Разбиение свободных мест мероприятия в режиме {@link ReservationMode#STRIPED} на полосы.
+ * <p>
+ * Пока мероприятие в режиме {@code STRIPED}, источником истины служат полосы в {@code event_seat_stripes},
+ * а {@code events.available_seats} не обновляется при бронировании. Поэтому при переходе в режим места
+ * раскладываются по полосам, при выходе из него — собираются обратно, а при чтении мероприятия
+ * {@link Event#getAvailableSeats()} подменяется суммой полос.
+ * </p>
+ */
+@Component
+public class SeatStripes {
+
+    private final EventSeatStripeRepository stripeRepository;
+    private final int defaultStripes;
+
+    public SeatStripes(EventSeatStripeRepository stripeRepository,
+                       @Value("${booking.reservation.striped.stripes}") int defaultStripes) {
+        this.stripeRepository = stripeRepository;
+        this.defaultStripes = defaultStripes;
+    }
+
+    /**
+     * @param event мероприятие
+     * @return {@code true}, если места мероприятия хранятся в полосах
+     */
+    public boolean isStriped(Event event) {
+        return event.getReservationMode() == ReservationMode.STRIPED;
+    }
+
+    /**
+     * Раскладывает свободные места мероприятия по полосам и записывает их количество в {@link Event#setSeatStripes}.
+     * Должен вызываться внутри транзакции, изменяющей мероприятие.
+     *
+     * @param event сохраненное мероприятие
+     */
+    public void split(Event event) {
+        int stripes = event.getSeatStripes() != null && event.getSeatStripes() > 0 ? event.getSeatStripes() : defaultStripes;
+        event.setSeatStripes(stripes);
+        stripeRepository.createStripes(event.getId(), event.getAvailableSeats(), stripes);
+    }
+
+    /**
+     * Удаляет полосы мероприятия. Должен вызываться внутри транзакции, изменяющей мероприятие.
+     *
+     * @param eventId идентификатор мероприятия
+     * @return количество свободных мест, оставшихся в полосах
+     */
+    public int merge(Long eventId) {
+        return stripeRepository.deleteStripes(eventId);
+    }
+
+    /**
+     * Подменяет количество свободных мест мероприятий в режиме {@code STRIPED} суммой их полос.
+     * Вызывается для отсоединенных мероприятий, которые отдаются клиенту.
+     *
+     * @param events мероприятия
+     */
+    public void applyAvailableSeats(Collection<Event> events) {
+        List<Long> stripedIds = events.stream()
+                .filter(this::isStriped)
+                .map(Event::getId)
+                .toList();
+        if (stripedIds.isEmpty()) {
+            return;
+        }
+        Map<Long, Integer> sums = stripeRepository.sumAvailableSeats(stripedIds);
+        events.stream()
+                .filter(this::isStriped)
+                .forEach(event -> event.setAvailableSeats(sums.getOrDefault(event.getId(), 0)));
+    }
+}
@@ -0,0 +1,62 @@
+package com.application.ticketbooking.service.Impl;
+
+import com.application.ticketbooking.dto.BookingRequest;
+import com.application.ticketbooking.entity.Booking;
+import com.application.ticketbooking.entity.Event;
+import com.application.ticketbooking.entity.ReservationMode;
+import com.application.ticketbooking.entity.User;
+import com.application.ticketbooking.repository.BookingRepository;
+import com.application.ticketbooking.repository.EventRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+/**
+ * Резервирование мест в транзакции с уровнем изоляции {@code SERIALIZABLE}.
+ * <p>
+ * Мероприятие читается, количество мест проверяется в приложении, затем сохраняются
+ * бронирование и новое количество мест. Конкурентные транзакции по одному мероприятию
+ * завершаются ошибкой сериализации.
+ * </p>
+ */
+@Component
+public class SerializableSeatReservationStrategy extends AbstractSeatReservationStrategy {
+
+    private final EventRepository eventRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingOutbox bookingOutbox;
+
+    public SerializableSeatReservationStrategy(EventRepository eventRepository,
+                                               BookingRepository bookingRepository,
+                                               BookingOutbox bookingOutbox,
+                                               PlatformTransactionManager transactionManager) {
+        super(transactionManager, TransactionDefinition.ISOLATION_SERIALIZABLE);
+        this.eventRepository = eventRepository;
+        this.bookingRepository = bookingRepository;
+        this.bookingOutbox = bookingOutbox;
+    }
+
+    @Override
+    public ReservationMode getMode() {
+        return ReservationMode.SERIALIZABLE;
+    }
+
+    @Override
+    public Booking reserve(User user, BookingRequest bookingRequest) {
+        return transactionTemplate.execute(status -> {
+            Event event = eventRepository.findById(bookingRequest.getEventId())
+                    .orElseThrow(AbstractSeatReservationStrategy::eventNotFound);
+
+            if (event.getAvailableSeats() < bookingRequest.getTicketsCount()) {
+                throw notEnoughSeats();
+            }
+
+            event.setAvailableSeats(event.getAvailableSeats() - bookingRequest.getTicketsCount());
+
+            Booking savedBooking = bookingRepository.saveAndFlush(newBooking(user, event, bookingRequest.getTicketsCount()));
+            eventRepository.save(event);
+            bookingOutbox.append(savedBooking);
+            return savedBooking;
+        });
+    }
+}
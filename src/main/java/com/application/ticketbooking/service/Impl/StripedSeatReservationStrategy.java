@@ -0,0 +1,136 @@
+package com.application.ticketbooking.service.Impl;
+
+import com.application.ticketbooking.dto.BookingRequest;
+import com.application.ticketbooking.entity.Booking;
+import com.application.ticketbooking.entity.Event;
+import com.application.ticketbooking.entity.ReservationMode;
+import com.application.ticketbooking.entity.User;
+import com.application.ticketbooking.event.EventChangedEvent;
+import com.application.ticketbooking.repository.BookingRepository;
+import com.application.ticketbooking.repository.EventRepository;
+import com.application.ticketbooking.repository.EventSeatStripeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Резервирование мест в полосах {@code event_seat_stripes}.
+ * <p>
+ * Бронирование выбирает случайную полосу и уменьшает ее одним условным {@code UPDATE}, поэтому конкурентные
+ * транзакции одного мероприятия в основном блокируют разные строки. Только если в выбранной полосе не хватает
+ * мест, непустые полосы блокируются в порядке номеров и места набираются из нескольких полос.
+ * Частота такого перехода видна в метрике {@code booking.reservation.stripe.fallbacks}.
+ * </p>
+ */
+@Component
+public class StripedSeatReservationStrategy extends AbstractSeatReservationStrategy {
+
+    private final Map<Long, Integer> stripeCounts = new ConcurrentHashMap<>();
+    private final EventRepository eventRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingOutbox bookingOutbox;
+    private final EventSeatStripeRepository stripeRepository;
+    private final Counter fallbackCounter;
+
+    public StripedSeatReservationStrategy(EventRepository eventRepository,
+                                          BookingRepository bookingRepository,
+                                          BookingOutbox bookingOutbox,
+                                          EventSeatStripeRepository stripeRepository,
+                                          PlatformTransactionManager transactionManager,
+                                          MeterRegistry meterRegistry) {
+        super(transactionManager, TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.eventRepository = eventRepository;
+        this.bookingRepository = bookingRepository;
+        this.bookingOutbox = bookingOutbox;
+        this.stripeRepository = stripeRepository;
+        this.fallbackCounter = meterRegistry.counter("booking.reservation.stripe.fallbacks");
+    }
+
+    @Override
+    public ReservationMode getMode() {
+        return ReservationMode.STRIPED;
+    }
+
+    @Override
+    public boolean usesEventSeatCounter() {
+        return false;
+    }
+
+    @Override
+    public Booking reserve(User user, BookingRequest bookingRequest) {
+        Long eventId = bookingRequest.getEventId();
+        int ticketsCount = bookingRequest.getTicketsCount();
+        int stripes = stripeCount(eventId);
+
+        Booking booking = transactionTemplate.execute(status -> {
+            int stripe = ThreadLocalRandom.current().nextInt(stripes);
+            if (!stripeRepository.take(eventId, stripe, ticketsCount)) {
+                return null;
+            }
+            return saveBooking(user, eventId, ticketsCount);
+        });
+        if (booking != null) {
+            return booking;
+        }
+
+        // Неудачный условный UPDATE может оставить строку полосы заблокированной после перепроверки условия,
+        // поэтому полосы блокируются по порядку уже в новой транзакции, иначе возможна взаимоблокировка.
+        fallbackCounter.increment();
+        return transactionTemplate.execute(status -> {
+            takeFromAvailableStripes(eventId, ticketsCount);
+            return saveBooking(user, eventId, ticketsCount);
+        });
+    }
+
+    private Booking saveBooking(User user, Long eventId, int ticketsCount) {
+        Booking booking = bookingRepository.saveAndFlush(newBooking(user,
+                eventRepository.getReferenceById(eventId), ticketsCount));
+        bookingOutbox.append(booking);
+        return booking;
+    }
+
+    private void takeFromAvailableStripes(Long eventId, int ticketsCount) {
+        Map<Integer, Integer> available = stripeRepository.lockAvailable(eventId);
+        if (available.isEmpty() && !eventRepository.existsById(eventId)) {
+            throw eventNotFound();
+        }
+        if (available.values().stream().mapToInt(Integer::intValue).sum() < ticketsCount) {
+            throw notEnoughSeats();
+        }
+        int remaining = ticketsCount;
+        for (Map.Entry<Integer, Integer> entry : available.entrySet()) {
+            int taken = Math.min(entry.getValue(), remaining);
+            stripeRepository.subtract(eventId, entry.getKey(), taken);
+            remaining -= taken;
+            if (remaining == 0) {
+                break;
+            }
+        }
+    }
+
+    private int stripeCount(Long eventId) {
+        Integer stripes = stripeCounts.get(eventId);
+        if (stripes == null) {
+            Event event = eventRepository.findById(eventId).orElseThrow(AbstractSeatReservationStrategy::eventNotFound);
+            stripes = event.getSeatStripes() != null && event.getSeatStripes() > 0 ? event.getSeatStripes() : 1;
+            stripeCounts.put(eventId, stripes);
+        }
+        return stripes;
+    }
+
+    /**
+     * Сбрасывает закешированное количество полос при изменении мероприятия.
+     *
+     * @param event {@link EventChangedEvent} с id измененного мероприятия
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent event) {
+        stripeCounts.remove(event.getEventId());
+    }
+}
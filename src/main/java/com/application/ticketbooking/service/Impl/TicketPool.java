@@ -0,0 +1,88 @@
+package com.application.ticketbooking.service.Impl;
+
+import com.application.ticketbooking.entity.Event;
+import com.application.ticketbooking.entity.ReservationMode;
+import com.application.ticketbooking.repository.TicketJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Пул билетов мероприятия в режиме {@link ReservationMode#POOL}.
+ * <p>
+ * Пока мероприятие в режиме {@code POOL}, свободные места — это строки {@code tickets} без бронирования,
+ * а {@code events.available_seats} при бронировании не обновляется. Поэтому при создании мероприятия
+ * и изменении его вместимости пул пополняется или сокращается, а при чтении мероприятия
+ * {@link Event#getAvailableSeats()} подменяется количеством свободных билетов.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class TicketPool {
+
+    private final TicketJdbcRepository ticketRepository;
+
+    /**
+     * @param event мероприятие
+     * @return {@code true}, если места мероприятия хранятся в пуле билетов
+     */
+    public boolean isPooled(Event event) {
+        return event.getReservationMode() == ReservationMode.POOL;
+    }
+
+    /**
+     * Блокирует свободные билеты мероприятия до конца транзакции.
+     * Должен вызываться внутри транзакции, изменяющей мероприятие, перед {@link #resize(Long, int)}.
+     *
+     * @param eventId идентификатор мероприятия
+     * @return количество свободных билетов
+     */
+    public int lockFreeTickets(Long eventId) {
+        return ticketRepository.lockAllFreeTickets(eventId);
+    }
+
+    /**
+     * Пополняет или сокращает пул на разницу между нужным и текущим количеством свободных билетов.
+     *
+     * @param eventId идентификатор мероприятия
+     * @param delta на сколько изменить количество свободных билетов
+     */
+    public void resize(Long eventId, int delta) {
+        if (delta > 0) {
+            ticketRepository.addTickets(eventId, delta);
+        } else if (delta < 0) {
+            ticketRepository.retireTickets(eventId, -delta);
+        }
+    }
+
+    /**
+     * Удаляет пул мероприятия при выходе из режима {@code POOL}.
+     *
+     * @param eventId идентификатор мероприятия
+     */
+    public void delete(Long eventId) {
+        ticketRepository.deleteTickets(eventId);
+    }
+
+    /**
+     * Подменяет количество свободных мест мероприятий в режиме {@code POOL} количеством свободных билетов.
+     * Вызывается для отсоединенных мероприятий, которые отдаются клиенту.
+     *
+     * @param events мероприятия
+     */
+    public void applyAvailableSeats(Collection<Event> events) {
+        List<Long> pooledIds = events.stream()
+                .filter(this::isPooled)
+                .map(Event::getId)
+                .toList();
+        if (pooledIds.isEmpty()) {
+            return;
+        }
+        Map<Long, Integer> counts = ticketRepository.countFreeTickets(pooledIds);
+        events.stream()
+                .filter(this::isPooled)
+                .forEach(event -> event.setAvailableSeats(counts.getOrDefault(event.getId(), 0)));
+    }
+}
@@ -0,0 +1,253 @@
+package com.application.ticketbooking.service.Impl;
+
+import com.application.ticketbooking.dto.WaitingRoomResponse;
+import com.application.ticketbooking.event.EventChangedEvent;
+import com.application.ticketbooking.exception.BadRequestException;
+import com.application.ticketbooking.repository.EventRepository;
+import com.application.ticketbooking.service.WaitingRoomService;
+import com.application.ticketbooking.token.AdmissionTokenManager;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Очередь ожидания в памяти.
+ * <p>
+ * Очередь мероприятия — это два счетчика: сколько позиций выдано и до какой позиции клиенты допущены.
+ * Постановка в очередь, проверка позиции и допуск выполняются за O(1) без хранения клиентов.
+ * Каждые {@code booking.waiting-room.drain-interval} граница допуска сдвигается так, чтобы в секунду
+ * допускалось {@code booking.waiting-room.admission-rate} клиентов. Позиция подтверждается подписанным
+ * билетом очереди, допуск — подписанным пропуском. Срок пропуска отсчитывается от момента допуска позиции
+ * и равен {@code booking.waiting-room.token-ttl}: повторный запрос статуса возвращает пропуск с тем же сроком,
+ * а после его истечения пропуск по билету не выдается.
+ * </p>
+ * <p>
+ * Очереди живут в памяти экземпляра приложения, и билет очереди действителен только на выдавшем его экземпляре.
+ * При нескольких экземплярах запросы {@code /waiting-room/{eventId}} должны направляться балансировщиком
+ * на один экземпляр по идентификатору мероприятия, иначе клиент получит отказ и должен встать в очередь заново.
+ * Пропуски подписаны общим ключом и действительны на любом экземпляре.
+ * Метрики {@code booking.waiting-room.depth} и {@code booking.waiting-room.admitted} показывают
+ * длину очереди и скорость допуска по мероприятиям.
+ * </p>
+ */
+@Slf4j
+@Service
+public class WaitingRoomServiceImpl implements WaitingRoomService {
+
+    private final String queueId = UUID.randomUUID().toString();
+    private final Set<Long> protectedEvents = ConcurrentHashMap.newKeySet();
+    private final Map<Long, EventQueue> queues = new ConcurrentHashMap<>();
+    private final EventRepository eventRepository;
+    private final AdmissionTokenManager admissionTokenManager;
+    private final MeterRegistry meterRegistry;
+    private final long admissionsPerDrain;
+    private final Duration tokenTtl;
+
+    public WaitingRoomServiceImpl(EventRepository eventRepository,
+                                  AdmissionTokenManager admissionTokenManager,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${booking.waiting-room.admission-rate}") int admissionRate,
+                                  @Value("${booking.waiting-room.drain-interval}") Duration drainInterval,
+                                  @Value("${booking.waiting-room.token-ttl}") Duration tokenTtl) {
+        this.eventRepository = eventRepository;
+        this.admissionTokenManager = admissionTokenManager;
+        this.meterRegistry = meterRegistry;
+        this.admissionsPerDrain = admissionRate * drainInterval.toMillis() / 1000;
+        this.tokenTtl = tokenTtl;
+        if (admissionsPerDrain < 1) {
+            throw new IllegalStateException("За интервал booking.waiting-room.drain-interval должен допускаться хотя бы один клиент.");
+        }
+    }
+
+    /**
+     * Ставит клиента в конец очереди мероприятия.
+     *
+     * @param eventId идентификатор мероприятия
+     * @return {@link WaitingRoomResponse} с билетом очереди и позицией клиента
+     * @throws BadRequestException если бронирование на мероприятие идет без очереди
+     */
+    @Override
+    public WaitingRoomResponse join(Long eventId) {
+        if (!protectedEvents.contains(eventId)) {
+            throw new BadRequestException("Бронирование на мероприятие не требует очереди.");
+        }
+        long position = queues.computeIfAbsent(eventId, this::newQueue).issued.incrementAndGet();
+        return status(eventId, admissionTokenManager.generateQueueTicket(queueId, eventId, position), position);
+    }
+
+    /**
+     * Возвращает позицию клиента в очереди или пропуск, если его очередь подошла.
+     *
+     * @param eventId идентификатор мероприятия
+     * @param queueTicket билет очереди
+     * @return {@link WaitingRoomResponse} с текущей позицией или пропуском
+     * @throws BadRequestException если билет недействителен, срок пропуска по нему истек или очередь мероприятия закрыта
+     */
+    @Override
+    public WaitingRoomResponse getStatus(Long eventId, String queueTicket) {
+        Long position = admissionTokenManager.getQueuePosition(queueTicket, queueId, eventId);
+        if (position == null) {
+            throw new BadRequestException("Недействительный билет очереди.");
+        }
+        if (!protectedEvents.contains(eventId)) {
+            throw new BadRequestException("Бронирование на мероприятие не требует очереди.");
+        }
+        return status(eventId, queueTicket, position);
+    }
+
+    private WaitingRoomResponse status(Long eventId, String queueTicket, long position) {
+        EventQueue queue = queues.computeIfAbsent(eventId, this::newQueue);
+        long ahead = position - queue.admitted.get();
+        if (ahead > 0) {
+            return new WaitingRoomResponse(eventId, queueTicket, position, ahead, false, null, null,
+                    "Вы в очереди, перед вами " + (ahead - 1) + ".");
+        }
+        Instant admittedAt = queue.admittedAt(position);
+        if (admittedAt == null || !Instant.now().isBefore(admittedAt.plus(tokenTtl))) {
+            throw new BadRequestException("Срок пропуска по билету очереди истек, встаньте в очередь заново.");
+        }
+        Instant expiresAt = admittedAt.plus(tokenTtl);
+        return new WaitingRoomResponse(eventId, queueTicket, position, 0, true,
+                admissionTokenManager.generateAdmissionToken(eventId, position, expiresAt), expiresAt,
+                "Ваша очередь подошла, передайте пропуск в заголовке X-Admission-Token.");
+    }
+
+    @Override
+    public boolean isProtected(Long eventId) {
+        return protectedEvents.contains(eventId);
+    }
+
+    @Override
+    public boolean hasProtectedEvents() {
+        return !protectedEvents.isEmpty();
+    }
+
+    @Override
+    public boolean isAdmitted(Long eventId, String admissionToken) {
+        return admissionTokenManager.isAdmitted(admissionToken, eventId);
+    }
+
+    /**
+     * Допускает следующую группу клиентов каждой очереди.
+     */
+    @Scheduled(fixedDelayString = "${booking.waiting-room.drain-interval}")
+    public void drain() {
+        drain(Instant.now());
+    }
+
+    /**
+     * Допускает следующую группу клиентов каждой очереди и забывает моменты допуска старше срока пропуска.
+     *
+     * @param now момент допуска
+     */
+    public void drain(Instant now) {
+        Instant expiredBefore = now.minus(tokenTtl);
+        queues.values().forEach(queue -> {
+            long issued = queue.issued.get();
+            long admitted = queue.admitted.get();
+            long next = Math.min(issued, admitted + admissionsPerDrain);
+            if (next > admitted) {
+                // Момент допуска записывается раньше границы, чтобы допущенная позиция всегда его находила.
+                queue.admissions.put(next, now);
+                queue.admitted.set(next);
+                queue.admittedCounter.increment(next - admitted);
+            }
+            queue.expire(expiredBefore);
+        });
+    }
+
+    /**
+     * Загружает мероприятия с очередью ожидания при запуске и периодически,
+     * чтобы подхватывать изменения, сделанные на других экземплярах приложения.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${booking.waiting-room.refresh-interval}", initialDelayString = "${booking.waiting-room.refresh-interval}")
+    public void refreshProtectedEvents() {
+        Set<Long> current = Set.copyOf(eventRepository.findWaitingRoomIds());
+        protectedEvents.addAll(current);
+        protectedEvents.stream().filter(id -> !current.contains(id)).toList().forEach(this::unprotect);
+    }
+
+    /**
+     * Включает или выключает очередь при изменении мероприятия.
+     *
+     * @param event {@link EventChangedEvent} с новым состоянием мероприятия
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent event) {
+        if (event.getCurrent() != null && event.getCurrent().isWaitingRoom()) {
+            protectedEvents.add(event.getEventId());
+        } else {
+            unprotect(event.getEventId());
+        }
+    }
+
+    private void unprotect(Long eventId) {
+        protectedEvents.remove(eventId);
+        EventQueue queue = queues.remove(eventId);
+        if (queue != null) {
+            meterRegistry.remove(queue.depthGauge);
+            meterRegistry.remove(queue.admittedCounter);
+        }
+    }
+
+    private EventQueue newQueue(Long eventId) {
+        return new EventQueue(eventId, meterRegistry);
+    }
+
+    /**
+     * Очередь мероприятия: выданные позиции, граница допуска и моменты ее сдвигов за последний срок пропуска.
+     */
+    private static final class EventQueue {
+
+        private final AtomicLong issued = new AtomicLong();
+        private final AtomicLong admitted = new AtomicLong();
+        private final ConcurrentSkipListMap<Long, Instant> admissions = new ConcurrentSkipListMap<>();
+        private final AtomicLong expiredThrough = new AtomicLong();
+        private final Gauge depthGauge;
+        private final Counter admittedCounter;
+
+        private EventQueue(Long eventId, MeterRegistry meterRegistry) {
+            String tag = String.valueOf(eventId);
+            this.depthGauge = Gauge.builder("booking.waiting-room.depth", this, queue -> queue.issued.get() - queue.admitted.get())
+                    .tag("event", tag)
+                    .register(meterRegistry);
+            this.admittedCounter = meterRegistry.counter("booking.waiting-room.admitted", "event", tag);
+        }
+
+        /**
+         * @param position допущенная позиция
+         * @return момент допуска позиции или {@code null}, если срок пропуска по ней уже истек
+         */
+        private Instant admittedAt(long position) {
+            if (position <= expiredThrough.get()) {
+                return null;
+            }
+            Map.Entry<Long, Instant> admission = admissions.ceilingEntry(position);
+            return admission == null ? null : admission.getValue();
+        }
+
+        private void expire(Instant expiredBefore) {
+            Map.Entry<Long, Instant> oldest;
+            while ((oldest = admissions.firstEntry()) != null && oldest.getValue().isBefore(expiredBefore)) {
+                expiredThrough.set(oldest.getKey());
+                admissions.remove(oldest.getKey());
+            }
+        }
+    }
+}
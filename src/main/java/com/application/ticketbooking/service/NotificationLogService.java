@@ -1,26 +1,48 @@
 package com.application.ticketbooking.service;
 
-import com.application.ticketbooking.dto.BookingResponse;
+import com.application.ticketbooking.dto.CountMode;
+import com.application.ticketbooking.dto.CountedPage;
+import com.application.ticketbooking.dto.CursorPage;
+import com.application.ticketbooking.dto.NotificationLogResponse;
 import com.application.ticketbooking.entity.NotificationLog;
-import org.springframework.data.domain.Page;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
 
 /**
  * Сервис для работы с логами уведомлений.
  * <p>
- * Определяет методы для записи и получения логов уведомлений о бронировании.
+ * Определяет методы для получения логов уведомлений о бронировании.
  * </p>
  */
 public interface NotificationLogService {
 
     /**
-     * @param bookingResponse объект {@link BookingResponse}, содержащий данные о бронировании
+     * @param page номер страницы (начиная с 0)
+     * @param size количество элементов на странице
+     * @param count способ подсчета общего количества или {@code null} для способа по умолчанию
+     * @param from начало интервала времени уведомлений включительно или {@code null}, если не ограничено
+     * @param to конец интервала времени уведомлений не включительно или {@code null}, если не ограничен
+     * @param bookingId идентификатор бронирования или {@code null} для логов всех бронирований
+     * @return {@link CountedPage}<{@link NotificationLog}> страница логов уведомлений
      */
-    void setNotificationLog(BookingResponse bookingResponse);
+    CountedPage<NotificationLog> getAllNotificationLogs(int page, int size, CountMode count,
+                                                        LocalDateTime from, LocalDateTime to, Long bookingId);
 
     /**
-     * @param page номер страницы (начиная с 0)
+     * @param after курсор предыдущей страницы, {@code null} или пустая строка для первой страницы
      * @param size количество элементов на странице
-     * @return {@link Page}<{@link NotificationLog}> страница логов уведомлений
+     * @param from начало интервала времени уведомлений включительно или {@code null}, если не ограничено
+     * @param to конец интервала времени уведомлений не включительно или {@code null}, если не ограничен
+     * @param bookingId идентификатор бронирования или {@code null} для логов всех бронирований
+     * @return {@link CursorPage}<{@link NotificationLog}> страница логов уведомлений с курсором следующей страницы
+     */
+    CursorPage<NotificationLog> getNotificationLogsAfter(String after, int size, LocalDateTime from, LocalDateTime to, Long bookingId);
+
+    /**
+     * @param from начало интервала времени уведомлений включительно или {@code null}, если не ограничено
+     * @param to конец интервала времени уведомлений не включительно или {@code null}, если не ограничен
+     * @param bookingId идентификатор бронирования или {@code null} для логов всех бронирований
+     * @param consumer обработчик, которому логи уведомлений интервала передаются по одному в порядке времени
      */
-    Page<NotificationLog> getAllNotificationLogs(int page, int size);
+    void streamNotificationLogs(LocalDateTime from, LocalDateTime to, Long bookingId, Consumer<NotificationLogResponse> consumer);
 }
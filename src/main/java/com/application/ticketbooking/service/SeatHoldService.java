@@ -0,0 +1,23 @@
+package com.application.ticketbooking.service;
+
+import com.application.ticketbooking.dto.BookingRequest;
+import com.application.ticketbooking.dto.BookingResponse;
+import com.application.ticketbooking.dto.SeatHoldResponse;
+
+/**
+ * Сервис для двухфазного оформления бронирования: удержание мест и его подтверждение.
+ */
+public interface SeatHoldService {
+
+    /**
+     * @param bookingRequest объект {@link BookingRequest}, содержащий данные о количестве билетов и id мероприятия
+     * @return {@link SeatHoldResponse} с идентификатором и сроком действия удержания
+     */
+    SeatHoldResponse holdSeats(BookingRequest bookingRequest);
+
+    /**
+     * @param holdId идентификатор удержания
+     * @return {@link BookingResponse} с информацией о созданном бронировании
+     */
+    BookingResponse confirmHold(Long holdId);
+}
@@ -0,0 +1,43 @@
+package com.application.ticketbooking.service;
+
+import com.application.ticketbooking.dto.BookingRequest;
+import com.application.ticketbooking.entity.Booking;
+import com.application.ticketbooking.entity.ReservationMode;
+import com.application.ticketbooking.entity.User;
+
+/**
+ * Стратегия резервирования мест на мероприятие.
+ * <p>
+ * Каждая реализация сама управляет своей транзакцией: проверяет наличие мест,
+ * уменьшает их количество и сохраняет {@link Booking}.
+ * </p>
+ */
+public interface SeatReservationStrategy {
+
+    /**
+     * @return способ резервирования, который реализует стратегия
+     */
+    ReservationMode getMode();
+
+    /**
+     * @param user пользователь, от имени которого выполняется бронирование
+     * @param bookingRequest объект {@link BookingRequest}, содержащий id мероприятия и количество билетов
+     * @return сохраненное бронирование {@link Booking}
+     */
+    Booking reserve(User user, BookingRequest bookingRequest);
+
+    /**
+     * @return {@code true}, если стратегия сохраняет бронирование асинхронно и возвращает его без идентификатора
+     */
+    default boolean isWriteBehind() {
+        return false;
+    }
+
+    /**
+     * @return {@code true}, если свободные места мероприятия хранятся в {@code events.available_seats}
+     * и их можно списывать напрямую, например, при удержании мест
+     */
+    default boolean usesEventSeatCounter() {
+        return true;
+    }
+}
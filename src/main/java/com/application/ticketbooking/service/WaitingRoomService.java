@@ -0,0 +1,44 @@
+package com.application.ticketbooking.service;
+
+import com.application.ticketbooking.dto.WaitingRoomResponse;
+
+/**
+ * Сервис очереди ожидания для мероприятий с ажиотажным спросом.
+ */
+public interface WaitingRoomService {
+
+    /**
+     * Ставит клиента в очередь мероприятия.
+     *
+     * @param eventId идентификатор мероприятия
+     * @return {@link WaitingRoomResponse} с билетом очереди и позицией клиента
+     */
+    WaitingRoomResponse join(Long eventId);
+
+    /**
+     * Проверяет, подошла ли очередь клиента, и выдает пропуск на бронирование.
+     *
+     * @param eventId идентификатор мероприятия
+     * @param queueTicket билет очереди, полученный в {@link #join(Long)}
+     * @return {@link WaitingRoomResponse} с текущей позицией или пропуском
+     */
+    WaitingRoomResponse getStatus(Long eventId, String queueTicket);
+
+    /**
+     * @param eventId идентификатор мероприятия
+     * @return {@code true}, если бронирование на мероприятие идет через очередь
+     */
+    boolean isProtected(Long eventId);
+
+    /**
+     * @return {@code true}, если очередь включена хотя бы для одного мероприятия
+     */
+    boolean hasProtectedEvents();
+
+    /**
+     * @param eventId идентификатор мероприятия
+     * @param admissionToken пропуск на бронирование
+     * @return {@code true}, если пропуск действителен для мероприятия
+     */
+    boolean isAdmitted(Long eventId, String admissionToken);
+}
@@ -0,0 +1,136 @@
+package com.application.ticketbooking.token;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Выдает и проверяет подписанные токены очереди ожидания.
+ * <p>
+ * Токен состоит из полезной нагрузки и ее подписи HMAC-SHA256, оба в Base64 URL-safe, разделенные точкой.
+ * Токены проверяются без обращения к базе данных и хранилищу в памяти, поэтому подходят для отсечения
+ * запросов до аутентификации. Билет очереди подтверждает позицию клиента в очереди мероприятия
+ * и действителен только в выдавшей его очереди, пропуск разрешает бронирование на мероприятие
+ * до истечения своего срока.
+ * </p>
+ */
+@Component
+public class AdmissionTokenManager {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final String QUEUE_TICKET = "q";
+    private static final String ADMISSION = "a";
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs;
+
+    /**
+     * @param secret секретный ключ подписи в Base64
+     */
+    public AdmissionTokenManager(@Value("${booking.waiting-room.secret}") String secret) {
+        this.key = new SecretKeySpec(Base64.getDecoder().decode(secret), HMAC_ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    /**
+     * @param queueId идентификатор очереди, выдавшей позицию
+     * @param eventId идентификатор мероприятия
+     * @param position позиция в очереди
+     * @return билет очереди, подтверждающий позицию
+     */
+    public String generateQueueTicket(String queueId, Long eventId, long position) {
+        return sign(QUEUE_TICKET + ":" + queueId + ":" + eventId + ":" + position);
+    }
+
+    /**
+     * @param token билет очереди
+     * @param queueId идентификатор очереди
+     * @param eventId идентификатор мероприятия
+     * @return позиция в очереди или {@code null}, если билет поддельный или выдан другой очередью
+     * или для другого мероприятия
+     */
+    public Long getQueuePosition(String token, String queueId, Long eventId) {
+        String[] claims = verify(token);
+        if (claims == null || claims.length != 4 || !QUEUE_TICKET.equals(claims[0]) || !claims[1].equals(queueId)
+                || !claims[2].equals(String.valueOf(eventId))) {
+            return null;
+        }
+        return parseLong(claims[3]);
+    }
+
+    /**
+     * @param eventId идентификатор мероприятия
+     * @param position позиция в очереди, по которой выдан пропуск
+     * @param expiresAt момент истечения пропуска
+     * @return пропуск на бронирование
+     */
+    public String generateAdmissionToken(Long eventId, long position, Instant expiresAt) {
+        return sign(ADMISSION + ":" + eventId + ":" + position + ":" + expiresAt.getEpochSecond());
+    }
+
+    /**
+     * @param token пропуск на бронирование
+     * @param eventId идентификатор мероприятия
+     * @return {@code true}, если пропуск подлинный, выдан для этого мероприятия и не истек
+     */
+    public boolean isAdmitted(String token, Long eventId) {
+        String[] claims = verify(token);
+        if (claims == null || claims.length != 4 || !ADMISSION.equals(claims[0]) || !claims[1].equals(String.valueOf(eventId))) {
+            return false;
+        }
+        Long expiresAt = parseLong(claims[3]);
+        return expiresAt != null && Instant.now().getEpochSecond() < expiresAt;
+    }
+
+    private String sign(String payload) {
+        byte[] bytes = payload.getBytes(StandardCharsets.UTF_8);
+        return ENCODER.encodeToString(bytes) + "." + ENCODER.encodeToString(macs.get().doFinal(bytes));
+    }
+
+    private String[] verify(String token) {
+        if (token == null) {
+            return null;
+        }
+        int separator = token.indexOf('.');
+        if (separator <= 0) {
+            return null;
+        }
+        try {
+            byte[] payload = DECODER.decode(token.substring(0, separator));
+            byte[] signature = DECODER.decode(token.substring(separator + 1));
+            if (!MessageDigest.isEqual(macs.get().doFinal(payload), signature)) {
+                return null;
+            }
+            return new String(payload, StandardCharsets.UTF_8).split(":");
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static Long parseLong(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Не удалось инициализировать " + HMAC_ALGORITHM, e);
+        }
+    }
+}
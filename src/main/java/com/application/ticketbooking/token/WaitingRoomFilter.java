@@ -0,0 +1,195 @@
+package com.application.ticketbooking.token;
+
+import com.application.ticketbooking.service.WaitingRoomService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Фильтр очереди ожидания для запросов на бронирование.
+ * <p>
+ * Выполняется до фильтров Spring Security, поэтому запрос на мероприятие с очередью без действительного
+ * пропуска в заголовке {@value #ADMISSION_HEADER} отклоняется со статусом 429 до проверки JWT, загрузки
+ * пользователя и обращения к базе данных. Проверка пропуска и признака очереди выполняется в памяти.
+ * Корзина может содержать несколько мероприятий с очередью, тогда их пропуски передаются через запятую.
+ * Пока очередь не включена ни для одного мероприятия, тело запроса не читается и не разбирается.
+ * </p>
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 1)
+public class WaitingRoomFilter extends OncePerRequestFilter {
+
+    public static final String ADMISSION_HEADER = "X-Admission-Token";
+
+    private static final Set<String> PROTECTED_PATHS = Set.of("/bookings", "/bookings/holds", "/bookings/cart");
+    private static final int MAX_BODY_SIZE = 4096;
+
+    private final WaitingRoomService waitingRoomService;
+    private final ObjectMapper objectMapper;
+    private final Counter rejectedCounter;
+
+    public WaitingRoomFilter(WaitingRoomService waitingRoomService, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.waitingRoomService = waitingRoomService;
+        this.objectMapper = objectMapper;
+        this.rejectedCounter = meterRegistry.counter("booking.waiting-room.rejected");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod())
+                || !waitingRoomService.hasProtectedEvents()
+                || !PROTECTED_PATHS.contains(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    /**
+     * Читает идентификаторы мероприятий из тела запроса и пропускает запрос дальше, если очередь
+     * для этих мероприятий не включена или на каждое из них передан действительный пропуск. Тело запроса сохраняется для контроллера.
+     *
+     * @param request {@link HttpServletRequest} HTTP запрос.
+     * @param response {@link HttpServletResponse} HTTP ответ.
+     * @param filterChain {@link FilterChain} цепочка фильтров.
+     * @throws ServletException в случае ошибки при обработке запроса.
+     * @throws IOException при возникновении ошибок ввода-вывода.
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        byte[] body = request.getInputStream().readNBytes(MAX_BODY_SIZE + 1);
+        if (body.length > MAX_BODY_SIZE) {
+            response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value());
+            return;
+        }
+        Long eventId = readEventIds(body).stream()
+                .filter(waitingRoomService::isProtected)
+                .filter(id -> !isAdmitted(id, request.getHeader(ADMISSION_HEADER)))
+                .findFirst()
+                .orElse(null);
+        if (eventId != null) {
+            rejectedCounter.increment();
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            objectMapper.writeValue(response.getWriter(), Map.of("exception",
+                    "Бронирование на мероприятие идет через очередь ожидания: POST /waiting-room/" + eventId + "."));
+            return;
+        }
+        filterChain.doFilter(new CachedBodyRequest(request, body), response);
+    }
+
+    private List<Long> readEventIds(byte[] body) {
+        List<Long> eventIds = new ArrayList<>();
+        try {
+            JsonNode root = objectMapper.readTree(body);
+            if (root == null) {
+                return eventIds;
+            }
+            addEventId(root, eventIds);
+            JsonNode items = root.get("items");
+            if (items != null) {
+                items.forEach(item -> addEventId(item, eventIds));
+            }
+        } catch (IOException e) {
+            // Некорректное тело отклонит контроллер.
+        }
+        return eventIds;
+    }
+
+    private static void addEventId(JsonNode node, List<Long> eventIds) {
+        JsonNode eventId = node.get("eventId");
+        if (eventId != null && eventId.canConvertToLong()) {
+            eventIds.add(eventId.asLong());
+        }
+    }
+
+    private boolean isAdmitted(Long eventId, String header) {
+        if (header == null) {
+            return false;
+        }
+        for (String token : header.split(",")) {
+            if (waitingRoomService.isAdmitted(eventId, token.trim())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Запрос, тело которого уже прочитано фильтром и отдается повторно из памяти.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    // Тело уже в памяти: все данные доступны сразу.
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return input.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
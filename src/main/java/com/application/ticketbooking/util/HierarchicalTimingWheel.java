@@ -0,0 +1,287 @@
+package com.application.ticketbooking.util;
+
+import lombok.extern.slf4j.Slf4j;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Иерархическое колесо таймеров.
+ * <p>
+ * Время делится на тики длительностью {@code tick}. Колесо состоит из {@value #LEVELS} уровней по
+ * {@value #WHEEL_SIZE} ячеек: нулевой уровень покрывает ближайшие {@value #WHEEL_SIZE} тиков, каждый следующий —
+ * в {@value #WHEEL_SIZE} раз больший интервал. Когда нулевой уровень проходит полный оборот, ячейка следующего
+ * уровня раскладывается по младшему. Добавление и отмена таймера стоят O(1) независимо от числа таймеров,
+ * поэтому колесо подходит для сотен тысяч одновременно живущих сроков действия.
+ * </p>
+ * <p>
+ * Структурой владеет один поток колеса. Добавления и отмены из других потоков передаются ему через
+ * неблокирующие очереди и применяются на ближайшем тике. Задачи истекших таймеров выполняются на
+ * переданном {@link Executor}, чтобы не задерживать ход колеса.
+ * </p>
+ */
+@Slf4j
+public class HierarchicalTimingWheel implements AutoCloseable {
+
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_DELTA = (1L << (WHEEL_BITS * LEVELS)) - 1;
+
+    private final Bucket[][] wheel = new Bucket[LEVELS][WHEEL_SIZE];
+    private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+    private final AtomicLong size = new AtomicLong();
+    private final Executor taskExecutor;
+    private final long tickNanos;
+    private final long startNanos;
+    private final Thread worker;
+    private volatile boolean running = true;
+    private long currentTick;
+
+    /**
+     * @param name имя потока колеса
+     * @param tick длительность одного тика, то есть точность срабатывания таймеров
+     * @param taskExecutor {@link Executor}, на котором выполняются задачи истекших таймеров
+     */
+    public HierarchicalTimingWheel(String name, Duration tick, Executor taskExecutor) {
+        if (tick.isNegative() || tick.isZero()) {
+            throw new IllegalArgumentException("Длительность тика должна быть больше нуля.");
+        }
+        for (Bucket[] level : wheel) {
+            for (int i = 0; i < WHEEL_SIZE; i++) {
+                level[i] = new Bucket();
+            }
+        }
+        this.taskExecutor = taskExecutor;
+        this.tickNanos = tick.toNanos();
+        this.startNanos = System.nanoTime();
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Планирует выполнение задачи через указанное время.
+     * Задержки длиннее горизонта колеса ограничиваются им, после чего таймер перекладывается заново.
+     *
+     * @param task задача
+     * @param delay задержка до выполнения
+     * @return {@link Timeout}, через который таймер можно отменить
+     */
+    public Timeout schedule(Runnable task, Duration delay) {
+        if (!running) {
+            throw new IllegalStateException("Колесо таймеров остановлено.");
+        }
+        long elapsed = System.nanoTime() - startNanos + Math.max(0, delay.toNanos());
+        Timeout timeout = new Timeout(this, task, (elapsed + tickNanos - 1) / tickNanos);
+        size.incrementAndGet();
+        pendingTimeouts.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * @return количество запланированных и еще не сработавших или не отмененных таймеров
+     */
+    public long size() {
+        return size.get();
+    }
+
+    /**
+     * Останавливает поток колеса. Несработавшие таймеры отбрасываются.
+     */
+    @Override
+    public void close() {
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            long deadline = startNanos + currentTick * tickNanos;
+            long sleepNanos;
+            while (running && (sleepNanos = deadline - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(this, sleepNanos);
+            }
+            if (!running) {
+                break;
+            }
+            try {
+                transferTimeouts();
+                removeCancelled();
+                expire(cascade());
+            } catch (RuntimeException e) {
+                log.error("Ошибка при обработке тика {} колеса таймеров.", currentTick, e);
+            }
+            currentTick++;
+        }
+    }
+
+    private void transferTimeouts() {
+        Timeout timeout;
+        while ((timeout = pendingTimeouts.poll()) != null) {
+            if (timeout.state.get() == Timeout.ST_INIT) {
+                place(timeout);
+            }
+        }
+    }
+
+    private void removeCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelledTimeouts.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    /**
+     * Раскладывает ячейки старших уровней, у которых закончился оборот младшего,
+     * и возвращает ячейку нулевого уровня для текущего тика.
+     */
+    private Bucket cascade() {
+        int index = (int) (currentTick & WHEEL_MASK);
+        for (int level = 1; level < LEVELS && index == 0; level++) {
+            index = (int) ((currentTick >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+            Bucket bucket = wheel[level][index];
+            Timeout timeout;
+            while ((timeout = bucket.poll()) != null) {
+                place(timeout);
+            }
+        }
+        return wheel[0][(int) (currentTick & WHEEL_MASK)];
+    }
+
+    private void expire(Bucket bucket) {
+        Timeout timeout;
+        while ((timeout = bucket.poll()) != null) {
+            if (timeout.deadline > currentTick) {
+                // Таймер за горизонтом колеса дошел до его края, перекладываем на оставшееся время.
+                place(timeout);
+            } else if (timeout.state.compareAndSet(Timeout.ST_INIT, Timeout.ST_EXPIRED)) {
+                size.decrementAndGet();
+                try {
+                    taskExecutor.execute(timeout.task);
+                } catch (RejectedExecutionException e) {
+                    log.warn("Задача истекшего таймера отклонена исполнителем.", e);
+                }
+            }
+        }
+    }
+
+    private void place(Timeout timeout) {
+        long expires = Math.max(timeout.deadline, currentTick);
+        long delta = expires - currentTick;
+        if (delta > MAX_DELTA) {
+            delta = MAX_DELTA;
+            expires = currentTick + MAX_DELTA;
+        }
+        int level = 0;
+        while (delta >= 1L << (WHEEL_BITS * (level + 1))) {
+            level++;
+        }
+        wheel[level][(int) ((expires >>> (WHEEL_BITS * level)) & WHEEL_MASK)].add(timeout);
+    }
+
+    /**
+     * Запланированный таймер.
+     */
+    public static final class Timeout {
+
+        private static final int ST_INIT = 0;
+        private static final int ST_CANCELLED = 1;
+        private static final int ST_EXPIRED = 2;
+
+        private final HierarchicalTimingWheel timingWheel;
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(ST_INIT);
+        private Bucket bucket;
+        private Timeout prev;
+        private Timeout next;
+
+        private Timeout(HierarchicalTimingWheel timingWheel, Runnable task, long deadline) {
+            this.timingWheel = timingWheel;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Отменяет таймер, если он еще не сработал.
+         *
+         * @return {@code true}, если таймер отменен этим вызовом
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(ST_INIT, ST_CANCELLED)) {
+                return false;
+            }
+            timingWheel.size.decrementAndGet();
+            timingWheel.cancelledTimeouts.add(this);
+            return true;
+        }
+
+        /**
+         * @return {@code true}, если задача таймера уже передана на выполнение
+         */
+        public boolean isExpired() {
+            return state.get() == ST_EXPIRED;
+        }
+    }
+
+    /**
+     * Ячейка колеса: двусвязный список таймеров с удалением за O(1).
+     */
+    private static final class Bucket {
+
+        private Timeout head;
+        private Timeout tail;
+
+        private void add(Timeout timeout) {
+            timeout.bucket = this;
+            timeout.prev = tail;
+            timeout.next = null;
+            if (tail == null) {
+                head = timeout;
+            } else {
+                tail.next = timeout;
+            }
+            tail = timeout;
+        }
+
+        private void remove(Timeout timeout) {
+            if (timeout.prev == null) {
+                head = timeout.next;
+            } else {
+                timeout.prev.next = timeout.next;
+            }
+            if (timeout.next == null) {
+                tail = timeout.prev;
+            } else {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.bucket = null;
+            timeout.prev = null;
+            timeout.next = null;
+        }
+
+        private Timeout poll() {
+            Timeout timeout = head;
+            if (timeout != null) {
+                remove(timeout);
+            }
+            return timeout;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.application.ticketbooking.util;
+
+import com.application.ticketbooking.dto.CursorPage;
+import com.application.ticketbooking.exception.BadRequestException;
+import org.springframework.data.domain.Limit;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Курсор постраничного обхода по ключу.
+ * <p>
+ * Хранит поле сортировки, значение этого поля и id последнего элемента страницы. Следующая страница
+ * выбирается условием {@code (поле, id) > (значение, id)}, которое использует индекс по {@code (поле, id)},
+ * поэтому любая страница стоит столько же, сколько первая. Для клиента курсор непрозрачен: это
+ * base64url-строка, которую нужно передать обратно без изменений.
+ * </p>
+ *
+ * @param sort поле сортировки
+ * @param value значение поля сортировки последнего элемента страницы
+ * @param id id последнего элемента страницы
+ */
+public record KeysetCursor(String sort, String value, long id) {
+
+    private static final char SEPARATOR = '\n';
+
+    /**
+     * @return курсор в виде строки для передачи клиенту
+     */
+    public String encode() {
+        String raw = sort + SEPARATOR + value + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Читает курсор, полученный от клиента.
+     *
+     * @param cursor строка курсора
+     * @param expectedSort поле сортировки запроса, с которым должен совпадать курсор
+     * @return {@link KeysetCursor}
+     * @throws BadRequestException если курсор поврежден или получен для другой сортировки
+     */
+    public static KeysetCursor decode(String cursor, String expectedSort) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sortEnd = raw.indexOf(SEPARATOR);
+            int valueEnd = raw.lastIndexOf(SEPARATOR);
+            if (sortEnd < 0 || sortEnd == valueEnd) {
+                throw new BadRequestException("Некорректный курсор страницы.");
+            }
+            KeysetCursor keysetCursor = new KeysetCursor(raw.substring(0, sortEnd),
+                    raw.substring(sortEnd + 1, valueEnd), Long.parseLong(raw.substring(valueEnd + 1)));
+            if (!keysetCursor.sort.equals(expectedSort)) {
+                throw new BadRequestException("Курсор страницы получен для другой сортировки.");
+            }
+            return keysetCursor;
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Некорректный курсор страницы.");
+        }
+    }
+
+    /**
+     * Ограничение выборки страницы: на один элемент больше размера страницы, чтобы узнать, есть ли следующая.
+     *
+     * @param size размер страницы
+     * @return {@link Limit} для запроса страницы
+     * @throws BadRequestException если размер страницы меньше единицы
+     */
+    public static Limit limit(int size) {
+        if (size < 1) {
+            throw new BadRequestException("Размер страницы должен быть больше нуля.");
+        }
+        return Limit.of(size + 1);
+    }
+
+    /**
+     * Собирает страницу из выборки, полученной с ограничением {@link #limit(int)}.
+     *
+     * @param rows элементы выборки, упорядоченные по {@code (поле, id)}
+     * @param size размер страницы
+     * @param sort поле сортировки
+     * @param value значение поля сортировки элемента
+     * @param id id элемента
+     * @return {@link CursorPage} с курсором по последнему элементу страницы или без курсора, если страница последняя
+     */
+    public static <T> CursorPage<T> page(List<T> rows, int size, String sort,
+                                         Function<T, Object> value, Function<T, Long> id) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, size, null);
+        }
+        List<T> content = rows.subList(0, size);
+        T last = content.get(size - 1);
+        return new CursorPage<>(content, size, new KeysetCursor(sort, String.valueOf(value.apply(last)), id.apply(last)).encode());
+    }
+}
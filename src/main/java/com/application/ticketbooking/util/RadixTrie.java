@@ -0,0 +1,299 @@
+package com.application.ticketbooking.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Неизменяемое сжатое префиксное дерево (radix trie) с лучшими значениями в каждом узле.
+ * <p>
+ * Ребра дерева помечены строками, а не отдельными символами, поэтому число узлов не превышает удвоенного
+ * числа ключей, а общие префиксы хранятся один раз. Каждый узел хранит до {@code k} лучших по порядку
+ * {@code order} значений своего поддерева, поэтому {@link #top(String)} стоит O(длина префикса)
+ * и не обходит поддерево.
+ * </p>
+ * <p>
+ * Добавление и удаление не изменяют дерево, а возвращают новое, копируя только узлы на пути к ключу
+ * и пересчитывая их лучшие значения. Остальные узлы общие со старым деревом, поэтому дерево можно читать
+ * из любого числа потоков без блокировок, пока одна версия заменяется другой.
+ * </p>
+ *
+ * @param <V> тип значения; значения одного ключа различаются по {@code equals}
+ */
+public final class RadixTrie<V> {
+
+    private final Node<V> root;
+    private final Comparator<V> order;
+    private final int k;
+    private final int size;
+
+    private RadixTrie(Node<V> root, Comparator<V> order, int k, int size) {
+        this.root = root;
+        this.order = order;
+        this.k = k;
+        this.size = size;
+    }
+
+    /**
+     * @param order порядок значений, первые {@code k} из которого возвращает {@link #top(String)}
+     * @param k максимальное количество значений, возвращаемых по префиксу
+     * @return пустое дерево
+     */
+    public static <V> RadixTrie<V> empty(Comparator<V> order, int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("Количество лучших значений должно быть больше нуля.");
+        }
+        return new RadixTrie<>(Node.empty(), order, k, 0);
+    }
+
+    /**
+     * @return количество значений в дереве
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param key ключ
+     * @param value значение
+     * @return дерево с добавленным значением; то же дерево, если значение по ключу уже есть
+     */
+    public RadixTrie<V> plus(String key, V value) {
+        Node<V> updated = insert(root, key, 0, value);
+        return updated == root ? this : new RadixTrie<>(updated, order, k, size + 1);
+    }
+
+    /**
+     * @param key ключ
+     * @param value значение
+     * @return дерево без значения; то же дерево, если значения по ключу нет
+     */
+    public RadixTrie<V> minus(String key, V value) {
+        Node<V> updated = remove(root, key, 0, value);
+        if (updated == root) {
+            return this;
+        }
+        return new RadixTrie<>(updated == null ? Node.empty() : updated, order, k, size - 1);
+    }
+
+    /**
+     * @param prefix префикс ключа
+     * @return до {@code k} лучших значений, ключи которых начинаются с префикса, в порядке {@code order}
+     */
+    public List<V> top(String prefix) {
+        Node<V> node = root;
+        int pos = 0;
+        while (pos < prefix.length()) {
+            int index = node.childIndex(prefix.charAt(pos));
+            if (index < 0) {
+                return List.of();
+            }
+            String label = node.labels[index];
+            int matched = commonPrefix(label, prefix, pos);
+            if (matched < label.length() && pos + matched < prefix.length()) {
+                return List.of();
+            }
+            node = node.children[index];
+            pos += matched;
+        }
+        return List.of(node.top);
+    }
+
+    private Node<V> insert(Node<V> node, String key, int pos, V value) {
+        if (pos == key.length()) {
+            if (Arrays.asList(node.values).contains(value)) {
+                return node;
+            }
+            Object[] values = Arrays.copyOf(node.values, node.values.length + 1);
+            values[node.values.length] = value;
+            return new Node<>(node.labels, node.children, values, withValue(node.top, value));
+        }
+        int index = node.childIndex(key.charAt(pos));
+        if (index < 0) {
+            Node<V> leaf = new Node<>(new String[0], Node.noChildren(), new Object[]{value}, withValue(Node.<V>empty().top, value));
+            return withChild(node, -(index + 1), key.substring(pos), leaf, true, withValue(node.top, value));
+        }
+        String label = node.labels[index];
+        int matched = commonPrefix(label, key, pos);
+        Node<V> child = node.children[index];
+        if (matched < label.length()) {
+            // Ребро расщепляется: общая часть метки ведет в новый промежуточный узел.
+            child = new Node<>(new String[]{label.substring(matched)}, Node.children(child), new Object[0], child.top);
+        }
+        Node<V> updated = insert(child, key, pos + matched, value);
+        if (updated == child && matched == label.length()) {
+            return node;
+        }
+        return withChild(node, index, label.substring(0, matched), updated, false, withValue(node.top, value));
+    }
+
+    private Node<V> remove(Node<V> node, String key, int pos, V value) {
+        if (pos == key.length()) {
+            int valueIndex = Arrays.asList(node.values).indexOf(value);
+            if (valueIndex < 0) {
+                return node;
+            }
+            Object[] values = new Object[node.values.length - 1];
+            System.arraycopy(node.values, 0, values, 0, valueIndex);
+            System.arraycopy(node.values, valueIndex + 1, values, valueIndex, values.length - valueIndex);
+            return values.length == 0 && node.labels.length == 0 ? null : withoutValue(node, node.labels, node.children, values, value);
+        }
+        int index = node.childIndex(key.charAt(pos));
+        if (index < 0 || !key.startsWith(node.labels[index], pos)) {
+            return node;
+        }
+        String label = node.labels[index];
+        Node<V> child = node.children[index];
+        Node<V> updated = remove(child, key, pos + label.length(), value);
+        if (updated == child) {
+            return node;
+        }
+        String[] labels = node.labels.clone();
+        Node<V>[] children = node.children.clone();
+        if (updated == null) {
+            labels = new String[node.labels.length - 1];
+            children = Node.children(labels.length);
+            for (int i = 0, j = 0; i < node.labels.length; i++) {
+                if (i != index) {
+                    labels[j] = node.labels[i];
+                    children[j++] = node.children[i];
+                }
+            }
+            if (labels.length == 0 && node.values.length == 0) {
+                return null;
+            }
+        } else if (updated.values.length == 0 && updated.labels.length == 1) {
+            // Узел без значений с одним потомком сливается с ребром, чтобы дерево оставалось сжатым.
+            labels[index] = label + updated.labels[0];
+            children[index] = updated.children[0];
+        } else {
+            children[index] = updated;
+        }
+        return withoutValue(node, labels, children, node.values, value);
+    }
+
+    private Node<V> withChild(Node<V> node, int index, String label, Node<V> child, boolean insert, V[] top) {
+        int length = node.labels.length + (insert ? 1 : 0);
+        String[] labels = new String[length];
+        Node<V>[] children = Node.children(length);
+        for (int i = 0, j = 0; i < length; i++) {
+            if (i == index) {
+                labels[i] = label;
+                children[i] = child;
+                if (!insert) {
+                    j++;
+                }
+            } else {
+                labels[i] = node.labels[j];
+                children[i] = node.children[j++];
+            }
+        }
+        return new Node<>(labels, children, node.values, top);
+    }
+
+    /**
+     * Лучшие значения узла после удаления значения пересчитываются по потомкам, только если удаленное
+     * значение было среди них.
+     */
+    @SuppressWarnings("unchecked")
+    private Node<V> withoutValue(Node<V> node, String[] labels, Node<V>[] children, Object[] values, V removed) {
+        if (!Arrays.asList(node.top).contains(removed)) {
+            return new Node<>(labels, children, values, node.top);
+        }
+        List<V> candidates = new ArrayList<>();
+        for (Object value : values) {
+            candidates.add((V) value);
+        }
+        for (Node<V> child : children) {
+            candidates.addAll(Arrays.asList(child.top));
+        }
+        candidates.sort(order);
+        return new Node<>(labels, children, values, (V[]) candidates.subList(0, Math.min(k, candidates.size())).toArray());
+    }
+
+    /**
+     * @return лучшие значения из {@code top} и {@code value}
+     */
+    @SuppressWarnings("unchecked")
+    private V[] withValue(V[] top, V value) {
+        int position = 0;
+        while (position < top.length && order.compare(top[position], value) <= 0) {
+            position++;
+        }
+        if (position >= k) {
+            return top;
+        }
+        Object[] merged = new Object[Math.min(k, top.length + 1)];
+        System.arraycopy(top, 0, merged, 0, position);
+        merged[position] = value;
+        System.arraycopy(top, position, merged, position + 1, merged.length - position - 1);
+        return (V[]) merged;
+    }
+
+    private static int commonPrefix(String label, String key, int pos) {
+        int max = Math.min(label.length(), key.length() - pos);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(pos + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Узел дерева. Ребра упорядочены по первому символу метки, у разных ребер узла первые символы различаются.
+     */
+    private static final class Node<V> {
+
+        private final String[] labels;
+        private final Node<V>[] children;
+        private final Object[] values;
+        private final V[] top;
+
+        private Node(String[] labels, Node<V>[] children, Object[] values, V[] top) {
+            this.labels = labels;
+            this.children = children;
+            this.values = values;
+            this.top = top;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <V> Node<V> empty() {
+            return new Node<>(new String[0], noChildren(), new Object[0], (V[]) new Object[0]);
+        }
+
+        private static <V> Node<V>[] noChildren() {
+            return children(0);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <V> Node<V>[] children(int length) {
+            return (Node<V>[]) new Node[length];
+        }
+
+        @SafeVarargs
+        private static <V> Node<V>[] children(Node<V>... children) {
+            return children;
+        }
+
+        /**
+         * @return индекс ребра, метка которого начинается с символа, или {@code -(точка вставки + 1)}
+         */
+        private int childIndex(char c) {
+            int low = 0;
+            int high = labels.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char first = labels[mid].charAt(0);
+                if (first < c) {
+                    low = mid + 1;
+                } else if (first > c) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+    }
+}
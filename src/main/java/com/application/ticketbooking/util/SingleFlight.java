@@ -0,0 +1,71 @@
+package com.application.ticketbooking.util;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Объединение одновременных одинаковых загрузок.
+ * <p>
+ * Первый поток, запросивший ключ, выполняет загрузку сам, а потоки, пришедшие с тем же ключом до ее
+ * завершения, ждут и получают тот же результат или то же исключение. Завершенная загрузка сразу забывается,
+ * поэтому результат не кешируется: следующий вызов после завершения снова выполняет загрузку.
+ * </p>
+ *
+ * @param <K> тип ключа загрузки
+ * @param <V> тип результата загрузки
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Runnable onCollapsed;
+
+    /**
+     * @param onCollapsed вызывается для каждого вызова, присоединившегося к уже выполняющейся загрузке
+     */
+    public SingleFlight(Runnable onCollapsed) {
+        this.onCollapsed = onCollapsed;
+    }
+
+    /**
+     * Выполняет загрузку по ключу или дожидается уже выполняющейся загрузки с тем же ключом.
+     *
+     * @param key ключ загрузки
+     * @param loader загрузка, выполняемая в вызывающем потоке, если по ключу ничего не выполняется
+     * @return результат загрузки
+     */
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            onCollapsed.run();
+            return join(existing);
+        }
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private static <V> V join(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1 @@
+CREATE INDEX idx_events_available_event_date_id ON ticket_booking.events (event_date, id) WHERE available_seats > 0;
@@ -0,0 +1,16 @@
+CREATE TABLE ticket_booking.outbox (
+       id BIGSERIAL PRIMARY KEY,
+       booking_id INTEGER NOT NULL,
+       message TEXT NOT NULL,
+       created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+       processed_at TIMESTAMP
+);
+
+ALTER TABLE IF EXISTS ticket_booking.outbox
+    ADD CONSTRAINT fk_outbox_booking FOREIGN KEY (booking_id) REFERENCES ticket_booking.bookings(id) ON DELETE CASCADE;
+
+CREATE INDEX idx_outbox_pending_id ON ticket_booking.outbox (id) WHERE processed_at IS NULL;
+
+CREATE INDEX idx_outbox_processed_at ON ticket_booking.outbox (processed_at) WHERE processed_at IS NOT NULL;
+
+CREATE INDEX idx_outbox_booking_id ON ticket_booking.outbox (booking_id);
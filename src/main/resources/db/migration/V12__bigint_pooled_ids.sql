@@ -0,0 +1,67 @@
+-- Ключи и ссылки на них расширяются до BIGINT.
+ALTER TABLE ticket_booking.users
+    ALTER COLUMN id TYPE BIGINT;
+
+ALTER TABLE ticket_booking.events
+    ALTER COLUMN id TYPE BIGINT;
+
+ALTER TABLE ticket_booking.bookings
+    ALTER COLUMN id TYPE BIGINT,
+    ALTER COLUMN user_id TYPE BIGINT,
+    ALTER COLUMN event_id TYPE BIGINT;
+
+ALTER TABLE ticket_booking.notifications_log
+    ALTER COLUMN id TYPE BIGINT,
+    ALTER COLUMN booking_id TYPE BIGINT;
+
+ALTER TABLE ticket_booking.seat_holds
+    ALTER COLUMN id TYPE BIGINT,
+    ALTER COLUMN user_id TYPE BIGINT,
+    ALTER COLUMN event_id TYPE BIGINT;
+
+ALTER TABLE ticket_booking.event_seat_stripes
+    ALTER COLUMN event_id TYPE BIGINT;
+
+ALTER TABLE ticket_booking.tickets
+    ALTER COLUMN event_id TYPE BIGINT,
+    ALTER COLUMN booking_id TYPE BIGINT;
+
+ALTER TABLE ticket_booking.seat_leases
+    ALTER COLUMN event_id TYPE BIGINT;
+
+ALTER TABLE ticket_booking.outbox
+    ALTER COLUMN booking_id TYPE BIGINT;
+
+-- Приложение выделяет идентификаторы блоками по 50 (pooled optimizer Hibernate): значение последовательности —
+-- верхняя граница блока из 50 предшествующих ей идентификаторов. Последовательности переводятся так, чтобы
+-- первый блок начинался после всех выданных идентификаторов. Вставка со значением по умолчанию берет
+-- из последовательности один идентификатор, пропуская остаток блока, поэтому не пересекается с блоками приложения.
+ALTER SEQUENCE ticket_booking.users_id_seq AS BIGINT INCREMENT BY 50;
+
+SELECT setval('ticket_booking.users_id_seq', GREATEST(
+    (SELECT COALESCE(MAX(id), 0) FROM ticket_booking.users),
+    (SELECT last_value FROM ticket_booking.users_id_seq)) + 50, false);
+
+ALTER SEQUENCE ticket_booking.events_id_seq AS BIGINT INCREMENT BY 50;
+
+SELECT setval('ticket_booking.events_id_seq', GREATEST(
+    (SELECT COALESCE(MAX(id), 0) FROM ticket_booking.events),
+    (SELECT last_value FROM ticket_booking.events_id_seq)) + 50, false);
+
+ALTER SEQUENCE ticket_booking.bookings_id_seq AS BIGINT INCREMENT BY 50;
+
+SELECT setval('ticket_booking.bookings_id_seq', GREATEST(
+    (SELECT COALESCE(MAX(id), 0) FROM ticket_booking.bookings),
+    (SELECT last_value FROM ticket_booking.bookings_id_seq)) + 50, false);
+
+ALTER SEQUENCE ticket_booking.notifications_log_id_seq AS BIGINT INCREMENT BY 50;
+
+SELECT setval('ticket_booking.notifications_log_id_seq', GREATEST(
+    (SELECT COALESCE(MAX(id), 0) FROM ticket_booking.notifications_log),
+    (SELECT last_value FROM ticket_booking.notifications_log_id_seq)) + 50, false);
+
+ALTER SEQUENCE ticket_booking.seat_holds_id_seq AS BIGINT INCREMENT BY 50;
+
+SELECT setval('ticket_booking.seat_holds_id_seq', GREATEST(
+    (SELECT COALESCE(MAX(id), 0) FROM ticket_booking.seat_holds),
+    (SELECT last_value FROM ticket_booking.seat_holds_id_seq)) + 50, false);
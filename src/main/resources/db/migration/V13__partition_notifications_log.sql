@@ -0,0 +1,44 @@
+-- Логи уведомлений секционируются по месяцам notified_at: секция notifications_log_pГГГГММ содержит логи
+-- с первого числа месяца до первого числа следующего. Будущие секции создает и истекшие удаляет приложение
+-- (NotificationLogPartitions), миграция создает секции для существующих логов и на два месяца вперед.
+ALTER TABLE ticket_booking.notifications_log RENAME TO notifications_log_unpartitioned;
+
+ALTER INDEX ticket_booking.notifications_log_pkey RENAME TO notifications_log_unpartitioned_pkey;
+
+ALTER SEQUENCE ticket_booking.notifications_log_id_seq OWNED BY NONE;
+
+-- Первичный ключ секционированной таблицы должен включать ключ секционирования.
+CREATE TABLE ticket_booking.notifications_log (
+    id BIGINT NOT NULL DEFAULT nextval('ticket_booking.notifications_log_id_seq'),
+    booking_id BIGINT NOT NULL,
+    notification_message TEXT NOT NULL,
+    notified_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT notifications_log_pkey PRIMARY KEY (id, notified_at),
+    CONSTRAINT fk_booking FOREIGN KEY (booking_id) REFERENCES ticket_booking.bookings(id) ON DELETE CASCADE
+) PARTITION BY RANGE (notified_at);
+
+ALTER SEQUENCE ticket_booking.notifications_log_id_seq OWNED BY ticket_booking.notifications_log.id;
+
+-- Удаление бронирования каскадно удаляет его логи без полного чтения секций.
+CREATE INDEX idx_notifications_log_booking_id ON ticket_booking.notifications_log (booking_id);
+
+DO $$
+DECLARE
+    partition_start TIMESTAMP;
+BEGIN
+    FOR partition_start IN
+        SELECT generate_series(
+            date_trunc('month', LEAST((SELECT MIN(notified_at) FROM ticket_booking.notifications_log_unpartitioned), localtimestamp)),
+            date_trunc('month', localtimestamp) + INTERVAL '2 months',
+            INTERVAL '1 month')
+    LOOP
+        EXECUTE format('CREATE TABLE ticket_booking.%I PARTITION OF ticket_booking.notifications_log FOR VALUES FROM (%L) TO (%L)',
+                'notifications_log_p' || to_char(partition_start, 'YYYYMM'), partition_start, partition_start + INTERVAL '1 month');
+    END LOOP;
+END $$;
+
+INSERT INTO ticket_booking.notifications_log (id, booking_id, notification_message, notified_at)
+SELECT id, booking_id, notification_message, COALESCE(notified_at, localtimestamp)
+FROM ticket_booking.notifications_log_unpartitioned;
+
+DROP TABLE ticket_booking.notifications_log_unpartitioned;
@@ -0,0 +1,3 @@
+-- Логи вставляются в порядке времени, поэтому notified_at соседних страниц таблицы близки, и BRIN-индекс
+-- размером в несколько страниц на секцию отсекает все блоки вне интервала времени.
+CREATE INDEX idx_notifications_log_notified_at_brin ON ticket_booking.notifications_log USING brin (notified_at);
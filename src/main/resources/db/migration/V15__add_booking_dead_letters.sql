@@ -0,0 +1,12 @@
+-- Бронирования, принятые в памяти (LEDGER), которые не удалось записать в bookings. Внешних ключей нет:
+-- нарушение ссылки на удаленные пользователя или мероприятие — одна из причин попадания строки сюда.
+CREATE TABLE ticket_booking.booking_dead_letters (
+       id BIGSERIAL PRIMARY KEY,
+       user_id BIGINT NOT NULL,
+       event_id BIGINT NOT NULL,
+       booking_date TIMESTAMP NOT NULL,
+       tickets_count INTEGER NOT NULL,
+       attempts INTEGER NOT NULL,
+       reason TEXT NOT NULL,
+       failed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
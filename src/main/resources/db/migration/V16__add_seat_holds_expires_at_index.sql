@@ -0,0 +1,2 @@
+-- Периодический поиск истекших удержаний читает только истекшие строки.
+CREATE INDEX idx_seat_holds_expires_at ON ticket_booking.seat_holds (expires_at);
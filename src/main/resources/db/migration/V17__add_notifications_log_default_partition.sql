@@ -0,0 +1,4 @@
+-- Логи, для месяца которых еще нет секции, записываются в секцию по умолчанию, а не отклоняются: запись логов
+-- не останавливается, если обслуживание секций не выполнилось вовремя. При создании секции месяца
+-- NotificationLogPartitions переносит в нее логи этого месяца из секции по умолчанию.
+CREATE TABLE ticket_booking.notifications_log_default PARTITION OF ticket_booking.notifications_log DEFAULT;
@@ -0,0 +1,4 @@
+-- Потоковая выдача логов в порядке (notified_at, id) читает индекс секций по порядку вместо сортировки
+-- всего интервала перед выдачей первой строки. BRIN-индекс остается для грубого отбора интервала
+-- в постраничных запросах.
+CREATE INDEX idx_notifications_log_notified_at_id ON ticket_booking.notifications_log (notified_at, id);
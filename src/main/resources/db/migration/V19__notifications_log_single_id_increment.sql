@@ -0,0 +1,4 @@
+-- Логи уведомлений вставляет только OutboxRelay одним INSERT ... SELECT со значением id по умолчанию,
+-- который при шаге 50 пропускал остаток блока на каждой строке. Последовательность возвращается к шагу 1:
+-- следующий идентификатор продолжает последний выданный блок и не пересекается с уже вставленными строками.
+ALTER SEQUENCE ticket_booking.notifications_log_id_seq INCREMENT BY 1;
@@ -0,0 +1,3 @@
+ALTER TABLE ticket_booking.events
+    ADD COLUMN reservation_mode VARCHAR(32),
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
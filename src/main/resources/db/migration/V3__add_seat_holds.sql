@@ -0,0 +1,14 @@
+CREATE TABLE ticket_booking.seat_holds (
+        id SERIAL PRIMARY KEY,
+        user_id INTEGER NOT NULL,
+        event_id INTEGER NOT NULL,
+        tickets_count INTEGER NOT NULL,
+        created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+        expires_at TIMESTAMP NOT NULL
+);
+
+ALTER TABLE IF EXISTS ticket_booking.seat_holds
+    ADD CONSTRAINT fk_seat_hold_user FOREIGN KEY (user_id) REFERENCES ticket_booking.users(id) ON DELETE CASCADE;
+
+ALTER TABLE IF EXISTS ticket_booking.seat_holds
+    ADD CONSTRAINT fk_seat_hold_event FOREIGN KEY (event_id) REFERENCES ticket_booking.events(id) ON DELETE CASCADE;
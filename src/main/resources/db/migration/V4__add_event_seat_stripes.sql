@@ -0,0 +1,12 @@
+ALTER TABLE ticket_booking.events
+    ADD COLUMN seat_stripes INTEGER;
+
+CREATE TABLE ticket_booking.event_seat_stripes (
+        event_id INTEGER NOT NULL,
+        stripe INTEGER NOT NULL,
+        available_seats INTEGER NOT NULL,
+        PRIMARY KEY (event_id, stripe)
+);
+
+ALTER TABLE IF EXISTS ticket_booking.event_seat_stripes
+    ADD CONSTRAINT fk_seat_stripe_event FOREIGN KEY (event_id) REFERENCES ticket_booking.events(id) ON DELETE CASCADE;
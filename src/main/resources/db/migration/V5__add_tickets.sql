@@ -0,0 +1,15 @@
+CREATE TABLE ticket_booking.tickets (
+        id BIGSERIAL PRIMARY KEY,
+        event_id INTEGER NOT NULL,
+        seat_no INTEGER NOT NULL,
+        booking_id INTEGER,
+        UNIQUE (event_id, seat_no)
+);
+
+CREATE INDEX idx_tickets_free ON ticket_booking.tickets (event_id) WHERE booking_id IS NULL;
+
+ALTER TABLE IF EXISTS ticket_booking.tickets
+    ADD CONSTRAINT fk_ticket_event FOREIGN KEY (event_id) REFERENCES ticket_booking.events(id) ON DELETE CASCADE;
+
+ALTER TABLE IF EXISTS ticket_booking.tickets
+    ADD CONSTRAINT fk_ticket_booking FOREIGN KEY (booking_id) REFERENCES ticket_booking.bookings(id) ON DELETE SET NULL;
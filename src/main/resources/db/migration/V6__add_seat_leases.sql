@@ -0,0 +1,18 @@
+CREATE TABLE ticket_booking.seat_leases (
+        id BIGSERIAL PRIMARY KEY,
+        event_id INTEGER NOT NULL,
+        node_id VARCHAR(64) NOT NULL,
+        seats INTEGER NOT NULL,
+        expires_at TIMESTAMP NOT NULL,
+        UNIQUE (event_id, node_id)
+);
+
+CREATE INDEX idx_seat_leases_expires_at ON ticket_booking.seat_leases (expires_at);
+
+ALTER TABLE IF EXISTS ticket_booking.seat_leases
+    ADD CONSTRAINT fk_seat_lease_event FOREIGN KEY (event_id) REFERENCES ticket_booking.events(id) ON DELETE CASCADE;
+
+ALTER TABLE ticket_booking.bookings
+    ADD COLUMN lease_id BIGINT;
+
+CREATE INDEX idx_bookings_lease_id ON ticket_booking.bookings (lease_id) WHERE lease_id IS NOT NULL;
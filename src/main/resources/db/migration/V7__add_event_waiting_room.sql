@@ -0,0 +1,2 @@
+ALTER TABLE ticket_booking.events
+    ADD COLUMN waiting_room BOOLEAN NOT NULL DEFAULT FALSE;
@@ -0,0 +1,3 @@
+CREATE INDEX idx_events_name_id ON ticket_booking.events (name, id);
+
+CREATE INDEX idx_events_event_date_id ON ticket_booking.events (event_date, id);
@@ -0,0 +1,7 @@
+ALTER TABLE ticket_booking.events
+    ADD COLUMN search_vector TSVECTOR GENERATED ALWAYS AS (
+        setweight(to_tsvector('russian', coalesce(name, '')), 'A') ||
+        setweight(to_tsvector('russian', coalesce(description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX idx_events_search_vector ON ticket_booking.events USING GIN (search_vector);
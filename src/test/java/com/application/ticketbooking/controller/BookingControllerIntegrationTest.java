@@ -118,6 +118,10 @@ public class BookingControllerIntegrationTest {
     }
 
     private Long createEvent() throws Exception {
+        return createEvent(false);
+    }
+
+    private Long createEvent(boolean waitingRoom) throws Exception {
         jdbcTemplate.execute("DELETE FROM ticket_booking.events");
 
         Event event = new Event();
@@ -126,6 +130,7 @@ public class BookingControllerIntegrationTest {
         event.setEventDate(LocalDateTime.now().plusDays(5));
         event.setCapacity(100);
         event.setAvailableSeats(100);
+        event.setWaitingRoom(waitingRoom);
 
         String response = mockMvc.perform(post("/events")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -156,6 +161,47 @@ public class BookingControllerIntegrationTest {
                 .andExpect(jsonPath("$.ticketsCount").value(2));
     }
 
+    @Test
+    @DisplayName("Бронирование на мероприятие с очередью ожидания только по пропуску")
+    void bookTickets_WaitingRoom() throws Exception {
+        Long eventId = createEvent(true);
+
+        BookingRequest bookingRequest = new BookingRequest();
+        bookingRequest.setEventId(eventId);
+        bookingRequest.setTicketsCount(2);
+
+        mockMvc.perform(post("/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("Authorization", "Bearer " + jwtTokenUser)
+                        .content(objectMapper.writeValueAsString(bookingRequest)))
+                .andExpect(status().isTooManyRequests());
+
+        String joinResponse = mockMvc.perform(post("/waiting-room/" + eventId))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.position").value(1))
+                .andReturn().getResponse().getContentAsString();
+        String ticket = objectMapper.readTree(joinResponse).get("queueTicket").asText();
+
+        String admissionToken = null;
+        for (int attempt = 0; attempt < 50 && admissionToken == null; attempt++) {
+            Thread.sleep(100);
+            String statusResponse = mockMvc.perform(get("/waiting-room/" + eventId).param("ticket", ticket))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            if (objectMapper.readTree(statusResponse).get("admitted").asBoolean()) {
+                admissionToken = objectMapper.readTree(statusResponse).get("admissionToken").asText();
+            }
+        }
+
+        mockMvc.perform(post("/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("Authorization", "Bearer " + jwtTokenUser)
+                        .header("X-Admission-Token", admissionToken)
+                        .content(objectMapper.writeValueAsString(bookingRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.ticketsCount").value(2));
+    }
+
     @Test
     @DisplayName("Получение списка бронирований")
     void getAllBooking_Success() throws Exception {
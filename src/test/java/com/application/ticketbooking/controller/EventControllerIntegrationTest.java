@@ -111,6 +111,67 @@ public class EventControllerIntegrationTest {
                 .andExpect(jsonPath("$.size").value(10));
     }
 
+    @Test
+    @DisplayName("Поиск мероприятий по названию и описанию с курсором следующей страницы")
+    void searchEvents() throws Exception {
+        eventRepository.save(Event.builder().name("Jazz Festival").description("Open air")
+                .eventDate(LocalDateTime.now()).capacity(100).availableSeats(100).build());
+        eventRepository.save(Event.builder().name("Rock Concert").description("Jazz guests")
+                .eventDate(LocalDateTime.now()).capacity(100).availableSeats(100).build());
+        eventRepository.save(Event.builder().name("Opera").description("Classical")
+                .eventDate(LocalDateTime.now()).capacity(100).availableSeats(100).build());
+
+        String response = mockMvc.perform(get("/events/search?q=jazz&size=1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.events.length()").value(1))
+                .andExpect(jsonPath("$.events[0].name").value("Jazz Festival"))
+                .andReturn().getResponse().getContentAsString();
+        String nextCursor = (String) objectMapper.readValue(response, new TypeReference<Map<String, Object>>() {}).get("nextCursor");
+
+        mockMvc.perform(get("/events/search").param("q", "jazz").param("size", "1").param("after", nextCursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.events[0].name").value("Rock Concert"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Ошибка поиска мероприятий по пустому запросу")
+    void searchEvents_BlankQuery() throws Exception {
+        mockMvc.perform(get("/events/search?q= "))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Получение предстоящих мероприятий интервала дат со свободными местами")
+    void getEventsBetween() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        eventRepository.save(Event.builder().name("Past Event").eventDate(now.minusDays(1)).capacity(10).availableSeats(10).build());
+        eventRepository.save(Event.builder().name("Sold Out Event").eventDate(now.plusDays(1)).capacity(10).availableSeats(0).build());
+        eventRepository.save(Event.builder().name("Upcoming Event").eventDate(now.plusDays(2)).capacity(10).availableSeats(10).build());
+        eventRepository.save(Event.builder().name("Later Event").eventDate(now.plusDays(40)).capacity(10).availableSeats(10).build());
+
+        mockMvc.perform(get("/events?onlyAvailable=true&to=" + now.plusDays(30)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.events.length()").value(1))
+                .andExpect(jsonPath("$.events[0].name").value("Upcoming Event"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Получение нескольких мероприятий по id в порядке запроса")
+    void getEventsByIds() throws Exception {
+        Event first = eventRepository.save(Event.builder().name("First").eventDate(LocalDateTime.now().plusDays(1)).capacity(10).availableSeats(10).build());
+        Event second = eventRepository.save(Event.builder().name("Second").eventDate(LocalDateTime.now().plusDays(2)).capacity(10).availableSeats(10).build());
+
+        mockMvc.perform(post("/events/batch-get")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[" + second.getId() + ",999999," + first.getId() + "]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.events[0].name").value("Second"))
+                .andExpect(jsonPath("$.events[1].name").value("First"))
+                .andExpect(jsonPath("$.missingIds[0]").value(999999));
+    }
+
     @Test
     @DisplayName("Получение мероприятия по ID")
     void getEventById() throws Exception {
@@ -27,6 +27,7 @@ import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -192,4 +193,68 @@ public class NotificationsLogControllerIntegrationTest {
                 .andExpect(jsonPath("$.size").value(2))
                 .andExpect(jsonPath("$.totalElements").value(2));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Получение логов уведомлений за интервал времени")
+    void getAllNotifications_TimeRange_Success() throws Exception {
+        Long eventId = createEvent();
+        Long bookingId = bookTickets(eventId, 2);
+
+        SECONDS.sleep(3);
+
+        LocalDateTime now = LocalDateTime.now();
+        mockMvc.perform(get("/notifications")
+                        .header("Authorization", "Bearer " + jwtTokenAdmin)
+                        .param("from", now.minusHours(1).toString())
+                        .param("to", now.plusHours(1).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.notifications[0].bookingId").value(bookingId.intValue()))
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.totalElementsKind").value("EXACT"));
+
+        mockMvc.perform(get("/notifications")
+                        .header("Authorization", "Bearer " + jwtTokenAdmin)
+                        .param("to", now.minusMonths(2).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.notifications").isEmpty());
+
+        mockMvc.perform(get("/notifications")
+                        .header("Authorization", "Bearer " + jwtTokenAdmin)
+                        .param("from", now.toString())
+                        .param("to", now.minusHours(1).toString()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Потоковая выдача логов уведомлений бронирования в формате NDJSON")
+    void streamNotifications_Success() throws Exception {
+        Long eventId = createEvent();
+        Long bookingId1 = bookTickets(eventId, 2);
+        bookTickets(eventId, 3);
+
+        SECONDS.sleep(3);
+
+        String all = mockMvc.perform(get("/notifications")
+                        .header("Authorization", "Bearer " + jwtTokenAdmin)
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .param("from", LocalDateTime.now().minusHours(1).toString()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        assertEquals(2, all.lines().count());
+
+        String booking = mockMvc.perform(get("/notifications")
+                        .header("Authorization", "Bearer " + jwtTokenAdmin)
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .param("bookingId", bookingId1.toString()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        Map<String, Object> line = objectMapper.readValue(booking.trim(), new TypeReference<>() {});
+        assertEquals(bookingId1.intValue(), line.get("bookingId"));
+
+        mockMvc.perform(get("/notifications")
+                        .header("Authorization", "Bearer " + jwtTokenUser)
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isForbidden());
+    }
+}
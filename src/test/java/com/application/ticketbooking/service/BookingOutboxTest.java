@@ -0,0 +1,50 @@
+package com.application.ticketbooking.service;
+
+import com.application.ticketbooking.entity.Booking;
+import com.application.ticketbooking.repository.OutboxRepository;
+import com.application.ticketbooking.repository.OutboxRepository.Message;
+import com.application.ticketbooking.service.Impl.BookingOutbox;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+@DisplayName("Тестирование записи уведомлений в outbox BookingOutbox")
+public class BookingOutboxTest {
+
+    private OutboxRepository outboxRepository;
+    private BookingOutbox bookingOutbox;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository = mock(OutboxRepository.class);
+        bookingOutbox = new BookingOutbox(outboxRepository);
+    }
+
+    @Test
+    @DisplayName("На каждое бронирование записывается свое уведомление одним пакетом")
+    void testAppendAll() {
+        bookingOutbox.appendAll(List.of(booking(1L), booking(2L)));
+
+        verify(outboxRepository).append(List.of(
+                new Message(1L, "Уведомление отправлено"),
+                new Message(2L, "Уведомление отправлено")));
+    }
+
+    @Test
+    @DisplayName("На корзину записывается одно уведомление, привязанное к первому бронированию")
+    void testAppendCart() {
+        bookingOutbox.appendCart(List.of(booking(3L), booking(4L)));
+
+        verify(outboxRepository).append(List.of(
+                new Message(3L, "Уведомление отправлено по заказу из 2 бронирований: 3, 4")));
+    }
+
+    private static Booking booking(Long id) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        return booking;
+    }
+}
@@ -0,0 +1,156 @@
+package com.application.ticketbooking.service;
+
+import com.application.ticketbooking.dto.BookingRequest;
+import com.application.ticketbooking.entity.Booking;
+import com.application.ticketbooking.entity.Event;
+import com.application.ticketbooking.entity.User;
+import com.application.ticketbooking.exception.BadRequestException;
+import com.application.ticketbooking.exception.EntityNotFoundException;
+import com.application.ticketbooking.exception.ServiceUnavailableException;
+import com.application.ticketbooking.repository.BookingJdbcRepository;
+import com.application.ticketbooking.repository.EventRepository;
+import com.application.ticketbooking.service.Impl.BookingOutbox;
+import com.application.ticketbooking.service.Impl.BookingPipeline;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Тестирование конвейера групповой фиксации BookingPipeline")
+@ExtendWith(MockitoExtension.class)
+public class BookingPipelineTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private BookingJdbcRepository bookingJdbcRepository;
+
+    @Mock
+    private BookingOutbox bookingOutbox;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private BookingPipeline bookingPipeline;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        bookingPipeline = new BookingPipeline(eventRepository, bookingJdbcRepository, bookingOutbox, transactionManager,
+                meterRegistry, Duration.ofSeconds(10), 3, 1, Duration.ofSeconds(30), Duration.ofSeconds(10));
+        user = new User();
+        user.setId(1L);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        bookingPipeline.shutdown();
+    }
+
+    @Test
+    @DisplayName("Пакет записывается одной транзакцией, каждый запрос получает свой результат")
+    @SuppressWarnings("unchecked")
+    void testBatchIsCommittedTogether() throws Exception {
+        Event event = new Event();
+        event.setId(1L);
+        event.setAvailableSeats(5);
+        when(eventRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(event));
+
+        CompletableFuture<Booking> first = bookingPipeline.submit(user, new BookingRequest(1L, 2));
+        CompletableFuture<Booking> second = bookingPipeline.submit(user, new BookingRequest(1L, 4));
+        CompletableFuture<Booking> third = bookingPipeline.submit(user, new BookingRequest(1L, 3));
+
+        assertEquals(2, first.get().getTicketsCount());
+        assertEquals(3, third.get().getTicketsCount());
+        ExecutionException exception = assertThrows(ExecutionException.class, second::get);
+        assertInstanceOf(BadRequestException.class, exception.getCause());
+
+        ArgumentCaptor<List<Booking>> captor = ArgumentCaptor.forClass(List.class);
+        verify(bookingJdbcRepository, times(1)).batchInsert(captor.capture());
+        assertEquals(2, captor.getValue().size());
+        verify(bookingOutbox, times(1)).appendAll(captor.getValue());
+        assertEquals(0, event.getAvailableSeats());
+        verify(eventRepository, times(1)).findByIdForUpdate(1L);
+        assertEquals(3.0, meterRegistry.get("booking.pipeline.batch.size").summary().totalAmount());
+    }
+
+    @Test
+    @DisplayName("Запросы на несуществующее мероприятие завершаются ошибкой")
+    void testEventNotFound() {
+        when(eventRepository.findByIdForUpdate(2L)).thenReturn(Optional.empty());
+
+        List<CompletableFuture<Booking>> futures = List.of(
+                bookingPipeline.submit(user, new BookingRequest(2L, 1)),
+                bookingPipeline.submit(user, new BookingRequest(2L, 1)),
+                bookingPipeline.submit(user, new BookingRequest(2L, 1)));
+
+        for (CompletableFuture<Booking> future : futures) {
+            ExecutionException exception = assertThrows(ExecutionException.class, future::get);
+            assertInstanceOf(EntityNotFoundException.class, exception.getCause());
+        }
+    }
+
+    @Test
+    @DisplayName("Запрос, не попавший в пакет за booking.pipeline.timeout, завершается ошибкой и не записывается")
+    void testTimedOutRequestIsNotCommitted() throws InterruptedException {
+        BookingPipeline pipeline = new BookingPipeline(eventRepository, bookingJdbcRepository, bookingOutbox, transactionManager,
+                meterRegistry, Duration.ofMinutes(1), 3, 1, Duration.ofMillis(100), Duration.ofSeconds(10));
+
+        CompletableFuture<Booking> future = pipeline.submit(user, new BookingRequest(1L, 1));
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, exception.getCause());
+        pipeline.shutdown();
+        verify(eventRepository, never()).findByIdForUpdate(any());
+        verify(bookingJdbcRepository, never()).batchInsert(any());
+    }
+
+    @Test
+    @DisplayName("Запросы, не обработанные при остановке, завершаются ServiceUnavailableException")
+    void testShutdownFailsQueuedRequests() throws InterruptedException {
+        BookingPipeline pipeline = new BookingPipeline(eventRepository, bookingJdbcRepository, bookingOutbox, transactionManager,
+                meterRegistry, Duration.ofMinutes(1), 1, 1, Duration.ofMinutes(1), Duration.ofMillis(200));
+        CountDownLatch processing = new CountDownLatch(1);
+        when(eventRepository.findByIdForUpdate(1L)).thenAnswer(invocation -> {
+            processing.countDown();
+            new CountDownLatch(1).await();
+            return Optional.empty();
+        });
+
+        CompletableFuture<Booking> inFlight = pipeline.submit(user, new BookingRequest(1L, 1));
+        assertTrue(processing.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Booking> queued = pipeline.submit(user, new BookingRequest(2L, 1));
+        pipeline.shutdown();
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> queued.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ServiceUnavailableException.class, exception.getCause());
+        assertThrows(ExecutionException.class, () -> inFlight.get(5, TimeUnit.SECONDS));
+        assertThrows(ServiceUnavailableException.class, () -> pipeline.submit(user, new BookingRequest(1L, 1)));
+    }
+}
@@ -0,0 +1,106 @@
+package com.application.ticketbooking.service;
+
+import com.application.ticketbooking.dto.BookingRequestStatusResponse;
+import com.application.ticketbooking.dto.BookingRequestStatusResponse.Status;
+import com.application.ticketbooking.dto.BookingResponse;
+import com.application.ticketbooking.exception.BadRequestException;
+import com.application.ticketbooking.exception.EntityNotFoundException;
+import com.application.ticketbooking.exception.ServiceUnavailableException;
+import com.application.ticketbooking.service.Impl.BookingRequestQueue;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("Тестирование работы очереди асинхронных запросов на бронирование BookingRequestQueue")
+public class BookingRequestQueueTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private BookingRequestQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        queue = new BookingRequestQueue(meterRegistry, 1, 1, Duration.ZERO);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        queue.shutdown();
+    }
+
+    @Test
+    @DisplayName("Результат обработанного запроса доступен только его пользователю")
+    void testSubmit_Completed() throws Exception {
+        BookingResponse bookingResponse = new BookingResponse(10L, 1L, 1L, null, 2, "Бронирование успешно выполнено.");
+
+        BookingRequestStatusResponse accepted = queue.submit(1L, () -> bookingResponse);
+        BookingRequestStatusResponse result = queue.awaitResult(accepted.getRequestId(), 1L).get(5, TimeUnit.SECONDS);
+
+        assertEquals(Status.COMPLETED, result.getStatus());
+        assertEquals(10L, result.getBooking().getId());
+        assertEquals(result, queue.getStatus(accepted.getRequestId(), 1L));
+        assertThrows(EntityNotFoundException.class, () -> queue.getStatus(accepted.getRequestId(), 2L));
+    }
+
+    @Test
+    @DisplayName("Отказ в бронировании сохраняется как результат запроса")
+    void testSubmit_Rejected() throws Exception {
+        BookingRequestStatusResponse accepted = queue.submit(1L, () -> {
+            throw new BadRequestException("Недостаточно мест на мероприятии");
+        });
+        BookingRequestStatusResponse result = queue.awaitResult(accepted.getRequestId(), 1L).get(5, TimeUnit.SECONDS);
+
+        assertEquals(Status.REJECTED, result.getStatus());
+        assertNull(result.getBooking());
+        assertEquals("Недостаточно мест на мероприятии", result.getMessage());
+    }
+
+    @Test
+    @DisplayName("Переполненная очередь сразу отклоняет запрос")
+    void testSubmit_Overflow() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BookingRequestStatusResponse processing = queue.submit(1L, () -> {
+            started.countDown();
+            await(release);
+            return new BookingResponse();
+        });
+        started.await(5, TimeUnit.SECONDS);
+        BookingRequestStatusResponse queued = queue.submit(1L, BookingResponse::new);
+
+        assertThrows(ServiceUnavailableException.class, () -> queue.submit(1L, BookingResponse::new));
+        assertEquals(Status.PENDING, queue.getStatus(queued.getRequestId(), 1L).getStatus());
+        assertEquals(1, meterRegistry.get("booking.async.rejected").counter().count());
+
+        release.countDown();
+        assertEquals(Status.COMPLETED, queue.awaitResult(processing.getRequestId(), 1L).get(5, TimeUnit.SECONDS).getStatus());
+        assertEquals(Status.COMPLETED, queue.awaitResult(queued.getRequestId(), 1L).get(5, TimeUnit.SECONDS).getStatus());
+    }
+
+    @Test
+    @DisplayName("Результаты обработанных запросов удаляются по истечении срока хранения")
+    void testEvictCompleted() throws Exception {
+        BookingRequestStatusResponse accepted = queue.submit(1L, BookingResponse::new);
+        queue.awaitResult(accepted.getRequestId(), 1L).get(5, TimeUnit.SECONDS);
+
+        queue.evictCompleted();
+
+        assertThrows(EntityNotFoundException.class, () -> queue.getStatus(accepted.getRequestId(), 1L));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,7 +1,13 @@
 package com.application.ticketbooking.service;
 
 import com.application.ticketbooking.dto.BookingRequest;
+import com.application.ticketbooking.dto.BookingRequestStatusResponse;
 import com.application.ticketbooking.dto.BookingResponse;
+import com.application.ticketbooking.dto.CartRequest;
+import com.application.ticketbooking.dto.CartResponse;
+import com.application.ticketbooking.dto.CountMode;
+import com.application.ticketbooking.dto.CountedPage;
+import com.application.ticketbooking.dto.CursorPage;
 import com.application.ticketbooking.entity.Booking;
 import com.application.ticketbooking.entity.Event;
 import com.application.ticketbooking.entity.User;
@@ -9,29 +15,48 @@ import com.application.ticketbooking.exception.BadRequestException;
 import com.application.ticketbooking.exception.EntityNotFoundException;
 import com.application.ticketbooking.repository.BookingRepository;
 import com.application.ticketbooking.repository.EventRepository;
+import com.application.ticketbooking.repository.TableStatisticsRepository;
+import com.application.ticketbooking.service.Impl.BookingOutbox;
+import com.application.ticketbooking.service.Impl.BookingRequestQueue;
 import com.application.ticketbooking.service.Impl.BookingServiceImpl;
-import com.application.ticketbooking.service.Impl.NotificationLogServiceImpl;
+import com.application.ticketbooking.service.Impl.CartReservation;
+import com.application.ticketbooking.service.Impl.CountProvider;
+import com.application.ticketbooking.service.Impl.SeatReservationStrategyResolver;
+import com.application.ticketbooking.service.Impl.SerializableSeatReservationStrategy;
+import com.application.ticketbooking.util.KeysetCursor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.modelmapper.ModelMapper;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.TreeMap;
+import java.util.function.Supplier;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -50,9 +75,25 @@ public class BookingServiceImplTest {
     private ModelMapper modelMapper;
 
     @Mock
-    private NotificationLogServiceImpl notificationLogService;
+    private BookingOutbox bookingOutbox;
+
+    @Mock
+    private SeatReservationStrategyResolver strategyResolver;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private CartReservation cartReservation;
+
+    @Mock
+    private BookingRequestQueue bookingRequestQueue;
+
+    @Mock
+    private TableStatisticsRepository tableStatisticsRepository;
+
+    private SimpleMeterRegistry meterRegistry;
 
-    @InjectMocks
     private BookingServiceImpl bookingService;
 
     private BookingRequest bookingRequest;
@@ -63,6 +104,14 @@ public class BookingServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        SerializableSeatReservationStrategy strategy =
+                new SerializableSeatReservationStrategy(eventRepository, bookingRepository, bookingOutbox, transactionManager);
+        when(strategyResolver.resolve(1L)).thenReturn(strategy);
+        bookingService = new BookingServiceImpl(bookingRepository, modelMapper, strategyResolver, meterRegistry, cartReservation, bookingRequestQueue,
+                new CountProvider(tableStatisticsRepository, meterRegistry, CountMode.CACHED, Duration.ofMinutes(1)));
+        ReflectionTestUtils.setField(bookingService, "maxCartItems", 20);
+
         user = new User();
         user.setId(1L);
 
@@ -109,7 +158,8 @@ public class BookingServiceImplTest {
         assertEquals("Бронирование успешно выполнено.", result.getMessage());
         verify(eventRepository, times(1)).findById(1L);
         verify(bookingRepository, times(1)).saveAndFlush(any(Booking.class));
-        verify(notificationLogService, times(1)).setNotificationLog(bookingResponse);
+        verify(bookingOutbox, times(1)).append(booking);
+        assertEquals(1, meterRegistry.get("booking.reservation").tag("outcome", "success").timer().count());
     }
 
     @Test
@@ -125,6 +175,20 @@ public class BookingServiceImplTest {
 
         assertEquals("Недостаточно мест на мероприятии", exception.getMessage());
         verify(eventRepository, times(1)).findById(1L);
+        assertEquals(1, meterRegistry.get("booking.reservation").tag("outcome", "rejected").timer().count());
+    }
+
+    @Test
+    @DisplayName("Ошибка бронирования неположительного количества билетов")
+    void testBookingTickets_NonPositiveTicketsCount() {
+        bookingRequest.setTicketsCount(0);
+
+        BadRequestException exception = assertThrows(BadRequestException.class, () -> {
+            bookingService.bookingTickets(bookingRequest);
+        });
+
+        assertEquals("Количество билетов должно быть больше нуля.", exception.getMessage());
+        verify(eventRepository, never()).findById(any());
     }
 
     @Test
@@ -140,15 +204,133 @@ public class BookingServiceImplTest {
         verify(eventRepository, times(1)).findById(1L);
     }
 
+    @Test
+    @DisplayName("Асинхронное бронирование выполняется потоком очереди от имени пользователя запроса")
+    void testSubmitBooking_Success() {
+        BookingRequestStatusResponse accepted = new BookingRequestStatusResponse();
+        accepted.setStatus(BookingRequestStatusResponse.Status.PENDING);
+        when(bookingRequestQueue.submit(eq(1L), any())).thenReturn(accepted);
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(event));
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenReturn(booking);
+        when(modelMapper.map(any(Booking.class), eq(BookingResponse.class))).thenReturn(bookingResponse);
+
+        BookingRequestStatusResponse result = bookingService.submitBooking(bookingRequest);
+
+        assertEquals(BookingRequestStatusResponse.Status.PENDING, result.getStatus());
+        verify(bookingRepository, never()).saveAndFlush(any());
+        ArgumentCaptor<Supplier<BookingResponse>> task = ArgumentCaptor.forClass(Supplier.class);
+        verify(bookingRequestQueue).submit(eq(1L), task.capture());
+
+        SecurityContextHolder.clearContext();
+        BookingResponse bookingResult = task.getValue().get();
+
+        assertEquals("Бронирование успешно выполнено.", bookingResult.getMessage());
+        verify(bookingRepository, times(1)).saveAndFlush(any(Booking.class));
+        verify(bookingOutbox, times(1)).append(booking);
+    }
+
+    @Test
+    @DisplayName("Некорректный запрос не ставится в очередь асинхронного бронирования")
+    void testSubmitBooking_NonPositiveTicketsCount() {
+        bookingRequest.setTicketsCount(0);
+
+        assertThrows(BadRequestException.class, () -> bookingService.submitBooking(bookingRequest));
+
+        verify(bookingRequestQueue, never()).submit(any(), any());
+    }
+
+    @Test
+    @DisplayName("Успешное оформление корзины из нескольких мероприятий")
+    void testCheckoutCart_Success() {
+        SerializableSeatReservationStrategy strategy =
+                new SerializableSeatReservationStrategy(eventRepository, bookingRepository, bookingOutbox, transactionManager);
+        when(strategyResolver.resolve(2L)).thenReturn(strategy);
+        Booking secondBooking = new Booking();
+        when(cartReservation.reserve(eq(user), any())).thenReturn(List.of(booking, secondBooking));
+        when(modelMapper.map(any(Booking.class), eq(BookingResponse.class))).thenReturn(bookingResponse);
+
+        CartResponse result = bookingService.checkoutCart(new CartRequest(List.of(
+                new BookingRequest(2L, 1), new BookingRequest(1L, 2), new BookingRequest(2L, 3))));
+
+        assertEquals(2, result.getBookings().size());
+        assertEquals("Заказ успешно оформлен.", result.getMessage());
+        TreeMap<Long, Integer> expected = new TreeMap<>();
+        expected.put(1L, 2);
+        expected.put(2L, 4);
+        verify(cartReservation, times(1)).reserve(user, expected);
+        assertEquals(1, meterRegistry.get("booking.cart").tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    @DisplayName("Ошибка оформления пустой корзины")
+    void testCheckoutCart_Empty() {
+        BadRequestException exception = assertThrows(BadRequestException.class, () -> {
+            bookingService.checkoutCart(new CartRequest(List.of()));
+        });
+
+        assertEquals("Корзина пуста.", exception.getMessage());
+        verify(cartReservation, never()).reserve(any(), any());
+    }
+
+    @Test
+    @DisplayName("Ошибка оформления корзины с мероприятием, места которого хранятся не в счетчике мероприятия")
+    void testCheckoutCart_UnsupportedMode() {
+        SeatReservationStrategy striped = mock(SeatReservationStrategy.class);
+        when(striped.usesEventSeatCounter()).thenReturn(false);
+        when(strategyResolver.resolve(2L)).thenReturn(striped);
+
+        BadRequestException exception = assertThrows(BadRequestException.class, () -> {
+            bookingService.checkoutCart(new CartRequest(List.of(new BookingRequest(1L, 1), new BookingRequest(2L, 1))));
+        });
+
+        assertEquals("Мероприятие с id = 2 нельзя бронировать в корзине.", exception.getMessage());
+        verify(cartReservation, never()).reserve(any(), any());
+    }
+
     @Test
     @DisplayName("Успешное выполнение получения всех бронирований")
     void testGetAllBookings() {
-        Page<Booking> bookingsPage = mock(Page.class);
-        when(bookingRepository.findAll(PageRequest.of(0, 10))).thenReturn(bookingsPage);
+        Slice<Booking> bookingsPage = new SliceImpl<>(Collections.nCopies(10, booking), PageRequest.of(0, 10), true);
+        when(bookingRepository.findAllBy(PageRequest.of(0, 10))).thenReturn(bookingsPage);
+        when(bookingRepository.count()).thenReturn(25L);
 
-        Page<Booking> result = bookingService.getAllBookings(0, 10);
+        CountedPage<Booking> result = bookingService.getAllBookings(0, 10, CountMode.EXACT);
 
         assertNotNull(result);
-        verify(bookingRepository, times(1)).findAll(PageRequest.of(0, 10));
+        assertEquals(25L, result.getTotalElements());
+        assertEquals(CountMode.EXACT, result.getTotalElementsKind());
+        verify(bookingRepository, times(1)).findAllBy(PageRequest.of(0, 10));
+    }
+
+    @Test
+    @DisplayName("Оценка количества бронирований без статистики планировщика заменяется точным количеством из памяти")
+    void testGetAllBookings_EstimateUnavailable() {
+        Slice<Booking> bookingsPage = new SliceImpl<>(Collections.nCopies(10, booking), PageRequest.of(1, 10), true);
+        when(bookingRepository.findAllBy(PageRequest.of(1, 10))).thenReturn(bookingsPage);
+        when(bookingRepository.count()).thenReturn(25L);
+        when(tableStatisticsRepository.estimateRowCount("ticket_booking.bookings")).thenReturn(OptionalLong.empty());
+
+        CountedPage<Booking> result = bookingService.getAllBookings(1, 10, CountMode.ESTIMATED);
+        bookingService.getAllBookings(1, 10, CountMode.CACHED);
+
+        assertEquals(25L, result.getTotalElements());
+        assertEquals(CountMode.CACHED, result.getTotalElementsKind());
+        verify(bookingRepository, times(1)).count();
+    }
+
+    @Test
+    @DisplayName("Успешное получение бронирований по курсору без подсчета общего количества")
+    void testGetBookingsAfter() {
+        Booking first = new Booking();
+        first.setId(11L);
+        Booking second = new Booking();
+        second.setId(12L);
+        when(bookingRepository.findByIdGreaterThanOrderByIdAsc(10L, Limit.of(2))).thenReturn(List.of(first, second));
+
+        CursorPage<Booking> result = bookingService.getBookingsAfter(new KeysetCursor("id", "10", 10L).encode(), 1);
+
+        assertEquals(List.of(first), result.getContent());
+        assertEquals(11L, KeysetCursor.decode(result.getNextCursor(), "id").id());
+        verify(bookingRepository, never()).count();
     }
 }
@@ -0,0 +1,150 @@
+package com.application.ticketbooking.service;
+
+import com.application.ticketbooking.entity.Booking;
+import com.application.ticketbooking.entity.Event;
+import com.application.ticketbooking.entity.User;
+import com.application.ticketbooking.repository.BookingDeadLetterRepository;
+import com.application.ticketbooking.repository.BookingJdbcRepository;
+import com.application.ticketbooking.repository.EventRepository;
+import com.application.ticketbooking.service.Impl.BookingOutbox;
+import com.application.ticketbooking.service.Impl.BookingWriteBehindQueue;
+import com.application.ticketbooking.service.Impl.SeatInventory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Тестирование очереди отложенной записи бронирований BookingWriteBehindQueue")
+public class BookingWriteBehindQueueTest {
+
+    private static final int MAX_ATTEMPTS = 2;
+
+    private BookingJdbcRepository bookingJdbcRepository;
+    private BookingDeadLetterRepository deadLetterRepository;
+    private EventRepository eventRepository;
+    private SeatInventory seatInventory;
+    private SimpleMeterRegistry meterRegistry;
+    private BookingWriteBehindQueue writeBehindQueue;
+
+    @BeforeEach
+    void setUp() {
+        bookingJdbcRepository = mock(BookingJdbcRepository.class);
+        deadLetterRepository = mock(BookingDeadLetterRepository.class);
+        eventRepository = mock(EventRepository.class);
+        seatInventory = mock(SeatInventory.class);
+        meterRegistry = new SimpleMeterRegistry();
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        when(eventRepository.decrementAvailableSeats(anyLong(), anyInt())).thenReturn(1);
+        writeBehindQueue = new BookingWriteBehindQueue(bookingJdbcRepository, deadLetterRepository, eventRepository,
+                mock(BookingOutbox.class), seatInventory, transactionManager, meterRegistry,
+                100, 10, MAX_ATTEMPTS);
+    }
+
+    @Test
+    @DisplayName("Строка с постоянной ошибкой переносится в booking_dead_letters, остальные сохраняются")
+    void testFlush_PoisonRowDeadLettered() {
+        Booking good = booking(1L, 2);
+        Booking poison = booking(2L, 3);
+        doThrow(new DataIntegrityViolationException("fk_user"))
+                .when(bookingJdbcRepository).batchInsert(argThat(bookings -> bookings.contains(poison)));
+        writeBehindQueue.offer(good);
+        writeBehindQueue.offer(poison);
+
+        writeBehindQueue.flush();
+        verify(bookingJdbcRepository).batchInsert(List.of(good));
+        verify(deadLetterRepository, never()).insert(any(), anyInt(), anyString());
+
+        Booking next = booking(1L, 1);
+        writeBehindQueue.offer(next);
+        writeBehindQueue.flush();
+
+        verify(deadLetterRepository).insert(eq(poison), eq(MAX_ATTEMPTS), anyString());
+        verify(seatInventory).release(2L, 3);
+        verify(seatInventory, never()).release(1L, 2);
+        verify(bookingJdbcRepository).batchInsert(List.of(next));
+        assertEquals(1.0, meterRegistry.get("booking.inventory.write-behind.dead-letters").counter().count());
+    }
+
+    @Test
+    @DisplayName("Бронирование, на которое в базе данных не хватает мест, не уменьшает места ниже нуля")
+    void testFlush_NotEnoughSeatsInDatabase() {
+        Booking good = booking(1L, 2);
+        Booking oversold = booking(2L, 3);
+        when(eventRepository.decrementAvailableSeats(2L, 3)).thenReturn(0);
+        writeBehindQueue.offer(good);
+        writeBehindQueue.offer(oversold);
+
+        writeBehindQueue.flush();
+
+        verify(bookingJdbcRepository).batchInsert(List.of(good));
+        verify(bookingJdbcRepository, never()).batchInsert(argThat(bookings -> bookings.contains(oversold)));
+        verify(deadLetterRepository).insert(eq(oversold), eq(1), anyString());
+        verify(seatInventory).release(2L, 3);
+    }
+
+    @Test
+    @DisplayName("При недоступной базе данных бронирования не теряются, а новые пакеты не выбираются")
+    void testFlush_DatabaseUnavailable() {
+        Booking first = booking(1L, 1);
+        Booking second = booking(1L, 2);
+        AtomicBoolean databaseUp = new AtomicBoolean(false);
+        doAnswer(invocation -> {
+            if (!databaseUp.get()) {
+                throw new DataAccessResourceFailureException("connection refused");
+            }
+            return null;
+        }).when(bookingJdbcRepository).batchInsert(any());
+        doThrow(new DataAccessResourceFailureException("connection refused"))
+                .when(deadLetterRepository).insert(any(), anyInt(), anyString());
+        writeBehindQueue.offer(first);
+
+        writeBehindQueue.flush();
+        writeBehindQueue.offer(second);
+        writeBehindQueue.flush();
+        writeBehindQueue.flush();
+
+        verify(bookingJdbcRepository, never()).batchInsert(List.of(second));
+        verify(seatInventory, never()).release(anyLong(), anyInt());
+
+        databaseUp.set(true);
+        writeBehindQueue.flush();
+
+        verify(bookingJdbcRepository).batchInsert(List.of(second));
+        verify(seatInventory, never()).release(anyLong(), anyInt());
+        assertEquals(0.0, meterRegistry.get("booking.inventory.write-behind.dead-letters").counter().count());
+    }
+
+    private static Booking booking(long eventId, int ticketsCount) {
+        User user = new User();
+        user.setId(1L);
+        Event event = new Event();
+        event.setId(eventId);
+        Booking booking = new Booking();
+        booking.setUser(user);
+        booking.setEvent(event);
+        booking.setTicketsCount(ticketsCount);
+        booking.setBookingDate(LocalDateTime.now());
+        return booking;
+    }
+}
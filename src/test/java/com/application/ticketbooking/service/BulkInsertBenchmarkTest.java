@@ -0,0 +1,168 @@
+package com.application.ticketbooking.service;
+
+import com.application.ticketbooking.entity.Booking;
+import com.application.ticketbooking.entity.Event;
+import com.application.ticketbooking.entity.ReservationMode;
+import com.application.ticketbooking.entity.User;
+import com.application.ticketbooking.repository.BookingRepository;
+import com.application.ticketbooking.repository.EventRepository;
+import com.application.ticketbooking.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Сравнение массовой вставки {@code bookings} и {@code notifications_log} до и после перехода
+ * с {@code IDENTITY}-ключей на последовательности с выделением блоками.
+ * <p>
+ * «До» воспроизводит то, что Hibernate выполняет для {@code IDENTITY}-ключа: отдельный
+ * {@code INSERT ... RETURNING id} на каждую строку. «После» для {@code bookings} — {@code saveAll} сущностей
+ * в одной транзакции: идентификаторы берутся из блока без обращения к базе данных, а вставки уходят JDBC batch.
+ * «После» для {@code notifications_log} — один {@code INSERT ... SELECT} со значением id по умолчанию,
+ * которым логи уведомлений записывает {@code OutboxRelay}.
+ * Запускается только в профиле {@code benchmark}: {@code mvn test -Pbenchmark}.
+ * </p>
+ */
+@Slf4j
+@SpringBootTest
+@Testcontainers
+@ActiveProfiles("test")
+@Tag("benchmark")
+@DisplayName("Нагрузочное сравнение массовой вставки с IDENTITY- и последовательными ключами")
+public class BulkInsertBenchmarkTest {
+
+    private static final String INSERT_BOOKING_SQL =
+            "INSERT INTO ticket_booking.bookings (user_id, event_id, booking_date, tickets_count) VALUES (?, ?, ?, ?) RETURNING id";
+
+    private static final String INSERT_NOTIFICATION_SQL =
+            "INSERT INTO ticket_booking.notifications_log (booking_id, notification_message, notified_at) VALUES (?, ?, ?) RETURNING id";
+
+    private static final String INSERT_NOTIFICATIONS_SELECT_SQL =
+            "INSERT INTO ticket_booking.notifications_log (booking_id, notification_message, notified_at) " +
+            "SELECT id, ?, now() FROM ticket_booking.bookings WHERE id = ANY (?)";
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.flyway.url", postgres::getJdbcUrl);
+        registry.add("spring.flyway.user", postgres::getUsername);
+        registry.add("spring.flyway.password", postgres::getPassword);
+        registry.add("spring.flyway.enabled", () -> true);
+    }
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private User user;
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        user = userRepository.findByUsername("benchmarkUser").orElseGet(() ->
+                userRepository.save(new User(null, "benchmarkUser", "password", "ROLE_USER", true)));
+        event = new Event();
+        event.setName("Bulk insert");
+        event.setEventDate(LocalDateTime.now().plusDays(30));
+        event.setCapacity(1_000_000);
+        event.setAvailableSeats(1_000_000);
+        event.setReservationMode(ReservationMode.PESSIMISTIC);
+        event = eventRepository.saveAndFlush(event);
+    }
+
+    @ParameterizedTest(name = "{0} строк")
+    @ValueSource(ints = {1_000, 10_000})
+    @DisplayName("Построчная вставка с IDENTITY против пакетной вставки с блоками идентификаторов")
+    void bulkInsert(int rows) {
+        long[] identityBookingIds = new long[rows];
+        long identityBookingsMillis = measure(() -> {
+            for (int i = 0; i < rows; i++) {
+                identityBookingIds[i] = jdbcTemplate.queryForObject(INSERT_BOOKING_SQL, Long.class,
+                        user.getId(), event.getId(), Timestamp.valueOf(LocalDateTime.now()), 1);
+            }
+        });
+        long identityNotificationsMillis = measure(() -> {
+            for (long bookingId : identityBookingIds) {
+                jdbcTemplate.queryForObject(INSERT_NOTIFICATION_SQL, Long.class,
+                        bookingId, "Уведомление отправлено", Timestamp.valueOf(LocalDateTime.now()));
+            }
+        });
+
+        List<Booking> bookings = new ArrayList<>(rows);
+        long pooledBookingsMillis = measure(() -> {
+            for (int i = 0; i < rows; i++) {
+                Booking booking = new Booking();
+                booking.setUser(user);
+                booking.setEvent(event);
+                booking.setTicketsCount(1);
+                bookings.add(booking);
+            }
+            bookingRepository.saveAll(bookings);
+        });
+        Long[] pooledBookingIds = bookings.stream().map(Booking::getId).toArray(Long[]::new);
+        long setBasedNotificationsMillis = measure(() -> jdbcTemplate.update(INSERT_NOTIFICATIONS_SELECT_SQL, ps -> {
+            ps.setString(1, "Уведомление отправлено");
+            ps.setArray(2, ps.getConnection().createArrayOf("bigint", pooledBookingIds));
+        }));
+
+        log.info("{} строк bookings: IDENTITY {} мс ({} в секунду), блоки и batch {} мс ({} в секунду)",
+                rows, identityBookingsMillis, rows * 1000L / identityBookingsMillis,
+                pooledBookingsMillis, rows * 1000L / pooledBookingsMillis);
+        log.info("{} строк notifications_log: IDENTITY {} мс ({} в секунду), INSERT ... SELECT {} мс ({} в секунду)",
+                rows, identityNotificationsMillis, rows * 1000L / identityNotificationsMillis,
+                setBasedNotificationsMillis, rows * 1000L / setBasedNotificationsMillis);
+
+        assertEquals(2 * rows, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM ticket_booking.bookings WHERE event_id = ?", Integer.class, event.getId()));
+        assertEquals(2 * rows, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM ticket_booking.notifications_log n JOIN ticket_booking.bookings b ON b.id = n.booking_id " +
+                "WHERE b.event_id = ?", Integer.class, event.getId()));
+    }
+
+    /**
+     * @return время выполнения вставки в одной транзакции в миллисекундах
+     */
+    private long measure(Runnable insert) {
+        long startNanos = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> insert.run());
+        return Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+    }
+}
@@ -0,0 +1,170 @@
+package com.application.ticketbooking.service;
+
+import com.application.ticketbooking.dto.BookingRequest;
+import com.application.ticketbooking.entity.Event;
+import com.application.ticketbooking.entity.ReservationMode;
+import com.application.ticketbooking.entity.User;
+import com.application.ticketbooking.repository.UserRepository;
+import com.application.ticketbooking.service.Impl.CartReservation;
+import com.application.ticketbooking.service.Impl.SeatReservationStrategyResolver;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Сравнение оформления корзины одной транзакцией с последовательными одиночными бронированиями тех же позиций.
+ * Запускается только в профиле {@code benchmark}: {@code mvn test -Pbenchmark}.
+ */
+@Slf4j
+@SpringBootTest
+@Testcontainers
+@ActiveProfiles("test")
+@Tag("benchmark")
+@DisplayName("Нагрузочное сравнение корзины и одиночных бронирований")
+public class CartCheckoutBenchmarkTest {
+
+    private static final int EVENTS = 20;
+    private static final int THREADS = 16;
+    private static final int ORDERS_PER_THREAD = 40;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> THREADS + 8);
+        registry.add("spring.flyway.url", postgres::getJdbcUrl);
+        registry.add("spring.flyway.user", postgres::getUsername);
+        registry.add("spring.flyway.password", postgres::getPassword);
+        registry.add("spring.flyway.enabled", () -> true);
+    }
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private CartReservation cartReservation;
+
+    @Autowired
+    private SeatReservationStrategyResolver strategyResolver;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.findByUsername("benchmarkUser").orElseGet(() ->
+                userRepository.save(new User(null, "benchmarkUser", "password", "ROLE_USER", true)));
+    }
+
+    @ParameterizedTest(name = "{0} позиций")
+    @ValueSource(ints = {1, 5, 10, 20})
+    @DisplayName("Корзина против последовательных бронирований тех же позиций")
+    void checkout(int lines) throws Exception {
+        List<Long> cartEvents = createEvents("Cart " + lines);
+        long cartMillis = run(cartEvents, lines, order -> cartReservation.reserve(user, order));
+
+        List<Long> singleEvents = createEvents("Single " + lines);
+        SeatReservationStrategy strategy = strategyResolver.strategy(ReservationMode.PESSIMISTIC);
+        long singleMillis = run(singleEvents, lines, order -> order.forEach((eventId, count) ->
+                strategy.reserve(user, new BookingRequest(eventId, count))));
+
+        int orders = THREADS * ORDERS_PER_THREAD;
+        log.info("{} позиций: корзина {} заказов за {} мс ({} в секунду), по одному {} мс ({} в секунду)",
+                lines, orders, cartMillis, orders * 1000L / cartMillis, singleMillis, orders * 1000L / singleMillis);
+
+        int expectedSeats = orders * lines;
+        assertEquals(expectedSeats, bookedSeats(cartEvents));
+        assertEquals(expectedSeats, bookedSeats(singleEvents));
+    }
+
+    private List<Long> createEvents(String name) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < EVENTS; i++) {
+            Event event = new Event();
+            event.setName(name + " #" + i);
+            event.setEventDate(LocalDateTime.now().plusDays(30));
+            event.setCapacity(THREADS * ORDERS_PER_THREAD);
+            event.setReservationMode(ReservationMode.PESSIMISTIC);
+            ids.add(eventService.createEvent(event).getId());
+        }
+        return ids;
+    }
+
+    /**
+     * Оформляет {@link #ORDERS_PER_THREAD} заказов в каждом потоке. Заказ — случайные {@code lines} мероприятий
+     * по одному билету, поэтому заказы разных потоков пересекаются по строкам мероприятий.
+     *
+     * @return время выполнения в миллисекундах
+     */
+    private long run(List<Long> eventIds, int lines, Order order) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            workers.add(executor.submit(() -> {
+                start.await();
+                List<Long> shuffled = new ArrayList<>(eventIds);
+                for (int j = 0; j < ORDERS_PER_THREAD; j++) {
+                    Collections.shuffle(shuffled, ThreadLocalRandom.current());
+                    SortedMap<Long, Integer> items = new TreeMap<>();
+                    shuffled.subList(0, lines).forEach(eventId -> items.put(eventId, 1));
+                    order.place(items);
+                }
+                return null;
+            }));
+        }
+
+        long startNanos = System.nanoTime();
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(5, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+        return Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+    }
+
+    private int bookedSeats(List<Long> eventIds) {
+        return eventIds.stream().mapToInt(eventId -> jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(tickets_count), 0) FROM ticket_booking.bookings WHERE event_id = ?",
+                Integer.class, eventId)).sum();
+    }
+
+    @FunctionalInterface
+    private interface Order {
+        void place(SortedMap<Long, Integer> items);
+    }
+}
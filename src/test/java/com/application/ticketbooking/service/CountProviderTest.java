@@ -0,0 +1,108 @@
+package com.application.ticketbooking.service;
+
+import com.application.ticketbooking.dto.CountMode;
+import com.application.ticketbooking.dto.CountedPage;
+import com.application.ticketbooking.repository.TableStatisticsRepository;
+import com.application.ticketbooking.service.Impl.CountProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("Тестирование подсчета общего количества элементов CountProvider")
+public class CountProviderTest {
+
+    private static final String TABLE = "ticket_booking.bookings";
+    private static final List<Long> FULL_PAGE = Collections.nCopies(10, 1L);
+
+    private CountProvider countProvider;
+    private AtomicLong rows;
+
+    @BeforeEach
+    void setUp() {
+        countProvider = new CountProvider(mock(TableStatisticsRepository.class), new SimpleMeterRegistry(), CountMode.CACHED, Duration.ZERO);
+        rows = new AtomicLong(100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        countProvider.shutdown();
+    }
+
+    @Test
+    @DisplayName("Устаревшее количество отдается сразу и пересчитывается в фоне")
+    void testCachedCountRefreshedInBackground() throws InterruptedException {
+        CountDownLatch staleServed = new CountDownLatch(1);
+        CountDownLatch refreshed = new CountDownLatch(1);
+
+        assertEquals(100L, page(() -> rows.get()).getTotalElements());
+        rows.set(120);
+        CountedPage<Long> stale = page(() -> {
+            awaitQuietly(staleServed);
+            refreshed.countDown();
+            return rows.get();
+        });
+
+        assertEquals(100L, stale.getTotalElements());
+        assertEquals(CountMode.CACHED, stale.getTotalElementsKind());
+        staleServed.countDown();
+        assertTrue(refreshed.await(5, TimeUnit.SECONDS));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (page(() -> rows.get()).getTotalElements() != 120 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(120L, page(() -> rows.get()).getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Без параметра count количество считается точно при каждом запросе")
+    void testDefaultModeExact() {
+        CountProvider exactByDefault = new CountProvider(mock(TableStatisticsRepository.class), new SimpleMeterRegistry(),
+                CountMode.EXACT, Duration.ofSeconds(30));
+        try {
+            assertEquals(100L, exactByDefault.page(FULL_PAGE, PageRequest.of(0, 10), null, TABLE, rows::get).getTotalElements());
+            rows.set(120);
+            CountedPage<Long> counted = exactByDefault.page(FULL_PAGE, PageRequest.of(0, 10), null, TABLE, rows::get);
+
+            assertEquals(120L, counted.getTotalElements());
+            assertEquals(CountMode.EXACT, counted.getTotalElementsKind());
+        } finally {
+            exactByDefault.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Количество последней неполной страницы известно без подсчета")
+    void testLastPageCountedWithoutQuery() {
+        CountedPage<Long> lastPage = countProvider.page(List.of(1L, 2L), PageRequest.of(3, 10), CountMode.ESTIMATED, TABLE, () -> {
+            throw new AssertionError("count(*) не должен выполняться");
+        });
+
+        assertEquals(32L, lastPage.getTotalElements());
+        assertEquals(CountMode.EXACT, lastPage.getTotalElementsKind());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private CountedPage<Long> page(LongSupplier exactCount) {
+        return countProvider.page(FULL_PAGE, PageRequest.of(0, 10), null, TABLE, exactCount);
+    }
+}
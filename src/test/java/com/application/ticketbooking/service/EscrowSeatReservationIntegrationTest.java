@@ -0,0 +1,166 @@
+package com.application.ticketbooking.service;
+
+import com.application.ticketbooking.TicketBookingApplication;
+import com.application.ticketbooking.dto.BookingRequest;
+import com.application.ticketbooking.entity.Event;
+import com.application.ticketbooking.entity.ReservationMode;
+import com.application.ticketbooking.entity.User;
+import com.application.ticketbooking.exception.BadRequestException;
+import com.application.ticketbooking.repository.UserRepository;
+import com.application.ticketbooking.service.Impl.SeatReservationStrategyResolver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Несколько экземпляров приложения в одной JVM продают места одного мероприятия в режиме {@code ESCROW}.
+ */
+@Testcontainers
+@DisplayName("Тестирование квот мест на нескольких экземплярах приложения")
+public class EscrowSeatReservationIntegrationTest {
+
+    private static final int INSTANCES = 3;
+    private static final int THREADS_PER_INSTANCE = 6;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    private final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+    private JdbcTemplate jdbcTemplate;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < INSTANCES; i++) {
+            contexts.add(new SpringApplicationBuilder(TicketBookingApplication.class)
+                    .profiles("test")
+                    .run("--server.port=0",
+                            "--spring.datasource.url=" + postgres.getJdbcUrl(),
+                            "--spring.datasource.username=" + postgres.getUsername(),
+                            "--spring.datasource.password=" + postgres.getPassword(),
+                            "--spring.flyway.url=" + postgres.getJdbcUrl(),
+                            "--spring.flyway.user=" + postgres.getUsername(),
+                            "--spring.flyway.password=" + postgres.getPassword(),
+                            "--booking.reservation.escrow.block-size=7"));
+        }
+        // Отдельное подключение, чтобы проверять базу данных после остановки всех экземпляров.
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword()));
+        UserRepository userRepository = contexts.get(0).getBean(UserRepository.class);
+        user = userRepository.findByUsername("escrowUser").orElseGet(() ->
+                userRepository.save(new User(null, "escrowUser", "password", "ROLE_USER", true)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        closeContexts();
+    }
+
+    @Test
+    @DisplayName("Экземпляры распродают мероприятие без продажи лишних мест")
+    void sellOut_NoOverselling() throws Exception {
+        Long eventId = createEvent(200);
+
+        int booked = sell(eventId, Integer.MAX_VALUE);
+        closeContexts();
+
+        assertEquals(200, booked);
+        assertEquals(200, bookedSeats(eventId));
+        assertEquals(0, availableSeats(eventId));
+        assertEquals(0, leaseCount());
+    }
+
+    @Test
+    @DisplayName("Остановленные экземпляры возвращают непроданные места квот")
+    void shutdown_ReturnsUnusedQuota() throws Exception {
+        Long eventId = createEvent(200);
+
+        int booked = sell(eventId, 50);
+        closeContexts();
+
+        assertEquals(booked, bookedSeats(eventId));
+        assertEquals(200 - booked, availableSeats(eventId));
+        assertEquals(0, leaseCount());
+    }
+
+    private Long createEvent(int capacity) {
+        Event event = new Event();
+        event.setName("Escrow event");
+        event.setEventDate(LocalDateTime.now().plusDays(30));
+        event.setCapacity(capacity);
+        event.setReservationMode(ReservationMode.ESCROW);
+        return contexts.get(0).getBean(EventService.class).createEvent(event).getId();
+    }
+
+    /**
+     * Продает места по одному со всех экземпляров, пока места не закончатся или не будет продано {@code limit} мест.
+     */
+    private int sell(Long eventId, int limit) throws Exception {
+        AtomicInteger booked = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(INSTANCES * THREADS_PER_INSTANCE);
+        List<Future<?>> workers = new ArrayList<>();
+        for (ConfigurableApplicationContext context : contexts) {
+            SeatReservationStrategy strategy = context.getBean(SeatReservationStrategyResolver.class)
+                    .strategy(ReservationMode.ESCROW);
+            for (int i = 0; i < THREADS_PER_INSTANCE; i++) {
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    while (booked.get() < limit) {
+                        try {
+                            strategy.reserve(user, new BookingRequest(eventId, 1));
+                            booked.incrementAndGet();
+                        } catch (BadRequestException e) {
+                            // Ни в квоте экземпляра, ни у мероприятия мест не осталось.
+                            return null;
+                        }
+                    }
+                    return null;
+                }));
+            }
+        }
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(2, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+        return booked.get();
+    }
+
+    private void closeContexts() {
+        contexts.forEach(ConfigurableApplicationContext::close);
+        contexts.clear();
+    }
+
+    private int bookedSeats(Long eventId) {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(SUM(tickets_count), 0) FROM ticket_booking.bookings WHERE event_id = ?",
+                Integer.class, eventId);
+    }
+
+    private int availableSeats(Long eventId) {
+        return jdbcTemplate.queryForObject("SELECT available_seats FROM ticket_booking.events WHERE id = ?",
+                Integer.class, eventId);
+    }
+
+    private int leaseCount() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ticket_booking.seat_leases", Integer.class);
+    }
+}
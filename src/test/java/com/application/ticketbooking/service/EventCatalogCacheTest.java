@@ -0,0 +1,278 @@
+package com.application.ticketbooking.service;
+
+import com.application.ticketbooking.config.CacheConfig;
+import com.application.ticketbooking.entity.Event;
+import com.application.ticketbooking.event.EventChangedEvent;
+import com.application.ticketbooking.event.EventChangedEvent.ChangeType;
+import com.application.ticketbooking.service.Impl.EventCatalogCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Тестирование выборочного сброса кеша страниц каталога EventCatalogCache")
+public class EventCatalogCacheTest {
+
+    private static final int PAGE_SIZE = 2;
+    private static final LocalDateTime BASE_DATE = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    private EventCatalogCache cache;
+    private List<Event> catalog;
+    private AtomicInteger pageLoads;
+    private AtomicInteger countLoads;
+
+    @BeforeEach
+    void setUp() {
+        cache = new EventCatalogCache(new CacheConfig().cacheManager(1000, Duration.ofMinutes(1), Duration.ofSeconds(1)), new SimpleMeterRegistry());
+        catalog = new ArrayList<>();
+        for (long id = 1; id <= 6; id++) {
+            catalog.add(event(id, "Event " + id, BASE_DATE.plusDays(id)));
+        }
+        pageLoads = new AtomicInteger();
+        countLoads = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Изменение мероприятия без изменения поля сортировки сбрасывает только его страницу")
+    void testUpdate_SameSortValue() {
+        loadPages("id");
+
+        Event previous = catalog.get(2);
+        Event current = previous.toBuilder().description("Новое описание").build();
+        cache.onEventChanged(new EventChangedEvent(3L, ChangeType.UPDATED, previous, current));
+        loadPages("id");
+
+        assertEquals(4, pageLoads.get());
+    }
+
+    @Test
+    @DisplayName("Перенос мероприятия на другую дату сбрасывает страницы между старой и новой датой")
+    void testUpdate_SortValueMoved() {
+        loadPages("eventDate");
+
+        Event previous = catalog.get(0);
+        Event current = previous.toBuilder().eventDate(BASE_DATE.plusDays(3).plusHours(1)).build();
+        catalog.set(0, current);
+        cache.onEventChanged(new EventChangedEvent(1L, ChangeType.UPDATED, previous, current));
+        List<Page<Event>> pages = loadPages("eventDate");
+
+        // Страницы [1, 2] и [3, 4] сброшены, [5, 6] осталась в кеше.
+        assertEquals(5, pageLoads.get());
+        assertEquals(List.of(2L, 3L), ids(pages.get(0)));
+        assertEquals(List.of(1L, 4L), ids(pages.get(1)));
+    }
+
+    @Test
+    @DisplayName("Создание мероприятия сбрасывает страницы начиная с его позиции и общее количество")
+    void testCreate() {
+        loadPages("eventDate");
+
+        Event created = event(7L, "Event 7", BASE_DATE.plusDays(4).plusHours(1));
+        catalog.add(created);
+        cache.onEventChanged(new EventChangedEvent(7L, ChangeType.CREATED, null, created));
+        List<Page<Event>> pages = loadPages("eventDate");
+
+        // Страницы [1, 2] и [3, 4] остались в кеше, общее количество перечитано отдельно.
+        assertEquals(4, pageLoads.get());
+        assertEquals(2, countLoads.get());
+        assertEquals(7, pages.get(0).getTotalElements());
+        assertEquals(List.of(7L, 5L), ids(pages.get(2)));
+    }
+
+    @Test
+    @DisplayName("Изменение строкового поля сортировки сбрасывает все страницы этой сортировки")
+    void testUpdate_StringSortValue() {
+        loadPages("name");
+        loadPages("id");
+
+        Event previous = catalog.get(5);
+        Event current = previous.toBuilder().name("A first event").build();
+        catalog.set(5, current);
+        cache.onEventChanged(new EventChangedEvent(6L, ChangeType.UPDATED, previous, current));
+        loadPages("name");
+        loadPages("id");
+
+        // 6 первоначальных загрузок, 3 страницы по имени и страница [5, 6] по id.
+        assertEquals(10, pageLoads.get());
+    }
+
+    @Test
+    @DisplayName("Страница, загрузка которой пересеклась с изменением мероприятия, не кешируется")
+    void testChangeDuringLoad() {
+        Pageable pageable = PageRequest.of(0, PAGE_SIZE, Sort.by("id"));
+        Event current = catalog.get(0).toBuilder().name("Renamed").build();
+
+        cache.getPage(pageable, () -> {
+            List<Event> page = load(pageable);
+            cache.onEventChanged(new EventChangedEvent(1L, ChangeType.UPDATED, catalog.get(0), current));
+            return page;
+        });
+        cache.getPage(pageable, () -> load(pageable));
+
+        assertEquals(2, pageLoads.get());
+    }
+
+    @Test
+    @DisplayName("Мероприятие по id читается из кеша, свободные места перечитываются отдельно")
+    void testGetEvent_SeatsOverlay() {
+        cache = new EventCatalogCache(new CacheConfig().cacheManager(1000, Duration.ofMinutes(1), Duration.ZERO), new SimpleMeterRegistry());
+        AtomicInteger eventLoads = new AtomicInteger();
+        AtomicInteger seatsLoads = new AtomicInteger();
+        Event stored = catalog.get(0);
+
+        cache.getEvent(1L, id -> { eventLoads.incrementAndGet(); return stored.toBuilder().build(); }, e -> 0);
+        stored.setAvailableSeats(42);
+        Event result = cache.getEvent(1L, id -> { eventLoads.incrementAndGet(); return stored; },
+                e -> { seatsLoads.incrementAndGet(); return stored.getAvailableSeats(); });
+
+        assertEquals(1, eventLoads.get());
+        assertEquals(1, seatsLoads.get());
+        assertEquals(42, result.getAvailableSeats());
+        assertEquals("Event 1", result.getName());
+    }
+
+    @Test
+    @DisplayName("Несколько мероприятий по id: промахи загружаются одним вызовом, места закешированных — другим")
+    void testGetEvents_Batch() {
+        cache = new EventCatalogCache(new CacheConfig().cacheManager(1000, Duration.ofMinutes(1), Duration.ZERO), new SimpleMeterRegistry());
+        cache.getEvent(1L, id -> catalog.get(0).toBuilder().build(), e -> 100);
+        List<List<Long>> eventLoads = new ArrayList<>();
+        List<List<Long>> seatsLoads = new ArrayList<>();
+
+        Map<Long, Event> found = cache.getEvents(List.of(1L, 2L, 3L, 9L),
+                ids -> {
+                    eventLoads.add(ids);
+                    return catalog.stream().filter(e -> ids.contains(e.getId())).map(e -> e.toBuilder().build()).toList();
+                },
+                events -> {
+                    seatsLoads.add(events.stream().map(Event::getId).toList());
+                    return Map.of(1L, 7);
+                });
+
+        assertEquals(List.of(List.of(2L, 3L, 9L)), eventLoads);
+        assertEquals(List.of(List.of(1L)), seatsLoads);
+        assertEquals(Set.of(1L, 2L, 3L), found.keySet());
+        assertEquals(7, found.get(1L).getAvailableSeats());
+        assertEquals("Event 2", cache.getEvent(2L, id -> null, e -> 100).getName());
+    }
+
+    @Test
+    @DisplayName("Обновление мероприятия записывается в кеш по id, удаление сбрасывает его")
+    void testGetEvent_WriteThrough() {
+        AtomicInteger eventLoads = new AtomicInteger();
+        Function<Long, Event> loader = id -> { eventLoads.incrementAndGet(); return catalog.get(0).toBuilder().build(); };
+        cache.getEvent(1L, loader, e -> 100);
+
+        Event previous = catalog.get(0);
+        Event current = previous.toBuilder().name("Renamed").capacity(150).version(1).build();
+        cache.onEventChanged(new EventChangedEvent(1L, ChangeType.UPDATED, previous, current));
+        // Запоздавшая запись старой версии не затирает новую.
+        cache.onEventChanged(new EventChangedEvent(1L, ChangeType.UPDATED, previous, previous));
+        Event updated = cache.getEvent(1L, loader, e -> 130);
+
+        assertEquals(1, eventLoads.get());
+        assertEquals("Renamed", updated.getName());
+        assertEquals(150, updated.getCapacity());
+        assertEquals(130, updated.getAvailableSeats());
+
+        cache.onEventChanged(new EventChangedEvent(1L, ChangeType.DELETED, current, null));
+        cache.getEvent(1L, loader, e -> 100);
+
+        assertEquals(2, eventLoads.get());
+    }
+
+    @Test
+    @DisplayName("Вызов после изменения мероприятия не присоединяется к начатой до него загрузке страницы")
+    void testChangeDuringSharedLoad() throws Exception {
+        Pageable pageable = PageRequest.of(0, PAGE_SIZE, Sort.by("id"));
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<List<Event>> stale = executor.submit(() -> cache.getPage(pageable, () -> {
+                List<Event> page = load(pageable);
+                loading.countDown();
+                await(release);
+                return page;
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            Event current = catalog.get(0).toBuilder().name("Renamed").build();
+            cache.onEventChanged(new EventChangedEvent(1L, ChangeType.UPDATED, catalog.get(0), current));
+            catalog.set(0, current);
+            List<Event> fresh = cache.getPage(pageable, () -> load(pageable));
+            release.countDown();
+
+            assertEquals("Event 1", stale.get(5, TimeUnit.SECONDS).get(0).getName());
+            assertEquals("Renamed", fresh.get(0).getName());
+            assertEquals(2, pageLoads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<Page<Event>> loadPages(String sort) {
+        List<Page<Event>> pages = new ArrayList<>();
+        for (int page = 0; page < 3; page++) {
+            Pageable pageable = PageRequest.of(page, PAGE_SIZE, Sort.by(sort));
+            pages.add(new PageImpl<>(cache.getPage(pageable, () -> load(pageable)), pageable, cache.getCount(this::count)));
+        }
+        return pages;
+    }
+
+    private List<Event> load(Pageable pageable) {
+        pageLoads.incrementAndGet();
+        String property = pageable.getSort().iterator().next().getProperty();
+        Function<Event, Comparable> key = switch (property) {
+            case "eventDate" -> Event::getEventDate;
+            case "name" -> Event::getName;
+            default -> Event::getId;
+        };
+        List<Event> sorted = catalog.stream().sorted(Comparator.comparing(key)).toList();
+        int from = (int) Math.min(pageable.getOffset(), sorted.size());
+        int to = Math.min(from + pageable.getPageSize(), sorted.size());
+        return sorted.subList(from, to);
+    }
+
+    private long count() {
+        countLoads.incrementAndGet();
+        return catalog.size();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static List<Long> ids(Page<Event> page) {
+        return page.getContent().stream().map(Event::getId).toList();
+    }
+
+    private static Event event(Long id, String name, LocalDateTime eventDate) {
+        return Event.builder().id(id).name(name).eventDate(eventDate).capacity(100).availableSeats(100).build();
+    }
+}
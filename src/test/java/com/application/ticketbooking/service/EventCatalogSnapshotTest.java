@@ -0,0 +1,117 @@
+package com.application.ticketbooking.service;
+
+import com.application.ticketbooking.dto.CountMode;
+import com.application.ticketbooking.dto.CountedPage;
+import com.application.ticketbooking.entity.Event;
+import com.application.ticketbooking.event.EventChangedEvent;
+import com.application.ticketbooking.event.EventChangedEvent.ChangeType;
+import com.application.ticketbooking.repository.EventRepository;
+import com.application.ticketbooking.service.Impl.EventCatalogSnapshot;
+import com.application.ticketbooking.service.Impl.SeatStripes;
+import com.application.ticketbooking.service.Impl.TicketPool;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import java.time.LocalDateTime;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Тестирование снимка каталога мероприятий EventCatalogSnapshot")
+public class EventCatalogSnapshotTest {
+
+    private static final LocalDateTime BASE_DATE = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    private EventRepository eventRepository;
+    private EventCatalogSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        eventRepository = mock(EventRepository.class);
+        when(eventRepository.findAll()).thenReturn(List.of(
+                event(1L, "Concert", BASE_DATE.plusDays(3), 50),
+                event(2L, "Ballet", BASE_DATE.plusDays(1), 10),
+                event(3L, "Opera", BASE_DATE.plusDays(2), 30)));
+        snapshot = new EventCatalogSnapshot(eventRepository, mock(SeatStripes.class), mock(TicketPool.class),
+                new SimpleMeterRegistry(), true);
+    }
+
+    @Test
+    @DisplayName("Страницы по каждому полю сортировки отдаются из одной загрузки каталога")
+    void testPagesBySort() {
+        assertEquals(List.of(2L, 1L, 3L), ids("name", 0, 3));
+        assertEquals(List.of(2L, 3L, 1L), ids("eventDate", 0, 3));
+        assertEquals(List.of(2L, 3L, 1L), ids("availableSeats", 0, 3));
+        assertEquals(List.of(3L), ids("id", 1, 2));
+
+        CountedPage<Event> page = snapshot.getPage(PageRequest.of(1, 2, Sort.by("name")), null);
+        assertEquals(3L, page.getTotalElements());
+        assertEquals(CountMode.EXACT, page.getTotalElementsKind());
+        assertNull(snapshot.getPage(PageRequest.of(0, 2, Sort.by("name")), CountMode.NONE).getTotalElements());
+        assertFalse(snapshot.supports("description"));
+        verify(eventRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("Изменение мероприятия заменяет снимок без перезагрузки каталога")
+    void testChangeRebuildsSnapshot() {
+        ids("name", 0, 3);
+
+        Event renamed = event(1L, "Active Jazz", BASE_DATE.plusDays(3), 50);
+        snapshot.onEventChanged(new EventChangedEvent(1L, ChangeType.UPDATED, null, renamed));
+        snapshot.onEventChanged(new EventChangedEvent(4L, ChangeType.CREATED, null, event(4L, "Circus", BASE_DATE, 5)));
+        snapshot.onEventChanged(new EventChangedEvent(2L, ChangeType.DELETED, null, null));
+        // Повторное изменение, уже попавшее в снимок, его не меняет.
+        snapshot.onEventChanged(new EventChangedEvent(1L, ChangeType.UPDATED, null, renamed));
+
+        assertEquals(List.of(1L, 4L, 3L), ids("name", 0, 3));
+        assertEquals(List.of(4L, 3L, 1L), ids("eventDate", 0, 3));
+        assertEquals("Active Jazz", snapshot.getPage(PageRequest.of(0, 1, Sort.by("name")), null).getContent().get(0).getName());
+        verify(eventRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("Свободные места перечитываются в снимок на месте вместе с порядком по ним")
+    void testRefreshSeats() {
+        ids("availableSeats", 0, 3);
+        when(eventRepository.findAllSeats()).thenReturn(List.of(seats(1L, 0), seats(2L, 40), seats(3L, 30)));
+
+        snapshot.refreshSeats();
+
+        assertEquals(List.of(1L, 3L, 2L), ids("availableSeats", 0, 3));
+        assertEquals(40, snapshot.getPage(PageRequest.of(0, 3, Sort.by("id")), null).getContent().get(1).getAvailableSeats());
+        verify(eventRepository, times(1)).findAll();
+    }
+
+    private List<Long> ids(String sort, int page, int size) {
+        return snapshot.getPage(PageRequest.of(page, size, Sort.by(sort)), null).getContent().stream()
+                .map(Event::getId)
+                .toList();
+    }
+
+    private static Event event(Long id, String name, LocalDateTime eventDate, int availableSeats) {
+        return Event.builder().id(id).name(name).eventDate(eventDate).capacity(100).availableSeats(availableSeats).build();
+    }
+
+    private static EventRepository.SeatsView seats(Long id, int availableSeats) {
+        return new EventRepository.SeatsView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public int getAvailableSeats() {
+                return availableSeats;
+            }
+        };
+    }
+}
@@ -1,31 +1,65 @@
 package com.application.ticketbooking.service;
 
+import com.application.ticketbooking.config.CacheConfig;
+import com.application.ticketbooking.dto.CountMode;
+import com.application.ticketbooking.dto.CountedPage;
+import com.application.ticketbooking.dto.CursorPage;
+import com.application.ticketbooking.dto.EventBatchGetResponse;
 import com.application.ticketbooking.dto.EventResponse;
+import com.application.ticketbooking.dto.EventSuggestion;
+import com.application.ticketbooking.dto.EventUpdateRequest;
 import com.application.ticketbooking.entity.Event;
+import com.application.ticketbooking.entity.ReservationMode;
+import com.application.ticketbooking.exception.BadRequestException;
 import com.application.ticketbooking.exception.EntityNotFoundException;
 import com.application.ticketbooking.repository.EventRepository;
+import com.application.ticketbooking.repository.EventSearchRepository;
+import com.application.ticketbooking.repository.TableStatisticsRepository;
+import com.application.ticketbooking.service.Impl.CountProvider;
+import com.application.ticketbooking.service.Impl.EventCatalogCache;
+import com.application.ticketbooking.service.Impl.EventCatalogSnapshot;
 import com.application.ticketbooking.service.Impl.EventServiceImpl;
+import com.application.ticketbooking.service.Impl.EventSuggestIndex;
+import com.application.ticketbooking.service.Impl.SeatStripes;
+import com.application.ticketbooking.service.Impl.TicketPool;
+import com.application.ticketbooking.util.KeysetCursor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyInt;
 import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -37,9 +71,37 @@ public class EventServiceImplTest {
     @Mock
     private EventRepository eventRepository;
 
+    @Mock
+    private EventSearchRepository eventSearchRepository;
+
     @Mock
     private ModelMapper modelMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private SeatStripes seatStripes;
+
+    @Mock
+    private TicketPool ticketPool;
+
+    @Spy
+    private EventCatalogCache eventCatalogCache = new EventCatalogCache(
+            new CacheConfig().cacheManager(1000, Duration.ofMinutes(1), Duration.ofSeconds(1)), new SimpleMeterRegistry());
+
+    private final TableStatisticsRepository tableStatisticsRepository = mock(TableStatisticsRepository.class);
+
+    @Spy
+    private CountProvider countProvider = new CountProvider(
+            tableStatisticsRepository, new SimpleMeterRegistry(), CountMode.CACHED, Duration.ofMinutes(1));
+
+    @Mock
+    private EventCatalogSnapshot eventCatalogSnapshot;
+
+    @Mock
+    private EventSuggestIndex eventSuggestIndex;
+
     @InjectMocks
     private EventServiceImpl eventService;
 
@@ -75,6 +137,19 @@ public class EventServiceImplTest {
         verify(eventRepository, times(1)).findById(1L);
     }
 
+    @Test
+    @DisplayName("Повторный поиск мероприятия по id обслуживается из кеша")
+    void testGetEventById_Cached() {
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(event));
+
+        eventService.getEventById(1L);
+        Event result = eventService.getEventById(1L);
+
+        assertEquals(event.getName(), result.getName());
+        assertEquals(100, result.getAvailableSeats());
+        verify(eventRepository, times(1)).findById(1L);
+    }
+
     @Test
     @DisplayName("Ошибка поиска мероприятия по id")
     void testGetEventById_NotFound() {
@@ -88,6 +163,25 @@ public class EventServiceImplTest {
         verify(eventRepository, times(1)).findById(1L);
     }
 
+    @Test
+    @DisplayName("Несколько мероприятий по id возвращаются в порядке запроса с id ненайденных")
+    void testGetEventsByIds() {
+        ReflectionTestUtils.setField(eventService, "maxBatchGetIds", 4);
+        Event first = Event.builder().id(1L).name("A").availableSeats(10).build();
+        Event third = Event.builder().id(3L).name("C").availableSeats(10).build();
+        when(eventRepository.findAllByIdArray(any())).thenReturn(new ArrayList<>(List.of(first, third)));
+
+        EventBatchGetResponse result = eventService.getEventsByIds(List.of(3L, 2L, 3L, 1L));
+        eventService.getEventsByIds(List.of(1L, 3L));
+
+        assertEquals(List.of(third, first), result.getEvents());
+        assertEquals(List.of(2L), result.getMissingIds());
+        verify(eventRepository, times(1)).findAllByIdArray(new Long[]{3L, 2L, 1L});
+        assertThrows(BadRequestException.class, () -> eventService.getEventsByIds(List.of()));
+        assertThrows(BadRequestException.class, () -> eventService.getEventsByIds(List.of(1L, 2L, 3L, 4L, 5L)));
+        assertThrows(BadRequestException.class, () -> eventService.getEventsByIds(Arrays.asList(1L, null)));
+    }
+
     @Test
     @DisplayName("Успешный поиск всех мероприятий")
     void testGetAllEvents() {
@@ -107,30 +201,179 @@ public class EventServiceImplTest {
         event2.setCapacity(200);
         event2.setAvailableSeats(150);
 
-        Page<Event> page = new org.springframework.data.domain.PageImpl<>(Arrays.asList(event1, event2), pageable, 2);
-        when(eventRepository.findAll(pageable)).thenReturn(page);
+        Slice<Event> page = new SliceImpl<>(Arrays.asList(event1, event2), pageable, false);
+        when(eventRepository.findAllBy(pageable)).thenReturn(page);
 
-        Page<Event> result = eventService.getAllEvents(0, 10, "name");
+        CountedPage<Event> result = eventService.getAllEvents(0, 10, "name", null);
 
         assertNotNull(result, "Результат не должен быть null");
         assertNotNull(result.getContent(), "Содержимое результата не должно быть null");
         assertEquals(2, result.getContent().size(), "Ожидаем 2 события");
         assertEquals("Event 1", result.getContent().get(0).getName(), "Имя первого события не совпадает");
         assertEquals("Event 2", result.getContent().get(1).getName(), "Имя второго события не совпадает");
-        verify(eventRepository, times(1)).findAll(pageable);
+        verify(eventRepository, times(1)).findAllBy(pageable);
+    }
+
+    @Test
+    @DisplayName("Повторный запрос страницы мероприятий обслуживается из кеша")
+    void testGetAllEvents_Cached() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("id").ascending());
+        Slice<Event> page = new SliceImpl<>(Arrays.asList(event), pageable, false);
+        when(eventRepository.findAllBy(pageable)).thenReturn(page);
+
+        eventService.getAllEvents(0, 10, "id", null);
+        CountedPage<Event> result = eventService.getAllEvents(0, 10, "id", null);
+
+        assertEquals(1, result.getTotalElements());
+        assertEquals(event, result.getContent().get(0));
+        verify(eventRepository, times(1)).findAllBy(pageable);
+    }
+
+    @Test
+    @DisplayName("Общее количество мероприятий считается выбранным способом")
+    void testGetAllEvents_CountModes() {
+        Pageable pageable = PageRequest.of(0, 1, Sort.by("id").ascending());
+        when(eventRepository.findAllBy(pageable)).thenReturn(new SliceImpl<>(List.of(event), pageable, true));
+        when(eventRepository.count()).thenReturn(5L);
+        when(tableStatisticsRepository.estimateRowCount("ticket_booking.events")).thenReturn(OptionalLong.of(4));
+
+        CountedPage<Event> none = eventService.getAllEvents(0, 1, "id", CountMode.NONE);
+        CountedPage<Event> cached = eventService.getAllEvents(0, 1, "id", CountMode.CACHED);
+        eventService.getAllEvents(0, 1, "id", CountMode.CACHED);
+        CountedPage<Event> estimated = eventService.getAllEvents(0, 1, "id", CountMode.ESTIMATED);
+
+        assertNull(none.getTotalElements());
+        assertEquals(5L, cached.getTotalElements());
+        assertEquals(CountMode.CACHED, cached.getTotalElementsKind());
+        assertEquals(4L, estimated.getTotalElements());
+        assertEquals(CountMode.ESTIMATED, estimated.getTotalElementsKind());
+        verify(eventRepository, times(1)).count();
+    }
+
+    @Test
+    @DisplayName("Страница мероприятий отдается из снимка каталога без обращения к базе данных")
+    void testGetAllEvents_Snapshot() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("availableSeats").ascending());
+        CountedPage<Event> snapshotPage = new CountedPage<>(List.of(event), 0, 10, 1L, CountMode.EXACT);
+        when(eventCatalogSnapshot.supports("availableSeats")).thenReturn(true);
+        when(eventCatalogSnapshot.getPage(pageable, null)).thenReturn(snapshotPage);
+
+        CountedPage<Event> result = eventService.getAllEvents(0, 10, "availableSeats", null);
+
+        assertEquals(snapshotPage, result);
+        verify(eventRepository, never()).findAllBy(any());
+        verify(eventRepository, never()).count();
+    }
+
+    @Test
+    @DisplayName("Постраничный обход мероприятий по курсору продолжает выборку с последнего мероприятия")
+    void testGetEventsAfter() {
+        LocalDateTime date = LocalDateTime.of(2030, 1, 1, 20, 0);
+        Event first = Event.builder().id(5L).name("A").eventDate(date).build();
+        Event second = Event.builder().id(2L).name("B").eventDate(date).build();
+        Event third = Event.builder().id(3L).name("B").eventDate(date.plusDays(1)).build();
+        when(eventRepository.findPageOrderedByEventDate(Limit.of(3))).thenReturn(new ArrayList<>(List.of(first, second, third)));
+        when(eventRepository.findPageAfterEventDate(date, 2L, Limit.of(3))).thenReturn(new ArrayList<>(List.of(third)));
+
+        CursorPage<Event> firstPage = eventService.getEventsAfter("", 2, "eventDate");
+        CursorPage<Event> lastPage = eventService.getEventsAfter(firstPage.getNextCursor(), 2, "eventDate");
+
+        assertEquals(List.of(first, second), firstPage.getContent());
+        assertEquals(List.of(third), lastPage.getContent());
+        assertNull(lastPage.getNextCursor());
+        verify(eventRepository, never()).count();
+    }
+
+    @Test
+    @DisplayName("Ошибка постраничного обхода по курсору другой сортировки или по неподдерживаемому полю")
+    void testGetEventsAfter_InvalidCursor() {
+        String idCursor = new KeysetCursor("id", "7", 7L).encode();
+
+        assertThrows(BadRequestException.class, () -> eventService.getEventsAfter(idCursor, 2, "name"));
+        assertThrows(BadRequestException.class, () -> eventService.getEventsAfter("not a cursor", 2, "id"));
+        assertThrows(BadRequestException.class, () -> eventService.getEventsAfter("", 2, "capacity"));
+        assertThrows(BadRequestException.class, () -> eventService.getEventsAfter("", 0, "id"));
+    }
+
+    @Test
+    @DisplayName("Мероприятия интервала дат выбираются от начала интервала, распроданные отбрасываются после подмены мест")
+    void testGetEventsBetween() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusMonths(1);
+        Event first = Event.builder().id(4L).eventDate(from.plusDays(1)).availableSeats(10).build();
+        Event soldOut = Event.builder().id(2L).eventDate(from.plusDays(2)).availableSeats(0).build();
+        Event third = Event.builder().id(3L).eventDate(from.plusDays(3)).availableSeats(5).build();
+        when(eventRepository.findAvailablePageBetween(from, to, from, 0L, Limit.of(3)))
+                .thenReturn(new ArrayList<>(List.of(first, soldOut, third)));
+        when(eventRepository.findAvailablePageBetween(from, to, soldOut.getEventDate(), 2L, Limit.of(3)))
+                .thenReturn(new ArrayList<>(List.of(third)));
+
+        CursorPage<Event> firstPage = eventService.getEventsBetween(from, to, true, null, 2);
+        CursorPage<Event> lastPage = eventService.getEventsBetween(from, to, true, firstPage.getNextCursor(), 2);
+
+        assertEquals(List.of(first), firstPage.getContent());
+        assertEquals(List.of(third), lastPage.getContent());
+        assertNull(lastPage.getNextCursor());
+        verify(seatStripes, times(2)).applyAvailableSeats(any());
+        verify(ticketPool, times(2)).applyAvailableSeats(any());
+        verify(eventRepository, never()).findPageBetween(any(), any(), any(), any(), any());
+        assertThrows(BadRequestException.class, () -> eventService.getEventsBetween(to, from, false, null, 2));
+    }
+
+    @Test
+    @DisplayName("Поиск мероприятий продолжает выборку с ранга и id последнего найденного мероприятия")
+    void testSearchEvents() {
+        Event first = Event.builder().id(4L).name("Jazz night").build();
+        Event second = Event.builder().id(1L).name("Jazz").build();
+        Event third = Event.builder().id(2L).description("Evening of jazz").build();
+        when(eventSearchRepository.search("jazz", 3)).thenReturn(List.of(
+                new EventSearchRepository.Hit(first, 0.6f),
+                new EventSearchRepository.Hit(second, 0.6f),
+                new EventSearchRepository.Hit(third, 0.1f)));
+        when(eventSearchRepository.searchAfter("jazz", 0.6f, 1L, 3)).thenReturn(List.of(new EventSearchRepository.Hit(third, 0.1f)));
+
+        CursorPage<Event> firstPage = eventService.searchEvents("jazz", null, 2);
+        CursorPage<Event> lastPage = eventService.searchEvents("jazz", firstPage.getNextCursor(), 2);
+
+        assertEquals(List.of(first, second), firstPage.getContent());
+        assertEquals(List.of(third), lastPage.getContent());
+        assertNull(lastPage.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Ошибка поиска мероприятий по пустому запросу или курсору другой сортировки")
+    void testSearchEvents_Invalid() {
+        String idCursor = new KeysetCursor("id", "7", 7L).encode();
+
+        assertThrows(BadRequestException.class, () -> eventService.searchEvents(" ", null, 20));
+        assertThrows(BadRequestException.class, () -> eventService.searchEvents("jazz", idCursor, 20));
+        verify(eventSearchRepository, never()).search(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Подсказки названий мероприятий берутся из индекса в памяти, пустой префикс и большой лимит отклоняются")
+    void testSuggestEvents() {
+        List<EventSuggestion> suggestions = List.of(new EventSuggestion(1L, "Jazz", LocalDateTime.of(2030, 1, 1, 20, 0)));
+        when(eventSuggestIndex.getMaxResults()).thenReturn(10);
+        when(eventSuggestIndex.suggest("ja", 5)).thenReturn(suggestions);
+
+        assertEquals(suggestions, eventService.suggestEvents("ja", 5));
+        assertThrows(BadRequestException.class, () -> eventService.suggestEvents(" ", 5));
+        assertThrows(BadRequestException.class, () -> eventService.suggestEvents("ja", 11));
+        verify(eventRepository, never()).findSuggestionsFrom(any());
     }
 
     @Test
     @DisplayName("Успешное создания мероприятия")
     void testCreateEvent_Success() {
-        when(eventRepository.save(any(Event.class))).thenReturn(event);
+        when(eventRepository.saveAndFlush(any(Event.class))).thenReturn(event);
         when(modelMapper.map(any(Event.class), eq(EventResponse.class))).thenReturn(eventResponse);
 
         EventResponse result = eventService.createEvent(event);
 
         assertNotNull(result);
         assertEquals(eventResponse.getId(), result.getId());
-        verify(eventRepository, times(1)).save(any(Event.class));
+        verify(eventRepository, times(1)).saveAndFlush(any(Event.class));
         verify(modelMapper, times(1)).map(any(Event.class), eq(EventResponse.class));
     }
 
@@ -155,7 +398,12 @@ public class EventServiceImplTest {
         when(eventRepository.save(any(Event.class))).thenReturn(updatedEvent);
         when(modelMapper.map(any(Event.class), eq(EventResponse.class))).thenReturn(updatedEventResponse);
 
-        EventResponse result = eventService.updateEvent(updatedEvent, 1L);
+        EventUpdateRequest update = new EventUpdateRequest();
+        update.setName("Updated Event");
+        update.setDescription("Updated Event Description");
+        update.setCapacity(120);
+
+        EventResponse result = eventService.updateEvent(update, 1L);
 
         assertNotNull(result);
         assertEquals(updatedEvent.getName(), result.getName());
@@ -165,15 +413,137 @@ public class EventServiceImplTest {
         verify(modelMapper, times(1)).map(any(Event.class), eq(EventResponse.class));
     }
 
+    @Test
+    @DisplayName("Обновление мероприятия в режиме STRIPED пересчитывает места по сумме полос")
+    void testUpdateEvent_Striped() {
+        event.setReservationMode(ReservationMode.STRIPED);
+        EventUpdateRequest update = new EventUpdateRequest();
+        update.setName("Striped Event");
+        update.setCapacity(120);
+        update.setReservationMode(ReservationMode.STRIPED);
+
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(event));
+        when(seatStripes.isStriped(any(Event.class))).thenReturn(true);
+        when(seatStripes.merge(1L)).thenReturn(40);
+        when(eventRepository.save(any(Event.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(modelMapper.map(any(Event.class), eq(EventResponse.class))).thenReturn(new EventResponse());
+
+        eventService.updateEvent(update, 1L);
+
+        assertEquals(60, event.getAvailableSeats());
+        verify(seatStripes, times(1)).merge(1L);
+        verify(seatStripes, times(1)).split(event);
+    }
+
+    @Test
+    @DisplayName("Увеличение вместимости мероприятия в режиме POOL пополняет пул билетов")
+    void testUpdateEvent_Pooled() {
+        event.setReservationMode(ReservationMode.POOL);
+        EventUpdateRequest update = new EventUpdateRequest();
+        update.setName("Pooled Event");
+        update.setCapacity(120);
+        update.setReservationMode(ReservationMode.POOL);
+
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(event));
+        when(ticketPool.isPooled(any(Event.class))).thenReturn(true);
+        when(ticketPool.lockFreeTickets(1L)).thenReturn(30);
+        when(eventRepository.save(any(Event.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(modelMapper.map(any(Event.class), eq(EventResponse.class))).thenReturn(new EventResponse());
+
+        eventService.updateEvent(update, 1L);
+
+        assertEquals(50, event.getAvailableSeats());
+        verify(ticketPool, times(1)).resize(1L, 20);
+        verify(ticketPool, never()).delete(any());
+    }
+
+    @Test
+    @DisplayName("Обновление без способа резервирования не меняет режим POOL и не удаляет пул билетов")
+    void testUpdateEvent_WithoutReservationModeKeepsPool() {
+        event.setReservationMode(ReservationMode.POOL);
+        EventUpdateRequest update = new EventUpdateRequest();
+        update.setName("Renamed Event");
+        update.setCapacity(100);
+
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(event));
+        when(ticketPool.isPooled(any(Event.class))).thenAnswer(invocation ->
+                invocation.<Event>getArgument(0).getReservationMode() == ReservationMode.POOL);
+        when(ticketPool.lockFreeTickets(1L)).thenReturn(40);
+        when(eventRepository.save(any(Event.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(modelMapper.map(any(Event.class), eq(EventResponse.class))).thenReturn(new EventResponse());
+
+        eventService.updateEvent(update, 1L);
+
+        assertEquals(ReservationMode.POOL, event.getReservationMode());
+        assertEquals(40, event.getAvailableSeats());
+        verify(ticketPool, never()).delete(any());
+    }
+
+    @Test
+    @DisplayName("Обновление без числа полос не меняет полосы мероприятия в режиме STRIPED")
+    void testUpdateEvent_WithoutSeatStripesKeepsStripes() {
+        event.setReservationMode(ReservationMode.STRIPED);
+        event.setSeatStripes(8);
+        EventUpdateRequest update = new EventUpdateRequest();
+        update.setName("Renamed Event");
+        update.setCapacity(100);
+
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(event));
+        when(seatStripes.isStriped(any(Event.class))).thenReturn(true);
+        when(seatStripes.merge(1L)).thenReturn(40);
+        when(eventRepository.save(any(Event.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(modelMapper.map(any(Event.class), eq(EventResponse.class))).thenReturn(new EventResponse());
+
+        eventService.updateEvent(update, 1L);
+
+        assertEquals(ReservationMode.STRIPED, event.getReservationMode());
+        assertEquals(8, event.getSeatStripes());
+        verify(seatStripes, times(1)).split(event);
+    }
+
+    @Test
+    @DisplayName("Обновление без признака комнаты ожидания не выключает ее")
+    void testUpdateEvent_WithoutWaitingRoomKeepsFlag() {
+        event.setWaitingRoom(true);
+        EventUpdateRequest update = new EventUpdateRequest();
+        update.setName("Renamed Event");
+        update.setCapacity(100);
+
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(event));
+        when(eventRepository.save(any(Event.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(modelMapper.map(any(Event.class), eq(EventResponse.class))).thenReturn(new EventResponse());
+
+        eventService.updateEvent(update, 1L);
+        assertTrue(event.isWaitingRoom());
+
+        update.setWaitingRoom(false);
+        eventService.updateEvent(update, 1L);
+        assertFalse(event.isWaitingRoom());
+    }
+
+    @Test
+    @DisplayName("Переключение мероприятия из режима LEDGER отклоняется")
+    void testUpdateEvent_SwitchFromLedgerRejected() {
+        event.setReservationMode(ReservationMode.LEDGER);
+        EventUpdateRequest update = new EventUpdateRequest();
+        update.setName("Event");
+        update.setCapacity(100);
+        update.setReservationMode(ReservationMode.SERIALIZABLE);
+
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(event));
+
+        assertThrows(BadRequestException.class, () -> eventService.updateEvent(update, 1L));
+        assertEquals(ReservationMode.LEDGER, event.getReservationMode());
+        verify(eventRepository, never()).save(any(Event.class));
+    }
+
     @Test
     @DisplayName("Ошибка обновления мероприятия")
     void testUpdateEvent_NotFound() {
-        Event updatedEvent = new Event();
-        updatedEvent.setId(1L);
+        EventUpdateRequest updatedEvent = new EventUpdateRequest();
         updatedEvent.setName("Updated Event");
         updatedEvent.setDescription("Updated Event Description");
         updatedEvent.setCapacity(120);
-        updatedEvent.setAvailableSeats(100);
 
         when(eventRepository.findById(1L)).thenReturn(Optional.empty());
 
@@ -0,0 +1,71 @@
+package com.application.ticketbooking.service;
+
+import com.application.ticketbooking.dto.EventSuggestion;
+import com.application.ticketbooking.entity.Event;
+import com.application.ticketbooking.event.EventChangedEvent;
+import com.application.ticketbooking.event.EventChangedEvent.ChangeType;
+import com.application.ticketbooking.repository.EventRepository;
+import com.application.ticketbooking.service.Impl.EventSuggestIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.time.LocalDateTime;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Тестирование подсказок названий мероприятий EventSuggestIndex")
+public class EventSuggestIndexTest {
+
+    private static final LocalDateTime BASE_DATE = LocalDateTime.now().plusYears(1);
+
+    private EventRepository eventRepository;
+    private EventSuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        eventRepository = mock(EventRepository.class);
+        when(eventRepository.findSuggestionsFrom(any())).thenReturn(List.of(
+                new EventSuggestion(1L, "Jazz Festival", BASE_DATE.plusDays(3)),
+                new EventSuggestion(2L, "Jazz Night", BASE_DATE.plusDays(1)),
+                new EventSuggestion(3L, "Opera", BASE_DATE)));
+        index = new EventSuggestIndex(eventRepository, new SimpleMeterRegistry(), 10);
+        index.reload();
+    }
+
+    @Test
+    @DisplayName("Подсказки по префиксу без учета регистра упорядочены по дате мероприятия")
+    void testSuggest() {
+        assertEquals(List.of(2L, 1L), ids(index.suggest("JAZZ", 10)));
+        assertEquals(List.of(2L), ids(index.suggest("jazz", 1)));
+        assertEquals(List.of(), index.suggest("rock", 10));
+    }
+
+    @Test
+    @DisplayName("Создание, переименование и удаление мероприятия обновляют подсказки без обращения к базе данных")
+    void testEventChanges() {
+        Event opera = event(3L, "Opera", BASE_DATE);
+        Event renamed = event(3L, "Jazz Opera", BASE_DATE);
+        index.onEventChanged(new EventChangedEvent(3L, ChangeType.UPDATED, opera, renamed));
+        index.onEventChanged(new EventChangedEvent(4L, ChangeType.CREATED, null, event(4L, "Jazz Club", BASE_DATE.plusDays(2))));
+        index.onEventChanged(new EventChangedEvent(5L, ChangeType.CREATED, null, event(5L, "Jazz Past", LocalDateTime.now().minusDays(1))));
+        index.onEventChanged(new EventChangedEvent(2L, ChangeType.DELETED, event(2L, "Jazz Night", BASE_DATE.plusDays(1)), null));
+
+        assertEquals(List.of(3L, 4L, 1L), ids(index.suggest("jazz", 10)));
+        assertEquals(List.of(), index.suggest("opera", 10));
+        verify(eventRepository, times(1)).findSuggestionsFrom(any());
+    }
+
+    private static List<Long> ids(List<EventSuggestion> suggestions) {
+        return suggestions.stream().map(EventSuggestion::getId).toList();
+    }
+
+    private static Event event(Long id, String name, LocalDateTime eventDate) {
+        return Event.builder().id(id).name(name).eventDate(eventDate).capacity(100).availableSeats(100).build();
+    }
+}
@@ -0,0 +1,100 @@
+package com.application.ticketbooking.service;
+
+import com.application.ticketbooking.repository.NotificationLogPartitionRepository;
+import com.application.ticketbooking.service.Impl.NotificationLogPartitions;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Тестирование обслуживания секций логов уведомлений NotificationLogPartitions")
+public class NotificationLogPartitionsTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 18, 12, 0);
+
+    private NotificationLogPartitionRepository partitionRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationLogPartitions partitions;
+
+    @BeforeEach
+    void setUp() {
+        partitionRepository = mock(NotificationLogPartitionRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        partitions = new NotificationLogPartitions(partitionRepository, mock(PlatformTransactionManager.class), meterRegistry,
+                Duration.ofDays(90), 2);
+    }
+
+    @Test
+    @DisplayName("Недостающие секции создаются на текущий и следующие месяцы под блокировкой")
+    void testCreatesMissingPartitions() {
+        when(partitionRepository.findPartitions()).thenReturn(List.of(YearMonth.of(2026, 10)));
+
+        partitions.maintain(NOW);
+
+        InOrder order = inOrder(partitionRepository);
+        order.verify(partitionRepository).lock();
+        order.verify(partitionRepository).findPartitions();
+        order.verify(partitionRepository).createPartition(YearMonth.of(2026, 11));
+        order.verify(partitionRepository).createPartition(YearMonth.of(2026, 12));
+        verify(partitionRepository, never()).createPartition(YearMonth.of(2026, 10));
+        verify(partitionRepository, never()).dropPartition(any());
+    }
+
+    @Test
+    @DisplayName("Удаляются только секции, все логи которых старше срока хранения")
+    void testDropsExpiredPartitions() {
+        when(partitionRepository.findPartitions()).thenReturn(List.of(
+                YearMonth.of(2026, 6), YearMonth.of(2026, 7), YearMonth.of(2026, 8),
+                YearMonth.of(2026, 10), YearMonth.of(2026, 11), YearMonth.of(2026, 12)));
+
+        partitions.maintain(NOW);
+
+        verify(partitionRepository).dropPartition(YearMonth.of(2026, 6));
+        verify(partitionRepository, never()).dropPartition(YearMonth.of(2026, 7));
+        verify(partitionRepository, never()).dropPartition(YearMonth.of(2026, 8));
+        verify(partitionRepository, never()).dropPartition(YearMonth.of(2026, 10));
+        verify(partitionRepository, never()).createPartition(any());
+    }
+
+    @Test
+    @DisplayName("Логи из секции по умолчанию переносятся в созданные для них секции, истекшие удаляются")
+    void testMovesRowsFromDefaultPartition() {
+        when(partitionRepository.findPartitions()).thenReturn(List.of(YearMonth.of(2026, 11), YearMonth.of(2026, 12)));
+        when(partitionRepository.findDefaultPartitionMonths()).thenReturn(List.of(YearMonth.of(2026, 5), YearMonth.of(2026, 10)));
+
+        partitions.maintain(NOW);
+
+        verify(partitionRepository).createPartitionFromDefault(YearMonth.of(2026, 5));
+        verify(partitionRepository).createPartitionFromDefault(YearMonth.of(2026, 10));
+        verify(partitionRepository, never()).createPartition(any());
+        verify(partitionRepository).dropPartition(YearMonth.of(2026, 5));
+        verify(partitionRepository, never()).dropPartition(YearMonth.of(2026, 10));
+    }
+
+    @Test
+    @DisplayName("Неудачное обслуживание учитывается в метрике")
+    void testMaintain_FailureCounted() {
+        doThrow(new DataAccessResourceFailureException("connection refused")).when(partitionRepository).lock();
+
+        partitions.maintain();
+
+        assertEquals(1.0, meterRegistry.get("booking.notifications.partitions.failures").counter().count());
+        assertEquals(0.0, meterRegistry.get("booking.notifications.partitions.last-success").timeGauge().value(TimeUnit.SECONDS));
+    }
+}
@@ -1,27 +1,46 @@
 package com.application.ticketbooking.service;
 
-import com.application.ticketbooking.dto.BookingResponse;
+import com.application.ticketbooking.dto.CountMode;
+import com.application.ticketbooking.dto.CountedPage;
+import com.application.ticketbooking.dto.CursorPage;
+import com.application.ticketbooking.dto.NotificationLogResponse;
 import com.application.ticketbooking.entity.Booking;
 import com.application.ticketbooking.entity.NotificationLog;
+import com.application.ticketbooking.exception.BadRequestException;
+import com.application.ticketbooking.service.Impl.CountProvider;
 import com.application.ticketbooking.service.Impl.NotificationLogServiceImpl;
+import com.application.ticketbooking.repository.NotificationLogJdbcRepository;
 import com.application.ticketbooking.repository.NotificationLogRepository;
+import com.application.ticketbooking.repository.TableStatisticsRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
-import static org.mockito.Mockito.any;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @DisplayName("Тестирование работы класса сервиса NotificationLogServiceImpl")
@@ -32,50 +51,99 @@ public class NotificationLogServiceImplTest {
     private NotificationLogRepository notificationLogRepository;
 
     @Mock
-    private ModelMapper modelMapper;
+    private NotificationLogJdbcRepository notificationLogJdbcRepository;
+
+    @Spy
+    private CountProvider countProvider = new CountProvider(
+            mock(TableStatisticsRepository.class), new SimpleMeterRegistry(), CountMode.CACHED, Duration.ofMinutes(1));
 
     @InjectMocks
     private NotificationLogServiceImpl notificationLogService;
 
-    private BookingResponse bookingResponse;
     private NotificationLog notificationLog;
 
     @BeforeEach
     void setUp() {
-        bookingResponse = new BookingResponse();
-        bookingResponse.setId(1L);
-        bookingResponse.setUserId(1L);
-        bookingResponse.setEventId(1L);
-        bookingResponse.setBookingDate(LocalDateTime.now());
-        bookingResponse.setTicketsCount(2);
-        bookingResponse.setMessage("Booking message");
-
         notificationLog = new NotificationLog();
         notificationLog.setBooking(new Booking());
         notificationLog.setNotificationMessage("Уведомление отправлено");
     }
 
     @Test
-    @DisplayName("Успешное логирование")
-    void testSetNotificationLog() {
-        when(modelMapper.map(bookingResponse, Booking.class)).thenReturn(new Booking());
+    @DisplayName("Успешное получение логов")
+    void testGetAllNotificationLogs() {
+        Pageable pageable = PageRequest.of(0, 10);
+        Slice<NotificationLog> notificationLogsPage = new SliceImpl<>(List.of(notificationLog), pageable, false);
+        when(notificationLogRepository.findAllBy(pageable)).thenReturn(notificationLogsPage);
 
-        notificationLogService.setNotificationLog(bookingResponse);
+        CountedPage<NotificationLog> result = notificationLogService.getAllNotificationLogs(0, 10, null, null, null, null);
 
-        verify(notificationLogRepository, times(1)).save(any(NotificationLog.class));
+        assertNotNull(result);
+        assertEquals(1L, result.getTotalElements());
+        verify(notificationLogRepository, times(1)).findAllBy(pageable);
+        verify(notificationLogRepository, never()).count();
     }
 
     @Test
-    @DisplayName("Успешное получение логов")
-    void testGetAllNotificationLogs() {
-        Pageable pageable = PageRequest.of(0, 10);
-        Page<NotificationLog> notificationLogsPage = mock(Page.class);
-        when(notificationLogRepository.findAll(pageable)).thenReturn(notificationLogsPage);
+    @DisplayName("Успешное получение первой страницы логов по курсору")
+    void testGetNotificationLogsAfter() {
+        notificationLog.setId(1L);
+        when(notificationLogRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(11))).thenReturn(List.of(notificationLog));
 
-        Page<NotificationLog> result = notificationLogService.getAllNotificationLogs(0, 10);
+        CursorPage<NotificationLog> result = notificationLogService.getNotificationLogsAfter(null, 10, null, null, null);
 
-        assertNotNull(result);
-        verify(notificationLogRepository, times(1)).findAll(pageable);
+        assertEquals(List.of(notificationLog), result.getContent());
+        assertNull(result.getNextCursor());
     }
-}
 
+    @Test
+    @DisplayName("Логи за интервал времени запрашиваются с обеими границами и считаются точно")
+    void testGetAllNotificationLogsBetween() {
+        LocalDateTime from = LocalDateTime.of(2026, 10, 1, 0, 0);
+        Pageable pageable = PageRequest.of(1, 1);
+        when(notificationLogRepository.findPageBetween(eq(from), any(LocalDateTime.class), eq(null), eq(pageable)))
+                .thenReturn(new SliceImpl<>(List.of(notificationLog), pageable, true));
+        when(notificationLogRepository.countBetween(eq(from), any(LocalDateTime.class), eq(null))).thenReturn(5L);
+
+        CountedPage<NotificationLog> result = notificationLogService.getAllNotificationLogs(1, 1, CountMode.ESTIMATED, from, null, null);
+
+        assertEquals(5L, result.getTotalElements());
+        assertEquals(CountMode.EXACT, result.getTotalElementsKind());
+        verify(notificationLogRepository, never()).findAllBy(any());
+    }
+
+    @Test
+    @DisplayName("Пустой интервал времени отклоняется")
+    void testGetAllNotificationLogsEmptyRange() {
+        LocalDateTime from = LocalDateTime.of(2026, 10, 1, 0, 0);
+
+        assertThrows(BadRequestException.class, () -> notificationLogService.getAllNotificationLogs(0, 10, null, from, from, null));
+        assertThrows(BadRequestException.class, () -> notificationLogService.getNotificationLogsAfter(null, 10, from, from.minusDays(1), null));
+        assertThrows(BadRequestException.class, () -> notificationLogService.streamNotificationLogs(from, from, null, notification -> { }));
+        verifyNoInteractions(notificationLogJdbcRepository);
+    }
+
+    @Test
+    @DisplayName("Логи бронирования читаются с фильтром даже без интервала времени")
+    void testGetNotificationLogsAfterByBooking() {
+        notificationLog.setId(1L);
+        when(notificationLogRepository.findPageBetweenAfter(any(LocalDateTime.class), any(LocalDateTime.class), eq(7L), eq(0L), eq(Limit.of(11))))
+                .thenReturn(List.of(notificationLog));
+
+        CursorPage<NotificationLog> result = notificationLogService.getNotificationLogsAfter("", 10, null, null, 7L);
+
+        assertEquals(List.of(notificationLog), result.getContent());
+        verify(notificationLogRepository, never()).findByIdGreaterThanOrderByIdAsc(any(), any());
+    }
+
+    @Test
+    @DisplayName("Потоковое чтение логов получает обе границы интервала и бронирование")
+    void testStreamNotificationLogs() {
+        LocalDateTime to = LocalDateTime.of(2026, 10, 1, 0, 0);
+        Consumer<NotificationLogResponse> consumer = notification -> { };
+
+        notificationLogService.streamNotificationLogs(null, to, 7L, consumer);
+
+        verify(notificationLogJdbcRepository).stream(any(LocalDateTime.class), eq(to), eq(7L), eq(consumer));
+    }
+}
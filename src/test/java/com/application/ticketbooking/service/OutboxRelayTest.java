@@ -0,0 +1,89 @@
+package com.application.ticketbooking.service;
+
+import com.application.ticketbooking.repository.OutboxRepository;
+import com.application.ticketbooking.repository.OutboxRepository.Pending;
+import com.application.ticketbooking.repository.OutboxRepository.Relayed;
+import com.application.ticketbooking.service.Impl.OutboxRelay;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Тестирование обработчика outbox OutboxRelay")
+public class OutboxRelayTest {
+
+    private static final int BATCH_SIZE = 3;
+    private static final Duration RETENTION = Duration.ofDays(1);
+
+    private OutboxRepository outboxRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository = mock(OutboxRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        relay = new OutboxRelay(outboxRepository, meterRegistry, 1, BATCH_SIZE, Duration.ofSeconds(10), RETENTION);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        relay.shutdown();
+    }
+
+    @Test
+    @DisplayName("Пакеты обрабатываются, пока очередной пакет не окажется неполным")
+    void testDrain() {
+        when(outboxRepository.relay(BATCH_SIZE)).thenReturn(
+                new Relayed(3, Duration.ofMillis(300)),
+                new Relayed(3, Duration.ofMillis(200)),
+                new Relayed(1, Duration.ofMillis(100)));
+
+        assertEquals(7, relay.drain());
+
+        verify(outboxRepository, times(3)).relay(BATCH_SIZE);
+        assertEquals(7.0, meterRegistry.get("booking.outbox.relayed").counter().count());
+        assertEquals(3, meterRegistry.get("booking.outbox.batch").timer().count());
+        assertEquals(300.0, meterRegistry.get("booking.notifications.delivery").timer().max(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("Пустой пакет не записывается в метрики")
+    void testDrain_Empty() {
+        when(outboxRepository.relay(BATCH_SIZE)).thenReturn(new Relayed(0, Duration.ZERO));
+
+        assertEquals(0, relay.drain());
+
+        verify(outboxRepository, times(1)).relay(BATCH_SIZE);
+        assertEquals(0, meterRegistry.get("booking.outbox.batch").timer().count());
+    }
+
+    @Test
+    @DisplayName("Метрики показывают количество и возраст необработанных сообщений")
+    void testMeasurePending() {
+        when(outboxRepository.findPending()).thenReturn(new Pending(42, Duration.ofSeconds(3)));
+
+        relay.measurePending();
+
+        assertEquals(42.0, meterRegistry.get("booking.outbox.pending").gauge().value());
+        assertEquals(3.0, meterRegistry.get("booking.outbox.pending.age").timeGauge().value(TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Обработанные сообщения удаляются пакетами, пока очередной пакет не окажется неполным")
+    void testPurge() {
+        when(outboxRepository.purgeProcessed(RETENTION, BATCH_SIZE)).thenReturn(3, 2);
+
+        relay.purge();
+
+        verify(outboxRepository, times(2)).purgeProcessed(RETENTION, BATCH_SIZE);
+    }
+}
@@ -0,0 +1,223 @@
+package com.application.ticketbooking.service;
+
+import com.application.ticketbooking.dto.BookingRequest;
+import com.application.ticketbooking.dto.BookingResponse;
+import com.application.ticketbooking.dto.SeatHoldResponse;
+import com.application.ticketbooking.entity.Booking;
+import com.application.ticketbooking.entity.Event;
+import com.application.ticketbooking.entity.SeatHold;
+import com.application.ticketbooking.entity.User;
+import com.application.ticketbooking.exception.BadRequestException;
+import com.application.ticketbooking.exception.EntityNotFoundException;
+import com.application.ticketbooking.repository.BookingRepository;
+import com.application.ticketbooking.repository.EventRepository;
+import com.application.ticketbooking.repository.SeatHoldRepository;
+import com.application.ticketbooking.service.Impl.BookingOutbox;
+import com.application.ticketbooking.service.Impl.SeatHoldServiceImpl;
+import com.application.ticketbooking.service.Impl.SeatReservationStrategyResolver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Тестирование работы класса сервиса SeatHoldServiceImpl")
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class SeatHoldServiceImplTest {
+
+    @Mock
+    private SeatHoldRepository seatHoldRepository;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private ModelMapper modelMapper;
+
+    @Mock
+    private BookingOutbox bookingOutbox;
+
+    @Mock
+    private SeatReservationStrategyResolver strategyResolver;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private SeatReservationStrategy strategy;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SeatHoldServiceImpl seatHoldService;
+    private BookingRequest bookingRequest;
+    private Event event;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        seatHoldService = newService(Duration.ofMinutes(10));
+
+        user = new User();
+        user.setId(1L);
+
+        Authentication authentication = mock(Authentication.class);
+        when(authentication.getPrincipal()).thenReturn(user);
+        SecurityContext securityContext = mock(SecurityContext.class);
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        SecurityContextHolder.setContext(securityContext);
+
+        event = new Event();
+        event.setId(1L);
+        bookingRequest = new BookingRequest(1L, 2);
+
+        when(strategyResolver.resolve(1L)).thenReturn(strategy);
+        when(strategy.usesEventSeatCounter()).thenReturn(true);
+        when(eventRepository.getReferenceById(1L)).thenReturn(event);
+        when(seatHoldRepository.save(any(SeatHold.class))).thenAnswer(invocation -> {
+            SeatHold hold = invocation.getArgument(0);
+            hold.setId(7L);
+            return hold;
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        seatHoldService.shutdown();
+    }
+
+    private SeatHoldServiceImpl newService(Duration ttl) {
+        return new SeatHoldServiceImpl(seatHoldRepository, eventRepository, bookingRepository, modelMapper,
+                bookingOutbox, strategyResolver, transactionManager, meterRegistry,
+                ttl, Duration.ofMillis(10), 1);
+    }
+
+    private SeatHold hold() {
+        SeatHold hold = new SeatHold();
+        hold.setId(7L);
+        hold.setUser(user);
+        hold.setEvent(event);
+        hold.setTicketsCount(2);
+        hold.setExpiresAt(LocalDateTime.now().plusMinutes(10));
+        return hold;
+    }
+
+    @Test
+    @DisplayName("Успешное удержание мест")
+    void testHoldSeats_Success() {
+        when(eventRepository.decrementAvailableSeats(1L, 2)).thenReturn(1);
+
+        SeatHoldResponse result = seatHoldService.holdSeats(bookingRequest);
+
+        assertEquals(7L, result.getId());
+        assertEquals(2, result.getTicketsCount());
+        assertEquals(1.0, meterRegistry.get("booking.holds.active").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Ошибка удержания из-за недостатка мест")
+    void testHoldSeats_InsufficientSeats() {
+        when(eventRepository.decrementAvailableSeats(1L, 2)).thenReturn(0);
+        when(eventRepository.existsById(1L)).thenReturn(true);
+
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> seatHoldService.holdSeats(bookingRequest));
+
+        assertEquals("Недостаточно мест на мероприятии", exception.getMessage());
+        verify(seatHoldRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Подтверждение удержания создает бронирование и отменяет таймер")
+    void testConfirmHold_Success() {
+        when(eventRepository.decrementAvailableSeats(1L, 2)).thenReturn(1);
+        when(seatHoldRepository.findById(7L)).thenReturn(Optional.of(hold()));
+        when(seatHoldRepository.deleteActiveHold(eq(7L), eq(1L), any(LocalDateTime.class))).thenReturn(1);
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        BookingResponse bookingResponse = new BookingResponse();
+        when(modelMapper.map(any(Booking.class), eq(BookingResponse.class))).thenReturn(bookingResponse);
+
+        seatHoldService.holdSeats(bookingRequest);
+        BookingResponse result = seatHoldService.confirmHold(7L);
+
+        assertEquals("Бронирование успешно выполнено.", result.getMessage());
+        assertEquals(0.0, meterRegistry.get("booking.holds.active").gauge().value());
+        ArgumentCaptor<Booking> saved = ArgumentCaptor.forClass(Booking.class);
+        verify(bookingRepository).saveAndFlush(saved.capture());
+        verify(bookingOutbox).append(saved.getValue());
+        verify(eventRepository, never()).addAvailableSeats(any(), any(Integer.class));
+    }
+
+    @Test
+    @DisplayName("Ошибка подтверждения истекшего удержания")
+    void testConfirmHold_Expired() {
+        when(seatHoldRepository.findById(7L)).thenReturn(Optional.of(hold()));
+        when(seatHoldRepository.deleteActiveHold(eq(7L), eq(1L), any(LocalDateTime.class))).thenReturn(0);
+
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                () -> seatHoldService.confirmHold(7L));
+
+        assertEquals("Удержание мест не найдено или истекло.", exception.getMessage());
+        verify(bookingRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("Истекшее удержание возвращает места в продажу")
+    void testHoldExpires() throws InterruptedException {
+        seatHoldService.shutdown();
+        seatHoldService = newService(Duration.ofMillis(50));
+        when(eventRepository.decrementAvailableSeats(1L, 2)).thenReturn(1);
+        when(seatHoldRepository.findById(7L)).thenReturn(Optional.of(hold()));
+        when(seatHoldRepository.deleteHoldById(7L)).thenReturn(1);
+
+        seatHoldService.holdSeats(bookingRequest);
+        assertEquals(1.0, meterRegistry.get("booking.holds.active").gauge().value());
+
+        verify(eventRepository, timeout(2000)).addAvailableSeats(1L, 2);
+    }
+
+    @Test
+    @DisplayName("Истекшие удержания из базы данных освобождает только экземпляр, удаливший строку")
+    void testSweepExpiredHolds() {
+        SeatHold other = hold();
+        other.setId(8L);
+        when(seatHoldRepository.findExpiredIds(any(LocalDateTime.class), any(Limit.class))).thenReturn(List.of(7L, 8L));
+        when(seatHoldRepository.findById(7L)).thenReturn(Optional.of(hold()));
+        when(seatHoldRepository.findById(8L)).thenReturn(Optional.of(other));
+        when(seatHoldRepository.deleteHoldById(7L)).thenReturn(1);
+        when(seatHoldRepository.deleteHoldById(8L)).thenReturn(0);
+
+        seatHoldService.sweepExpiredHolds();
+
+        verify(eventRepository).addAvailableSeats(1L, 2);
+        verify(seatHoldRepository).deleteHoldById(8L);
+    }
+}
@@ -0,0 +1,128 @@
+package com.application.ticketbooking.service;
+
+import com.application.ticketbooking.entity.Event;
+import com.application.ticketbooking.event.EventChangedEvent;
+import com.application.ticketbooking.repository.EventRepository;
+import com.application.ticketbooking.service.Impl.SeatInventory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Тестирование учета мест в памяти SeatInventory")
+@ExtendWith(MockitoExtension.class)
+public class SeatInventoryTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    private SeatInventory seatInventory;
+
+    @BeforeEach
+    void setUp() {
+        when(eventRepository.findAllSeats()).thenReturn(List.of(seats(1L, 10), seats(2L, 0)));
+        seatInventory = new SeatInventory(eventRepository);
+        seatInventory.rebuild();
+    }
+
+    @Test
+    @DisplayName("Резервирование уменьшает количество мест и отклоняется при нехватке")
+    void testTryReserve() {
+        assertEquals(SeatInventory.Reservation.RESERVED, seatInventory.tryReserve(1L, 4));
+        assertEquals(6, seatInventory.availableSeats(1L));
+        assertEquals(SeatInventory.Reservation.NOT_ENOUGH_SEATS, seatInventory.tryReserve(1L, 7));
+        assertEquals(SeatInventory.Reservation.NOT_ENOUGH_SEATS, seatInventory.tryReserve(2L, 1));
+        assertEquals(SeatInventory.Reservation.UNKNOWN_EVENT, seatInventory.tryReserve(3L, 1));
+    }
+
+    @Test
+    @DisplayName("Конкурентное резервирование не продает больше мест, чем есть")
+    void testConcurrentReservationsDoNotOversell() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    int reserved = 0;
+                    for (int i = 0; i < 100; i++) {
+                        if (seatInventory.tryReserve(1L, 1) == SeatInventory.Reservation.RESERVED) {
+                            reserved++;
+                        }
+                    }
+                    return reserved;
+                }));
+            }
+            int total = 0;
+            for (Future<Integer> future : futures) {
+                total += future.get();
+            }
+            assertEquals(10, total);
+            assertEquals(0, seatInventory.availableSeats(1L));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Учет следует за созданием, изменением вместимости и удалением мероприятия")
+    void testOnEventChanged() {
+        Event created = event(3L, 50, 50);
+        seatInventory.onEventChanged(new EventChangedEvent(3L, EventChangedEvent.ChangeType.CREATED, null, created));
+        assertEquals(50, seatInventory.availableSeats(3L));
+
+        seatInventory.tryReserve(3L, 5);
+        seatInventory.onEventChanged(new EventChangedEvent(3L, EventChangedEvent.ChangeType.UPDATED,
+                event(3L, 50, 50), event(3L, 60, 60)));
+        assertEquals(55, seatInventory.availableSeats(3L));
+
+        seatInventory.onEventChanged(new EventChangedEvent(3L, EventChangedEvent.ChangeType.DELETED, created, null));
+        assertEquals(-1, seatInventory.availableSeats(3L));
+        assertEquals(SeatInventory.Reservation.UNKNOWN_EVENT, seatInventory.tryReserve(3L, 1));
+        assertEquals(10, seatInventory.availableSeats(1L));
+    }
+
+    @Test
+    @DisplayName("Мероприятие, отсутствующее в учете, загружается из базы данных")
+    void testLoad() {
+        when(eventRepository.findById(4L)).thenReturn(Optional.of(event(4L, 20, 15)));
+        when(eventRepository.findById(5L)).thenReturn(Optional.empty());
+
+        assertTrue(seatInventory.load(4L));
+        assertEquals(15, seatInventory.availableSeats(4L));
+        assertFalse(seatInventory.load(5L));
+    }
+
+    private static Event event(Long id, int capacity, int availableSeats) {
+        Event event = new Event();
+        event.setId(id);
+        event.setCapacity(capacity);
+        event.setAvailableSeats(availableSeats);
+        return event;
+    }
+
+    private static EventRepository.SeatsView seats(Long id, int availableSeats) {
+        return new EventRepository.SeatsView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public int getAvailableSeats() {
+                return availableSeats;
+            }
+        };
+    }
+}
@@ -0,0 +1,146 @@
+package com.application.ticketbooking.service;
+
+import com.application.ticketbooking.dto.BookingRequest;
+import com.application.ticketbooking.entity.Event;
+import com.application.ticketbooking.entity.ReservationMode;
+import com.application.ticketbooking.entity.User;
+import com.application.ticketbooking.exception.BadRequestException;
+import com.application.ticketbooking.repository.UserRepository;
+import com.application.ticketbooking.service.Impl.SeatReservationStrategyResolver;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Сравнение способов резервирования мест под конкуренцией за одно мероприятие.
+ * Точкой отсчета служит способ по умолчанию {@code SERIALIZABLE}: его ошибки сериализации
+ * учитываются как ошибки, и запрос повторяется.
+ * Запускается только в профиле {@code benchmark}: {@code mvn test -Pbenchmark}.
+ */
+@Slf4j
+@SpringBootTest
+@Testcontainers
+@ActiveProfiles("test")
+@Tag("benchmark")
+@DisplayName("Нагрузочное сравнение способов резервирования мест")
+public class SeatReservationBenchmarkTest {
+
+    private static final int CAPACITY = 2_000;
+    private static final int THREADS = 32;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> THREADS + 8);
+        registry.add("spring.flyway.url", postgres::getJdbcUrl);
+        registry.add("spring.flyway.user", postgres::getUsername);
+        registry.add("spring.flyway.password", postgres::getPassword);
+        registry.add("spring.flyway.enabled", () -> true);
+    }
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private SeatReservationStrategyResolver strategyResolver;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.findByUsername("benchmarkUser").orElseGet(() ->
+                userRepository.save(new User(null, "benchmarkUser", "password", "ROLE_USER", true)));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(value = ReservationMode.class, names = {"SERIALIZABLE", "PESSIMISTIC", "CONDITIONAL_UPDATE", "POOL"})
+    @DisplayName("Распродажа мероприятия по одному месту без продажи лишних мест")
+    void sellOut(ReservationMode mode) throws Exception {
+        Event event = new Event();
+        event.setName("Benchmark " + mode);
+        event.setEventDate(LocalDateTime.now().plusDays(30));
+        event.setCapacity(CAPACITY);
+        event.setReservationMode(mode);
+        Long eventId = eventService.createEvent(event).getId();
+        SeatReservationStrategy strategy = strategyResolver.strategy(mode);
+
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            workers.add(executor.submit(() -> {
+                start.await();
+                // Несколько отказов подряд означают, что места распроданы.
+                int rejectedInRow = 0;
+                while (booked.get() < CAPACITY && rejectedInRow < 3) {
+                    try {
+                        strategy.reserve(user, new BookingRequest(eventId, 1));
+                        booked.incrementAndGet();
+                        rejectedInRow = 0;
+                    } catch (BadRequestException e) {
+                        rejected.incrementAndGet();
+                        rejectedInRow++;
+                    } catch (RuntimeException e) {
+                        failed.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long startNanos = System.nanoTime();
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(5, TimeUnit.MINUTES);
+        }
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        executor.shutdown();
+
+        log.info("{}: {} бронирований за {} мс ({} в секунду), отказов {}, ошибок {}",
+                mode, booked.get(), elapsedMillis, booked.get() * 1000L / elapsedMillis, rejected.get(), failed.get());
+
+        Integer bookedSeats = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(tickets_count), 0) FROM ticket_booking.bookings WHERE event_id = ?",
+                Integer.class, eventId);
+        assertEquals(booked.get(), bookedSeats);
+        assertTrue(bookedSeats <= CAPACITY, "Продано больше мест, чем вместимость мероприятия");
+        assertEquals(CAPACITY - bookedSeats, eventService.getEventById(eventId).getAvailableSeats());
+    }
+}
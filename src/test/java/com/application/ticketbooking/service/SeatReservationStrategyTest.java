@@ -0,0 +1,322 @@
+package com.application.ticketbooking.service;
+
+import com.application.ticketbooking.dto.BookingRequest;
+import com.application.ticketbooking.entity.Booking;
+import com.application.ticketbooking.entity.Event;
+import com.application.ticketbooking.entity.User;
+import com.application.ticketbooking.exception.BadRequestException;
+import com.application.ticketbooking.exception.EntityNotFoundException;
+import com.application.ticketbooking.repository.BookingRepository;
+import com.application.ticketbooking.repository.EventRepository;
+import com.application.ticketbooking.repository.EventSeatStripeRepository;
+import com.application.ticketbooking.repository.SeatLeaseRepository;
+import com.application.ticketbooking.repository.TicketJdbcRepository;
+import com.application.ticketbooking.service.Impl.BookingOutbox;
+import com.application.ticketbooking.service.Impl.ConditionalUpdateSeatReservationStrategy;
+import com.application.ticketbooking.service.Impl.EscrowSeatReservationStrategy;
+import com.application.ticketbooking.service.Impl.OptimisticSeatReservationStrategy;
+import com.application.ticketbooking.service.Impl.PessimisticSeatReservationStrategy;
+import com.application.ticketbooking.service.Impl.PoolSeatReservationStrategy;
+import com.application.ticketbooking.service.Impl.StripedSeatReservationStrategy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Тестирование стратегий резервирования мест")
+@ExtendWith(MockitoExtension.class)
+public class SeatReservationStrategyTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private BookingOutbox bookingOutbox;
+
+    @Mock
+    private EventSeatStripeRepository stripeRepository;
+
+    @Mock
+    private TicketJdbcRepository ticketRepository;
+
+    @Mock
+    private SeatLeaseRepository leaseRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private User user;
+    private Event event;
+    private BookingRequest bookingRequest;
+    private Booking booking;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+
+        user = new User();
+        user.setId(1L);
+
+        event = new Event();
+        event.setId(1L);
+        event.setCapacity(10);
+        event.setAvailableSeats(10);
+
+        bookingRequest = new BookingRequest(1L, 2);
+
+        booking = new Booking();
+        booking.setId(1L);
+    }
+
+    @Test
+    @DisplayName("Пессимистическая стратегия блокирует строку мероприятия")
+    void testPessimistic_Success() {
+        PessimisticSeatReservationStrategy strategy =
+                new PessimisticSeatReservationStrategy(eventRepository, bookingRepository, bookingOutbox, transactionManager);
+        when(eventRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(event));
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenReturn(booking);
+
+        Booking result = strategy.reserve(user, bookingRequest);
+
+        assertSame(booking, result);
+        assertEquals(8, event.getAvailableSeats());
+        verify(eventRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Условный UPDATE успешно резервирует места")
+    void testConditionalUpdate_Success() {
+        ConditionalUpdateSeatReservationStrategy strategy =
+                new ConditionalUpdateSeatReservationStrategy(eventRepository, bookingRepository, bookingOutbox, transactionManager);
+        when(eventRepository.decrementAvailableSeats(1L, 2)).thenReturn(1);
+        when(eventRepository.getReferenceById(1L)).thenReturn(event);
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenReturn(booking);
+
+        Booking result = strategy.reserve(user, bookingRequest);
+
+        assertSame(booking, result);
+        verify(eventRepository, never()).existsById(any());
+    }
+
+    @Test
+    @DisplayName("Условный UPDATE отклоняет бронирование при нехватке мест")
+    void testConditionalUpdate_InsufficientSeats() {
+        ConditionalUpdateSeatReservationStrategy strategy =
+                new ConditionalUpdateSeatReservationStrategy(eventRepository, bookingRepository, bookingOutbox, transactionManager);
+        when(eventRepository.decrementAvailableSeats(1L, 2)).thenReturn(0);
+        when(eventRepository.existsById(1L)).thenReturn(true);
+
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> strategy.reserve(user, bookingRequest));
+
+        assertEquals("Недостаточно мест на мероприятии", exception.getMessage());
+        verify(bookingRepository, never()).saveAndFlush(any(Booking.class));
+    }
+
+    @Test
+    @DisplayName("Условный UPDATE сообщает об отсутствии мероприятия")
+    void testConditionalUpdate_EventNotFound() {
+        ConditionalUpdateSeatReservationStrategy strategy =
+                new ConditionalUpdateSeatReservationStrategy(eventRepository, bookingRepository, bookingOutbox, transactionManager);
+        when(eventRepository.decrementAvailableSeats(1L, 2)).thenReturn(0);
+        when(eventRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class, () -> strategy.reserve(user, bookingRequest));
+    }
+
+    @Test
+    @DisplayName("Оптимистическая стратегия повторяет попытку при конфликте версий")
+    void testOptimistic_RetryAfterConflict() {
+        OptimisticSeatReservationStrategy strategy = new OptimisticSeatReservationStrategy(eventRepository,
+                bookingRepository, bookingOutbox, transactionManager, meterRegistry, 3, Duration.ZERO);
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(event));
+        when(eventRepository.saveAndFlush(event))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Event.class, 1L))
+                .thenReturn(event);
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenReturn(booking);
+
+        Booking result = strategy.reserve(user, bookingRequest);
+
+        assertSame(booking, result);
+        assertEquals(1.0, meterRegistry.get("booking.reservation.retries").counter().count());
+    }
+
+    @Test
+    @DisplayName("Оптимистическая стратегия прекращает повторы после исчерпания попыток")
+    void testOptimistic_AttemptsExhausted() {
+        OptimisticSeatReservationStrategy strategy = new OptimisticSeatReservationStrategy(eventRepository,
+                bookingRepository, bookingOutbox, transactionManager, meterRegistry, 2, Duration.ZERO);
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(event));
+        when(eventRepository.saveAndFlush(event))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Event.class, 1L));
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> strategy.reserve(user, bookingRequest));
+
+        verify(eventRepository, times(2)).findById(1L);
+        verify(bookingRepository, never()).saveAndFlush(any(Booking.class));
+        assertEquals(1.0, meterRegistry.get("booking.reservation.retries").counter().count());
+    }
+
+    @Test
+    @DisplayName("Полосная стратегия списывает места из одной случайной полосы")
+    void testStriped_SingleStripe() {
+        StripedSeatReservationStrategy strategy = new StripedSeatReservationStrategy(
+                eventRepository, bookingRepository, bookingOutbox, stripeRepository, transactionManager, meterRegistry);
+        event.setSeatStripes(4);
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(event));
+        when(stripeRepository.take(eq(1L), anyInt(), eq(2))).thenReturn(true);
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenReturn(booking);
+
+        assertSame(booking, strategy.reserve(user, bookingRequest));
+        assertSame(booking, strategy.reserve(user, bookingRequest));
+
+        verify(eventRepository, times(1)).findById(1L);
+        verify(stripeRepository, never()).lockAvailable(any());
+        assertEquals(0.0, meterRegistry.counter("booking.reservation.stripe.fallbacks").count());
+    }
+
+    @Test
+    @DisplayName("Полосная стратегия набирает места из нескольких полос, если в выбранной их не хватает")
+    void testStriped_Fallback() {
+        StripedSeatReservationStrategy strategy = new StripedSeatReservationStrategy(
+                eventRepository, bookingRepository, bookingOutbox, stripeRepository, transactionManager, meterRegistry);
+        event.setSeatStripes(2);
+        Map<Integer, Integer> available = new LinkedHashMap<>();
+        available.put(0, 1);
+        available.put(1, 1);
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(event));
+        when(stripeRepository.take(eq(1L), anyInt(), eq(2))).thenReturn(false);
+        when(stripeRepository.lockAvailable(1L)).thenReturn(available);
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenReturn(booking);
+
+        assertSame(booking, strategy.reserve(user, bookingRequest));
+
+        verify(stripeRepository).subtract(1L, 0, 1);
+        verify(stripeRepository).subtract(1L, 1, 1);
+        assertEquals(1.0, meterRegistry.counter("booking.reservation.stripe.fallbacks").count());
+    }
+
+    @Test
+    @DisplayName("Полосная стратегия отказывает, если суммы полос не хватает")
+    void testStriped_InsufficientSeats() {
+        StripedSeatReservationStrategy strategy = new StripedSeatReservationStrategy(
+                eventRepository, bookingRepository, bookingOutbox, stripeRepository, transactionManager, meterRegistry);
+        event.setSeatStripes(2);
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(event));
+        when(stripeRepository.take(eq(1L), anyInt(), eq(2))).thenReturn(false);
+        when(stripeRepository.lockAvailable(1L)).thenReturn(Map.of(1, 1));
+
+        assertThrows(BadRequestException.class, () -> strategy.reserve(user, bookingRequest));
+
+        verify(stripeRepository, never()).subtract(any(), anyInt(), anyInt());
+        verify(bookingRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("Стратегия пула привязывает заблокированные билеты к бронированию")
+    void testPool_Success() {
+        PoolSeatReservationStrategy strategy = new PoolSeatReservationStrategy(
+                eventRepository, bookingRepository, bookingOutbox, ticketRepository, transactionManager);
+        when(ticketRepository.lockFreeTickets(1L, 2)).thenReturn(List.of(11L, 12L));
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenReturn(booking);
+
+        assertSame(booking, strategy.reserve(user, bookingRequest));
+
+        verify(ticketRepository).assignTickets(List.of(11L, 12L), 1L);
+    }
+
+    @Test
+    @DisplayName("Стратегия пула отказывает, если свободных билетов не хватает")
+    void testPool_InsufficientSeats() {
+        PoolSeatReservationStrategy strategy = new PoolSeatReservationStrategy(
+                eventRepository, bookingRepository, bookingOutbox, ticketRepository, transactionManager);
+        when(ticketRepository.lockFreeTickets(1L, 2)).thenReturn(List.of(11L));
+
+        assertThrows(BadRequestException.class, () -> strategy.reserve(user, bookingRequest));
+
+        verify(bookingRepository, never()).saveAndFlush(any());
+        verify(ticketRepository, never()).assignTickets(any(), any());
+    }
+
+    @Test
+    @DisplayName("Стратегия квот арендует блок мест один раз и продает из него без обращения к мероприятию")
+    void testEscrow_SellsFromLocalQuota() {
+        EscrowSeatReservationStrategy strategy = escrowStrategy();
+        when(leaseRepository.lease(eq(1L), any(), eq(50), any())).thenReturn(new SeatLeaseRepository.Lease(7L, 5));
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenReturn(booking);
+
+        strategy.reserve(user, bookingRequest);
+        strategy.reserve(user, bookingRequest);
+
+        verify(leaseRepository, times(1)).lease(any(), any(), anyInt(), any());
+        verify(eventRepository, never()).decrementAvailableSeats(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Стратегия квот отказывает, когда мероприятие не выдает мест")
+    void testEscrow_InsufficientSeats() {
+        EscrowSeatReservationStrategy strategy = escrowStrategy();
+        when(leaseRepository.lease(eq(1L), any(), anyInt(), any())).thenReturn(new SeatLeaseRepository.Lease(7L, 1));
+
+        assertThrows(BadRequestException.class, () -> strategy.reserve(user, bookingRequest));
+        verify(bookingRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("Стратегия квот возвращает места в квоту, если бронирование не сохранилось")
+    void testEscrow_ReturnsSeatsOnFailure() {
+        EscrowSeatReservationStrategy strategy = escrowStrategy();
+        when(leaseRepository.lease(eq(1L), any(), anyInt(), any())).thenReturn(new SeatLeaseRepository.Lease(7L, 2));
+        when(bookingRepository.saveAndFlush(any(Booking.class)))
+                .thenThrow(new IllegalStateException("db"))
+                .thenReturn(booking);
+
+        assertThrows(IllegalStateException.class, () -> strategy.reserve(user, bookingRequest));
+        assertSame(booking, strategy.reserve(user, bookingRequest));
+
+        verify(leaseRepository, times(1)).lease(any(), any(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Стратегия квот возвращает остаток квоты при остановке")
+    void testEscrow_ReleasesQuotaOnShutdown() {
+        EscrowSeatReservationStrategy strategy = escrowStrategy();
+        when(leaseRepository.lease(eq(1L), any(), anyInt(), any())).thenReturn(new SeatLeaseRepository.Lease(7L, 5));
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenReturn(booking);
+        when(leaseRepository.release(7L, 3)).thenReturn(true);
+
+        strategy.reserve(user, bookingRequest);
+        strategy.shutdown();
+
+        verify(leaseRepository).release(7L, 3);
+    }
+
+    private EscrowSeatReservationStrategy escrowStrategy() {
+        return new EscrowSeatReservationStrategy(eventRepository, bookingRepository, bookingOutbox, leaseRepository,
+                transactionManager, meterRegistry, 50, Duration.ofMinutes(5));
+    }
+}
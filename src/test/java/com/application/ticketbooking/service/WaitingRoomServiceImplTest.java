@@ -0,0 +1,141 @@
+package com.application.ticketbooking.service;
+
+import com.application.ticketbooking.dto.WaitingRoomResponse;
+import com.application.ticketbooking.entity.Event;
+import com.application.ticketbooking.event.EventChangedEvent;
+import com.application.ticketbooking.exception.BadRequestException;
+import com.application.ticketbooking.repository.EventRepository;
+import com.application.ticketbooking.service.Impl.WaitingRoomServiceImpl;
+import com.application.ticketbooking.token.AdmissionTokenManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Тестирование работы класса сервиса WaitingRoomServiceImpl")
+@ExtendWith(MockitoExtension.class)
+public class WaitingRoomServiceImplTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AdmissionTokenManager tokenManager;
+    private WaitingRoomServiceImpl waitingRoomService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        tokenManager = new AdmissionTokenManager(
+                Base64.getEncoder().encodeToString("waiting-room-test-secret-0123456789".getBytes()));
+        // 20 клиентов в секунду при допуске раз в 100 мс: по 2 клиента за интервал.
+        waitingRoomService = new WaitingRoomServiceImpl(eventRepository, tokenManager, meterRegistry,
+                20, Duration.ofMillis(100), Duration.ofMinutes(2));
+        when(eventRepository.findWaitingRoomIds()).thenReturn(List.of(1L));
+        waitingRoomService.refreshProtectedEvents();
+    }
+
+    @Test
+    @DisplayName("Клиенты получают позиции по порядку и допускаются с заданной скоростью")
+    void testJoinAndDrain() {
+        WaitingRoomResponse first = waitingRoomService.join(1L);
+        WaitingRoomResponse second = waitingRoomService.join(1L);
+        WaitingRoomResponse third = waitingRoomService.join(1L);
+
+        assertEquals(1, first.getPosition());
+        assertEquals(3, third.getPosition());
+        assertFalse(first.isAdmitted());
+        assertEquals(3.0, meterRegistry.get("booking.waiting-room.depth").tag("event", "1").gauge().value());
+
+        waitingRoomService.drain();
+
+        WaitingRoomResponse admitted = waitingRoomService.getStatus(1L, second.getQueueTicket());
+        assertTrue(admitted.isAdmitted());
+        assertTrue(waitingRoomService.isAdmitted(1L, admitted.getAdmissionToken()));
+        assertFalse(waitingRoomService.isAdmitted(2L, admitted.getAdmissionToken()));
+
+        WaitingRoomResponse waiting = waitingRoomService.getStatus(1L, third.getQueueTicket());
+        assertFalse(waiting.isAdmitted());
+        assertEquals(1, waiting.getAhead());
+        assertNull(waiting.getAdmissionToken());
+        assertEquals(2.0, meterRegistry.get("booking.waiting-room.admitted").tag("event", "1").counter().count());
+    }
+
+    @Test
+    @DisplayName("Допуск не опережает выданные позиции")
+    void testDrain_DoesNotAdmitAhead() {
+        waitingRoomService.join(1L);
+        waitingRoomService.drain();
+        waitingRoomService.drain();
+
+        WaitingRoomResponse late = waitingRoomService.join(1L);
+
+        assertFalse(late.isAdmitted());
+    }
+
+    @Test
+    @DisplayName("Поддельный билет очереди и пропуск отклоняются")
+    void testForgedTokens() {
+        WaitingRoomResponse response = waitingRoomService.join(1L);
+        String forged = response.getQueueTicket().substring(0, response.getQueueTicket().indexOf('.') + 1) + "AAAA";
+
+        assertThrows(BadRequestException.class, () -> waitingRoomService.getStatus(1L, forged));
+        assertThrows(BadRequestException.class, () -> waitingRoomService.getStatus(2L, response.getQueueTicket()));
+        assertFalse(waitingRoomService.isAdmitted(1L, response.getQueueTicket()));
+        assertFalse(waitingRoomService.isAdmitted(1L, null));
+    }
+
+    @Test
+    @DisplayName("Пропуск по билету выдается с одним сроком и не выдается после его истечения")
+    void testAdmission_BoundToTicket() {
+        WaitingRoomResponse first = waitingRoomService.join(1L);
+        waitingRoomService.join(1L);
+        WaitingRoomResponse late = waitingRoomService.join(1L);
+        // Первые две позиции допущены раньше срока пропуска.
+        waitingRoomService.drain(Instant.now().minus(Duration.ofMinutes(3)));
+        waitingRoomService.drain();
+
+        WaitingRoomResponse admitted = waitingRoomService.getStatus(1L, late.getQueueTicket());
+        WaitingRoomResponse polledAgain = waitingRoomService.getStatus(1L, late.getQueueTicket());
+
+        assertEquals(admitted.getExpiresAt(), polledAgain.getExpiresAt());
+        assertThrows(BadRequestException.class, () -> waitingRoomService.getStatus(1L, first.getQueueTicket()));
+    }
+
+    @Test
+    @DisplayName("Билет очереди действителен только на выдавшем его экземпляре")
+    void testQueueTicket_OtherInstance() {
+        WaitingRoomServiceImpl otherInstance = new WaitingRoomServiceImpl(eventRepository, tokenManager, new SimpleMeterRegistry(),
+                20, Duration.ofMillis(100), Duration.ofMinutes(2));
+        otherInstance.refreshProtectedEvents();
+        WaitingRoomResponse response = waitingRoomService.join(1L);
+
+        assertThrows(BadRequestException.class, () -> otherInstance.getStatus(1L, response.getQueueTicket()));
+    }
+
+    @Test
+    @DisplayName("Очередь закрывается, когда у мероприятия выключают очередь ожидания")
+    void testEventChanged_Unprotects() {
+        Event event = new Event();
+        event.setId(1L);
+        event.setWaitingRoom(false);
+
+        waitingRoomService.onEventChanged(new EventChangedEvent(1L, EventChangedEvent.ChangeType.UPDATED, null, event));
+
+        assertFalse(waitingRoomService.isProtected(1L));
+        assertThrows(BadRequestException.class, () -> waitingRoomService.join(1L));
+    }
+}
@@ -0,0 +1,78 @@
+package com.application.ticketbooking.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Тестирование иерархического колеса таймеров HierarchicalTimingWheel")
+public class HierarchicalTimingWheelTest {
+
+    private HierarchicalTimingWheel timingWheel;
+
+    @BeforeEach
+    void setUp() {
+        timingWheel = new HierarchicalTimingWheel("test-timing-wheel", Duration.ofMillis(1), Runnable::run);
+    }
+
+    @AfterEach
+    void tearDown() {
+        timingWheel.close();
+    }
+
+    @Test
+    @DisplayName("Таймеры разных уровней срабатывают не раньше срока и в порядке сроков")
+    void testTimeoutsFireInOrder() throws InterruptedException {
+        List<Integer> fired = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(3);
+        long startedAt = System.nanoTime();
+
+        timingWheel.schedule(() -> { fired.add(300); latch.countDown(); }, Duration.ofMillis(300));
+        timingWheel.schedule(() -> { fired.add(5); latch.countDown(); }, Duration.ofMillis(5));
+        timingWheel.schedule(() -> { fired.add(100); latch.countDown(); }, Duration.ofMillis(100));
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - startedAt >= TimeUnit.MILLISECONDS.toNanos(300));
+        assertEquals(List.of(5, 100, 300), fired);
+        assertEquals(0, timingWheel.size());
+    }
+
+    @Test
+    @DisplayName("Отмененный таймер не срабатывает")
+    void testCancelledTimeoutDoesNotFire() throws InterruptedException {
+        CountDownLatch cancelled = new CountDownLatch(1);
+        CountDownLatch control = new CountDownLatch(1);
+
+        HierarchicalTimingWheel.Timeout timeout = timingWheel.schedule(cancelled::countDown, Duration.ofMillis(50));
+        timingWheel.schedule(control::countDown, Duration.ofMillis(100));
+        assertEquals(2, timingWheel.size());
+
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        assertEquals(1, timingWheel.size());
+
+        assertTrue(control.await(5, TimeUnit.SECONDS));
+        assertEquals(1, cancelled.getCount());
+        assertFalse(timeout.isExpired());
+    }
+
+    @Test
+    @DisplayName("Таймер с истекшим сроком срабатывает на ближайшем тике")
+    void testPastDeadlineFiresImmediately() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+
+        HierarchicalTimingWheel.Timeout timeout = timingWheel.schedule(latch::countDown, Duration.ofSeconds(-10));
+
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+        assertTrue(timeout.isExpired());
+        assertFalse(timeout.cancel());
+    }
+}
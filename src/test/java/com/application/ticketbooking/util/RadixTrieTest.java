@@ -0,0 +1,92 @@
+package com.application.ticketbooking.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@DisplayName("Тестирование сжатого префиксного дерева RadixTrie")
+public class RadixTrieTest {
+
+    private static final int K = 3;
+
+    @Test
+    @DisplayName("Лучшие значения по префиксу учитывают расщепление и слияние ребер")
+    void testTopByPrefix() {
+        RadixTrie<Integer> trie = RadixTrie.<Integer>empty(Comparator.naturalOrder(), K)
+                .plus("jazz festival", 5)
+                .plus("jazz", 7)
+                .plus("jam session", 2)
+                .plus("opera", 1)
+                .plus("jazz night", 4);
+
+        assertEquals(List.of(2, 4, 5), trie.top("j"));
+        assertEquals(List.of(4, 5, 7), trie.top("jaz"));
+        assertEquals(List.of(5), trie.top("jazz f"));
+        assertEquals(List.of(1), trie.top("opera"));
+        assertEquals(List.of(), trie.top("operas"));
+        assertEquals(List.of(), trie.top("rock"));
+
+        RadixTrie<Integer> removed = trie.minus("jazz night", 4).minus("jam session", 2);
+
+        assertEquals(List.of(5, 7), removed.top("j"));
+        assertEquals(List.of(2, 4, 5), trie.top("j"));
+        assertEquals(3, removed.size());
+        assertSame(removed, removed.minus("jazz night", 4));
+        assertSame(removed, removed.plus("jazz", 7));
+    }
+
+    @Test
+    @DisplayName("Случайные добавления и удаления совпадают с полным перебором")
+    void testMatchesBruteForce() {
+        Random random = new Random(42);
+        Map<Integer, String> keys = new HashMap<>();
+        RadixTrie<Integer> trie = RadixTrie.empty(Comparator.<Integer>naturalOrder(), K);
+        for (int step = 0; step < 5000; step++) {
+            int value = random.nextInt(300);
+            String key = keys.get(value);
+            if (key != null && random.nextBoolean()) {
+                trie = trie.minus(key, value);
+                keys.remove(value);
+            } else if (key == null) {
+                key = randomKey(random);
+                trie = trie.plus(key, value);
+                keys.put(value, key);
+            }
+            if (step % 50 == 0) {
+                String prefix = randomKey(random);
+                prefix = prefix.substring(0, Math.min(prefix.length(), 1 + random.nextInt(2)));
+                assertEquals(bruteForce(keys, prefix), trie.top(prefix), "prefix " + prefix);
+                assertEquals(keys.size(), trie.size());
+            }
+        }
+        for (String prefix : List.of("", "a", "ab", "ba", "abc")) {
+            assertEquals(bruteForce(keys, prefix), trie.top(prefix), "prefix " + prefix);
+        }
+    }
+
+    private static String randomKey(Random random) {
+        int length = 1 + random.nextInt(5);
+        StringBuilder key = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            key.append((char) ('a' + random.nextInt(3)));
+        }
+        return key.toString();
+    }
+
+    private static List<Integer> bruteForce(Map<Integer, String> keys, String prefix) {
+        List<Integer> matches = new ArrayList<>();
+        keys.forEach((value, key) -> {
+            if (key.startsWith(prefix)) {
+                matches.add(value);
+            }
+        });
+        return matches.stream().sorted().limit(K).toList();
+    }
+}
@@ -0,0 +1,123 @@
+package com.application.ticketbooking.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Тестирование объединения одновременных загрузок SingleFlight")
+public class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private AtomicInteger collapsed;
+    private SingleFlight<String, String> singleFlight;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        collapsed = new AtomicInteger();
+        singleFlight = new SingleFlight<>(collapsed::incrementAndGet);
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Одновременные вызовы с одним ключом получают результат одной загрузки")
+    void testConcurrentCallsShareLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = callConcurrently("event:1", () -> {
+            loads.incrementAndGet();
+            await(release);
+            return "Event 1";
+        });
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertEquals("Event 1", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(CALLERS - 1, collapsed.get());
+    }
+
+    @Test
+    @DisplayName("Исключение загрузки получают все ожидавшие ее вызовы")
+    void testFailureIsShared() throws Exception {
+        IllegalStateException failure = new IllegalStateException("Мероприятие не найдено.");
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = callConcurrently("event:1", () -> {
+            await(release);
+            throw failure;
+        });
+        release.countDown();
+
+        for (Future<String> result : results) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertSame(failure, e.getCause());
+        }
+    }
+
+    @Test
+    @DisplayName("Завершенная загрузка не кешируется, разные ключи загружаются независимо")
+    void testCompletedLoadIsForgotten() {
+        AtomicInteger loads = new AtomicInteger();
+
+        singleFlight.execute("event:1", () -> "Event " + loads.incrementAndGet());
+        String second = singleFlight.execute("event:1", () -> "Event " + loads.incrementAndGet());
+        singleFlight.execute("event:2", () -> "Event " + loads.incrementAndGet());
+
+        assertEquals("Event 2", second);
+        assertEquals(3, loads.get());
+        assertEquals(0, collapsed.get());
+    }
+
+    /**
+     * Запускает {@value #CALLERS} вызовов и возвращается, когда все, кроме выполняющего загрузку, ждут ее.
+     */
+    private List<Future<String>> callConcurrently(String key, Supplier<String> loader) throws InterruptedException {
+        CountDownLatch loading = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        results.add(executor.submit(() -> singleFlight.execute(key, () -> {
+            loading.countDown();
+            return loader.get();
+        })));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i < CALLERS; i++) {
+            results.add(executor.submit(() -> singleFlight.execute(key, loader)));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (collapsed.get() < CALLERS - 1 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        return results;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}